@@ -25,13 +25,20 @@ import io.atomix.core.Atomix;
 import io.atomix.protocols.raft.partition.RaftPartition;
 import io.atomix.protocols.raft.partition.RaftPartitionGroup;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
 import io.zeebe.distributedlog.StorageConfiguration;
 import io.zeebe.distributedlog.StorageConfigurationManager;
+import io.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.servicecontainer.ServiceStopContext;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -45,6 +52,8 @@ public class BootstrapPartitions implements Service<Void> {
 
   private StorageConfigurationManager configurationManager;
   private ServiceStartContext startContext;
+  private ZeebeRocksDbFactory<ZbColumnFamilies> zeebeDbFactory;
+  private ExecutorService recoveryExecutor;
 
   private final Injector<Atomix> atomixInjector = new Injector<>();
   private Atomix atomix;
@@ -68,6 +77,12 @@ public class BootstrapPartitions implements Service<Void> {
             .map(RaftPartition.class::cast)
             .collect(Collectors.toList());
 
+    // the block cache of the factory is shared by the states of all partitions
+    zeebeDbFactory =
+        DefaultZeebeDbFactory.configuredFactory(
+            brokerCfg.getData().getRocksDb().toRocksDbConfiguration());
+    recoveryExecutor = createRecoveryExecutor();
+
     this.startContext = startContext;
     startContext.run(
         () -> {
@@ -77,6 +92,22 @@ public class BootstrapPartitions implements Service<Void> {
         });
   }
 
+  /**
+   * The state of a partition is recovered on this pool, so that the partitions recover in parallel
+   * without blocking the actor threads while reading from disk.
+   */
+  private ExecutorService createRecoveryExecutor() {
+    final AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        brokerCfg.getThreads().getRecoveryThreadCount(),
+        r -> {
+          final Thread thread =
+              new Thread(r, "zb-partition-recovery-" + threadCount.getAndIncrement());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
   private void installPartition(RaftPartition partition) {
     final StorageConfiguration configuration =
         configurationManager.createConfiguration(partition.id().id()).join();
@@ -98,11 +129,20 @@ public class BootstrapPartitions implements Service<Void> {
             atomix.getEventService(),
             atomix.getCommunicationService(),
             configuration,
-            brokerCfg);
+            brokerCfg,
+            zeebeDbFactory,
+            recoveryExecutor);
 
     startContext.createService(partitionInstallServiceName, partitionInstallService).install();
   }
 
+  @Override
+  public void stop(ServiceStopContext stopContext) {
+    // the partitions are installed as child services and are already stopped
+    recoveryExecutor.shutdownNow();
+    zeebeDbFactory.close();
+  }
+
   @Override
   public Void get() {
     return null;
@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.clustering.base.partitions;
 
+import io.atomix.cluster.MemberId;
 import io.atomix.cluster.messaging.ClusterEventService;
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.engine.EngineService;
@@ -25,12 +26,15 @@ import io.zeebe.broker.exporter.stream.ExportersState;
 import io.zeebe.broker.logstreams.restore.BrokerRestoreServer;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.distributedlog.StorageConfiguration;
-import io.zeebe.engine.state.DefaultZeebeDbFactory;
 import io.zeebe.engine.state.StateStorageFactory;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.state.NoneSnapshotReplication;
+import io.zeebe.logstreams.state.ReplicationController;
 import io.zeebe.logstreams.state.SnapshotReplication;
+import io.zeebe.logstreams.state.SnapshotReplicationMetrics;
 import io.zeebe.logstreams.state.StateSnapshotController;
 import io.zeebe.logstreams.state.StateStorage;
 import io.zeebe.servicecontainer.Injector;
@@ -38,6 +42,11 @@ import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 
 /** Service representing a partition. */
@@ -52,30 +61,41 @@ public class Partition implements Service<Partition> {
   private final Injector<LogStream> logStreamInjector = new Injector<>();
 
   private final ClusterEventService clusterEventService;
+  private final Supplier<Collection<MemberId>> partitionMembers;
   private final int partitionId;
   private final RaftState state;
   private final StorageConfiguration configuration;
   private final BrokerCfg brokerCfg;
+  private final ZeebeDbFactory<ZbColumnFamilies> zeebeDbFactory;
   private final BrokerRestoreServer restoreServer;
+  private final Executor recoveryExecutor;
 
+  private CompletableFuture<Void> recoveryFuture = CompletableFuture.completedFuture(null);
   private StateSnapshotController snapshotController;
   private SnapshotReplication stateReplication;
+  private SnapshotReplicationMetrics snapshotReplicationMetrics;
   private LogStream logStream;
-  private ZeebeDb zeebeDb;
+  private volatile ZeebeDb zeebeDb;
 
   public Partition(
       final StorageConfiguration configuration,
       BrokerCfg brokerCfg,
+      ZeebeDbFactory<ZbColumnFamilies> zeebeDbFactory,
       ClusterEventService clusterEventService,
+      Supplier<Collection<MemberId>> partitionMembers,
       int partitionId,
       RaftState state,
-      BrokerRestoreServer restoreServer) {
+      BrokerRestoreServer restoreServer,
+      Executor recoveryExecutor) {
     this.configuration = configuration;
     this.brokerCfg = brokerCfg;
+    this.zeebeDbFactory = zeebeDbFactory;
     this.clusterEventService = clusterEventService;
+    this.partitionMembers = partitionMembers;
     this.partitionId = partitionId;
     this.state = state;
     this.restoreServer = restoreServer;
+    this.recoveryExecutor = recoveryExecutor;
   }
 
   @Override
@@ -84,28 +104,55 @@ public class Partition implements Service<Partition> {
     logStream = logStreamInjector.getValue();
 
     logStream = logStreamInjector.getValue();
+    snapshotReplicationMetrics =
+        new SnapshotReplicationMetrics(
+            startContext.getScheduler().getMetricsManager(), partitionId);
     snapshotController = createSnapshotController();
 
     if (state == RaftState.FOLLOWER) {
       logStream.setExporterPositionSupplier(this::getLowestReplicatedExportedPosition);
       snapshotController.consumeReplicatedSnapshots(logStream::delete);
+      startRestoreServer(startedFuture);
     } else {
-      try {
-        snapshotController.recover();
-        zeebeDb = snapshotController.openDb();
-      } catch (Exception e) {
-        throw new IllegalStateException(
-            String.format(
-                "Unexpected error occurred while recovering snapshot controller during leader partition install for partition %d",
-                partitionId),
-            e);
-      }
+      // the partitions of the broker recover in parallel on the recovery pool
+      recoveryFuture = CompletableFuture.runAsync(this::recoverState, recoveryExecutor);
+      recoveryFuture.whenComplete(
+          (nothing, error) -> {
+            if (error != null) {
+              startedFuture.completeExceptionally(unwrap(error));
+            } else {
+              startRestoreServer(startedFuture);
+            }
+          });
     }
 
-    startRestoreServer(startedFuture);
     startContext.async(startedFuture, true);
   }
 
+  private void recoverState() {
+    final long startTime = System.currentTimeMillis();
+    try {
+      snapshotController.recover();
+      zeebeDb = snapshotController.openDb();
+    } catch (Exception e) {
+      throw new IllegalStateException(
+          String.format(
+              "Unexpected error occurred while recovering snapshot controller during leader partition install for partition %d",
+              partitionId),
+          e);
+    }
+    LOG.debug(
+        "Recovered state of partition {} in {} ms",
+        partitionId,
+        System.currentTimeMillis() - startTime);
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
   private void startRestoreServer(CompletableActorFuture<Void> startedFuture) {
     restoreServer
         .start(logStream, snapshotController)
@@ -166,14 +213,21 @@ public class Partition implements Service<Partition> {
 
     stateReplication =
         shouldReplicateSnapshots()
-            ? new StateReplication(clusterEventService, partitionId, streamProcessorName)
+            ? new StateReplication(
+                clusterEventService,
+                partitionId,
+                streamProcessorName,
+                String.valueOf(brokerCfg.getCluster().getNodeId()),
+                partitionMembers)
             : new NoneSnapshotReplication();
 
     return new StateSnapshotController(
-        DefaultZeebeDbFactory.DEFAULT_DB_FACTORY,
+        zeebeDbFactory,
         stateStorage,
         stateReplication,
-        brokerCfg.getData().getMaxSnapshots());
+        brokerCfg.getData().getMaxSnapshots(),
+        snapshotReplicationMetrics,
+        ReplicationController.DEFAULT_CHUNK_SIZE);
   }
 
   private boolean shouldReplicateSnapshots() {
@@ -182,6 +236,17 @@ public class Partition implements Service<Partition> {
 
   @Override
   public void stop(ServiceStopContext stopContext) {
+    final CompletableActorFuture<Void> stoppedFuture = new CompletableActorFuture<>();
+    // the state can only be closed after the recovery is done
+    recoveryFuture.whenComplete(
+        (nothing, error) -> {
+          closeState();
+          stoppedFuture.complete(null);
+        });
+    stopContext.async(stoppedFuture);
+  }
+
+  private void closeState() {
     stateReplication.close();
     restoreServer.close();
 
@@ -193,6 +258,8 @@ public class Partition implements Service<Partition> {
           partitionId,
           e);
     }
+
+    snapshotReplicationMetrics.close();
   }
 
   @Override
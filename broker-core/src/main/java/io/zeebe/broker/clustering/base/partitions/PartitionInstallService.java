@@ -27,6 +27,7 @@ import static io.zeebe.broker.clustering.base.partitions.PartitionServiceNames.f
 import static io.zeebe.broker.clustering.base.partitions.PartitionServiceNames.leaderOpenLogStreamServiceName;
 import static io.zeebe.broker.clustering.base.partitions.PartitionServiceNames.leaderPartitionServiceName;
 import static io.zeebe.broker.clustering.base.partitions.PartitionServiceNames.partitionLeaderElectionServiceName;
+import static io.zeebe.broker.clustering.base.partitions.PartitionServiceNames.rocksDbMetricsServiceName;
 import static io.zeebe.logstreams.impl.service.LogStreamServiceNames.distributedLogPartitionServiceName;
 
 import io.atomix.cluster.messaging.ClusterCommunicationService;
@@ -35,8 +36,10 @@ import io.atomix.protocols.raft.partition.RaftPartition;
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.logstreams.restore.BrokerRestoreServer;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.distributedlog.StorageConfiguration;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.logstreams.impl.service.LeaderOpenLogStreamAppenderService;
 import io.zeebe.logstreams.impl.service.LogStreamServiceNames;
 import io.zeebe.logstreams.log.LogStream;
@@ -48,6 +51,7 @@ import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 
 /**
@@ -66,6 +70,8 @@ public class PartitionInstallService extends Actor
   private final ClusterCommunicationService communicationService;
   private final BrokerCfg brokerCfg;
   private final RaftPartition partition;
+  private final ZeebeDbFactory<ZbColumnFamilies> zeebeDbFactory;
+  private final Executor recoveryExecutor;
 
   private ServiceStartContext startContext;
   private ServiceName<LogStream> logStreamServiceName;
@@ -83,13 +89,17 @@ public class PartitionInstallService extends Actor
       ClusterEventService clusterEventService,
       ClusterCommunicationService communicationService,
       final StorageConfiguration configuration,
-      BrokerCfg brokerCfg) {
+      BrokerCfg brokerCfg,
+      ZeebeDbFactory<ZbColumnFamilies> zeebeDbFactory,
+      Executor recoveryExecutor) {
     this.partition = partition;
     this.configuration = configuration;
     this.partitionId = configuration.getPartitionId();
     this.clusterEventService = clusterEventService;
     this.communicationService = communicationService;
     this.brokerCfg = brokerCfg;
+    this.zeebeDbFactory = zeebeDbFactory;
+    this.recoveryExecutor = recoveryExecutor;
   }
 
   @Override
@@ -217,10 +227,13 @@ public class PartitionInstallService extends Actor
         new Partition(
             configuration,
             brokerCfg,
+            zeebeDbFactory,
             clusterEventService,
+            this.partition::members,
             partitionId,
             RaftState.LEADER,
-            restoreServer);
+            restoreServer,
+            recoveryExecutor);
 
     final CompositeServiceBuilder leaderInstallService =
         startContext.createComposite(leaderInstallRootServiceName);
@@ -250,6 +263,15 @@ public class PartitionInstallService extends Actor
         .group(LEADER_PARTITION_GROUP_NAME)
         .install();
 
+    if (brokerCfg.getData().getRocksDb().isStatisticsEnabled()) {
+      final RocksDbMetricsService rocksDbMetricsService =
+          new RocksDbMetricsService(brokerCfg.getMetrics().getReportingIntervalDuration());
+      leaderInstallService
+          .createService(rocksDbMetricsServiceName(logName), rocksDbMetricsService)
+          .dependency(leaderPartitionServiceName, rocksDbMetricsService.getPartitionInjector())
+          .install();
+    }
+
     return leaderInstallService.install();
   }
 
@@ -261,10 +283,13 @@ public class PartitionInstallService extends Actor
         new Partition(
             configuration,
             brokerCfg,
+            zeebeDbFactory,
             clusterEventService,
+            this.partition::members,
             partitionId,
             RaftState.FOLLOWER,
-            restoreServer);
+            restoreServer,
+            recoveryExecutor);
 
     return startContext
         .createService(followerPartitionServiceName, partition)
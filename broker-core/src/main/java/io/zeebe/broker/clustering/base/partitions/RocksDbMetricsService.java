@@ -0,0 +1,97 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.clustering.base.partitions;
+
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.impl.rocksdb.RocksDbMetrics;
+import io.zeebe.db.impl.rocksdb.transaction.ZeebeTransactionDb;
+import io.zeebe.servicecontainer.Injector;
+import io.zeebe.servicecontainer.Service;
+import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.servicecontainer.ServiceStopContext;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorPriority;
+import java.time.Duration;
+
+/** Periodically exports the statistics of the state of a leader partition as metrics. */
+public class RocksDbMetricsService extends Actor implements Service<Void> {
+
+  private final Injector<Partition> partitionInjector = new Injector<>();
+  private final Duration reportingInterval;
+
+  private RocksDbMetrics metrics;
+  private String name;
+
+  public RocksDbMetricsService(Duration reportingInterval) {
+    this.reportingInterval = reportingInterval;
+  }
+
+  @Override
+  public void start(ServiceStartContext startContext) {
+    final Partition partition = partitionInjector.getValue();
+    name = "rocksDbMetrics-" + partition.getPartitionId();
+
+    final ZeebeDb zeebeDb = partition.getZeebeDb();
+    if (zeebeDb instanceof ZeebeTransactionDb
+        && ((ZeebeTransactionDb) zeebeDb).isStatisticsEnabled()) {
+      metrics =
+          new RocksDbMetrics(
+              startContext.getScheduler().getMetricsManager(),
+              (ZeebeTransactionDb) zeebeDb,
+              String.valueOf(partition.getPartitionId()));
+
+      startContext.async(startContext.getScheduler().submitActor(this));
+    }
+  }
+
+  @Override
+  public void stop(ServiceStopContext stopContext) {
+    if (metrics != null) {
+      stopContext.async(actor.close());
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  protected void onActorStarting() {
+    actor.setPriority(ActorPriority.LOW);
+  }
+
+  @Override
+  protected void onActorStarted() {
+    actor.runAtFixedRate(reportingInterval, metrics::update);
+  }
+
+  @Override
+  protected void onActorClosing() {
+    metrics.close();
+  }
+
+  @Override
+  public Void get() {
+    return null;
+  }
+
+  public Injector<Partition> getPartitionInjector() {
+    return partitionInjector;
+  }
+}
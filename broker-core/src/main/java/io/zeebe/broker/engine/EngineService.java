@@ -26,6 +26,7 @@ import io.zeebe.broker.engine.impl.SubscriptionCommandSenderImpl;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.broker.system.configuration.ClusterCfg;
 import io.zeebe.broker.system.configuration.DataCfg;
+import io.zeebe.broker.system.configuration.ProcessingCfg;
 import io.zeebe.broker.transport.clientapi.CommandResponseWriterImpl;
 import io.zeebe.engine.processor.AsyncSnapshotingDirectorService;
 import io.zeebe.engine.processor.ProcessingContext;
@@ -34,16 +35,21 @@ import io.zeebe.engine.processor.StreamProcessorServiceNames;
 import io.zeebe.engine.processor.TypedRecordProcessors;
 import io.zeebe.engine.processor.workflow.EngineProcessors;
 import io.zeebe.engine.state.ZeebeState;
+import io.zeebe.engine.state.deployment.ExecutableWorkflowCache;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.protocol.Protocol;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.ServiceGroupReference;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.transport.ServerTransport;
+import io.zeebe.util.ByteValue;
 import io.zeebe.util.DurationUtil;
 import io.zeebe.util.sched.ActorControl;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 
 public class EngineService implements Service<EngineService> {
@@ -58,7 +64,13 @@ public class EngineService implements Service<EngineService> {
   private final ServiceContainer serviceContainer;
   private final Duration snapshotPeriod;
   private final int maxSnapshots;
+  private final int maxBatchSize;
+  private final int maxBatchBytes;
+  private final Duration maxBatchDuration;
+  private final int workflowCacheSize;
+  private final boolean isLongPollingEnabled;
   private ServiceStartContext serviceContext;
+  private ExecutableWorkflowCache executableWorkflowCache;
 
   private ServerTransport clientApiTransport;
   private TopologyManager topologyManager;
@@ -73,6 +85,14 @@ public class EngineService implements Service<EngineService> {
     final DataCfg dataCfg = brokerCfg.getData();
     this.snapshotPeriod = DurationUtil.parse(dataCfg.getSnapshotPeriod());
     this.maxSnapshots = dataCfg.getMaxSnapshots();
+
+    final ProcessingCfg processingCfg = brokerCfg.getProcessing();
+    this.maxBatchSize = processingCfg.getMaxBatchSize();
+    this.maxBatchBytes = (int) new ByteValue(processingCfg.getMaxBatchBytes()).toBytes();
+    this.maxBatchDuration = DurationUtil.parse(processingCfg.getMaxBatchDuration());
+    this.workflowCacheSize = processingCfg.getWorkflowCacheSize();
+
+    this.isLongPollingEnabled = brokerCfg.getGateway().getLongPolling().isEnabled();
   }
 
   @Override
@@ -81,6 +101,15 @@ public class EngineService implements Service<EngineService> {
     this.clientApiTransport = clientApiTransportInjector.getValue();
     this.topologyManager = topologyManagerInjector.getValue();
     this.atomix = atomixInjector.getValue();
+
+    executableWorkflowCache =
+        new ExecutableWorkflowCache(
+            workflowCacheSize, serviceContext.getScheduler().getMetricsManager());
+  }
+
+  @Override
+  public void stop(final ServiceStopContext stopContext) {
+    executableWorkflowCache.close();
   }
 
   public void startEngineForPartition(
@@ -95,6 +124,8 @@ public class EngineService implements Service<EngineService> {
         .zeebeDb(partition.getZeebeDb())
         .serviceContainer(serviceContainer)
         .commandResponseWriter(new CommandResponseWriterImpl(clientApiTransport.getOutput()))
+        .processingBatch(maxBatchSize, maxBatchBytes, maxBatchDuration)
+        .executableWorkflowCache(executableWorkflowCache)
         .streamProcessorFactory(
             (processingContext) -> {
               final ActorControl actor = processingContext.getActor();
@@ -144,13 +175,23 @@ public class EngineService implements Service<EngineService> {
 
     final SubscriptionCommandSenderImpl subscriptionCommandSender =
         new SubscriptionCommandSenderImpl(atomix);
-    subscriptionCommandSender.init(topologyManager, actor, stream);
+    subscriptionCommandSender.init(
+        topologyManager, actor, stream, processingContext.getMetricsManager());
 
     return EngineProcessors.createEngineProcessors(
-        processingContext,
-        clusterCfg.getPartitionsCount(),
-        subscriptionCommandSender,
-        deploymentDistributor);
+            processingContext,
+            clusterCfg.getPartitionsCount(),
+            subscriptionCommandSender,
+            deploymentDistributor,
+            isLongPollingEnabled ? this::notifyJobsAvailable : jobType -> {})
+        .withListener(subscriptionCommandSender);
+  }
+
+  private void notifyJobsAvailable(String jobType) {
+    atomix
+        .getEventService()
+        .broadcast(
+            Protocol.JOBS_AVAILABLE_TOPIC, jobType, type -> type.getBytes(StandardCharsets.UTF_8));
   }
 
   @Override
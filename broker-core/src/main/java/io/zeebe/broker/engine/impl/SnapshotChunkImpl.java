@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.engine.impl;
 
+import io.zeebe.clustering.management.BooleanType;
 import io.zeebe.clustering.management.SnapshotChunkDecoder;
 import io.zeebe.clustering.management.SnapshotChunkEncoder;
 import io.zeebe.engine.util.SbeBufferWriterReader;
@@ -37,6 +38,9 @@ public class SnapshotChunkImpl
   private int totalCount;
   private String chunkName;
   private long checksum;
+  private long fileOffset;
+  private long fileLength;
+  private boolean fileReference;
 
   private final DirectBuffer content = new UnsafeBuffer(0, 0);
 
@@ -47,6 +51,9 @@ public class SnapshotChunkImpl
     totalCount = chunk.getTotalCount();
     chunkName = chunk.getChunkName();
     checksum = chunk.getChecksum();
+    fileOffset = chunk.getFileOffset();
+    fileLength = chunk.getFileLength();
+    fileReference = chunk.isFileReference();
     content.wrap(chunk.getContent());
   }
 
@@ -78,6 +85,9 @@ public class SnapshotChunkImpl
         .totalCount(totalCount)
         .chunkName(chunkName)
         .checksum(checksum)
+        .fileOffset(fileOffset)
+        .fileLength(fileLength)
+        .fileReference(fileReference ? BooleanType.TRUE : BooleanType.FALSE)
         .putContent(content, 0, content.capacity());
   }
 
@@ -89,6 +99,9 @@ public class SnapshotChunkImpl
     totalCount = decoder.totalCount();
     chunkName = decoder.chunkName();
     checksum = decoder.checksum();
+    fileOffset = decoder.fileOffset();
+    fileLength = decoder.fileLength();
+    fileReference = decoder.fileReference() == BooleanType.TRUE;
     decoder.wrapContent(content);
   }
 
@@ -99,6 +112,9 @@ public class SnapshotChunkImpl
     snapshotPosition = SnapshotChunkDecoder.snapshotPositionNullValue();
     totalCount = SnapshotChunkDecoder.totalCountNullValue();
     checksum = SnapshotChunkDecoder.checksumNullValue();
+    fileOffset = SnapshotChunkDecoder.fileOffsetNullValue();
+    fileLength = SnapshotChunkDecoder.fileLengthNullValue();
+    fileReference = false;
 
     chunkName = "";
     content.wrap(0, 0);
@@ -124,6 +140,21 @@ public class SnapshotChunkImpl
     return checksum;
   }
 
+  @Override
+  public long getFileOffset() {
+    return fileOffset;
+  }
+
+  @Override
+  public long getFileLength() {
+    return fileLength;
+  }
+
+  @Override
+  public boolean isFileReference() {
+    return fileReference;
+  }
+
   @Override
   public byte[] getContent() {
     return BufferUtil.bufferAsArray(content);
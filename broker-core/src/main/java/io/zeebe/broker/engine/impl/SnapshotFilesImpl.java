@@ -0,0 +1,116 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import io.zeebe.clustering.management.SnapshotFilesDecoder;
+import io.zeebe.clustering.management.SnapshotFilesDecoder.FilesDecoder;
+import io.zeebe.clustering.management.SnapshotFilesEncoder;
+import io.zeebe.clustering.management.SnapshotFilesEncoder.FilesEncoder;
+import io.zeebe.engine.util.SbeBufferWriterReader;
+import io.zeebe.logstreams.state.SnapshotFiles;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+public class SnapshotFilesImpl
+    extends SbeBufferWriterReader<SnapshotFilesEncoder, SnapshotFilesDecoder>
+    implements SnapshotFiles {
+
+  private final SnapshotFilesEncoder encoder = new SnapshotFilesEncoder();
+  private final SnapshotFilesDecoder decoder = new SnapshotFilesDecoder();
+
+  private String memberId;
+  private final Map<String, Long> fileChecksums = new HashMap<>();
+
+  public SnapshotFilesImpl() {}
+
+  public SnapshotFilesImpl(String memberId, Map<String, Long> fileChecksums) {
+    this.memberId = memberId;
+    this.fileChecksums.putAll(fileChecksums);
+  }
+
+  @Override
+  public int getLength() {
+    int length =
+        super.getLength()
+            + FilesEncoder.sbeHeaderSize()
+            + SnapshotFilesEncoder.memberIdHeaderLength()
+            + memberId.getBytes(StandardCharsets.UTF_8).length;
+
+    for (String fileName : fileChecksums.keySet()) {
+      length +=
+          FilesEncoder.sbeBlockLength()
+              + FilesEncoder.fileNameHeaderLength()
+              + fileName.getBytes(StandardCharsets.UTF_8).length;
+    }
+    return length;
+  }
+
+  @Override
+  protected SnapshotFilesEncoder getBodyEncoder() {
+    return encoder;
+  }
+
+  @Override
+  protected SnapshotFilesDecoder getBodyDecoder() {
+    return decoder;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    super.write(buffer, offset);
+
+    final FilesEncoder filesEncoder = encoder.filesCount(fileChecksums.size());
+    fileChecksums.forEach(
+        (fileName, checksum) -> filesEncoder.next().checksum(checksum).fileName(fileName));
+
+    encoder.memberId(memberId);
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    super.wrap(buffer, offset, length);
+
+    for (FilesDecoder file : decoder.files()) {
+      final long checksum = file.checksum();
+      fileChecksums.put(file.fileName(), checksum);
+    }
+
+    memberId = decoder.memberId();
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+
+    memberId = "";
+    fileChecksums.clear();
+  }
+
+  @Override
+  public String getMemberId() {
+    return memberId;
+  }
+
+  @Override
+  public Map<String, Long> getFileChecksums() {
+    return fileChecksums;
+  }
+}
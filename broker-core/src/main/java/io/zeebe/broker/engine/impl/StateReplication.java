@@ -17,14 +17,21 @@
  */
 package io.zeebe.broker.engine.impl;
 
+import io.atomix.cluster.MemberId;
 import io.atomix.cluster.messaging.ClusterEventService;
 import io.atomix.cluster.messaging.Subscription;
 import io.zeebe.engine.Loggers;
 import io.zeebe.logstreams.state.SnapshotChunk;
+import io.zeebe.logstreams.state.SnapshotFiles;
 import io.zeebe.logstreams.state.SnapshotReplication;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
@@ -32,9 +39,13 @@ import org.slf4j.Logger;
 public class StateReplication implements SnapshotReplication {
 
   public static final String REPLICATION_TOPIC_FORMAT = "replication-%d-%s";
+  public static final String ADVERTISEMENT_TOPIC_FORMAT = "replication-files-%d-%s";
   private static final Logger LOG = Loggers.STREAM_PROCESSING;
 
   private final String replicationTopic;
+  private final String advertisementTopic;
+  private final String memberId;
+  private final Supplier<Collection<MemberId>> partitionMembers;
 
   private final DirectBuffer readBuffer = new UnsafeBuffer(0, 0);
   private final ClusterEventService eventService;
@@ -42,9 +53,28 @@ public class StateReplication implements SnapshotReplication {
   private ExecutorService executorService;
   private Subscription subscription;
 
+  private ExecutorService advertisementExecutorService;
+  private Subscription advertisementSubscription;
+
+  /**
+   * Creates a replication which doesn't advertise the snapshot files held by this node, and doesn't
+   * consume the advertisements of other nodes.
+   */
   public StateReplication(ClusterEventService eventService, int partitionId, String name) {
+    this(eventService, partitionId, name, null, Collections::emptyList);
+  }
+
+  public StateReplication(
+      ClusterEventService eventService,
+      int partitionId,
+      String name,
+      String memberId,
+      Supplier<Collection<MemberId>> partitionMembers) {
     this.eventService = eventService;
     this.replicationTopic = String.format(REPLICATION_TOPIC_FORMAT, partitionId, name);
+    this.advertisementTopic = String.format(ADVERTISEMENT_TOPIC_FORMAT, partitionId, name);
+    this.memberId = memberId;
+    this.partitionMembers = partitionMembers;
   }
 
   @Override
@@ -88,8 +118,65 @@ public class StateReplication implements SnapshotReplication {
             .join();
   }
 
+  @Override
+  public void advertise(Map<String, Long> fileChecksums) {
+    if (memberId == null) {
+      return;
+    }
+
+    LOG.debug(
+        "Advertise on topic {} {} held snapshot files.", advertisementTopic, fileChecksums.size());
+
+    final SnapshotFilesImpl snapshotFiles = new SnapshotFilesImpl(memberId, fileChecksums);
+    eventService.broadcast(advertisementTopic, snapshotFiles, SnapshotFilesImpl::toBytes);
+  }
+
+  @Override
+  public void consumeAdvertisements(Consumer<SnapshotFiles> consumer) {
+    if (memberId == null) {
+      return;
+    }
+
+    advertisementExecutorService =
+        Executors.newSingleThreadExecutor((r) -> new Thread(r, advertisementTopic));
+
+    advertisementSubscription =
+        eventService
+            .subscribe(
+                advertisementTopic,
+                (bytes -> {
+                  final SnapshotFilesImpl snapshotFiles = new SnapshotFilesImpl();
+                  snapshotFiles.wrap(new UnsafeBuffer(bytes), 0, bytes.length);
+                  LOG.debug(
+                      "Received on topic {} {} held snapshot files of member {}.",
+                      advertisementTopic,
+                      snapshotFiles.getFileChecksums().size(),
+                      snapshotFiles.getMemberId());
+                  return snapshotFiles;
+                }),
+                consumer,
+                advertisementExecutorService)
+            .join();
+  }
+
+  @Override
+  public Collection<String> getReceivers() {
+    return partitionMembers.get().stream()
+        .map(MemberId::id)
+        .filter(id -> !id.equals(memberId))
+        .collect(Collectors.toList());
+  }
+
   @Override
   public void close() {
+    if (advertisementSubscription != null) {
+      advertisementSubscription.close().join();
+      advertisementSubscription = null;
+    }
+    if (advertisementExecutorService != null) {
+      advertisementExecutorService.shutdownNow();
+      advertisementExecutorService = null;
+    }
     if (subscription != null) {
       subscription.close().join();
       subscription = null;
@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.engine.impl;
 
+import io.zeebe.broker.Loggers;
 import io.zeebe.broker.clustering.base.partitions.Partition;
 import io.zeebe.engine.processor.workflow.message.command.CloseMessageSubscriptionCommand;
 import io.zeebe.engine.processor.workflow.message.command.CloseMessageSubscriptionDecoder;
@@ -33,8 +34,9 @@ import io.zeebe.engine.processor.workflow.message.command.OpenWorkflowInstanceSu
 import io.zeebe.engine.processor.workflow.message.command.OpenWorkflowInstanceSubscriptionDecoder;
 import io.zeebe.engine.processor.workflow.message.command.RejectCorrelateMessageSubscriptionCommand;
 import io.zeebe.engine.processor.workflow.message.command.RejectCorrelateMessageSubscriptionDecoder;
-import io.zeebe.logstreams.log.LogStreamRecordWriter;
-import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriterImpl;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.clientapi.RecordType;
@@ -51,10 +53,18 @@ import java.util.function.Function;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
 
+/**
+ * Writes the received subscription commands to the log of the partition. A message contains either
+ * a single command, or a batch of commands (see {@link SubscriptionCommandBatch}) which is written
+ * to the log at once.
+ */
 public class SubscriptionApiCommandMessageHandler
     implements Function<byte[], CompletableFuture<Void>> {
 
+  private static final Logger LOG = Loggers.CLUSTERING_LOGGER;
+
   private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
 
   private final OpenMessageSubscriptionCommand openMessageSubscriptionCommand =
@@ -79,7 +89,7 @@ public class SubscriptionApiCommandMessageHandler
   private final RejectCorrelateMessageSubscriptionCommand resetMessageCorrelationCommand =
       new RejectCorrelateMessageSubscriptionCommand();
 
-  private final LogStreamRecordWriter logStreamWriter = new LogStreamWriterImpl();
+  private final LogStreamBatchWriter logStreamBatchWriter = new LogStreamBatchWriterImpl();
   private final RecordMetadata recordMetadata = new RecordMetadata();
 
   private final MessageSubscriptionRecord messageSubscriptionRecord =
@@ -91,56 +101,91 @@ public class SubscriptionApiCommandMessageHandler
   private final Int2ObjectHashMap<Partition> leaderPartitions;
   private final ActorControl actor;
 
+  private LogStream batchLogStream;
+
   public SubscriptionApiCommandMessageHandler(
       ActorControl actor, Int2ObjectHashMap<Partition> leaderPartitions) {
     this.leaderPartitions = leaderPartitions;
     this.actor = actor;
   }
 
+  /** Handles a message which contains a single, unframed command. */
   @Override
   public CompletableFuture<Void> apply(byte[] bytes) {
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    actor.call(
+        () -> {
+          onCommand(new UnsafeBuffer(bytes), 0, bytes.length);
+
+          writeBatch();
+          future.complete(null);
+        });
+    return future;
+  }
+
+  /** Handles a message which contains a batch of length-framed commands. */
+  public CompletableFuture<Void> applyBatch(byte[] bytes) {
     final CompletableFuture<Void> future = new CompletableFuture<>();
     actor.call(
         () -> {
           final DirectBuffer buffer = new UnsafeBuffer(bytes);
-          final int offset = 0;
-          final int length = buffer.capacity();
-          messageHeaderDecoder.wrap(buffer, offset);
-
-          if (messageHeaderDecoder.schemaId() == OpenMessageSubscriptionDecoder.SCHEMA_ID) {
-
-            switch (messageHeaderDecoder.templateId()) {
-              case OpenMessageSubscriptionDecoder.TEMPLATE_ID:
-                onOpenMessageSubscription(buffer, offset, length);
-                break;
-              case OpenWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onOpenWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case CorrelateWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onCorrelateWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case CorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
-                onCorrelateMessageSubscription(buffer, offset, length);
-                break;
-              case CloseMessageSubscriptionDecoder.TEMPLATE_ID:
-                onCloseMessageSubscription(buffer, offset, length);
-                break;
-              case CloseWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onCloseWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case RejectCorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
-                onRejectCorrelateMessageSubscription(buffer, offset, length);
-                break;
-              default:
-                break;
-            }
+          if (!SubscriptionCommandBatch.isValid(buffer)) {
+            LOG.warn(
+                "Ignore subscription commands with invalid framing (length: {})",
+                buffer.capacity());
+            future.complete(null);
+            return;
           }
+
+          int frameOffset = 0;
+          while (frameOffset < buffer.capacity()) {
+            final int offset = SubscriptionCommandBatch.commandOffset(frameOffset);
+            final int length = SubscriptionCommandBatch.commandLength(buffer, frameOffset);
+            onCommand(buffer, offset, length);
+
+            frameOffset = offset + length;
+          }
+
+          writeBatch();
           future.complete(null);
         });
     return future;
   }
 
-  private boolean onOpenMessageSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCommand(DirectBuffer buffer, int offset, int length) {
+    messageHeaderDecoder.wrap(buffer, offset);
+
+    if (messageHeaderDecoder.schemaId() == OpenMessageSubscriptionDecoder.SCHEMA_ID) {
+
+      switch (messageHeaderDecoder.templateId()) {
+        case OpenMessageSubscriptionDecoder.TEMPLATE_ID:
+          onOpenMessageSubscription(buffer, offset, length);
+          break;
+        case OpenWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+          onOpenWorkflowInstanceSubscription(buffer, offset, length);
+          break;
+        case CorrelateWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+          onCorrelateWorkflowInstanceSubscription(buffer, offset, length);
+          break;
+        case CorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
+          onCorrelateMessageSubscription(buffer, offset, length);
+          break;
+        case CloseMessageSubscriptionDecoder.TEMPLATE_ID:
+          onCloseMessageSubscription(buffer, offset, length);
+          break;
+        case CloseWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+          onCloseWorkflowInstanceSubscription(buffer, offset, length);
+          break;
+        case RejectCorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
+          onRejectCorrelateMessageSubscription(buffer, offset, length);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private void onOpenMessageSubscription(DirectBuffer buffer, int offset, int length) {
     openMessageSubscriptionCommand.wrap(buffer, offset, length);
 
     messageSubscriptionRecord
@@ -151,14 +196,14 @@ public class SubscriptionApiCommandMessageHandler
         .setCorrelationKey(openMessageSubscriptionCommand.getCorrelationKey())
         .setCloseOnCorrelate(openMessageSubscriptionCommand.shouldCloseOnCorrelate());
 
-    return writeCommand(
+    writeCommand(
         openMessageSubscriptionCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.OPEN,
         messageSubscriptionRecord);
   }
 
-  private boolean onOpenWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onOpenWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
     openWorkflowInstanceSubscriptionCommand.wrap(buffer, offset, length);
 
     final long workflowInstanceKey =
@@ -175,14 +220,14 @@ public class SubscriptionApiCommandMessageHandler
         .setMessageName(openWorkflowInstanceSubscriptionCommand.getMessageName())
         .setCloseOnCorrelate(openWorkflowInstanceSubscriptionCommand.shouldCloseOnCorrelate());
 
-    return writeCommand(
+    writeCommand(
         workflowInstancePartitionId,
         ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
         WorkflowInstanceSubscriptionIntent.OPEN,
         workflowInstanceSubscriptionRecord);
   }
 
-  private boolean onCorrelateWorkflowInstanceSubscription(
+  private void onCorrelateWorkflowInstanceSubscription(
       DirectBuffer buffer, int offset, int length) {
     correlateWorkflowInstanceSubscriptionCommand.wrap(buffer, offset, length);
 
@@ -199,14 +244,14 @@ public class SubscriptionApiCommandMessageHandler
         .setMessageName(correlateWorkflowInstanceSubscriptionCommand.getMessageName())
         .setVariables(correlateWorkflowInstanceSubscriptionCommand.getVariables());
 
-    return writeCommand(
+    writeCommand(
         workflowInstancePartitionId,
         ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
         WorkflowInstanceSubscriptionIntent.CORRELATE,
         workflowInstanceSubscriptionRecord);
   }
 
-  private boolean onCorrelateMessageSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCorrelateMessageSubscription(DirectBuffer buffer, int offset, int length) {
     correlateMessageSubscriptionCommand.wrap(buffer, offset, length);
 
     messageSubscriptionRecord.reset();
@@ -216,14 +261,14 @@ public class SubscriptionApiCommandMessageHandler
         .setMessageKey(-1)
         .setMessageName(correlateMessageSubscriptionCommand.getMessageName());
 
-    return writeCommand(
+    writeCommand(
         correlateMessageSubscriptionCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.CORRELATE,
         messageSubscriptionRecord);
   }
 
-  private boolean onCloseMessageSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCloseMessageSubscription(DirectBuffer buffer, int offset, int length) {
     closeMessageSubscriptionCommand.wrap(buffer, offset, length);
 
     messageSubscriptionRecord.reset();
@@ -233,14 +278,14 @@ public class SubscriptionApiCommandMessageHandler
         .setMessageKey(-1L)
         .setMessageName(closeMessageSubscriptionCommand.getMessageName());
 
-    return writeCommand(
+    writeCommand(
         closeMessageSubscriptionCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.CLOSE,
         messageSubscriptionRecord);
   }
 
-  private boolean onCloseWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCloseWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
     closeWorkflowInstanceSubscriptionCommand.wrap(buffer, offset, length);
 
     final long workflowInstanceKey =
@@ -256,15 +301,14 @@ public class SubscriptionApiCommandMessageHandler
         .setMessageKey(-1)
         .setMessageName(closeWorkflowInstanceSubscriptionCommand.getMessageName());
 
-    return writeCommand(
+    writeCommand(
         workflowInstancePartitionId,
         ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
         WorkflowInstanceSubscriptionIntent.CLOSE,
         workflowInstanceSubscriptionRecord);
   }
 
-  private boolean onRejectCorrelateMessageSubscription(
-      DirectBuffer buffer, int offset, int length) {
+  private void onRejectCorrelateMessageSubscription(DirectBuffer buffer, int offset, int length) {
     resetMessageCorrelationCommand.wrap(buffer, offset, length);
 
     final long workflowInstanceKey = resetMessageCorrelationCommand.getWorkflowInstanceKey();
@@ -278,29 +322,50 @@ public class SubscriptionApiCommandMessageHandler
         .setMessageKey(resetMessageCorrelationCommand.getMessageKey())
         .setCloseOnCorrelate(false);
 
-    return writeCommand(
+    writeCommand(
         resetMessageCorrelationCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.REJECT,
         messageSubscriptionRecord);
   }
 
-  private boolean writeCommand(
+  private void writeCommand(
       int partitionId, ValueType valueType, Intent intent, UnpackedObject command) {
 
     final Partition partition = leaderPartitions.get(partitionId);
     if (partition == null) {
       // ignore message if you are not the leader of the partition
-      return true;
+      return;
     }
 
-    logStreamWriter.wrap(partition.getLogStream());
+    final LogStream logStream = partition.getLogStream();
+    if (logStream != batchLogStream) {
+      writeBatch();
+
+      logStreamBatchWriter.wrap(logStream);
+      batchLogStream = logStream;
+    }
 
     recordMetadata.reset().recordType(RecordType.COMMAND).valueType(valueType).intent(intent);
 
-    final long position =
-        logStreamWriter.key(-1).metadataWriter(recordMetadata).valueWriter(command).tryWrite();
+    logStreamBatchWriter.event().key(-1).metadataWriter(recordMetadata).valueWriter(command).done();
+
+    // the batch must fit into a single frame of the log write buffer
+    if (logStreamBatchWriter.getBatchLength()
+        >= logStream.getWriteBuffer().getMaxFrameLength() / 2) {
+      writeBatch();
+    }
+  }
+
+  private void writeBatch() {
+    if (batchLogStream != null) {
+      final long position = logStreamBatchWriter.tryWrite();
+      if (position < 0) {
+        // the commands are sent again if they are not acknowledged
+        logStreamBatchWriter.reset();
+      }
 
-    return position > 0;
+      batchLogStream = null;
+    }
   }
 }
@@ -31,6 +31,12 @@ import org.agrona.collections.Int2ObjectHashMap;
 public class SubscriptionApiCommandMessageHandlerService extends Actor
     implements Service<SubscriptionApiCommandMessageHandler> {
 
+  /** Topic of single subscription commands, which are also sent by brokers of older versions. */
+  public static final String SUBSCRIPTION_TOPIC = "subscription";
+
+  /** Topic of length-framed subscription command batches. */
+  public static final String SUBSCRIPTION_BATCH_TOPIC = "subscription-batch";
+
   private final Injector<Atomix> atomixInjector = new Injector<>();
 
   private final ServiceGroupReference<Partition> leaderPartitionsGroupReference =
@@ -63,7 +69,10 @@ public class SubscriptionApiCommandMessageHandlerService extends Actor
   @Override
   protected void onActorStarting() {
     messageHandler = new SubscriptionApiCommandMessageHandler(actor, leaderPartitions);
-    atomix.getCommunicationService().subscribe("subscription", messageHandler);
+    atomix.getCommunicationService().subscribe(SUBSCRIPTION_TOPIC, messageHandler);
+    atomix
+        .getCommunicationService()
+        .subscribe(SUBSCRIPTION_BATCH_TOPIC, messageHandler::applyBatch);
   }
 
   private void addPartition(final ServiceName<Partition> sericeName, final Partition partition) {
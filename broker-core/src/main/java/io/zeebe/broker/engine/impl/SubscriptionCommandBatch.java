@@ -0,0 +1,125 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import io.zeebe.protocol.Protocol;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * Subscription commands which are sent together to the leader of a partition. The commands are
+ * framed by their length:
+ *
+ * <pre>
+ * +----------------+-----------+----------------+-----------+-----
+ * | length (int32) | command 1 | length (int32) | command 2 | ...
+ * +----------------+-----------+----------------+-----------+-----
+ * </pre>
+ *
+ * A batch which contains only one command is sent as this command, without the length field.
+ */
+final class SubscriptionCommandBatch {
+
+  private static final int LENGTH_FIELD_LENGTH = Integer.BYTES;
+
+  private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+  private final int partitionId;
+
+  private int length;
+  private int commandCount;
+
+  SubscriptionCommandBatch(final int partitionId) {
+    this.partitionId = partitionId;
+  }
+
+  void add(final BufferWriter command) {
+    final int commandLength = command.getLength();
+    buffer.putInt(length, commandLength, Protocol.ENDIANNESS);
+    command.write(buffer, commandOffset(length));
+
+    length += LENGTH_FIELD_LENGTH + commandLength;
+    commandCount += 1;
+  }
+
+  byte[] toBytes() {
+    final byte[] bytes = new byte[length];
+    buffer.getBytes(0, bytes);
+    return bytes;
+  }
+
+  /** @return the bytes of the first command, without its length field */
+  byte[] toCommandBytes() {
+    final byte[] bytes = new byte[commandLength(buffer, 0)];
+    buffer.getBytes(commandOffset(0), bytes);
+    return bytes;
+  }
+
+  void reset() {
+    length = 0;
+    commandCount = 0;
+  }
+
+  boolean isEmpty() {
+    return commandCount == 0;
+  }
+
+  int getPartitionId() {
+    return partitionId;
+  }
+
+  int getLength() {
+    return length;
+  }
+
+  int getCommandCount() {
+    return commandCount;
+  }
+
+  static int commandOffset(final int frameOffset) {
+    return frameOffset + LENGTH_FIELD_LENGTH;
+  }
+
+  static int commandLength(final DirectBuffer buffer, final int frameOffset) {
+    return buffer.getInt(frameOffset, Protocol.ENDIANNESS);
+  }
+
+  /**
+   * @return {@code true} if the buffer consists of complete frames only, i.e. each length field
+   *     fits into the buffer and each command length is within the remaining bytes
+   */
+  static boolean isValid(final DirectBuffer buffer) {
+    final int capacity = buffer.capacity();
+
+    int frameOffset = 0;
+    while (frameOffset < capacity) {
+      if (capacity - frameOffset < LENGTH_FIELD_LENGTH) {
+        return false;
+      }
+
+      final int offset = commandOffset(frameOffset);
+      final int length = commandLength(buffer, frameOffset);
+      if (length < 0 || length > capacity - offset) {
+        return false;
+      }
+
+      frameOffset = offset + length;
+    }
+    return true;
+  }
+}
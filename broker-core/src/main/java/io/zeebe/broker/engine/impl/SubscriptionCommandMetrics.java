@@ -0,0 +1,63 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class SubscriptionCommandMetrics {
+
+  private final Metric commandsSentCountMetric;
+  private final Metric batchesSentCountMetric;
+  private final Metric batchSizeMetric;
+
+  public SubscriptionCommandMetrics(final MetricsManager metricsManager, final String partitionId) {
+    commandsSentCountMetric =
+        metricsManager
+            .newMetric("subscription_commands_sent_count")
+            .type("counter")
+            .label("partition", partitionId)
+            .create();
+
+    batchesSentCountMetric =
+        metricsManager
+            .newMetric("subscription_command_batches_sent_count")
+            .type("counter")
+            .label("partition", partitionId)
+            .create();
+
+    batchSizeMetric =
+        metricsManager
+            .newMetric("subscription_command_batch_size")
+            .type("gauge")
+            .label("partition", partitionId)
+            .create();
+  }
+
+  public void close() {
+    commandsSentCountMetric.close();
+    batchesSentCountMetric.close();
+    batchSizeMetric.close();
+  }
+
+  public void onBatchSent(final int commandCount) {
+    commandsSentCountMetric.getAndAddOrdered(commandCount);
+    batchesSentCountMetric.incrementOrdered();
+    batchSizeMetric.setOrdered(commandCount);
+  }
+}
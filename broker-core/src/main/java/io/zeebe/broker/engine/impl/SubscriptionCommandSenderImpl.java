@@ -17,11 +17,15 @@
  */
 package io.zeebe.broker.engine.impl;
 
+import static io.zeebe.broker.engine.impl.SubscriptionApiCommandMessageHandlerService.SUBSCRIPTION_BATCH_TOPIC;
+import static io.zeebe.broker.engine.impl.SubscriptionApiCommandMessageHandlerService.SUBSCRIPTION_TOPIC;
+
 import io.atomix.cluster.MemberId;
 import io.atomix.core.Atomix;
 import io.zeebe.broker.clustering.base.topology.NodeInfo;
 import io.zeebe.broker.clustering.base.topology.TopologyManager;
 import io.zeebe.broker.clustering.base.topology.TopologyPartitionListenerImpl;
+import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
 import io.zeebe.engine.processor.workflow.message.command.CloseMessageSubscriptionCommand;
 import io.zeebe.engine.processor.workflow.message.command.CloseWorkflowInstanceSubscriptionCommand;
 import io.zeebe.engine.processor.workflow.message.command.CorrelateMessageSubscriptionCommand;
@@ -33,11 +37,10 @@ import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSen
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorControl;
 import org.agrona.DirectBuffer;
-import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
-import org.agrona.concurrent.UnsafeBuffer;
 
 /**
  * Send commands via the subscription endpoint. The commands are send as single messages (instead of request-response).
@@ -59,8 +62,16 @@ import org.agrona.concurrent.UnsafeBuffer;
  * |                                                   Workflow Instance Partition                                                        |
  * +--------------------------------------------------------------------------------------------------------------------------------------+
  * <pre>
+ *
+ * The commands for the same partition are collected and sent together in one message (see {@link
+ * SubscriptionCommandBatch}) at the end of the actor cycle, or as soon as the batch is full. Batches
+ * are sent on a separate topic. A batch with a single command is sent as a plain command on the
+ * original topic, so that brokers of older versions still receive it during a rolling upgrade.
  */
-public class SubscriptionCommandSenderImpl implements SubscriptionCommandSender {
+public class SubscriptionCommandSenderImpl
+    implements SubscriptionCommandSender, StreamProcessorLifecycleAware {
+
+  static final int MAX_BATCH_LENGTH = 32 * 1024;
 
   private final OpenMessageSubscriptionCommand openMessageSubscriptionCommand =
       new OpenMessageSubscriptionCommand();
@@ -84,21 +95,39 @@ public class SubscriptionCommandSenderImpl implements SubscriptionCommandSender
   private final RejectCorrelateMessageSubscriptionCommand
       rejectCorrelateMessageSubscriptionCommand = new RejectCorrelateMessageSubscriptionCommand();
 
+  private final Int2ObjectHashMap<SubscriptionCommandBatch> pendingBatches =
+      new Int2ObjectHashMap<>();
+
   private final Atomix atomix;
 
   private int partitionId;
+  private ActorControl actor;
   private TopologyPartitionListenerImpl partitionListener;
+  private SubscriptionCommandMetrics metrics;
+  private boolean isFlushScheduled;
 
   public SubscriptionCommandSenderImpl(Atomix atomix) {
     this.atomix = atomix;
   }
 
   public void init(
-      final TopologyManager topologyManager, final ActorControl actor, final LogStream logStream) {
+      final TopologyManager topologyManager,
+      final ActorControl actor,
+      final LogStream logStream,
+      final MetricsManager metricsManager) {
     this.partitionId = logStream.getPartitionId();
+    this.actor = actor;
 
     this.partitionListener = new TopologyPartitionListenerImpl(actor);
     topologyManager.addTopologyPartitionListener(partitionListener);
+
+    this.metrics = new SubscriptionCommandMetrics(metricsManager, Integer.toString(partitionId));
+  }
+
+  @Override
+  public void onClose() {
+    flush();
+    metrics.close();
   }
 
   public boolean openMessageSubscription(
@@ -222,20 +251,50 @@ public class SubscriptionCommandSenderImpl implements SubscriptionCommandSender
   private boolean sendSubscriptionCommand(
       final int receiverPartitionId, final BufferWriter command) {
 
-    final Int2ObjectHashMap<NodeInfo> partitionLeaders = partitionListener.getPartitionLeaders();
-    final NodeInfo partitionLeader = partitionLeaders.get(receiverPartitionId);
-    if (partitionLeader == null) {
-      // retry when no leader is known
-      return true;
+    SubscriptionCommandBatch batch = pendingBatches.get(receiverPartitionId);
+    if (batch == null) {
+      batch = new SubscriptionCommandBatch(receiverPartitionId);
+      pendingBatches.put(receiverPartitionId, batch);
     }
+    batch.add(command);
 
-    final byte bytes[] = new byte[command.getLength()];
-    final MutableDirectBuffer buffer = new UnsafeBuffer(bytes);
-    command.write(buffer, 0);
+    if (batch.getLength() >= MAX_BATCH_LENGTH) {
+      send(batch);
 
-    atomix
-        .getCommunicationService()
-        .send("subscription", bytes, MemberId.from("" + partitionLeader.getNodeId()));
+    } else if (!isFlushScheduled) {
+      isFlushScheduled = true;
+      actor.submit(this::flush);
+    }
     return true;
   }
+
+  private void flush() {
+    isFlushScheduled = false;
+
+    for (final SubscriptionCommandBatch batch : pendingBatches.values()) {
+      if (!batch.isEmpty()) {
+        send(batch);
+      }
+    }
+  }
+
+  private void send(final SubscriptionCommandBatch batch) {
+    final Int2ObjectHashMap<NodeInfo> partitionLeaders = partitionListener.getPartitionLeaders();
+    final NodeInfo partitionLeader = partitionLeaders.get(batch.getPartitionId());
+    if (partitionLeader != null) {
+      final MemberId receiver = MemberId.from("" + partitionLeader.getNodeId());
+
+      // a single command is sent unframed, which is also understood by older brokers
+      if (batch.getCommandCount() == 1) {
+        atomix.getCommunicationService().send(SUBSCRIPTION_TOPIC, batch.toCommandBytes(), receiver);
+      } else {
+        atomix.getCommunicationService().send(SUBSCRIPTION_BATCH_TOPIC, batch.toBytes(), receiver);
+      }
+
+      metrics.onBatchSent(batch.getCommandCount());
+    }
+    // otherwise, the commands are retried when no leader is known
+
+    batch.reset();
+  }
 }
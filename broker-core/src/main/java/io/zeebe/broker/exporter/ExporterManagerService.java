@@ -32,7 +32,6 @@ import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.broker.system.configuration.ExporterCfg;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.logstreams.impl.service.LogStreamServiceNames;
-import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceGroupReference;
@@ -97,7 +96,6 @@ public class ExporterManagerService implements Service<ExporterManagerService> {
               .zeebeDb(zeebeDb)
               .maxSnapshots(dataCfg.getMaxSnapshots())
               .descriptors(exporterRepository.getExporters().values())
-              .logStreamReader(new BufferedLogStreamReader())
               .snapshotPeriod(DurationUtil.parse(dataCfg.getSnapshotPeriod()));
 
       final LogStream logStream = partition.getLogStream();
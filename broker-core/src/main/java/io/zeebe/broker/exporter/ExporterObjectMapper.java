@@ -18,16 +18,19 @@
 package io.zeebe.broker.exporter;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.InjectableValues;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.zeebe.gateway.impl.data.MsgPackConverter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Map;
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 
@@ -38,6 +41,7 @@ public class ExporterObjectMapper {
 
   private final ObjectMapper msgpackObjectMapper;
   private final ObjectMapper jsonObjectMapper;
+  private final ObjectWriter jsonStreamWriter;
 
   private final MsgPackConverter msgPackConverter;
 
@@ -49,6 +53,7 @@ public class ExporterObjectMapper {
 
     msgpackObjectMapper = createMsgpackObjectMapper(injectableValues);
     jsonObjectMapper = createDefaultObjectMapper(injectableValues);
+    jsonStreamWriter = jsonObjectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
   }
 
   private ObjectMapper createDefaultObjectMapper(InjectableValues injectableValues) {
@@ -90,6 +95,10 @@ public class ExporterObjectMapper {
     }
   }
 
+  public void writeJson(Object value, OutputStream outputStream) throws IOException {
+    jsonStreamWriter.writeValue(outputStream, value);
+  }
+
   public byte[] toMsgpack(Object value) {
     try {
       return msgpackObjectMapper.writeValueAsBytes(value);
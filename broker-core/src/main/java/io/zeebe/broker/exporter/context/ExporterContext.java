@@ -32,6 +32,7 @@ public class ExporterContext implements Context {
   private final Configuration configuration;
 
   private RecordFilter filter = DEFAULT_FILTER;
+  private boolean recordViewsEnabled;
 
   public ExporterContext(final Logger logger, final Configuration configuration) {
     this.logger = logger;
@@ -58,6 +59,15 @@ public class ExporterContext implements Context {
     return filter;
   }
 
+  @Override
+  public void setRecordViewsEnabled(boolean enabled) {
+    this.recordViewsEnabled = enabled;
+  }
+
+  public boolean isRecordViewsEnabled() {
+    return recordViewsEnabled;
+  }
+
   private static class AcceptAllRecordsFilter implements RecordFilter {
 
     @Override
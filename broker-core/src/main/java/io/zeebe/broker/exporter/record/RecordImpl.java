@@ -23,6 +23,8 @@ import io.zeebe.broker.exporter.ExporterObjectMapper;
 import io.zeebe.exporter.api.record.Record;
 import io.zeebe.exporter.api.record.RecordMetadata;
 import io.zeebe.exporter.api.record.RecordValue;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.function.Supplier;
 
@@ -36,7 +38,7 @@ public class RecordImpl<T extends RecordValue> implements Record<T> {
   private final RecordMetadata metadata;
 
   @JsonIgnore private final Supplier<T> valueSupplier;
-  @JsonIgnore private T value = null;
+  @JsonIgnore private volatile T value = null;
 
   @JsonIgnore private final ExporterObjectMapper objectMapper;
 
@@ -107,6 +109,11 @@ public class RecordImpl<T extends RecordValue> implements Record<T> {
     return objectMapper.toJson(this);
   }
 
+  @Override
+  public void writeJson(OutputStream outputStream) throws IOException {
+    objectMapper.writeJson(this, outputStream);
+  }
+
   @Override
   public String toString() {
     return "RecordImpl{"
@@ -31,8 +31,8 @@ public abstract class RecordValueWithVariablesImpl extends RecordValueImpl
   @JsonIgnore private final Supplier<String> variablesSupplier;
   @JsonIgnore private final Supplier<Map<String, Object>> variableMapSupplier;
 
-  @JsonIgnore private String variables = null;
-  @JsonIgnore private Map<String, Object> variableMap = null;
+  @JsonIgnore private volatile String variables = null;
+  @JsonIgnore private volatile Map<String, Object> variableMap = null;
 
   public RecordValueWithVariablesImpl(
       final ExporterObjectMapper objectMapper,
@@ -38,7 +38,7 @@ public class JobRecordValueImpl extends RecordValueWithVariablesImpl implements
   private final String errorMessage;
 
   @JsonIgnore private final Supplier<Map<String, Object>> customHeaderSupplier;
-  @JsonIgnore private Map<String, Object> customHeaders;
+  @JsonIgnore private volatile Map<String, Object> customHeaders;
 
   public JobRecordValueImpl(
       final ExporterObjectMapper objectMapper,
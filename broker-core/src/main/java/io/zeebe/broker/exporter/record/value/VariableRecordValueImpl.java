@@ -33,7 +33,7 @@ public class VariableRecordValueImpl extends RecordValueImpl implements Variable
   private final long workflowKey;
 
   @JsonIgnore private final Supplier<String> valueSupplier;
-  @JsonIgnore private String value;
+  @JsonIgnore private volatile String value;
 
   public VariableRecordValueImpl(
       final ExporterObjectMapper objectMapper,
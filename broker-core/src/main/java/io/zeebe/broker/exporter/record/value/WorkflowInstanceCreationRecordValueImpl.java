@@ -34,7 +34,7 @@ public class WorkflowInstanceCreationRecordValueImpl extends RecordValueImpl
   private final long instanceKey;
 
   @JsonIgnore private final Supplier<Map<String, Object>> variablesSupplier;
-  @JsonIgnore private Map<String, Object> variables;
+  @JsonIgnore private volatile Map<String, Object> variables;
 
   public WorkflowInstanceCreationRecordValueImpl(
       ExporterObjectMapper objectMapper,
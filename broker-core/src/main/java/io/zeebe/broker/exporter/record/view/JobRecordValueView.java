@@ -0,0 +1,109 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.exporter.api.record.value.JobRecordValue;
+import io.zeebe.exporter.api.record.value.job.Headers;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.util.buffer.BufferUtil;
+import java.time.Instant;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.io.DirectBufferInputStream;
+
+/** The value of a job {@link RecordView}, the variables are only converted if requested. */
+public class JobRecordValueView implements JobRecordValue {
+
+  private final JobRecord record = new JobRecord();
+  private final RecordView recordView;
+  private final ExporterObjectMapper objectMapper;
+
+  JobRecordValueView(RecordView recordView, ExporterObjectMapper objectMapper) {
+    this.recordView = recordView;
+    this.objectMapper = objectMapper;
+  }
+
+  void wrap(DirectBuffer buffer, int offset, int length) {
+    record.wrap(buffer, offset, length);
+  }
+
+  @Override
+  public String getType() {
+    return BufferUtil.bufferAsString(record.getTypeBuffer());
+  }
+
+  @Override
+  @JsonSerialize(as = Headers.class)
+  public Headers getHeaders() {
+    return record.getJobHeaders();
+  }
+
+  @Override
+  public Map<String, Object> getCustomHeaders() {
+    return objectMapper.fromMsgpackAsMap(
+        new DirectBufferInputStream(record.getCustomHeadersBuffer()));
+  }
+
+  @Override
+  public String getWorker() {
+    return BufferUtil.bufferAsString(record.getWorkerBuffer());
+  }
+
+  @Override
+  public int getRetries() {
+    return record.getRetries();
+  }
+
+  @Override
+  public Instant getDeadline() {
+    final long deadline = record.getDeadlineLong();
+    return deadline != Protocol.INSTANT_NULL_VALUE ? Instant.ofEpochMilli(deadline) : null;
+  }
+
+  @Override
+  public String getErrorMessage() {
+    return BufferUtil.bufferAsString(record.getErrorMessageBuffer());
+  }
+
+  @Override
+  public String getVariables() {
+    return objectMapper
+        .getMsgPackConverter()
+        .convertToJson(new DirectBufferInputStream(record.getVariablesBuffer()));
+  }
+
+  @Override
+  @JsonIgnore
+  public Map<String, Object> getVariablesAsMap() {
+    return objectMapper.fromMsgpackAsMap(new DirectBufferInputStream(record.getVariablesBuffer()));
+  }
+
+  @Override
+  public String toJson() {
+    return objectMapper.toJson(this);
+  }
+
+  @Override
+  public String toString() {
+    return recordView.copy().getValue().toString();
+  }
+}
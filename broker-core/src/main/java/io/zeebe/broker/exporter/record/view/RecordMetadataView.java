@@ -0,0 +1,113 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.exporter.api.record.RecordMetadata;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.util.buffer.BufferUtil;
+
+/** The metadata of a {@link RecordView}, the rejection reason is only converted on access. */
+@JsonAutoDetect(fieldVisibility = Visibility.NONE, getterVisibility = Visibility.PUBLIC_ONLY)
+@JsonInclude(Include.NON_NULL)
+@JsonPropertyOrder({
+  "valueType",
+  "intent",
+  "recordType",
+  "partitionId",
+  "rejectionType",
+  "rejectionReason"
+})
+public class RecordMetadataView implements RecordMetadata {
+
+  private final ExporterObjectMapper objectMapper;
+  private final int partitionId;
+
+  private io.zeebe.protocol.impl.record.RecordMetadata metadata;
+
+  public RecordMetadataView(ExporterObjectMapper objectMapper, int partitionId) {
+    this.objectMapper = objectMapper;
+    this.partitionId = partitionId;
+  }
+
+  void wrap(io.zeebe.protocol.impl.record.RecordMetadata metadata) {
+    this.metadata = metadata;
+  }
+
+  @Override
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  @Override
+  public Intent getIntent() {
+    return metadata.getIntent();
+  }
+
+  @Override
+  public RecordType getRecordType() {
+    return metadata.getRecordType();
+  }
+
+  @Override
+  public RejectionType getRejectionType() {
+    return metadata.getRejectionType();
+  }
+
+  @Override
+  public String getRejectionReason() {
+    return BufferUtil.bufferAsString(metadata.getRejectionReasonBuffer());
+  }
+
+  @Override
+  public ValueType getValueType() {
+    return metadata.getValueType();
+  }
+
+  @Override
+  public String toJson() {
+    return objectMapper.toJson(this);
+  }
+
+  @Override
+  public String toString() {
+    return "RecordMetadataView{"
+        + "partitionId="
+        + partitionId
+        + ", intent="
+        + getIntent()
+        + ", recordType="
+        + getRecordType()
+        + ", rejectionType="
+        + getRejectionType()
+        + ", rejectionReason='"
+        + getRejectionReason()
+        + '\''
+        + ", valueType="
+        + getValueType()
+        + '}';
+  }
+}
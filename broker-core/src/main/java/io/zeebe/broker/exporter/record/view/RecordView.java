@@ -0,0 +1,178 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.RecordMetadataImpl;
+import io.zeebe.broker.exporter.stream.ExporterRecordMapper;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.record.RecordMetadata;
+import io.zeebe.exporter.api.record.RecordValue;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.util.buffer.BufferUtil;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * A record which reads its properties from the logged event when they are accessed, instead of
+ * copying the event like the records of the {@link ExporterRecordMapper}. The value is only decoded
+ * if it is accessed, and the variables are only converted if they are requested.
+ *
+ * <p>The view and its value are flyweights which are wrapped around the next event, so they are
+ * only valid as long as the event is. The JSON representation is written from the view, the values
+ * without a view are taken from a copy of the record.
+ */
+@JsonAutoDetect(fieldVisibility = Visibility.NONE, getterVisibility = Visibility.PUBLIC_ONLY)
+public class RecordView implements Record<RecordValue> {
+
+  private final ExporterObjectMapper objectMapper;
+  private final ExporterRecordMapper recordMapper;
+  private final int partitionId;
+
+  private final RecordMetadataView metadata;
+  private final JobRecordValueView jobRecordValue;
+  private final WorkflowInstanceRecordValueView workflowInstanceRecordValue;
+
+  private LoggedEvent event;
+  private io.zeebe.protocol.impl.record.RecordMetadata rawMetadata;
+  private RecordValue value;
+  private Record<RecordValue> copy;
+
+  public RecordView(
+      ExporterObjectMapper objectMapper, ExporterRecordMapper recordMapper, int partitionId) {
+    this.objectMapper = objectMapper;
+    this.recordMapper = recordMapper;
+    this.partitionId = partitionId;
+
+    this.metadata = new RecordMetadataView(objectMapper, partitionId);
+    this.jobRecordValue = new JobRecordValueView(this, objectMapper);
+    this.workflowInstanceRecordValue = new WorkflowInstanceRecordValueView(this, objectMapper);
+  }
+
+  /**
+   * @param event the event to read the record from
+   * @param rawMetadata the metadata which is read from the event
+   * @return this view, or {@code null} if records with this type of value are not exported
+   */
+  public RecordView wrap(
+      LoggedEvent event, io.zeebe.protocol.impl.record.RecordMetadata rawMetadata) {
+    if (!recordMapper.canMap(rawMetadata.getValueType())) {
+      return null;
+    }
+
+    this.event = event;
+    this.rawMetadata = rawMetadata;
+    this.metadata.wrap(rawMetadata);
+    this.value = null;
+    this.copy = null;
+    return this;
+  }
+
+  @Override
+  public long getPosition() {
+    return event.getPosition();
+  }
+
+  @Override
+  public long getSourceRecordPosition() {
+    return event.getSourceEventPosition();
+  }
+
+  @Override
+  public int getProducerId() {
+    return event.getProducerId();
+  }
+
+  @Override
+  public long getKey() {
+    return event.getKey();
+  }
+
+  @Override
+  public Instant getTimestamp() {
+    return Instant.ofEpochMilli(event.getTimestamp());
+  }
+
+  @Override
+  public RecordMetadata getMetadata() {
+    return metadata;
+  }
+
+  @Override
+  public RecordValue getValue() {
+    if (value == null) {
+      value = wrapValue();
+    }
+    return value;
+  }
+
+  private RecordValue wrapValue() {
+    final int offset = event.getValueOffset();
+    final int length = event.getValueLength();
+
+    switch (rawMetadata.getValueType()) {
+      case JOB:
+        jobRecordValue.wrap(event.getValueBuffer(), offset, length);
+        return jobRecordValue;
+      case WORKFLOW_INSTANCE:
+        workflowInstanceRecordValue.wrap(event.getValueBuffer(), offset, length);
+        return workflowInstanceRecordValue;
+      default:
+        return copy().getValue();
+    }
+  }
+
+  /**
+   * @return a copy of the record which stays valid after the view is wrapped around another event
+   */
+  @Override
+  public Record<RecordValue> copy() {
+    if (copy == null) {
+      final RecordMetadataImpl metadataCopy =
+          new RecordMetadataImpl(
+              objectMapper,
+              partitionId,
+              rawMetadata.getIntent(),
+              rawMetadata.getRecordType(),
+              rawMetadata.getRejectionType(),
+              BufferUtil.bufferAsString(rawMetadata.getRejectionReasonBuffer()),
+              rawMetadata.getValueType());
+
+      copy = recordMapper.map(event, metadataCopy);
+    }
+    return copy;
+  }
+
+  @Override
+  public String toJson() {
+    return objectMapper.toJson(this);
+  }
+
+  @Override
+  public void writeJson(OutputStream outputStream) throws IOException {
+    objectMapper.writeJson(this, outputStream);
+  }
+
+  @Override
+  public String toString() {
+    return "RecordView{" + copy() + '}';
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceRecordValue;
+import io.zeebe.protocol.BpmnElementType;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.util.buffer.BufferUtil;
+import org.agrona.DirectBuffer;
+
+/** The value of a workflow instance {@link RecordView}. */
+public class WorkflowInstanceRecordValueView implements WorkflowInstanceRecordValue {
+
+  private final WorkflowInstanceRecord record = new WorkflowInstanceRecord();
+  private final RecordView recordView;
+  private final ExporterObjectMapper objectMapper;
+
+  WorkflowInstanceRecordValueView(RecordView recordView, ExporterObjectMapper objectMapper) {
+    this.recordView = recordView;
+    this.objectMapper = objectMapper;
+  }
+
+  void wrap(DirectBuffer buffer, int offset, int length) {
+    record.wrap(buffer, offset, length);
+  }
+
+  @Override
+  public String getBpmnProcessId() {
+    return BufferUtil.bufferAsString(record.getBpmnProcessIdBuffer());
+  }
+
+  @Override
+  public int getVersion() {
+    return record.getVersion();
+  }
+
+  @Override
+  public long getWorkflowKey() {
+    return record.getWorkflowKey();
+  }
+
+  @Override
+  public long getWorkflowInstanceKey() {
+    return record.getWorkflowInstanceKey();
+  }
+
+  @Override
+  public String getElementId() {
+    return BufferUtil.bufferAsString(record.getElementIdBuffer());
+  }
+
+  @Override
+  public long getFlowScopeKey() {
+    return record.getFlowScopeKey();
+  }
+
+  @Override
+  public BpmnElementType getBpmnElementType() {
+    return record.getBpmnElementType();
+  }
+
+  @Override
+  public String toJson() {
+    return objectMapper.toJson(this);
+  }
+
+  @Override
+  public String toString() {
+    return recordView.copy().getValue().toString();
+  }
+}
@@ -0,0 +1,275 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.broker.exporter.context.ExporterContext;
+import io.zeebe.broker.exporter.record.view.RecordView;
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
+import io.zeebe.exporter.api.context.Context;
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.spi.Exporter;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamReader;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.util.retry.AbortableRetryStrategy;
+import io.zeebe.util.retry.EndlessRetryStrategy;
+import io.zeebe.util.retry.RetryStrategy;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.clock.ActorClock;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
+import org.slf4j.Logger;
+
+/**
+ * Exports the records of the log stream to one exporter. The container reads the log stream with
+ * its own reader on its own actor, starting after the last exported position of the exporter. A
+ * record is only read after the previous one is exported, so a slow exporter only holds back its
+ * own reader.
+ */
+final class ExporterContainer extends Actor implements Controller {
+
+  private static final String ERROR_MESSAGE_EXPORTING_ABORTED =
+      "Expected to export record '{}' successfully, but exception was thrown.";
+  private static final String ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED =
+      "Expected to find event with the snapshot position %s in log stream, but nothing was found. Failed to recover '%s'.";
+
+  private static final Logger LOG = Loggers.EXPORTER_LOGGER;
+
+  private final ExporterDirector director;
+  private final ExporterContext context;
+  private final Exporter exporter;
+  private final String name;
+
+  private final LogStream logStream;
+  private final LogStreamReader logStreamReader = new BufferedLogStreamReader();
+  private final RecordMetadata rawMetadata = new RecordMetadata();
+  private final RetryStrategy exportingRetryStrategy;
+  private final RetryStrategy recordWrapStrategy;
+  private final RecordView recordView;
+
+  private ExporterMetrics metrics;
+  private ActorCondition onCommitPositionUpdatedCondition;
+  private boolean isOpened;
+  private boolean inExportingPhase;
+  private Record record;
+
+  private volatile long position;
+  // only accessed by the director
+  private long persistedPosition;
+
+  ExporterContainer(ExporterDirector director, ExporterDescriptor descriptor) {
+    this.director = director;
+    this.context =
+        new ExporterContext(
+            Loggers.getExporterLogger(descriptor.getId()), descriptor.getConfiguration());
+    this.exporter = descriptor.newInstance();
+    this.name = director.getName() + "-" + descriptor.getId();
+
+    this.logStream = director.getLogStream();
+    this.exportingRetryStrategy = new AbortableRetryStrategy(actor);
+    this.recordWrapStrategy = new EndlessRetryStrategy(actor);
+    this.recordView = director.newRecordView();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  String getId() {
+    return context.getConfiguration().getId();
+  }
+
+  void configure() throws Exception {
+    exporter.configure(context);
+  }
+
+  void recoverPosition(long position) {
+    this.position = position;
+    this.persistedPosition = position;
+  }
+
+  long getPosition() {
+    return position;
+  }
+
+  long getPersistedPosition() {
+    return persistedPosition;
+  }
+
+  void setPersistedPosition(long position) {
+    this.persistedPosition = position;
+  }
+
+  void setMetrics(ExporterMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  ActorFuture<Void> close() {
+    return actor.close();
+  }
+
+  @Override
+  protected void onActorStarting() {
+    logStreamReader.wrap(logStream);
+  }
+
+  @Override
+  protected void onActorStarted() {
+    final boolean failedToRecoverReader = !logStreamReader.seekToNextEvent(position);
+    if (failedToRecoverReader) {
+      throw new IllegalStateException(
+          String.format(ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED, position, getName()));
+    }
+
+    isOpened = true;
+    exporter.open(this);
+
+    onCommitPositionUpdatedCondition =
+        actor.onCondition(getName() + "-on-commit-position-updated", this::readNextEvent);
+    logStream.registerOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+
+    actor.submit(this::readNextEvent);
+  }
+
+  private void readNextEvent() {
+    if (isOpened && !inExportingPhase && logStreamReader.hasNext()) {
+      final LoggedEvent currentEvent = logStreamReader.next();
+      currentEvent.readMetadata(rawMetadata);
+
+      if (position < currentEvent.getPosition() && acceptRecord(rawMetadata)) {
+        inExportingPhase = true;
+        exportEvent(currentEvent);
+      } else {
+        actor.submit(this::readNextEvent);
+        metrics.incrementEventsSkippedCount();
+      }
+    }
+  }
+
+  private boolean acceptRecord(RecordMetadata metadata) {
+    final Context.RecordFilter filter = context.getFilter();
+    return filter.acceptType(metadata.getRecordType())
+        && filter.acceptValue(metadata.getValueType());
+  }
+
+  private void exportEvent(final LoggedEvent event) {
+    final ActorFuture<Boolean> wrapRetryFuture =
+        recordWrapStrategy.runWithRetry(
+            () -> {
+              if (context.isRecordViewsEnabled()) {
+                record = recordView.wrap(event, rawMetadata);
+              } else {
+                record = director.mapRecord(event, rawMetadata);
+              }
+              return true;
+            },
+            this::isClosed);
+
+    actor.runOnCompletion(
+        wrapRetryFuture,
+        (b, t) -> {
+          assert t == null : "Throwable must be null";
+
+          final ActorFuture<Boolean> retryFuture =
+              exportingRetryStrategy.runWithRetry(this::exportRecord, this::isClosed);
+
+          actor.runOnCompletion(
+              retryFuture,
+              (bool, throwable) -> {
+                if (throwable != null) {
+                  LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, event, throwable);
+                  onFailure();
+                } else {
+                  inExportingPhase = false;
+                  actor.submit(this::readNextEvent);
+                }
+              });
+        });
+  }
+
+  private boolean exportRecord() {
+    if (record == null) {
+      return true;
+    }
+
+    // current error handling strategy is simply to repeat forever until the record can be
+    // successfully exported.
+    try {
+      exporter.export(record);
+    } catch (final Exception ex) {
+      context.getLogger().error("Error exporting record {}", record, ex);
+      metrics.incrementExportRetriesCount();
+      return false;
+    }
+
+    metrics.incrementEventsExportedCount();
+    metrics.setExportLag(ActorClock.currentTimeMillis() - record.getTimestamp().toEpochMilli());
+    return true;
+  }
+
+  private void onFailure() {
+    isOpened = false;
+    actor.close();
+  }
+
+  private boolean isClosed() {
+    return !isOpened;
+  }
+
+  @Override
+  public void updateLastExportedRecordPosition(final long position) {
+    this.position = position;
+    director.updateLastExportedRecordPosition(this, position);
+  }
+
+  @Override
+  public void scheduleTask(final Duration delay, final Runnable task) {
+    actor.runDelayed(delay, task);
+  }
+
+  @Override
+  protected void onActorCloseRequested() {
+    isOpened = false;
+    try {
+      exporter.close();
+    } catch (final Exception e) {
+      context.getLogger().error("Error on close", e);
+    }
+  }
+
+  @Override
+  protected void onActorClosing() {
+    metrics.close();
+    logStreamReader.close();
+    if (onCommitPositionUpdatedCondition != null) {
+      logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+      onCommitPositionUpdatedCondition = null;
+    }
+  }
+
+  @Override
+  protected void onActorClosed() {
+    LOG.debug("Closed exporter container '{}'.", getName());
+  }
+}
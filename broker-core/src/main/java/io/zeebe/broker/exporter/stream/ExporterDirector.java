@@ -19,21 +19,12 @@ package io.zeebe.broker.exporter.stream;
 
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.exporter.ExporterObjectMapper;
-import io.zeebe.broker.exporter.context.ExporterContext;
 import io.zeebe.broker.exporter.record.RecordMetadataImpl;
-import io.zeebe.broker.exporter.repo.ExporterDescriptor;
+import io.zeebe.broker.exporter.record.view.RecordView;
 import io.zeebe.db.ZeebeDb;
-import io.zeebe.engine.processor.AsyncSnapshotDirector;
-import io.zeebe.engine.processor.EventFilter;
-import io.zeebe.exporter.api.context.Context;
-import io.zeebe.exporter.api.context.Controller;
 import io.zeebe.exporter.api.record.Record;
-import io.zeebe.exporter.api.spi.Exporter;
 import io.zeebe.logstreams.log.LogStream;
-import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LoggedEvent;
-import io.zeebe.protocol.clientapi.RecordType;
-import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
@@ -41,75 +32,55 @@ import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.LangUtil;
 import io.zeebe.util.buffer.BufferUtil;
 import io.zeebe.util.metrics.MetricsManager;
-import io.zeebe.util.retry.AbortableRetryStrategy;
-import io.zeebe.util.retry.EndlessRetryStrategy;
-import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.Actor;
-import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.SchedulingHints;
 import io.zeebe.util.sched.future.ActorFuture;
-import java.time.Duration;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 
+/**
+ * Exports the records of a partition. Every exporter runs in its own {@link ExporterContainer}
+ * which reads the log stream and exports on its own actor, so that a slow exporter only delays its
+ * own position. The director owns the state of the exported positions and maps the records, which
+ * are shared by the containers that read the same positions.
+ */
 public class ExporterDirector extends Actor implements Service<ExporterDirector> {
 
-  private static final String ERROR_MESSAGE_EXPORTING_ABORTED =
-      "Expected to export record '{}' successfully, but exception was thrown.";
-  private static final String ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED =
-      "Expected to find event with the snapshot position %s in log stream, but nothing was found. Failed to recover '%s'.";
-
   private static final Logger LOG = Loggers.EXPORTER_LOGGER;
-  private static final long NO_LAST_WRITTEN_EVENT_POSITION = -1L;
-  private static final Consumer<Long> NO_DATA_REMOVER = pos -> {};
-
-  private final RecordMetadata rawMetadata = new RecordMetadata();
+  private static final int RECORD_CACHE_CAPACITY = 1024;
 
   private ActorScheduler actorScheduler;
   private final AtomicBoolean isOpened = new AtomicBoolean(false);
 
   private final List<ExporterContainer> containers;
+  private final List<ExporterContainer> startedContainers = new ArrayList<>();
   private final int partitionId;
 
   private final LogStream logStream;
-  private final LogStreamReader logStreamReader;
-  private final RecordExporter recordExporter = new RecordExporter();
+  private final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
+  private final ExporterRecordMapper recordMapper = new ExporterRecordMapper(objectMapper);
+  private final MappedRecordCache recordCache = new MappedRecordCache(RECORD_CACHE_CAPACITY);
 
   private final ZeebeDb zeebeDb;
   private final String name;
-  private final ExporterDirectorContext context;
-  private final RetryStrategy exportingRetryStrategy;
-  private final RetryStrategy recordWrapStrategy;
-  private EventFilter eventFilter;
   private ExportersState state;
 
-  private ExporterMetrics metrics;
-  private AsyncSnapshotDirector asyncSnapshotDirector;
-  private ActorCondition onCommitPositionUpdatedCondition;
-  private long lastExportedPosition;
-  private boolean inExportingPhase;
+  private volatile long lowestExporterPosition = ExportersState.VALUE_NOT_FOUND;
 
   public ExporterDirector(ExporterDirectorContext context) {
     this.name = context.getName();
-    this.context = context;
-
-    this.containers =
-        context.getDescriptors().stream().map(ExporterContainer::new).collect(Collectors.toList());
-
     this.logStream = context.getLogStream();
     this.partitionId = logStream.getPartitionId();
-    this.logStreamReader = context.getLogStreamReader();
-    this.exportingRetryStrategy = new AbortableRetryStrategy(actor);
-    this.recordWrapStrategy = new EndlessRetryStrategy(actor);
-
     this.zeebeDb = context.getZeebeDb();
+
+    this.containers =
+        context.getDescriptors().stream()
+            .map(descriptor -> new ExporterContainer(this, descriptor))
+            .collect(Collectors.toList());
   }
 
   @Override
@@ -133,14 +104,6 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
     return this;
   }
 
-  @Override
-  protected void onActorStarting() {
-    final MetricsManager metricsManager = actorScheduler.getMetricsManager();
-    metrics = new ExporterMetrics(metricsManager, getName(), Integer.toString(partitionId));
-
-    this.logStreamReader.wrap(logStream);
-  }
-
   @Override
   protected void onActorStarted() {
     try {
@@ -148,12 +111,8 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
       recoverFromSnapshot();
 
       for (final ExporterContainer container : containers) {
-        container.exporter.configure(container.context);
+        container.configure();
       }
-
-      eventFilter = createEventFilter(containers);
-      LOG.info("Set event filter for exporters: {}", eventFilter);
-
     } catch (final Throwable e) {
       onFailure();
       LangUtil.rethrowUnchecked(e);
@@ -166,43 +125,31 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
   private void recoverFromSnapshot() {
     this.state = new ExportersState(zeebeDb, zeebeDb.createContext());
 
-    final long snapshotPosition = getLowestExporterPosition();
-    final boolean failedToRecoverReader = !logStreamReader.seekToNextEvent(snapshotPosition);
-    if (failedToRecoverReader) {
-      throw new IllegalStateException(
-          String.format(ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED, snapshotPosition, getName()));
+    for (final ExporterContainer container : containers) {
+      final long position = state.getPosition(container.getId());
+      if (position == ExportersState.VALUE_NOT_FOUND) {
+        state.setPosition(container.getId(), -1L);
+        container.recoverPosition(-1L);
+      } else {
+        container.recoverPosition(position);
+      }
     }
 
+    clearExporterState();
+    lowestExporterPosition = state.getLowestPosition();
+
     LOG.info(
         "Recovered exporter '{}' from snapshot at lastExportedPosition {}",
         getName(),
-        snapshotPosition);
+        lowestExporterPosition);
   }
 
+  /**
+   * @return the lowest position which is exported by all exporters, the log stream can be compacted
+   *     up to it
+   */
   public long getLowestExporterPosition() {
-    return state.getLowestPosition();
-  }
-
-  private ExporterEventFilter createEventFilter(List<ExporterContainer> containers) {
-
-    final List<Context.RecordFilter> recordFilters =
-        containers.stream().map(c -> c.context.getFilter()).collect(Collectors.toList());
-
-    final Map<RecordType, Boolean> acceptRecordTypes =
-        Arrays.stream(RecordType.values())
-            .collect(
-                Collectors.toMap(
-                    Function.identity(),
-                    type -> recordFilters.stream().anyMatch(f -> f.acceptType(type))));
-
-    final Map<ValueType, Boolean> acceptValueTypes =
-        Arrays.stream(ValueType.values())
-            .collect(
-                Collectors.toMap(
-                    Function.identity(),
-                    type -> recordFilters.stream().anyMatch(f -> f.acceptValue(type))));
-
-    return new ExporterEventFilter(acceptRecordTypes, acceptValueTypes);
+    return lowestExporterPosition;
   }
 
   private void onFailure() {
@@ -211,74 +158,86 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
   }
 
   private void onSnapshotRecovered() {
-    onCommitPositionUpdatedCondition =
-        actor.onCondition(
-            getName() + "-on-commit-lastExportedPosition-updated", this::readNextEvent);
-    logStream.registerOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+    final MetricsManager metricsManager = actorScheduler.getMetricsManager();
+    final String partition = Integer.toString(partitionId);
 
-    // start reading
+    final List<ActorFuture<Void>> startFutures = new ArrayList<>();
     for (final ExporterContainer container : containers) {
-      container.position = state.getPosition(container.getId());
-      if (container.position == ExportersState.VALUE_NOT_FOUND) {
-        state.setPosition(container.getId(), -1L);
-      }
-      container.exporter.open(container);
+      container.setMetrics(
+          new ExporterMetrics(metricsManager, getName(), partition, container.getId()));
+
+      startFutures.add(actorScheduler.submitActor(container, false, SchedulingHints.ioBound()));
+      startedContainers.add(container);
     }
 
-    clearExporterState();
+    actor.runOnCompletion(
+        startFutures,
+        failure -> {
+          if (failure != null) {
+            LOG.error("Failed to start the exporters of '{}'", getName(), failure);
+            onFailure();
+          }
+        });
+  }
 
-    actor.submit(this::readNextEvent);
+  /**
+   * Persists the position of the given exporter. Can be called from any thread, the state is only
+   * accessed by the director's actor.
+   */
+  void updateLastExportedRecordPosition(ExporterContainer container, long position) {
+    actor.run(() -> persistPosition(container, position));
   }
 
-  private void skipRecord() {
-    actor.submit(this::readNextEvent);
-    metrics.incrementEventsSkippedCount();
+  private void persistPosition(ExporterContainer container, long position) {
+    state.setPosition(container.getId(), position);
+    container.setPersistedPosition(position);
+
+    lowestExporterPosition = getLowestPersistedPosition();
   }
 
-  private void readNextEvent() {
-    if (isOpened.get() && logStreamReader.hasNext() && !inExportingPhase) {
-      final LoggedEvent currentEvent = logStreamReader.next();
-      if (eventFilter == null || eventFilter.applies(currentEvent)) {
-        inExportingPhase = true;
-        exportEvent(currentEvent);
-      } else {
-        skipRecord();
-      }
+  private long getLowestPersistedPosition() {
+    long lowestPosition = Long.MAX_VALUE;
+    for (final ExporterContainer container : containers) {
+      lowestPosition = Math.min(lowestPosition, container.getPersistedPosition());
     }
+    return containers.isEmpty() ? ExportersState.VALUE_NOT_FOUND : lowestPosition;
   }
 
-  private void exportEvent(final LoggedEvent event) {
-    final ActorFuture<Boolean> wrapRetryFuture =
-        recordWrapStrategy.runWithRetry(
-            () -> {
-              event.readMetadata(rawMetadata);
-              recordExporter.wrap(event);
-              return true;
-            },
-            this::isClosed);
+  /**
+   * Maps the given event to a record. The records are cached, so that the event is mapped only once
+   * if the exporters read the same positions. Can be called from any container.
+   *
+   * @return the record, or {@code null} if the value type of the event is not exported
+   */
+  Record mapRecord(LoggedEvent event, RecordMetadata rawMetadata) {
+    final Record cachedRecord = recordCache.get(event.getPosition());
+    if (cachedRecord != null) {
+      return cachedRecord;
+    }
 
-    actor.runOnCompletion(
-        wrapRetryFuture,
-        (b, t) -> {
-          assert t == null : "Throwable must be null";
-
-          final ActorFuture<Boolean> retryFuture =
-              exportingRetryStrategy.runWithRetry(recordExporter::export, this::isClosed);
-
-          actor.runOnCompletion(
-              retryFuture,
-              (bool, throwable) -> {
-                if (throwable != null) {
-                  LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, event, throwable);
-                  onFailure();
-                } else {
-                  lastExportedPosition = event.getPosition();
-                  metrics.incrementEventsExportedCount();
-                  inExportingPhase = false;
-                  actor.submit(this::readNextEvent);
-                }
-              });
-        });
+    final RecordMetadataImpl metadata =
+        new RecordMetadataImpl(
+            objectMapper,
+            partitionId,
+            rawMetadata.getIntent(),
+            rawMetadata.getRecordType(),
+            rawMetadata.getRejectionType(),
+            BufferUtil.bufferAsString(rawMetadata.getRejectionReasonBuffer()),
+            rawMetadata.getValueType());
+
+    final Record record = recordMapper.map(event, metadata);
+    if (record != null) {
+      recordCache.put(record);
+    }
+    return record;
+  }
+
+  RecordView newRecordView() {
+    return new RecordView(objectMapper, recordMapper, partitionId);
+  }
+
+  LogStream getLogStream() {
+    return logStream;
   }
 
   public ExportersState getState() {
@@ -303,22 +262,17 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
   @Override
   protected void onActorCloseRequested() {
     isOpened.set(false);
-    for (final ExporterContainer container : containers) {
-      try {
-        container.exporter.close();
-      } catch (final Exception e) {
-        container.context.getLogger().error("Error on close", e);
-      }
-    }
-  }
 
-  @Override
-  protected void onActorClosing() {
-    metrics.close();
-    logStreamReader.close();
-    if (onCommitPositionUpdatedCondition != null) {
-      logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
-      onCommitPositionUpdatedCondition = null;
+    for (final ExporterContainer container : startedContainers) {
+      actor.runOnCompletionBlockingCurrentPhase(
+          container.close(),
+          (v, t) -> {
+            // the position may be updated on close, when the director doesn't accept jobs anymore
+            final long position = container.getPosition();
+            if (position != container.getPersistedPosition()) {
+              persistPosition(container, position);
+            }
+          });
     }
   }
 
@@ -330,125 +284,4 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
   public boolean isClosed() {
     return !isOpened.get();
   }
-
-  private class ExporterContainer implements Controller {
-    private final ExporterContext context;
-    private final Exporter exporter;
-    private long position;
-
-    ExporterContainer(ExporterDescriptor descriptor) {
-      context =
-          new ExporterContext(
-              Loggers.getExporterLogger(descriptor.getId()), descriptor.getConfiguration());
-      exporter = descriptor.newInstance();
-    }
-
-    @Override
-    public void updateLastExportedRecordPosition(final long position) {
-      actor.run(
-          () -> {
-            state.setPosition(getId(), position);
-            this.position = position;
-          });
-    }
-
-    @Override
-    public void scheduleTask(final Duration delay, final Runnable task) {
-      actor.runDelayed(delay, task);
-    }
-
-    private String getId() {
-      return context.getConfiguration().getId();
-    }
-
-    private boolean acceptRecord(RecordMetadata metadata) {
-      final Context.RecordFilter filter = context.getFilter();
-      return filter.acceptType(metadata.getRecordType())
-          && filter.acceptValue(metadata.getValueType());
-    }
-  }
-
-  private class RecordExporter {
-    private final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
-    private final ExporterRecordMapper recordMapper = new ExporterRecordMapper(objectMapper);
-    private Record record;
-    private boolean shouldExecuteSideEffects;
-    private int exporterIndex;
-
-    void wrap(LoggedEvent rawEvent) {
-      final RecordMetadataImpl metadata =
-          new RecordMetadataImpl(
-              objectMapper,
-              partitionId,
-              rawMetadata.getIntent(),
-              rawMetadata.getRecordType(),
-              rawMetadata.getRejectionType(),
-              BufferUtil.bufferAsString(rawMetadata.getRejectionReasonBuffer()),
-              rawMetadata.getValueType());
-
-      record = recordMapper.map(rawEvent, metadata);
-      exporterIndex = 0;
-      shouldExecuteSideEffects = record != null;
-    }
-
-    public boolean export() {
-      if (!shouldExecuteSideEffects) {
-        return true;
-      }
-
-      final int exportersCount = containers.size();
-
-      // current error handling strategy is simply to repeat forever until the record can be
-      // successfully exported.
-      while (exporterIndex < exportersCount) {
-        final ExporterContainer container = containers.get(exporterIndex);
-
-        try {
-          if (container.position < record.getPosition() && container.acceptRecord(rawMetadata)) {
-            container.exporter.export(record);
-          }
-
-          exporterIndex++;
-        } catch (final Exception ex) {
-          container.context.getLogger().error("Error exporting record {}", record, ex);
-          return false;
-        }
-      }
-
-      return true;
-    }
-  }
-
-  private class ExporterEventFilter implements EventFilter {
-
-    private final RecordMetadata metadata = new RecordMetadata();
-    private final Map<RecordType, Boolean> acceptRecordTypes;
-    private final Map<ValueType, Boolean> acceptValueTypes;
-
-    ExporterEventFilter(
-        Map<RecordType, Boolean> acceptRecordTypes, Map<ValueType, Boolean> acceptValueTypes) {
-      this.acceptRecordTypes = acceptRecordTypes;
-      this.acceptValueTypes = acceptValueTypes;
-    }
-
-    @Override
-    public boolean applies(LoggedEvent event) {
-      event.readMetadata(metadata);
-
-      final RecordType recordType = metadata.getRecordType();
-      final ValueType valueType = metadata.getValueType();
-
-      return acceptRecordTypes.get(recordType) && acceptValueTypes.get(valueType);
-    }
-
-    @Override
-    public String toString() {
-      return "ExporterEventFilter{"
-          + "acceptRecordTypes="
-          + acceptRecordTypes
-          + ", acceptValueTypes="
-          + acceptValueTypes
-          + '}';
-    }
-  }
 }
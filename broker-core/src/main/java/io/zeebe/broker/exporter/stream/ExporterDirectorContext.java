@@ -20,7 +20,6 @@ package io.zeebe.broker.exporter.stream;
 import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.logstreams.log.LogStream;
-import io.zeebe.logstreams.log.LogStreamReader;
 import java.time.Duration;
 import java.util.Collection;
 
@@ -30,7 +29,6 @@ public class ExporterDirectorContext {
   private String name;
 
   private LogStream logStream;
-  private LogStreamReader logStreamReader;
 
   private Collection<ExporterDescriptor> descriptors;
 
@@ -50,10 +48,6 @@ public class ExporterDirectorContext {
     return logStream;
   }
 
-  public LogStreamReader getLogStreamReader() {
-    return logStreamReader;
-  }
-
   public Collection<ExporterDescriptor> getDescriptors() {
     return descriptors;
   }
@@ -85,11 +79,6 @@ public class ExporterDirectorContext {
     return this;
   }
 
-  public ExporterDirectorContext logStreamReader(LogStreamReader logStreamReader) {
-    this.logStreamReader = logStreamReader;
-    return this;
-  }
-
   public ExporterDirectorContext descriptors(Collection<ExporterDescriptor> descriptors) {
     this.descriptors = descriptors;
     return this;
@@ -17,17 +17,20 @@
  */
 package io.zeebe.broker.exporter.stream;
 
-import io.zeebe.engine.processor.SnapshotMetrics;
 import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
 
 public class ExporterMetrics {
   private final Metric eventsExportedCountMetric;
   private final Metric eventsSkippedCountMetric;
-  private final SnapshotMetrics snapshotMetrics;
+  private final Metric exportRetriesCountMetric;
+  private final Metric exportLagMetric;
 
   public ExporterMetrics(
-      final MetricsManager metricsManager, final String processorName, final String partitionId) {
+      final MetricsManager metricsManager,
+      final String processorName,
+      final String partitionId,
+      final String exporterId) {
     eventsExportedCountMetric =
         metricsManager
             .newMetric("exporter_events_count")
@@ -35,6 +38,7 @@ public class ExporterMetrics {
             .label("processor", processorName)
             .label("action", "exported")
             .label("partition", partitionId)
+            .label("exporter", exporterId)
             .create();
 
     eventsSkippedCountMetric =
@@ -44,15 +48,33 @@ public class ExporterMetrics {
             .label("processor", processorName)
             .label("action", "skipped")
             .label("partition", partitionId)
+            .label("exporter", exporterId)
             .create();
 
-    snapshotMetrics = new SnapshotMetrics(metricsManager, processorName, partitionId);
+    exportRetriesCountMetric =
+        metricsManager
+            .newMetric("exporter_export_retries_count")
+            .type("counter")
+            .label("processor", processorName)
+            .label("partition", partitionId)
+            .label("exporter", exporterId)
+            .create();
+
+    exportLagMetric =
+        metricsManager
+            .newMetric("exporter_lag_millis")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("partition", partitionId)
+            .label("exporter", exporterId)
+            .create();
   }
 
   public void close() {
     eventsExportedCountMetric.close();
     eventsSkippedCountMetric.close();
-    snapshotMetrics.close();
+    exportRetriesCountMetric.close();
+    exportLagMetric.close();
   }
 
   public void incrementEventsExportedCount() {
@@ -63,7 +85,13 @@ public class ExporterMetrics {
     eventsSkippedCountMetric.incrementOrdered();
   }
 
-  public SnapshotMetrics getSnapshotMetrics() {
-    return snapshotMetrics;
+  /** A failed export is retried, the exporter doesn't read further records until it succeeds. */
+  public void incrementExportRetriesCount() {
+    exportRetriesCountMetric.incrementOrdered();
+  }
+
+  /** @param lag the time between writing the last exported record and exporting it */
+  public void setExportLag(long lag) {
+    exportLagMetric.setOrdered(lag);
   }
 }
@@ -53,6 +53,7 @@ import io.zeebe.exporter.api.record.value.deployment.DeploymentResource;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.msgpack.value.LongValue;
 import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.deployment.Workflow;
 import io.zeebe.protocol.impl.record.value.error.ErrorRecord;
@@ -83,7 +84,6 @@ import org.agrona.DirectBuffer;
 import org.agrona.io.DirectBufferInputStream;
 
 public class ExporterRecordMapper {
-  private final DirectBufferInputStream serderInputStream = new DirectBufferInputStream();
   private final ExporterObjectMapper objectMapper;
 
   public ExporterRecordMapper(final ExporterObjectMapper objectMapper) {
@@ -91,9 +91,24 @@ public class ExporterRecordMapper {
   }
 
   public Record map(final LoggedEvent event, final RecordMetadata metadata) {
+    final Function<DirectBuffer, ? extends RecordValue> valueSupplier =
+        getValueMapper(metadata.getValueType());
+    if (valueSupplier == null) {
+      return null;
+    }
+
+    return newRecord(event, metadata, valueSupplier);
+  }
+
+  /** @return {@code true} if records with the given type of value can be exported */
+  public boolean canMap(final ValueType valueType) {
+    return getValueMapper(valueType) != null;
+  }
+
+  private Function<DirectBuffer, ? extends RecordValue> getValueMapper(final ValueType valueType) {
     final Function<DirectBuffer, ? extends RecordValue> valueSupplier;
 
-    switch (metadata.getValueType()) {
+    switch (valueType) {
       case DEPLOYMENT:
         valueSupplier = this::ofDeploymentRecord;
         break;
@@ -140,7 +155,7 @@ public class ExporterRecordMapper {
         return null;
     }
 
-    return newRecord(event, metadata, valueSupplier);
+    return valueSupplier;
   }
 
   private <T extends RecordValue> RecordImpl<T> newRecord(
@@ -414,16 +429,14 @@ public class ExporterRecordMapper {
   }
 
   private Supplier<Map<String, Object>> asMsgPackMap(final DirectBuffer msgPackEncoded) {
-    return () -> {
-      serderInputStream.wrap(msgPackEncoded);
-      return objectMapper.fromMsgpackAsMap(serderInputStream);
-    };
+    // the record can be shared by the exporters, the value may be read concurrently
+    return () -> objectMapper.fromMsgpackAsMap(new DirectBufferInputStream(msgPackEncoded));
   }
 
   private Supplier<String> asJson(final DirectBuffer msgPackEncoded) {
-    return () -> {
-      serderInputStream.wrap(msgPackEncoded);
-      return objectMapper.getMsgPackConverter().convertToJson(serderInputStream);
-    };
+    return () ->
+        objectMapper
+            .getMsgPackConverter()
+            .convertToJson(new DirectBufferInputStream(msgPackEncoded));
   }
 }
@@ -0,0 +1,59 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.exporter.api.record.Record;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Holds the records which were mapped recently, indexed by their position. The exporter containers
+ * of a partition read the log stream independently, but usually close to each other, so that a
+ * record is only mapped by the first container and is shared with the others. A record is
+ * overwritten by a later record with the same index.
+ */
+final class MappedRecordCache {
+
+  private final AtomicReferenceArray<Record> records;
+  private final int mask;
+
+  MappedRecordCache(int capacity) {
+    if (Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException(
+          String.format("Expected capacity to be a power of two, but was %d", capacity));
+    }
+
+    this.records = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  Record get(long position) {
+    final Record record = records.get(index(position));
+    if (record != null && record.getPosition() == position) {
+      return record;
+    }
+    return null;
+  }
+
+  void put(Record record) {
+    records.set(index(record.getPosition()), record);
+  }
+
+  private int index(long position) {
+    return Long.hashCode(position * 0x9E3779B97F4A7C15L) & mask;
+  }
+}
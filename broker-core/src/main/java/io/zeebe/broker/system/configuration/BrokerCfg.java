@@ -29,6 +29,7 @@ public class BrokerCfg {
   private ThreadsCfg threads = new ThreadsCfg();
   private MetricsCfg metrics = new MetricsCfg();
   private DataCfg data = new DataCfg();
+  private ProcessingCfg processing = new ProcessingCfg();
   private List<ExporterCfg> exporters = new ArrayList<>();
   private EmbeddedGatewayCfg gateway = new EmbeddedGatewayCfg();
 
@@ -42,6 +43,7 @@ public class BrokerCfg {
     threads.init(this, brokerBase, environment);
     metrics.init(this, brokerBase, environment);
     data.init(this, brokerBase, environment);
+    processing.init(this, brokerBase, environment);
     exporters.forEach(e -> e.init(this, brokerBase, environment));
     gateway.init(this, brokerBase, environment);
   }
@@ -86,6 +88,14 @@ public class BrokerCfg {
     this.data = logs;
   }
 
+  public ProcessingCfg getProcessing() {
+    return processing;
+  }
+
+  public void setProcessing(final ProcessingCfg processing) {
+    this.processing = processing;
+  }
+
   public List<ExporterCfg> getExporters() {
     return exporters;
   }
@@ -116,6 +126,8 @@ public class BrokerCfg {
         + metrics
         + ", data="
         + data
+        + ", processing="
+        + processing
         + ", exporters="
         + exporters
         + ", gateway="
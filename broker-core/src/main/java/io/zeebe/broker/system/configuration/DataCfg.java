@@ -31,6 +31,8 @@ public class DataCfg implements ConfigurationEntry {
 
   private String indexBlockSize = "4M";
 
+  private int maxMappedLogSegments = 0;
+
   private String snapshotPeriod = "15m";
 
   private String snapshotReplicationPeriod = "5m";
@@ -39,6 +41,8 @@ public class DataCfg implements ConfigurationEntry {
 
   private int maxSnapshots = 1;
 
+  private RocksDbCfg rocksDb = new RocksDbCfg();
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     applyEnvironment(environment);
@@ -73,6 +77,14 @@ public class DataCfg implements ConfigurationEntry {
     this.indexBlockSize = indexBlockSize;
   }
 
+  public int getMaxMappedLogSegments() {
+    return maxMappedLogSegments;
+  }
+
+  public void setMaxMappedLogSegments(final int maxMappedLogSegments) {
+    this.maxMappedLogSegments = maxMappedLogSegments;
+  }
+
   public String getSnapshotPeriod() {
     return snapshotPeriod;
   }
@@ -105,6 +117,14 @@ public class DataCfg implements ConfigurationEntry {
     this.raftSegmentSize = raftSegmentSize;
   }
 
+  public RocksDbCfg getRocksDb() {
+    return rocksDb;
+  }
+
+  public void setRocksDb(RocksDbCfg rocksDb) {
+    this.rocksDb = rocksDb;
+  }
+
   @Override
   public String toString() {
     return "DataCfg{"
@@ -116,6 +136,8 @@ public class DataCfg implements ConfigurationEntry {
         + ", indexBlockSize='"
         + indexBlockSize
         + '\''
+        + ", maxMappedLogSegments="
+        + maxMappedLogSegments
         + ", snapshotPeriod='"
         + snapshotPeriod
         + '\''
@@ -125,6 +147,8 @@ public class DataCfg implements ConfigurationEntry {
         + ", maxSnapshots='"
         + maxSnapshots
         + '\''
+        + ", rocksDb="
+        + rocksDb
         + '}';
   }
 }
@@ -0,0 +1,74 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.configuration;
+
+public class ProcessingCfg implements ConfigurationEntry {
+
+  private int maxBatchSize = 1;
+  private String maxBatchBytes = "64K";
+  private String maxBatchDuration = "10ms";
+  private int workflowCacheSize = 1000;
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public void setMaxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public String getMaxBatchBytes() {
+    return maxBatchBytes;
+  }
+
+  public void setMaxBatchBytes(String maxBatchBytes) {
+    this.maxBatchBytes = maxBatchBytes;
+  }
+
+  public String getMaxBatchDuration() {
+    return maxBatchDuration;
+  }
+
+  public void setMaxBatchDuration(String maxBatchDuration) {
+    this.maxBatchDuration = maxBatchDuration;
+  }
+
+  public int getWorkflowCacheSize() {
+    return workflowCacheSize;
+  }
+
+  public void setWorkflowCacheSize(int workflowCacheSize) {
+    this.workflowCacheSize = workflowCacheSize;
+  }
+
+  @Override
+  public String toString() {
+    return "ProcessingCfg{"
+        + "maxBatchSize="
+        + maxBatchSize
+        + ", maxBatchBytes='"
+        + maxBatchBytes
+        + '\''
+        + ", maxBatchDuration='"
+        + maxBatchDuration
+        + '\''
+        + ", workflowCacheSize="
+        + workflowCacheSize
+        + '}';
+  }
+}
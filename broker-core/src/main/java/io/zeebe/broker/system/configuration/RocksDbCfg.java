@@ -0,0 +1,73 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.configuration;
+
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.util.ByteValue;
+
+public class RocksDbCfg {
+
+  private String blockCacheSize = "128M";
+  private String memoryLimit = "64M";
+  private boolean statisticsEnabled = false;
+
+  public String getBlockCacheSize() {
+    return blockCacheSize;
+  }
+
+  public void setBlockCacheSize(String blockCacheSize) {
+    this.blockCacheSize = blockCacheSize;
+  }
+
+  public String getMemoryLimit() {
+    return memoryLimit;
+  }
+
+  public void setMemoryLimit(String memoryLimit) {
+    this.memoryLimit = memoryLimit;
+  }
+
+  public boolean isStatisticsEnabled() {
+    return statisticsEnabled;
+  }
+
+  public void setStatisticsEnabled(boolean statisticsEnabled) {
+    this.statisticsEnabled = statisticsEnabled;
+  }
+
+  public RocksDbConfiguration toRocksDbConfiguration() {
+    return new RocksDbConfiguration()
+        .setBlockCacheSize(new ByteValue(blockCacheSize).toBytes())
+        .setMemoryLimit(new ByteValue(memoryLimit).toBytes())
+        .setStatisticsEnabled(statisticsEnabled);
+  }
+
+  @Override
+  public String toString() {
+    return "RocksDbCfg{"
+        + "blockCacheSize='"
+        + blockCacheSize
+        + '\''
+        + ", memoryLimit='"
+        + memoryLimit
+        + '\''
+        + ", statisticsEnabled="
+        + statisticsEnabled
+        + '}';
+  }
+}
@@ -20,6 +20,7 @@ package io.zeebe.broker.system.configuration;
 public class ThreadsCfg implements ConfigurationEntry {
   private int cpuThreadCount = 2;
   private int ioThreadCount = 2;
+  private int recoveryThreadCount = 2;
 
   public int getCpuThreadCount() {
     return cpuThreadCount;
@@ -37,6 +38,14 @@ public class ThreadsCfg implements ConfigurationEntry {
     this.ioThreadCount = ioThreads;
   }
 
+  public int getRecoveryThreadCount() {
+    return recoveryThreadCount;
+  }
+
+  public void setRecoveryThreadCount(int recoveryThreads) {
+    this.recoveryThreadCount = recoveryThreads;
+  }
+
   @Override
   public String toString() {
     return "ThreadsCfg{"
@@ -44,6 +53,8 @@ public class ThreadsCfg implements ConfigurationEntry {
         + cpuThreadCount
         + ", ioThreadCount="
         + ioThreadCount
+        + ", recoveryThreadCount="
+        + recoveryThreadCount
         + '}';
   }
 }
@@ -0,0 +1,185 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.engine.processor.workflow.message.command.CloseMessageSubscriptionCommand;
+import io.zeebe.engine.processor.workflow.message.command.OpenMessageSubscriptionCommand;
+import io.zeebe.protocol.Protocol;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class SubscriptionCommandBatchTest {
+
+  private final SubscriptionCommandBatch batch = new SubscriptionCommandBatch(1);
+
+  @Test
+  public void shouldReadFramedCommands() {
+    // given
+    final OpenMessageSubscriptionCommand openCommand = new OpenMessageSubscriptionCommand();
+    openCommand.setSubscriptionPartitionId(1);
+    openCommand.setWorkflowInstanceKey(2);
+    openCommand.setElementInstanceKey(3);
+    openCommand.getMessageName().wrap(wrapString("message"));
+    openCommand.getCorrelationKey().wrap(wrapString("key"));
+    openCommand.setCloseOnCorrelate(true);
+
+    final CloseMessageSubscriptionCommand closeCommand = new CloseMessageSubscriptionCommand();
+    closeCommand.setSubscriptionPartitionId(1);
+    closeCommand.setWorkflowInstanceKey(4);
+    closeCommand.setElementInstanceKey(5);
+    closeCommand.setMessageName(wrapString("other"));
+
+    // when
+    batch.add(openCommand);
+    batch.add(closeCommand);
+
+    // then
+    assertThat(batch.getCommandCount()).isEqualTo(2);
+
+    final DirectBuffer buffer = new UnsafeBuffer(batch.toBytes());
+    assertThat(buffer.capacity()).isEqualTo(batch.getLength());
+
+    int frameOffset = 0;
+    int offset = SubscriptionCommandBatch.commandOffset(frameOffset);
+    int length = SubscriptionCommandBatch.commandLength(buffer, frameOffset);
+
+    final OpenMessageSubscriptionCommand readOpenCommand = new OpenMessageSubscriptionCommand();
+    readOpenCommand.wrap(buffer, offset, length);
+    assertThat(readOpenCommand.getWorkflowInstanceKey()).isEqualTo(2);
+    assertThat(readOpenCommand.getElementInstanceKey()).isEqualTo(3);
+    assertThat(readOpenCommand.getMessageName()).isEqualTo(wrapString("message"));
+    assertThat(readOpenCommand.getCorrelationKey()).isEqualTo(wrapString("key"));
+    assertThat(readOpenCommand.shouldCloseOnCorrelate()).isTrue();
+
+    frameOffset = offset + length;
+    offset = SubscriptionCommandBatch.commandOffset(frameOffset);
+    length = SubscriptionCommandBatch.commandLength(buffer, frameOffset);
+
+    final CloseMessageSubscriptionCommand readCloseCommand = new CloseMessageSubscriptionCommand();
+    readCloseCommand.wrap(buffer, offset, length);
+    assertThat(readCloseCommand.getWorkflowInstanceKey()).isEqualTo(4);
+    assertThat(readCloseCommand.getElementInstanceKey()).isEqualTo(5);
+    assertThat(readCloseCommand.getMessageName()).isEqualTo(wrapString("other"));
+
+    assertThat(offset + length).isEqualTo(buffer.capacity());
+  }
+
+  @Test
+  public void shouldReadSingleCommandWithoutFrame() {
+    // given
+    final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+    command.setSubscriptionPartitionId(1);
+    command.setWorkflowInstanceKey(2);
+    command.setElementInstanceKey(3);
+    command.setMessageName(wrapString("message"));
+    batch.add(command);
+
+    // when
+    final byte[] bytes = batch.toCommandBytes();
+
+    // then
+    assertThat(bytes).hasSize(command.getLength());
+
+    final CloseMessageSubscriptionCommand readCommand = new CloseMessageSubscriptionCommand();
+    readCommand.wrap(new UnsafeBuffer(bytes), 0, bytes.length);
+    assertThat(readCommand.getWorkflowInstanceKey()).isEqualTo(2);
+    assertThat(readCommand.getElementInstanceKey()).isEqualTo(3);
+    assertThat(readCommand.getMessageName()).isEqualTo(wrapString("message"));
+  }
+
+  @Test
+  public void shouldBeEmptyAfterReset() {
+    // given
+    final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+    command.setMessageName(wrapString("message"));
+    batch.add(command);
+
+    // when
+    batch.reset();
+
+    // then
+    assertThat(batch.isEmpty()).isTrue();
+    assertThat(batch.getLength()).isEqualTo(0);
+    assertThat(batch.toBytes()).isEmpty();
+  }
+
+  @Test
+  public void shouldValidateFramedCommands() {
+    // given
+    final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+    command.setMessageName(wrapString("message"));
+    batch.add(command);
+    batch.add(command);
+
+    // when
+    final DirectBuffer buffer = new UnsafeBuffer(batch.toBytes());
+
+    // then
+    assertThat(SubscriptionCommandBatch.isValid(buffer)).isTrue();
+  }
+
+  @Test
+  public void shouldRejectTruncatedFrame() {
+    // given
+    final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+    command.setMessageName(wrapString("message"));
+    batch.add(command);
+    batch.add(command);
+
+    // when
+    final byte[] bytes = batch.toBytes();
+    final DirectBuffer buffer = new UnsafeBuffer(bytes, 0, bytes.length - 1);
+
+    // then
+    assertThat(SubscriptionCommandBatch.isValid(buffer)).isFalse();
+  }
+
+  @Test
+  public void shouldRejectInvalidFrameLength() {
+    // given
+    final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+    command.setMessageName(wrapString("message"));
+    batch.add(command);
+
+    final UnsafeBuffer buffer = new UnsafeBuffer(batch.toBytes());
+
+    // when
+    buffer.putInt(0, -1, Protocol.ENDIANNESS);
+
+    // then
+    assertThat(SubscriptionCommandBatch.isValid(buffer)).isFalse();
+  }
+
+  @Test
+  public void shouldRejectUnframedCommand() {
+    // given
+    final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+    command.setMessageName(wrapString("message"));
+
+    // when
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[command.getLength()]);
+    command.write(buffer, 0);
+
+    // then
+    assertThat(SubscriptionCommandBatch.isValid(buffer)).isFalse();
+  }
+}
@@ -24,7 +24,6 @@ import static io.zeebe.protocol.intent.JobIntent.TIME_OUT;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.broker.test.EmbeddedBrokerRule;
-import io.zeebe.engine.processor.workflow.job.JobTimeoutTrigger;
 import io.zeebe.exporter.api.record.Record;
 import io.zeebe.exporter.api.record.RecordMetadata;
 import io.zeebe.exporter.api.record.value.JobRecordValue;
@@ -121,7 +120,7 @@ public class JobTimeOutTest {
 
     apiRule.activateJobs(apiRule.getDefaultPartitionId(), jobType, timeout);
     client.receiveFirstJobEvent(ACTIVATED);
-    brokerRule.getClock().addTime(JobTimeoutTrigger.TIME_OUT_POLLING_INTERVAL);
+    brokerRule.getClock().addTime(Duration.ofMillis(timeout).plusSeconds(1));
 
     // when expired
     client.receiveFirstJobEvent(TIME_OUT);
@@ -152,7 +151,7 @@ public class JobTimeOutTest {
     final long timeout = 10L;
     apiRule.activateJobs(apiRule.getDefaultPartitionId(), jobType, timeout);
     client.receiveFirstJobEvent(ACTIVATED);
-    brokerRule.getClock().addTime(JobTimeoutTrigger.TIME_OUT_POLLING_INTERVAL);
+    brokerRule.getClock().addTime(Duration.ofMillis(timeout).plusSeconds(1));
 
     // when expired
     client.receiveFirstJobEvent(TIME_OUT);
@@ -195,7 +194,7 @@ public class JobTimeOutTest {
 
     // when
     client.receiveJobs().withIntent(ACTIVATED).limit(2).count();
-    brokerRule.getClock().addTime(JobTimeoutTrigger.TIME_OUT_POLLING_INTERVAL);
+    brokerRule.getClock().addTime(Duration.ofMillis(timeout).plusSeconds(1));
     client.receiveFirstJobEvent(JobIntent.TIMED_OUT);
     apiRule.activateJobs(jobType);
 
@@ -0,0 +1,232 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
+import io.zeebe.broker.exporter.stream.ExporterRule;
+import io.zeebe.broker.exporter.util.ControlledTestExporter;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.record.RecordMetadata;
+import io.zeebe.exporter.api.record.value.JobRecordValue;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceRecordValue;
+import io.zeebe.exporter.api.record.value.job.Headers;
+import io.zeebe.protocol.BpmnElementType;
+import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.intent.DeploymentIntent;
+import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import io.zeebe.test.util.MsgPackUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class RecordViewTest {
+
+  private static final ExporterObjectMapper OBJECT_MAPPER = new ExporterObjectMapper();
+
+  @Rule public ExporterRule rule = new ExporterRule(1);
+
+  private final List<List<Object>> exportedViews = new ArrayList<>();
+  private final List<List<Object>> exportedCopies = new ArrayList<>();
+  private final List<Class<?>> exportedTypes = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    final ControlledTestExporter exporter = new ControlledTestExporter();
+    exporter.onConfigure(context -> context.setRecordViewsEnabled(true));
+    exporter.onExport(
+        record -> {
+          // the view is only valid during the export
+          exportedTypes.add(record.getClass());
+          exportedViews.add(properties(record));
+          exportedCopies.add(properties(record.copy()));
+        });
+
+    final ExporterDescriptor descriptor =
+        spy(new ExporterDescriptor("view-exporter", exporter.getClass(), Collections.emptyMap()));
+    doAnswer(c -> exporter).when(descriptor).newInstance();
+
+    rule.startExporterDirector(Collections.singletonList(descriptor));
+  }
+
+  @Test
+  public void shouldReadJobRecord() {
+    // given
+    final JobRecord record =
+        new JobRecord()
+            .setWorker(wrapString("worker"))
+            .setType(wrapString("type"))
+            .setVariables(MsgPackUtil.asMsgPack("{'foo':'bar'}"))
+            .setRetries(3)
+            .setDeadline(123L)
+            .setErrorMessage("error")
+            .setCustomHeaders(MsgPackUtil.asMsgPack("{'version':1}"));
+    record
+        .getJobHeaders()
+        .setBpmnProcessId(wrapString("process"))
+        .setWorkflowKey(1L)
+        .setWorkflowDefinitionVersion(2)
+        .setWorkflowInstanceKey(3L)
+        .setElementId(wrapString("task"))
+        .setElementInstanceKey(4L);
+
+    // when
+    rule.writeEvent(JobIntent.CREATED, record);
+
+    // then
+    assertViewsEqualCopies(1);
+  }
+
+  @Test
+  public void shouldReadWorkflowInstanceRecord() {
+    // given
+    final WorkflowInstanceRecord record =
+        new WorkflowInstanceRecord()
+            .setBpmnProcessId(wrapString("process"))
+            .setVersion(1)
+            .setWorkflowKey(2L)
+            .setWorkflowInstanceKey(3L)
+            .setElementId("task")
+            .setFlowScopeKey(4L)
+            .setBpmnElementType(BpmnElementType.SERVICE_TASK);
+
+    // when
+    rule.writeEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATED, record);
+
+    // then
+    assertViewsEqualCopies(1);
+  }
+
+  @Test
+  public void shouldReadRecordsWithReusedView() {
+    // given
+    final WorkflowInstanceRecord record =
+        new WorkflowInstanceRecord().setElementId("task").setWorkflowInstanceKey(1L);
+
+    // when
+    rule.writeEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING, record);
+    rule.writeEvent(JobIntent.CREATED, new JobRecord().setType(wrapString("type")));
+    rule.writeEvent(DeploymentIntent.CREATED, new DeploymentRecord());
+    rule.writeEvent(
+        WorkflowInstanceIntent.ELEMENT_ACTIVATED, record.setElementId("other").setFlowScopeKey(2L));
+
+    // then
+    assertViewsEqualCopies(4);
+    assertThat(exportedTypes).containsOnly(RecordView.class);
+  }
+
+  private void assertViewsEqualCopies(int count) {
+    waitUntil(() -> exportedViews.size() >= count);
+
+    assertThat(exportedViews).hasSize(count).isEqualTo(exportedCopies);
+  }
+
+  private static List<Object> properties(Record record) {
+    final RecordMetadata metadata = record.getMetadata();
+    final List<Object> properties =
+        new ArrayList<>(
+            Arrays.asList(
+                record.getPosition(),
+                record.getSourceRecordPosition(),
+                record.getProducerId(),
+                record.getKey(),
+                record.getTimestamp(),
+                metadata.getPartitionId(),
+                metadata.getIntent(),
+                metadata.getRecordType(),
+                metadata.getRejectionType(),
+                metadata.getRejectionReason(),
+                metadata.getValueType(),
+                metadata.toJson(),
+                asMap(record.toJson()),
+                asMap(writeJson(record))));
+
+    if (record.getValue() instanceof JobRecordValue) {
+      final JobRecordValue value = (JobRecordValue) record.getValue();
+      final Headers headers = value.getHeaders();
+      properties.addAll(
+          Arrays.asList(
+              value.getType(),
+              value.getWorker(),
+              value.getRetries(),
+              value.getDeadline(),
+              value.getErrorMessage(),
+              value.getVariables(),
+              value.getVariablesAsMap(),
+              value.getCustomHeaders(),
+              headers.getBpmnProcessId(),
+              headers.getWorkflowKey(),
+              headers.getWorkflowDefinitionVersion(),
+              headers.getWorkflowInstanceKey(),
+              headers.getElementId(),
+              headers.getElementInstanceKey(),
+              asMap(value.toJson())));
+
+    } else if (record.getValue() instanceof WorkflowInstanceRecordValue) {
+      final WorkflowInstanceRecordValue value = (WorkflowInstanceRecordValue) record.getValue();
+      properties.addAll(
+          Arrays.asList(
+              value.getBpmnProcessId(),
+              value.getVersion(),
+              value.getWorkflowKey(),
+              value.getWorkflowInstanceKey(),
+              value.getElementId(),
+              value.getFlowScopeKey(),
+              value.getBpmnElementType(),
+              asMap(value.toJson())));
+
+    } else {
+      properties.add(asMap(record.getValue().toJson()));
+    }
+
+    return properties;
+  }
+
+  // the views may write the properties in another order
+  private static Map<String, Object> asMap(String json) {
+    return OBJECT_MAPPER.fromJsonAsMap(json);
+  }
+
+  private static String writeJson(Record record) {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try {
+      record.writeJson(outputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
@@ -241,6 +241,55 @@ public class ExporterDirectorTest {
         .containsExactly(eventPosition1, eventPosition2);
   }
 
+  @Test
+  public void shouldNotBlockOtherExportersIfExporterIsSlow() throws Exception {
+    // given
+    final CountDownLatch exportLatch = new CountDownLatch(1);
+    exporters.get(0).onExport(r -> awaitLatch(exportLatch));
+
+    startExporterDirector(exporterDescriptors);
+
+    // when
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+    assertThat(exporters.get(0).getExportedRecords()).isEmpty();
+
+    exportLatch.countDown();
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2);
+  }
+
+  @Test
+  public void shouldUpdateLowestExporterPosition() {
+    // given
+    startExporterDirector(exporterDescriptors);
+
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+
+    // when
+    exporters.get(0).getController().updateLastExportedRecordPosition(eventPosition2);
+    exporters.get(1).getController().updateLastExportedRecordPosition(eventPosition1);
+
+    // then
+    waitUntil(() -> rule.getExporterDirector().getLowestExporterPosition() == eventPosition1);
+
+    // when
+    exporters.get(1).getController().updateLastExportedRecordPosition(eventPosition2);
+
+    // then
+    waitUntil(() -> rule.getExporterDirector().getLowestExporterPosition() == eventPosition2);
+  }
+
   @Test
   public void shouldExecuteScheduledTask() throws Exception {
     // given
@@ -385,6 +434,14 @@ public class ExporterDirectorTest {
     assertThat(exporters.get(1).getExportedRecords()).isEmpty();
   }
 
+  private static void awaitLatch(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private long writeEvent() {
     final DeploymentRecord event = new DeploymentRecord();
     return rule.writeEvent(DeploymentIntent.CREATED, event);
@@ -29,7 +29,6 @@ import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.engine.state.DefaultZeebeDbFactory;
 import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.logstreams.impl.service.LogStreamServiceNames;
-import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.state.StateSnapshotController;
 import io.zeebe.logstreams.state.StateStorage;
@@ -69,6 +68,7 @@ public class ExporterRule implements TestRule {
   private ZeebeDb<ZbColumnFamilies> capturedZeebeDb;
 
   private TestStreams streams;
+  private ExporterDirector director;
 
   public ExporterRule(int partitionId) {
     this(partitionId, DefaultZeebeDbFactory.defaultFactory(ZbColumnFamilies.class));
@@ -111,10 +111,9 @@ public class ExporterRule implements TestRule {
             .zeebeDb(capturedZeebeDb)
             .maxSnapshots(1)
             .descriptors(exporterDescriptors)
-            .logStreamReader(new BufferedLogStreamReader())
             .snapshotPeriod(Duration.ofMinutes(5));
 
-    final ExporterDirector director = new ExporterDirector(context);
+    director = new ExporterDirector(context);
     serviceContainerRule
         .get()
         .createService(exporterDirectorServiceName(PARTITION_ID), director)
@@ -126,6 +125,10 @@ public class ExporterRule implements TestRule {
         .join();
   }
 
+  public ExporterDirector getExporterDirector() {
+    return director;
+  }
+
   public ControlledActorClock getClock() {
     return clock;
   }
@@ -0,0 +1,127 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.record.RecordMetadataImpl;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.record.RecordValue;
+import io.zeebe.exporter.api.record.value.JobRecordValue;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceRecordValue;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.util.buffer.BufferUtil;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares exporting a copy of the record with exporting a view of the record. The exporter reads
+ * the metadata and a few properties of the value, like an exporter which filters or routes the
+ * records would do it. Reading the variables converts them in both cases. The JSON benchmarks write
+ * the record to a stream, like the Elasticsearch exporter does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class RecordMappingBenchmark {
+
+  @Benchmark
+  @Threads(1)
+  public void mapRecord(final RecordMappingCtx ctx, final Blackhole blackhole) {
+    final RecordMetadata rawMetadata = ctx.rawMetadata;
+    final RecordMetadataImpl metadata =
+        new RecordMetadataImpl(
+            ctx.objectMapper,
+            1,
+            rawMetadata.getIntent(),
+            rawMetadata.getRecordType(),
+            rawMetadata.getRejectionType(),
+            BufferUtil.bufferAsString(rawMetadata.getRejectionReasonBuffer()),
+            rawMetadata.getValueType());
+
+    readRecord(ctx.recordMapper.map(ctx.event, metadata), blackhole);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void viewRecord(final RecordMappingCtx ctx, final Blackhole blackhole) {
+    readRecord(ctx.recordView.wrap(ctx.event, ctx.rawMetadata), blackhole);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void mapRecordToJson(final RecordMappingCtx ctx, final Blackhole blackhole)
+      throws IOException {
+    final RecordMetadata rawMetadata = ctx.rawMetadata;
+    final RecordMetadataImpl metadata =
+        new RecordMetadataImpl(
+            ctx.objectMapper,
+            1,
+            rawMetadata.getIntent(),
+            rawMetadata.getRecordType(),
+            rawMetadata.getRejectionType(),
+            BufferUtil.bufferAsString(rawMetadata.getRejectionReasonBuffer()),
+            rawMetadata.getValueType());
+
+    writeJson(ctx, ctx.recordMapper.map(ctx.event, metadata), blackhole);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void viewRecordToJson(final RecordMappingCtx ctx, final Blackhole blackhole)
+      throws IOException {
+    writeJson(ctx, ctx.recordView.wrap(ctx.event, ctx.rawMetadata), blackhole);
+  }
+
+  private static void writeJson(
+      final RecordMappingCtx ctx, final Record record, final Blackhole blackhole)
+      throws IOException {
+    ctx.jsonOutput.reset();
+    record.writeJson(ctx.jsonOutput);
+    blackhole.consume(ctx.jsonOutput.size());
+  }
+
+  private static void readRecord(final Record record, final Blackhole blackhole) {
+    blackhole.consume(record.getPosition());
+    blackhole.consume(record.getKey());
+    blackhole.consume(record.getMetadata().getIntent());
+
+    final RecordValue value = record.getValue();
+    if (value instanceof JobRecordValue) {
+      final JobRecordValue job = (JobRecordValue) value;
+      blackhole.consume(job.getType());
+      blackhole.consume(job.getRetries());
+      blackhole.consume(job.getHeaders().getWorkflowInstanceKey());
+    } else {
+      final WorkflowInstanceRecordValue workflowInstance = (WorkflowInstanceRecordValue) value;
+      blackhole.consume(workflowInstance.getElementId());
+      blackhole.consume(workflowInstance.getBpmnElementType());
+      blackhole.consume(workflowInstance.getWorkflowInstanceKey());
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.stream.ExporterRecordMapper;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
+import io.zeebe.logstreams.impl.LoggedEventImpl;
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.protocol.BpmnElementType;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import io.zeebe.test.util.MsgPackUtil;
+import io.zeebe.util.buffer.BufferUtil;
+import java.io.ByteArrayOutputStream;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class RecordMappingCtx {
+
+  private static final int PARTITION_ID = 1;
+
+  @Param({"JOB", "WORKFLOW_INSTANCE"})
+  public ValueType valueType;
+
+  final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
+  final ExporterRecordMapper recordMapper = new ExporterRecordMapper(objectMapper);
+  final RecordView recordView = new RecordView(objectMapper, recordMapper, PARTITION_ID);
+
+  final LoggedEventImpl event = new LoggedEventImpl();
+  final ByteArrayOutputStream jsonOutput = new ByteArrayOutputStream();
+  final RecordMetadata rawMetadata = new RecordMetadata();
+
+  @Setup
+  public void setUp() {
+    final RecordMetadata metadata = new RecordMetadata().recordType(RecordType.EVENT);
+    final UnpackedObject value;
+
+    if (valueType == ValueType.JOB) {
+      final JobRecord job =
+          new JobRecord()
+              .setType("payment")
+              .setWorker("payment-worker")
+              .setRetries(3)
+              .setDeadline(1_000L)
+              .setVariables(
+                  MsgPackUtil.asMsgPack("{'orderId':'order-123','amount':99.9,'paid':false}"))
+              .setCustomHeaders(MsgPackUtil.asMsgPack("{'method':'VISA'}"));
+      job.getJobHeaders()
+          .setBpmnProcessId(BufferUtil.wrapString("order-process"))
+          .setElementId(BufferUtil.wrapString("collect-money"))
+          .setWorkflowKey(1L)
+          .setWorkflowDefinitionVersion(1)
+          .setWorkflowInstanceKey(2L)
+          .setElementInstanceKey(3L);
+
+      value = job;
+      metadata.valueType(ValueType.JOB).intent(JobIntent.ACTIVATED);
+
+    } else {
+      value =
+          new WorkflowInstanceRecord()
+              .setBpmnProcessId(BufferUtil.wrapString("order-process"))
+              .setElementId("collect-money")
+              .setBpmnElementType(BpmnElementType.SERVICE_TASK)
+              .setVersion(1)
+              .setWorkflowKey(1L)
+              .setWorkflowInstanceKey(2L)
+              .setFlowScopeKey(2L);
+      metadata
+          .valueType(ValueType.WORKFLOW_INSTANCE)
+          .intent(WorkflowInstanceIntent.ELEMENT_ACTIVATED);
+    }
+
+    writeEvent(metadata, value);
+    event.readMetadata(rawMetadata);
+  }
+
+  private void writeEvent(RecordMetadata metadata, UnpackedObject value) {
+    final int metadataLength = metadata.getLength();
+    final int messageLength = LogEntryDescriptor.headerLength(metadataLength) + value.getLength();
+
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[alignedFramedLength(messageLength)]);
+    buffer.putInt(lengthOffset(0), framedLength(messageLength), Protocol.ENDIANNESS);
+
+    final int offset = messageOffset(0);
+    LogEntryDescriptor.setPosition(buffer, offset, 100L);
+    LogEntryDescriptor.setSourceEventPosition(buffer, offset, 99L);
+    LogEntryDescriptor.setKey(buffer, offset, 3L);
+    LogEntryDescriptor.setTimestamp(buffer, offset, System.currentTimeMillis());
+    LogEntryDescriptor.setMetadataLength(buffer, offset, (short) metadataLength);
+    metadata.write(buffer, LogEntryDescriptor.metadataOffset(offset));
+    value.write(buffer, LogEntryDescriptor.valueOffset(offset, metadataLength));
+
+    event.wrap(buffer, 0);
+  }
+}
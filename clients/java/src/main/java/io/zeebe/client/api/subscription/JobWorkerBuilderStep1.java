@@ -141,6 +141,21 @@ public interface JobWorkerBuilderStep1 {
      */
     JobWorkerBuilderStep3 pollInterval(Duration pollInterval);
 
+    /**
+     * Let the gateway push the jobs to this worker instead of polling for them.
+     *
+     * <p>The worker opens a long-lived stream to the gateway, and the gateway activates and pushes
+     * the jobs as soon as they are available. The gateway never pushes more jobs than the worker
+     * can handle, as set by {@link #maxJobsActive(int)}. If the stream is closed then the worker
+     * opens it again after the poll interval.
+     *
+     * <p>By default, the worker polls for jobs.
+     *
+     * @param streamEnabled true to let the gateway push the jobs to this worker
+     * @return the builder for this worker
+     */
+    JobWorkerBuilderStep3 streamEnabled(boolean streamEnabled);
+
     /**
      * Set a list of variable names which should be fetch on job activation.
      *
@@ -22,6 +22,8 @@ public class Loggers {
 
   public static final Logger JOB_POLLER_LOGGER =
       LoggerFactory.getLogger("io.zeebe.client.job.poller");
+  public static final Logger JOB_STREAMER_LOGGER =
+      LoggerFactory.getLogger("io.zeebe.client.job.streamer");
   public static final Logger JOB_WORKER_LOGGER =
       LoggerFactory.getLogger("io.zeebe.client.job.worker");
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.subscription;
+
+import io.zeebe.client.api.response.ActivatedJob;
+import io.zeebe.client.api.subscription.JobWorker;
+import io.zeebe.client.impl.Loggers;
+import io.zeebe.util.CloseableSilently;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+
+/**
+ * A job worker which gets the jobs pushed over a stream instead of polling for them. The capacity
+ * of the stream is the number of jobs which the worker can handle in addition to the jobs which it
+ * is handling, and a job which is handled grants its capacity to the stream again.
+ */
+public class JobStreamWorkerImpl implements JobWorker, CloseableSilently {
+
+  private static final Logger LOG = Loggers.JOB_WORKER_LOGGER;
+
+  private final int maxJobsActive;
+  private final ScheduledExecutorService executor;
+  private final Duration reopenDelay;
+  private final JobRunnableFactory jobRunnableFactory;
+  private final JobStreamer jobStreamer;
+
+  private final AtomicBoolean acquiringJobs = new AtomicBoolean(true);
+
+  // guarded by this, so that the capacity of the stream matches the remaining jobs
+  private int remainingJobs;
+
+  public JobStreamWorkerImpl(
+      int maxJobsActive,
+      ScheduledExecutorService executor,
+      Duration reopenDelay,
+      JobRunnableFactory jobRunnableFactory,
+      JobStreamer jobStreamer) {
+    this.maxJobsActive = maxJobsActive;
+    this.executor = executor;
+    this.reopenDelay = reopenDelay;
+    this.jobRunnableFactory = jobRunnableFactory;
+    this.jobStreamer = jobStreamer;
+
+    executor.execute(this::openStream);
+  }
+
+  @Override
+  public boolean isOpen() {
+    return acquiringJobs.get();
+  }
+
+  @Override
+  public synchronized boolean isClosed() {
+    return !isOpen() && remainingJobs <= 0;
+  }
+
+  @Override
+  public void close() {
+    acquiringJobs.set(false);
+    jobStreamer.close();
+  }
+
+  private synchronized void openStream() {
+    if (!acquiringJobs.get()) {
+      return;
+    }
+
+    final int capacity = maxJobsActive - remainingJobs;
+    if (capacity > 0) {
+      try {
+        jobStreamer.open(capacity, this::submitJob, this::onStreamClosed);
+        return;
+      } catch (Exception e) {
+        LOG.warn("Failed to open job stream", e);
+      }
+    }
+
+    // all jobs are still in progress, or the stream could not be opened
+    reopenStream();
+  }
+
+  private void onStreamClosed() {
+    if (acquiringJobs.get()) {
+      reopenStream();
+    }
+  }
+
+  private void reopenStream() {
+    executor.schedule(this::openStream, reopenDelay.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private void submitJob(ActivatedJob job) {
+    synchronized (this) {
+      remainingJobs += 1;
+    }
+    executor.execute(jobRunnableFactory.create(job, this::jobHandlerFinished));
+  }
+
+  private synchronized void jobHandlerFinished() {
+    remainingJobs -= 1;
+
+    if (acquiringJobs.get()) {
+      jobStreamer.grantCapacity(1);
+    }
+  }
+}
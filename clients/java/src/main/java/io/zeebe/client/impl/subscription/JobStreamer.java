@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.subscription;
+
+import io.grpc.stub.StreamObserver;
+import io.zeebe.client.api.response.ActivatedJob;
+import io.zeebe.client.impl.Loggers;
+import io.zeebe.client.impl.ZeebeObjectMapper;
+import io.zeebe.client.impl.response.ActivatedJobImpl;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+
+/**
+ * Opens a stream on which the gateway pushes activated jobs. The gateway pushes only as many jobs
+ * as the capacity which was granted to the stream.
+ */
+public class JobStreamer implements StreamObserver<GatewayOuterClass.ActivatedJob> {
+
+  private static final Logger LOG = Loggers.JOB_STREAMER_LOGGER;
+
+  private final GatewayStub gatewayStub;
+  private final StreamActivatedJobsRequest openRequest;
+  private final ZeebeObjectMapper objectMapper;
+
+  private Consumer<ActivatedJob> jobConsumer;
+  private Runnable closeCallback;
+  private StreamObserver<StreamActivatedJobsRequest> requestObserver;
+  private boolean isOpen;
+
+  public JobStreamer(
+      GatewayStub gatewayStub,
+      StreamActivatedJobsRequest openRequest,
+      ZeebeObjectMapper objectMapper) {
+    this.gatewayStub = gatewayStub;
+    this.openRequest = openRequest;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Opens the stream with the given capacity. The close callback is called when the gateway closed
+   * the stream or the stream failed.
+   */
+  synchronized void open(int capacity, Consumer<ActivatedJob> jobConsumer, Runnable closeCallback) {
+    this.jobConsumer = jobConsumer;
+    this.closeCallback = closeCallback;
+
+    LOG.trace(
+        "Open stream with capacity {} for worker {} and job type {}",
+        capacity,
+        openRequest.getWorker(),
+        openRequest.getType());
+
+    requestObserver = gatewayStub.streamActivatedJobs(this);
+    requestObserver.onNext(openRequest.toBuilder().setCapacity(capacity).build());
+    isOpen = true;
+  }
+
+  /** Grants the stream the capacity for more jobs, if it is open. */
+  synchronized void grantCapacity(int capacity) {
+    if (isOpen) {
+      requestObserver.onNext(StreamActivatedJobsRequest.newBuilder().setCapacity(capacity).build());
+    }
+  }
+
+  synchronized void close() {
+    if (isOpen) {
+      isOpen = false;
+      requestObserver.onCompleted();
+    }
+  }
+
+  @Override
+  public void onNext(GatewayOuterClass.ActivatedJob job) {
+    jobConsumer.accept(new ActivatedJobImpl(objectMapper, job));
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    LOG.warn(
+        "Failed to stream jobs for worker {} and job type {}",
+        openRequest.getWorker(),
+        openRequest.getType(),
+        throwable);
+    streamClosed();
+  }
+
+  @Override
+  public void onCompleted() {
+    LOG.debug(
+        "Stream of worker {} and job type {} was closed",
+        openRequest.getWorker(),
+        openRequest.getType());
+    streamClosed();
+  }
+
+  private void streamClosed() {
+    synchronized (this) {
+      isOpen = false;
+    }
+    closeCallback.run();
+  }
+}
@@ -30,6 +30,7 @@ import io.zeebe.client.impl.ZeebeObjectMapper;
 import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest.Builder;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
 import io.zeebe.util.CloseableSilently;
 import java.time.Duration;
 import java.util.Arrays;
@@ -52,6 +53,7 @@ public class JobWorkerBuilderImpl
   private int maxJobsActive;
   private Duration pollInterval;
   private List<String> fetchVariables;
+  private boolean streamEnabled;
 
   public JobWorkerBuilderImpl(
       ZeebeClientConfiguration configuration,
@@ -113,6 +115,12 @@ public class JobWorkerBuilderImpl
     return this;
   }
 
+  @Override
+  public JobWorkerBuilderStep3 streamEnabled(boolean streamEnabled) {
+    this.streamEnabled = streamEnabled;
+    return this;
+  }
+
   @Override
   public JobWorkerBuilderStep3 fetchVariables(List<String> fetchVariables) {
     this.fetchVariables = fetchVariables;
@@ -132,6 +140,11 @@ public class JobWorkerBuilderImpl
     ensureNotNullNorEmpty("workerName", workerName);
     ensureGreaterThan("maxJobsActive", maxJobsActive, 0);
 
+    final JobRunnableFactory jobRunnableFactory = new JobRunnableFactory(jobClient, handler);
+    if (streamEnabled) {
+      return openStreamWorker(jobRunnableFactory);
+    }
+
     final Builder requestBuilder =
         ActivateJobsRequest.newBuilder()
             .setType(jobType)
@@ -143,7 +156,6 @@ public class JobWorkerBuilderImpl
       requestBuilder.addAllFetchVariable(fetchVariables);
     }
 
-    final JobRunnableFactory jobRunnableFactory = new JobRunnableFactory(jobClient, handler);
     final JobPoller jobPoller = new JobPoller(gatewayStub, requestBuilder, objectMapper);
 
     final JobWorkerImpl jobWorker =
@@ -152,4 +164,25 @@ public class JobWorkerBuilderImpl
     closeables.add(jobWorker);
     return jobWorker;
   }
+
+  private JobWorker openStreamWorker(JobRunnableFactory jobRunnableFactory) {
+    final StreamActivatedJobsRequest.Builder requestBuilder =
+        StreamActivatedJobsRequest.newBuilder()
+            .setType(jobType)
+            .setTimeout(timeout)
+            .setWorker(workerName);
+
+    if (fetchVariables != null) {
+      requestBuilder.addAllFetchVariable(fetchVariables);
+    }
+
+    final JobStreamer jobStreamer =
+        new JobStreamer(gatewayStub, requestBuilder.build(), objectMapper);
+
+    final JobStreamWorkerImpl jobWorker =
+        new JobStreamWorkerImpl(
+            maxJobsActive, executorService, pollInterval, jobRunnableFactory, jobStreamer);
+    closeables.add(jobWorker);
+    return jobWorker;
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.job;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.client.api.response.ActivatedJob;
+import io.zeebe.client.api.subscription.JobWorker;
+import io.zeebe.client.util.ClientTest;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Test;
+
+public class JobWorkerStreamTest extends ClientTest {
+
+  @Test
+  public void shouldOpenStream() {
+    // when
+    client
+        .newWorker()
+        .jobType("foo")
+        .handler((c, j) -> {})
+        .name("worker")
+        .timeout(Duration.ofSeconds(30))
+        .maxJobsActive(5)
+        .fetchVariables("bar", "baz")
+        .streamEnabled(true)
+        .open();
+
+    // then
+    waitUntil(() -> !gatewayService.getStreamRequests().isEmpty());
+
+    final StreamActivatedJobsRequest request = gatewayService.getStreamRequests().get(0);
+    assertThat(request.getType()).isEqualTo("foo");
+    assertThat(request.getWorker()).isEqualTo("worker");
+    assertThat(request.getTimeout()).isEqualTo(Duration.ofSeconds(30).toMillis());
+    assertThat(request.getCapacity()).isEqualTo(5);
+    assertThat(request.getFetchVariableList()).containsExactly("bar", "baz");
+  }
+
+  @Test
+  public void shouldHandleStreamedJobs() {
+    // given
+    gatewayService.onStreamActivatedJobsRequest(activatedJob(1), activatedJob(2));
+    final List<ActivatedJob> handledJobs = new CopyOnWriteArrayList<>();
+
+    // when
+    client
+        .newWorker()
+        .jobType("foo")
+        .handler((c, j) -> handledJobs.add(j))
+        .streamEnabled(true)
+        .open();
+
+    // then
+    waitUntil(() -> handledJobs.size() == 2);
+    assertThat(handledJobs).extracting(ActivatedJob::getKey).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldGrantCapacityOfHandledJobs() {
+    // given
+    gatewayService.onStreamActivatedJobsRequest(activatedJob(1), activatedJob(2), activatedJob(3));
+    final List<ActivatedJob> handledJobs = new CopyOnWriteArrayList<>();
+
+    // when
+    client
+        .newWorker()
+        .jobType("foo")
+        .handler((c, j) -> handledJobs.add(j))
+        .maxJobsActive(1)
+        .streamEnabled(true)
+        .open();
+
+    // then
+    waitUntil(() -> handledJobs.size() == 3);
+    waitUntil(() -> gatewayService.getStreamRequests().size() == 4);
+    assertThat(gatewayService.getStreamRequests())
+        .extracting(StreamActivatedJobsRequest::getCapacity)
+        .containsExactly(1, 1, 1, 1);
+  }
+
+  @Test
+  public void shouldCloseStream() {
+    // given
+    final JobWorker worker =
+        client.newWorker().jobType("foo").handler((c, j) -> {}).streamEnabled(true).open();
+    waitUntil(() -> !gatewayService.getStreamRequests().isEmpty());
+
+    // when
+    worker.close();
+
+    // then
+    assertThat(worker.isClosed()).isTrue();
+  }
+
+  private GatewayOuterClass.ActivatedJob activatedJob(long key) {
+    return GatewayOuterClass.ActivatedJob.newBuilder()
+        .setKey(key)
+        .setType("foo")
+        .setCustomHeaders("{}")
+        .setVariables("{}")
+        .build();
+  }
+}
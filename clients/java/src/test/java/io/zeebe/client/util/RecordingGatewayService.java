@@ -42,6 +42,7 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.TopologyRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.TopologyResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesRequest;
@@ -52,6 +53,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
@@ -62,6 +66,9 @@ public class RecordingGatewayService extends GatewayImplBase {
   private final Map<Class<? extends GeneratedMessageV3>, RequestHandler> requestHandlers =
       new HashMap<>();
 
+  private final List<StreamActivatedJobsRequest> streamRequests = new CopyOnWriteArrayList<>();
+  private final Queue<ActivatedJob> streamedJobs = new ConcurrentLinkedQueue<>();
+
   public RecordingGatewayService() {
     addRequestHandler(TopologyRequest.class, r -> TopologyResponse.getDefaultInstance());
     addRequestHandler(
@@ -179,6 +186,34 @@ public class RecordingGatewayService extends GatewayImplBase {
     handle(request, responseObserver);
   }
 
+  @Override
+  public StreamObserver<StreamActivatedJobsRequest> streamActivatedJobs(
+      StreamObserver<ActivatedJob> responseObserver) {
+    return new StreamObserver<StreamActivatedJobsRequest>() {
+      private int capacity;
+
+      @Override
+      public void onNext(StreamActivatedJobsRequest request) {
+        streamRequests.add(request);
+        capacity += request.getCapacity();
+
+        ActivatedJob job;
+        while (capacity > 0 && (job = streamedJobs.poll()) != null) {
+          responseObserver.onNext(job);
+          capacity -= 1;
+        }
+      }
+
+      @Override
+      public void onError(Throwable throwable) {}
+
+      @Override
+      public void onCompleted() {
+        responseObserver.onCompleted();
+      }
+    };
+  }
+
   @Override
   public void resolveIncident(
       ResolveIncidentRequest request, StreamObserver<ResolveIncidentResponse> responseObserver) {
@@ -228,6 +263,15 @@ public class RecordingGatewayService extends GatewayImplBase {
             ActivateJobsResponse.newBuilder().addAllJobs(Arrays.asList(activatedJobs)).build());
   }
 
+  /** Adds jobs which are pushed to the next job stream which has capacity for them. */
+  public void onStreamActivatedJobsRequest(ActivatedJob... activatedJobs) {
+    streamedJobs.addAll(Arrays.asList(activatedJobs));
+  }
+
+  public List<StreamActivatedJobsRequest> getStreamRequests() {
+    return streamRequests;
+  }
+
   public void errorOnRequest(
       Class<? extends GeneratedMessageV3> requestClass, Supplier<Exception> errorSupplier) {
     addRequestHandler(
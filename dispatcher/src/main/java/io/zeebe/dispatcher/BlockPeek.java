@@ -36,6 +36,7 @@ public class BlockPeek implements Iterable<DirectBuffer> {
 
   protected int bufferOffset;
   protected int blockLength;
+  protected int lastFragmentOffset;
 
   protected int newPartitionId;
   protected int newPartitionOffset;
@@ -52,6 +53,7 @@ public class BlockPeek implements Iterable<DirectBuffer> {
       final int streamId,
       final int bufferOffset,
       final int blockLength,
+      final int lastFragmentOffset,
       final int newPartitionId,
       final int newPartitionOffset,
       int fragmentCount,
@@ -62,6 +64,7 @@ public class BlockPeek implements Iterable<DirectBuffer> {
     this.streamId = streamId;
     this.bufferOffset = bufferOffset;
     this.blockLength = blockLength;
+    this.lastFragmentOffset = lastFragmentOffset;
     this.newPartitionId = newPartitionId;
     this.newPartitionOffset = newPartitionOffset;
     this.fragmentCount = fragmentCount;
@@ -141,6 +144,14 @@ public class BlockPeek implements Iterable<DirectBuffer> {
     return blockLength;
   }
 
+  /**
+   * Returns the offset of the last fragment of the block, relative to the start of the block. It
+   * allows to read the last fragment without iterating over the whole block.
+   */
+  public int getLastFragmentOffset() {
+    return lastFragmentOffset;
+  }
+
   public long getBlockPosition() {
     return position(newPartitionId, newPartitionOffset);
   }
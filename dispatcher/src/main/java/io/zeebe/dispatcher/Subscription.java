@@ -289,6 +289,7 @@ public class Subscription implements ConsumableChannel {
     int initialStreamId = -1;
     boolean isReadingBatch = false;
     int offset = partitionOffset;
+    int lastFragmentOffset = partitionOffset;
     int fragmentCount = 0;
 
     int offsetLimit = partitionOffset(limit);
@@ -339,11 +340,13 @@ public class Subscription implements ConsumableChannel {
 
         final int alignedFrameLength = alignedLength(framedLength);
         if (alignedFrameLength <= maxBlockSize - readBytes) {
+          final int fragmentOffset = partitionOffset;
           partitionOffset += alignedFrameLength;
           readBytes += alignedFrameLength;
 
           if (!isReadingBatch) {
             offset = partitionOffset;
+            lastFragmentOffset = fragmentOffset;
           }
         } else {
           break;
@@ -363,6 +366,7 @@ public class Subscription implements ConsumableChannel {
           initialStreamId,
           absoluteOffset,
           blockLength,
+          lastFragmentOffset - firstFragmentOffset,
           partitionId,
           offset,
           fragmentCount,
@@ -134,6 +134,7 @@ public class SubscriptionPeekBlockTest {
             -1,
             fragOffset + A_PARTITION_DATA_SECTION_OFFSET,
             A_FRAGMENT_LENGTH,
+            0,
             A_PARTITION_ID,
             nextFragmentOffset(fragOffset),
             1,
@@ -249,6 +250,7 @@ public class SubscriptionPeekBlockTest {
             -1,
             firstFragOffset + A_PARTITION_DATA_SECTION_OFFSET,
             2 * A_FRAGMENT_LENGTH,
+            A_FRAGMENT_LENGTH,
             A_PARTITION_ID,
             nextFragOffset,
             2,
@@ -297,6 +299,7 @@ public class SubscriptionPeekBlockTest {
             -1,
             firstFragOffset + A_PARTITION_DATA_SECTION_OFFSET,
             A_FRAGMENT_LENGTH,
+            0,
             A_PARTITION_ID,
             secondFragOffset,
             1,
@@ -343,6 +346,7 @@ public class SubscriptionPeekBlockTest {
             A_STREAM_ID,
             firstFragOffset + A_PARTITION_DATA_SECTION_OFFSET,
             A_FRAGMENT_LENGTH,
+            0,
             A_PARTITION_ID,
             secondFragOffset,
             2,
@@ -388,6 +392,7 @@ public class SubscriptionPeekBlockTest {
             -1,
             firstFragOffset + A_PARTITION_DATA_SECTION_OFFSET,
             2 * A_FRAGMENT_LENGTH,
+            A_FRAGMENT_LENGTH,
             A_PARTITION_ID,
             nextFragOffset,
             2,
@@ -462,6 +467,7 @@ public class SubscriptionPeekBlockTest {
             -1,
             firstFragOffset + A_PARTITION_DATA_SECTION_OFFSET,
             A_FRAGMENT_LENGTH,
+            0,
             nextPartionId,
             nextFragOffset,
             1,
@@ -538,6 +544,7 @@ public class SubscriptionPeekBlockTest {
             -1,
             firstFragOffset + A_PARTITION_DATA_SECTION_OFFSET,
             A_FRAGMENT_LENGTH,
+            0,
             A_PARTITION_ID,
             nextFragOffset,
             1,
@@ -616,6 +623,7 @@ public class SubscriptionPeekBlockTest {
             -1,
             firstFragOffset + A_PARTITION_DATA_SECTION_OFFSET,
             2 * A_FRAGMENT_LENGTH,
+            A_FRAGMENT_LENGTH,
             A_PARTITION_ID,
             nextFragOffset,
             2,
@@ -704,6 +712,7 @@ public class SubscriptionPeekBlockTest {
             -1,
             firstFragOffset + A_PARTITION_DATA_SECTION_OFFSET,
             A_FRAGMENT_LENGTH,
+            0,
             A_PARTITION_ID,
             secondFragOffset,
             2,
@@ -20,6 +20,7 @@ package io.zeebe.engine.processor;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.zeebe.protocol.intent.Intent;
+import java.util.function.Consumer;
 
 /**
  * High-level record processor abstraction that implements the common behavior of most
@@ -34,6 +35,19 @@ public interface CommandProcessor<T extends UnifiedRecordValue> {
     onCommand(command, commandControl);
   }
 
+  /**
+   * @param sideEffect consumer to replace the default side effect (response writer), see {@link
+   *     TypedRecordProcessor#processRecord(long, TypedRecord, TypedResponseWriter,
+   *     TypedStreamWriter, Consumer)}
+   */
+  default void onCommand(
+      TypedRecord<T> command,
+      CommandControl<T> commandControl,
+      TypedStreamWriter streamWriter,
+      Consumer<SideEffectProducer> sideEffect) {
+    onCommand(command, commandControl, streamWriter);
+  }
+
   interface CommandControl<T> {
     /** @return the key of the entity */
     long accept(Intent newState, T updatedValue);
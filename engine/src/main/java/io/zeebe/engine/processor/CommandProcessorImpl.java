@@ -21,6 +21,7 @@ import io.zeebe.engine.processor.CommandProcessor.CommandControl;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.zeebe.protocol.intent.Intent;
+import java.util.function.Consumer;
 
 public class CommandProcessorImpl<T extends UnifiedRecordValue>
     implements TypedRecordProcessor<T>, CommandControl<T> {
@@ -51,10 +52,11 @@ public class CommandProcessorImpl<T extends UnifiedRecordValue>
   public void processRecord(
       final TypedRecord<T> command,
       final TypedResponseWriter responseWriter,
-      final TypedStreamWriter streamWriter) {
+      final TypedStreamWriter streamWriter,
+      final Consumer<SideEffectProducer> sideEffect) {
 
     entityKey = command.getKey();
-    wrappedProcessor.onCommand(command, this, streamWriter);
+    wrappedProcessor.onCommand(command, this, streamWriter, sideEffect);
 
     final boolean respond = command.getMetadata().hasRequestMetadata();
 
@@ -25,6 +25,7 @@ import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorControl;
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.BooleanSupplier;
 
@@ -47,6 +48,10 @@ public class ProcessingContext implements ReadonlyProcessingContext {
 
   private BooleanSupplier abortCondition;
 
+  private int maxBatchSize = 1;
+  private int maxBatchBytes = Integer.MAX_VALUE;
+  private Duration maxBatchDuration = Duration.ZERO;
+
   public ProcessingContext actor(ActorControl actor) {
     this.actor = actor;
     return this;
@@ -117,6 +122,21 @@ public class ProcessingContext implements ReadonlyProcessingContext {
     return this;
   }
 
+  public ProcessingContext maxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+    return this;
+  }
+
+  public ProcessingContext maxBatchBytes(int maxBatchBytes) {
+    this.maxBatchBytes = maxBatchBytes;
+    return this;
+  }
+
+  public ProcessingContext maxBatchDuration(Duration maxBatchDuration) {
+    this.maxBatchDuration = maxBatchDuration;
+    return this;
+  }
+
   public ActorControl getActor() {
     return actor;
   }
@@ -172,4 +192,16 @@ public class ProcessingContext implements ReadonlyProcessingContext {
   public MetricsManager getMetricsManager() {
     return metricsManager;
   }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public int getMaxBatchBytes() {
+    return maxBatchBytes;
+  }
+
+  public Duration getMaxBatchDuration() {
+    return maxBatchDuration;
+  }
 }
@@ -80,6 +80,13 @@ import org.slf4j.Logger;
  *                                       +-----+
  *
  * </pre>
+ *
+ * <p>In batched mode, {@link #processEvent(LoggedEvent)} continues with the next committed records
+ * in the same transaction until the batch is full. The follow-up records of all these records are
+ * written with a single flush and the transaction is committed once. The batch is closed early
+ * after a record which produces a response or another side effect, since these refer to the record
+ * which is currently processed. If a record of the batch fails, the whole batch is rolled back and
+ * its records are processed again one by one, so the error handling stays the same.
  */
 public final class ProcessingStateMachine {
 
@@ -106,6 +113,8 @@ public final class ProcessingStateMachine {
       "Error event was committed, we continue with processing.";
   private static final String LOG_ERROR_EVENT_WRITTEN =
       "Error record was written at {}, we will continue with processing if event was committed. Current commit position is {}.";
+  private static final String LOG_BATCH_ABORTED =
+      "Failed to process batch of records starting at position {}, on event '{}' with processor '{}'. Process the records again one by one.";
 
   private static final Duration PROCESSING_RETRY_DELAY = Duration.ofMillis(250);
 
@@ -126,6 +135,10 @@ public final class ProcessingStateMachine {
   private final BooleanSupplier shouldProcessNext;
   private final BooleanSupplier abortCondition;
 
+  private final int maxBatchSize;
+  private final int maxBatchBytes;
+  private final long maxBatchDurationNanos;
+
   protected final ZeebeState zeebeState;
 
   private final ErrorRecord errorRecord = new ErrorRecord();
@@ -161,6 +174,10 @@ public final class ProcessingStateMachine {
     this.updateStateRetryStrategy = new RecoverableRetryStrategy(actor);
     this.shouldProcessNext = shouldProcessNext;
 
+    this.maxBatchSize = context.getMaxBatchSize();
+    this.maxBatchBytes = getMaxBatchBytes(context.getMaxBatchBytes(), logStream);
+    this.maxBatchDurationNanos = context.getMaxBatchDuration().toNanos();
+
     this.responseWriter =
         new TypedResponseWriterImpl(context.getCommandResponseWriter(), logStream.getPartitionId());
   }
@@ -177,6 +194,23 @@ public final class ProcessingStateMachine {
   private boolean onErrorHandling;
   private long errorRecordPosition = -1;
 
+  // current batch
+  private int batchSize;
+  private long batchStartPosition = -1L;
+  private long batchStartTime;
+  private long lastProcessedPositionInBatch = -1L;
+  private long singleRecordProcessingUntilPosition = -1L;
+
+  private static int getMaxBatchBytes(final int maxBatchBytes, final LogStream logStream) {
+    if (logStream.getWriteBuffer() == null) {
+      return maxBatchBytes;
+    }
+
+    // the follow-up records of a batch are written as one dispatcher batch,
+    // which needs to fit into a single frame
+    return Math.min(maxBatchBytes, logStream.getWriteBuffer().getMaxFrameLength() / 2);
+  }
+
   private void skipRecord() {
     actor.submit(this::readNextEvent);
     metrics.incrementEventsSkippedCount();
@@ -214,16 +248,16 @@ public final class ProcessingStateMachine {
     }
 
     try {
-      final UnifiedRecordValue value = eventCache.get(metadata.getValueType());
-      value.reset();
-      event.readValue(value);
-      typedEvent.wrap(event, metadata, value);
-
-      processInTransaction(typedEvent);
+      processRecord(event);
+      processBatch();
 
-      metrics.incrementEventsProcessedCount();
       writeEvent();
     } catch (final RecoverableException recoverableException) {
+      if (batchSize > 0) {
+        abortBatch(recoverableException);
+        return;
+      }
+
       // recoverable
       LOG.error(
           ERROR_MESSAGE_PROCESSING_FAILED_RETRY_PROCESSING,
@@ -232,11 +266,107 @@ public final class ProcessingStateMachine {
           recoverableException);
       actor.runDelayed(PROCESSING_RETRY_DELAY, () -> processEvent(currentEvent));
     } catch (final Exception e) {
+      if (batchSize > 0) {
+        abortBatch(e);
+        return;
+      }
+
       LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_SKIP_EVENT, event, streamProcessorName, e);
       onError(e, this::writeEvent);
     }
   }
 
+  private void processRecord(final LoggedEvent event) throws Exception {
+    final UnifiedRecordValue value = eventCache.get(metadata.getValueType());
+    value.reset();
+    event.readValue(value);
+    typedEvent.wrap(event, metadata, value);
+
+    processInTransaction(typedEvent);
+
+    if (batchSize == 0) {
+      batchStartPosition = event.getPosition();
+      batchStartTime = System.nanoTime();
+    }
+    batchSize += 1;
+    lastProcessedPositionInBatch = event.getPosition();
+
+    metrics.incrementEventsProcessedCount();
+  }
+
+  private void processBatch() throws Exception {
+    while (canExtendBatch()) {
+      final LoggedEvent event = logStreamReader.next();
+
+      if (eventFilter != null && !eventFilter.applies(event)) {
+        metrics.incrementEventsSkippedCount();
+        continue;
+      }
+
+      metadata.reset();
+      event.readMetadata(metadata);
+
+      final TypedRecordProcessor<?> processor = chooseNextProcessor(event);
+      if (processor == null) {
+        metrics.incrementEventsSkippedCount();
+        continue;
+      }
+
+      currentEvent = event;
+      currentProcessor = processor;
+      processRecord(event);
+    }
+  }
+
+  private boolean canExtendBatch() {
+    return batchSize < maxBatchSize
+        && sideEffectProducer.isEmpty()
+        && lastProcessedPositionInBatch >= singleRecordProcessingUntilPosition
+        && logStreamWriter.getBatchLength() < maxBatchBytes
+        && System.nanoTime() - batchStartTime < maxBatchDurationNanos
+        && shouldProcessNext.getAsBoolean()
+        && logStreamReader.hasNext();
+  }
+
+  private void abortBatch(final Throwable throwable) {
+    LOG.debug(LOG_BATCH_ABORTED, batchStartPosition, currentEvent, streamProcessorName, throwable);
+    metrics.incrementBatchesAbortedCount();
+
+    final long failedPosition = currentEvent.getPosition();
+    final ActorFuture<Boolean> retryFuture =
+        updateStateRetryStrategy.runWithRetry(
+            () -> {
+              zeebeDbTransaction.rollback();
+              return true;
+            },
+            abortCondition);
+
+    actor.runOnCompletion(
+        retryFuture,
+        (bool, rollbackFailure) -> {
+          if (rollbackFailure != null) {
+            LOG.error(ERROR_MESSAGE_ROLLBACK_ABORTED, currentEvent, rollbackFailure);
+          }
+
+          logStreamWriter.reset();
+          responseWriter.reset();
+
+          // process the records of the batch again one by one until the failed record is passed
+          singleRecordProcessingUntilPosition = failedPosition;
+          logStreamReader.seek(batchStartPosition);
+          resetBatch();
+
+          currentProcessor = null;
+          actor.submit(this::readNextEvent);
+        });
+  }
+
+  private void resetBatch() {
+    batchSize = 0;
+    batchStartPosition = -1L;
+    lastProcessedPositionInBatch = -1L;
+  }
+
   private TypedRecordProcessor<?> chooseNextProcessor(LoggedEvent event) {
     TypedRecordProcessor<?> typedRecordProcessor = null;
 
@@ -256,7 +386,13 @@ public final class ProcessingStateMachine {
     zeebeDbTransaction.run(
         () -> {
           final long position = typedRecord.getPosition();
-          resetOutput(position);
+          if (batchSize == 0) {
+            resetOutput(position);
+          } else {
+            // keep the follow-up records of the previous records in the batch
+            responseWriter.reset();
+            logStreamWriter.configureSourceContext(producerId, position);
+          }
 
           // default side effect is responses; can be changed by processor
           sideEffectProducer = responseWriter;
@@ -351,7 +487,10 @@ public final class ProcessingStateMachine {
     actor.runOnCompletion(
         retryFuture,
         (bool, t) -> {
-          if (t != null) {
+          if (t != null && batchSize > 1) {
+            // the follow-up records of the batch may not fit into one write
+            abortBatch(t);
+          } else if (t != null) {
             LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, t);
             onError(t, this::writeEvent);
           } else {
@@ -376,6 +515,7 @@ public final class ProcessingStateMachine {
               }
               lastSuccessfulProcessedEventPosition = currentEvent.getPosition();
               lastWrittenEventPosition = writtenEventPosition;
+              metrics.incrementBatchesCommittedCount();
               return true;
             },
             abortCondition);
@@ -405,6 +545,7 @@ public final class ProcessingStateMachine {
           }
 
           // continue with next event
+          resetBatch();
           currentProcessor = null;
           actor.submit(this::readNextEvent);
         });
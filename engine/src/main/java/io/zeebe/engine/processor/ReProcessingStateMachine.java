@@ -18,7 +18,6 @@
 package io.zeebe.engine.processor;
 
 import io.zeebe.db.DbContext;
-import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.logstreams.impl.Loggers;
@@ -34,6 +33,7 @@ import io.zeebe.protocol.intent.Intent;
 import io.zeebe.util.retry.EndlessRetryStrategy;
 import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.util.HashSet;
@@ -46,38 +46,40 @@ import org.slf4j.Logger;
 /**
  * Represents the reprocessing state machine, which is executed on reprocessing.
  *
+ * <p>The events are replayed in batches: all events of a batch are processed in one transaction,
+ * which is committed once at the end of the batch. If the processing of an event fails, the whole
+ * batch is rolled back and replayed again.
+ *
  * <pre>
  * +------------------+   +-------------+           +------------------------+
  * |                  |   |             |           |                        |
- * |  startRecover()  |--->  scanLog()  |---------->|  reprocessNextEvent()  |
+ * |  startRecover()  |--->  scanLog()  |---------->|  reprocessNextBatch()  |
  * |                  |   |             |           |                        |
  * +------------------+   +---+---------+           +-----^------+-----------+
  *                            |                           |      |
  * +-----------------+        | no source events          |      |
  * |                 |        |                           |      |
- * |  onRecovered()  <--------+                           |      |    +--------------------+
- * |                 |                                    |      |    |                    |
- * +--------^--------+                hasNext             |      +--->|  reprocessEvent()  |
- *          |            +--------------------------------+           |                    |
- *          |            |                                            +----+----------+----+
- *          |            |                                                 |          |
- *   +------+------------+-----+                                           |          |
- *   |                         |               no event processor          |          |
- *   |  onRecordReprocessed()  |<------------------------------------------+          |
- *   |                         |                                                      |
- *   +---------^---------------+                                                      |
- *             |                                                                      |
- *             |      +--------------------------+       +----------------------+     |
- *             |      |                          |       |                      |     |
- *             +------+  updateStateUntilDone()  <-------+  processUntilDone()  |<----+
- *                    |                          |       |                      |
- *                    +------^------------+------+       +---^------------+-----+
- *                           |            |                  |            |
- *                           +------------+                  +------------+
- *                             exception                       exception
+ * |  onRecovered()  <--------+                           |      |    +----------------------+
+ * |                 |                                    |      |    |                      |
+ * +--------^--------+                hasNext             |      +--->|  processUntilDone()  |
+ *          |            +--------------------------------+           |                      |
+ *          |            |                                            +---^------------+-----+
+ *          |            |                                                |            |
+ *   +------+------------+-----+                                          +------------+
+ *   |                         |                                            exception: |
+ *   |  onBatchReprocessed()   |                                        rollback batch |
+ *   |                         |                                                       |
+ *   +---------^---------------+                                                       |
+ *             |                                                                       |
+ *             |      +--------------------------+                                     |
+ *             |      |                          |                                     |
+ *             +------+  updateStateUntilDone()  <-------------------------------------+
+ *                    |                          |
+ *                    +------^------------+------+
+ *                           |            |
+ *                           +------------+
+ *                             exception
  * </pre>
- *
- * See https://textik.com/#773271ce7ea2096a
  */
 public final class ReProcessingStateMachine {
 
@@ -98,6 +100,9 @@ public final class ReProcessingStateMachine {
   private static final Consumer<Long> NOOP_LONG_CONSUMER = (instanceKey) -> {};
   public static final Consumer NOOP_SIDE_EFFECT_CONSUMER = (sideEffect) -> {};
 
+  /** The maximum number of events which are replayed in one transaction. */
+  static final int MAX_BATCH_SIZE = 100;
+
   private final int producerId;
   private final ZeebeState zeebeState;
 
@@ -121,8 +126,9 @@ public final class ReProcessingStateMachine {
 
   private final BooleanSupplier abortCondition;
   private final Set<Long> failedEventPositions = new HashSet<>();
+  private final StreamProcessorMetrics metrics;
 
-  public ReProcessingStateMachine(ProcessingContext context) {
+  public ReProcessingStateMachine(ProcessingContext context, StreamProcessorMetrics metrics) {
     this.actor = context.getActor();
     this.streamProcessorName = context.getStreamProcessorName();
     this.eventFilter = context.getEventFilter();
@@ -133,6 +139,7 @@ public final class ReProcessingStateMachine {
     this.dbContext = context.getDbContext();
     this.zeebeState = context.getZeebeState();
     this.abortCondition = context.getAbortCondition();
+    this.metrics = metrics;
 
     this.updateStateRetryStrategy = new EndlessRetryStrategy(actor);
     this.processRetryStrategy = new EndlessRetryStrategy(actor);
@@ -145,6 +152,18 @@ public final class ReProcessingStateMachine {
   private TypedRecordProcessor eventProcessor;
   private ZeebeDbTransaction zeebeDbTransaction;
 
+  // current batch
+  private long batchStartPosition;
+  private int batchEventsCount;
+  private long batchBytes;
+  private boolean isLastSourceEventReprocessed;
+  private RuntimeException readFailure;
+
+  // progress
+  private long eventsToReprocessBytes;
+  private long reprocessedBytes;
+  private long reprocessingStartTime;
+
   ActorFuture<Void> startRecover(final long snapshotPosition) {
     recoveryFuture = new CompletableActorFuture<>();
 
@@ -160,7 +179,8 @@ public final class ReProcessingStateMachine {
           streamProcessorName,
           lastSourceEventPosition);
       logStreamReader.seek(startPosition);
-      reprocessNextEvent();
+      reprocessingStartTime = ActorClock.currentTimeMillis();
+      reprocessNextBatch();
     } else {
       recoveryFuture.complete(null);
     }
@@ -174,6 +194,8 @@ public final class ReProcessingStateMachine {
       lastSourceEventPosition = snapshotPosition;
       while (logStreamReader.hasNext()) {
         final LoggedEvent newEvent = logStreamReader.next();
+        // an estimate, the events after the last source event are not reprocessed
+        eventsToReprocessBytes += eventLength(newEvent);
 
         metadata.reset();
         newEvent.readMetadata(metadata);
@@ -227,23 +249,66 @@ public final class ReProcessingStateMachine {
     }
   }
 
-  private void reprocessNextEvent() {
-    try {
-      readNextEvent();
+  private void reprocessNextBatch() {
+    batchStartPosition = -1L;
+    processUntilDone();
+  }
+
+  private void processUntilDone() {
+    final ActorFuture<Boolean> resultFuture =
+        processRetryStrategy.runWithRetry(
+            () -> {
+              final boolean onRetry = zeebeDbTransaction != null;
+              if (onRetry) {
+                zeebeDbTransaction.rollback();
+                logStreamReader.seek(batchStartPosition);
+              }
+              zeebeDbTransaction = dbContext.getCurrentTransaction();
+              zeebeDbTransaction.run(this::reprocessBatch);
+              return true;
+            },
+            abortCondition);
+
+    actor.runOnCompletion(
+        resultFuture,
+        (v, t) -> {
+          // processing should be retried endless until it worked
+          assert t == null : "On reprocessing there shouldn't be any exception thrown.";
+          updateStateUntilDone();
+        });
+  }
+
+  private void reprocessBatch() {
+    batchEventsCount = 0;
+    batchBytes = 0;
+    isLastSourceEventReprocessed = false;
+
+    while (batchEventsCount < MAX_BATCH_SIZE && !isLastSourceEventReprocessed) {
+      try {
+        readNextEvent();
+      } catch (final IllegalStateException e) {
+        // the log is not as expected, a retry would not help
+        readFailure = e;
+        return;
+      }
+
+      final long position = currentEvent.getPosition();
+      if (batchStartPosition < 0) {
+        batchStartPosition = position;
+      }
 
       if (eventFilter == null || eventFilter.applies(currentEvent)) {
         reprocessEvent(currentEvent);
-      } else {
-        onRecordReprocessed(currentEvent);
       }
 
-    } catch (final RuntimeException e) {
-      recoveryFuture.completeExceptionally(e);
+      batchEventsCount += 1;
+      batchBytes += eventLength(currentEvent);
+      isLastSourceEventReprocessed = position == lastSourceEventPosition;
     }
   }
 
   private void reprocessEvent(final LoggedEvent currentEvent) {
-
+    eventProcessor = null;
     try {
       metadata.reset();
       currentEvent.readMetadata(metadata);
@@ -256,7 +321,6 @@ public final class ReProcessingStateMachine {
     }
 
     if (eventProcessor == null) {
-      onRecordReprocessed(currentEvent);
       return;
     }
 
@@ -265,56 +329,18 @@ public final class ReProcessingStateMachine {
     currentEvent.readValue(value);
     typedEvent.wrap(currentEvent, metadata, value);
 
-    processUntilDone(currentEvent.getPosition(), typedEvent);
-  }
-
-  private void processUntilDone(long position, TypedRecord<?> currentEvent) {
-    final TransactionOperation operationOnProcessing =
-        chooseOperationForEvent(position, currentEvent);
-
-    final ActorFuture<Boolean> resultFuture =
-        processRetryStrategy.runWithRetry(
-            () -> {
-              final boolean onRetry = zeebeDbTransaction != null;
-              if (onRetry) {
-                zeebeDbTransaction.rollback();
-              }
-              zeebeDbTransaction = dbContext.getCurrentTransaction();
-              zeebeDbTransaction.run(operationOnProcessing);
-              return true;
-            },
-            abortCondition);
-
-    actor.runOnCompletion(
-        resultFuture,
-        (v, t) -> {
-          // processing should be retried endless until it worked
-          assert t == null : "On reprocessing there shouldn't be any exception thrown.";
-          updateStateUntilDone();
-        });
-  }
-
-  private TransactionOperation chooseOperationForEvent(long position, TypedRecord<?> currentEvent) {
-    final TransactionOperation operationOnProcessing;
+    final long position = currentEvent.getPosition();
     if (failedEventPositions.contains(position)) {
-      LOG.info(LOG_STMT_FAILED_ON_PROCESSING, currentEvent);
-      operationOnProcessing = () -> zeebeState.tryToBlacklist(currentEvent, NOOP_LONG_CONSUMER);
+      LOG.info(LOG_STMT_FAILED_ON_PROCESSING, typedEvent);
+      zeebeState.tryToBlacklist(typedEvent, NOOP_LONG_CONSUMER);
     } else {
-      operationOnProcessing =
-          () -> {
-            final boolean isNotOnBlacklist = !zeebeState.isOnBlacklist(typedEvent);
-            if (isNotOnBlacklist) {
-              eventProcessor.processRecord(
-                  position,
-                  typedEvent,
-                  noopResponseWriter,
-                  noopstreamWriter,
-                  NOOP_SIDE_EFFECT_CONSUMER);
-            }
-            zeebeState.markAsProcessed(position);
-          };
+      final boolean isNotOnBlacklist = !zeebeState.isOnBlacklist(typedEvent);
+      if (isNotOnBlacklist) {
+        eventProcessor.processRecord(
+            position, typedEvent, noopResponseWriter, noopstreamWriter, NOOP_SIDE_EFFECT_CONSUMER);
+      }
+      zeebeState.markAsProcessed(position);
     }
-    return operationOnProcessing;
   }
 
   private void updateStateUntilDone() {
@@ -332,20 +358,38 @@ public final class ReProcessingStateMachine {
         (bool, throwable) -> {
           // update state should be retried endless until it worked
           assert throwable == null : "On reprocessing there shouldn't be any exception thrown.";
-          onRecordReprocessed(currentEvent);
+          onBatchReprocessed();
         });
   }
 
-  private void onRecordReprocessed(final LoggedEvent currentEvent) {
-    if (currentEvent.getPosition() == lastSourceEventPosition) {
+  private void onBatchReprocessed() {
+    reprocessedBytes += batchBytes;
+    metrics.incrementReprocessedEventsCount(batchEventsCount, batchBytes);
+    metrics.setReprocessingRemainingTime(estimateRemainingTime());
+
+    if (readFailure != null) {
+      metrics.setReprocessingRemainingTime(0);
+      recoveryFuture.completeExceptionally(readFailure);
+    } else if (isLastSourceEventReprocessed) {
       LOG.info(LOG_STMT_REPROCESSING_FINISHED, streamProcessorName, currentEvent.getPosition());
       onRecovered();
     } else {
-      actor.submit(this::reprocessNextEvent);
+      actor.submit(this::reprocessNextBatch);
     }
   }
 
+  private long estimateRemainingTime() {
+    final long elapsedTime = ActorClock.currentTimeMillis() - reprocessingStartTime;
+    final long remainingBytes = Math.max(eventsToReprocessBytes - reprocessedBytes, 0);
+    return reprocessedBytes > 0 ? remainingBytes * elapsedTime / reprocessedBytes : 0;
+  }
+
+  private static int eventLength(final LoggedEvent event) {
+    return event.getMetadataLength() + event.getValueLength();
+  }
+
   private void onRecovered() {
+    metrics.setReprocessingRemainingTime(0);
     recoveryFuture.complete(null);
     failedEventPositions.clear();
   }
@@ -389,6 +433,11 @@ public final class ReProcessingStateMachine {
     @Override
     public void configureSourceContext(int producerId, long sourceRecordPosition) {}
 
+    @Override
+    public int getBatchLength() {
+      return 0;
+    }
+
     @Override
     public long flush() {
       return 0;
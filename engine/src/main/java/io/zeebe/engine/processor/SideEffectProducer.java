@@ -27,4 +27,15 @@ public interface SideEffectProducer {
    * @return false in case of backpressure, else true
    */
   boolean flush();
+
+  /**
+   * Returns true if there is nothing to apply, i.e. {@link #flush()} would have no effect. The
+   * stream processor only processes further records before applying the side effect if it is empty,
+   * since most side effects refer to the state of the record which is currently processed.
+   *
+   * @return true if there is no side effect to apply, false if there is one or it is unknown
+   */
+  default boolean isEmpty() {
+    return false;
+  }
 }
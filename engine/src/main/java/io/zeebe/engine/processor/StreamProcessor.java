@@ -22,6 +22,7 @@ import static io.zeebe.engine.processor.TypedEventRegistry.EVENT_REGISTRY;
 import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.state.ZeebeState;
+import io.zeebe.engine.state.deployment.ExecutableWorkflowCache;
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
@@ -60,6 +61,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
 
   // snapshotting
   private final ZeebeDb zeebeDb;
+  private final ExecutableWorkflowCache executableWorkflowCache;
 
   private long snapshotPosition = -1L;
 
@@ -78,6 +80,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
 
     this.typedRecordProcessorFactory = context.getTypedRecordProcessorFactory();
     this.zeebeDb = context.getZeebeDb();
+    this.executableWorkflowCache = context.getExecutableWorkflowCache();
 
     final EnumMap<ValueType, UnifiedRecordValue> eventCache = new EnumMap<>(ValueType.class);
     EVENT_REGISTRY.forEach((t, c) -> eventCache.put(t, ReflectUtil.newInstance(c)));
@@ -151,7 +154,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
           new ProcessingStateMachine(processingContext, metrics, this::isOpened);
 
       final ReProcessingStateMachine reProcessingStateMachine =
-          new ReProcessingStateMachine(processingContext);
+          new ReProcessingStateMachine(processingContext, metrics);
 
       final ActorFuture<Void> recoverFuture =
           reProcessingStateMachine.startRecover(snapshotPosition);
@@ -202,7 +205,8 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
 
   private ZeebeState recoverState() {
     final DbContext dbContext = zeebeDb.createContext();
-    final ZeebeState zeebeState = new ZeebeState(partitionId, zeebeDb, dbContext);
+    final ZeebeState zeebeState =
+        new ZeebeState(partitionId, zeebeDb, dbContext, executableWorkflowCache);
 
     processingContext.dbContext(dbContext);
     processingContext.zeebeState(zeebeState);
@@ -242,6 +246,11 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
     metrics.close();
     processingContext.getLogStreamReader().close();
 
+    final ZeebeState zeebeState = processingContext.getZeebeState();
+    if (zeebeState != null) {
+      zeebeState.close();
+    }
+
     if (onCommitPositionUpdatedCondition != null) {
       logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
       onCommitPositionUpdatedCondition = null;
@@ -20,6 +20,7 @@ package io.zeebe.engine.processor;
 import static io.zeebe.engine.processor.StreamProcessorServiceNames.streamProcessorService;
 
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.engine.state.deployment.ExecutableWorkflowCache;
 import io.zeebe.logstreams.impl.service.LogStreamServiceNames;
 import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
@@ -31,6 +32,7 @@ import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -46,6 +48,7 @@ public class StreamProcessorBuilder {
   private final List<StreamProcessorLifecycleAware> lifecycleListeners = new ArrayList<>();
 
   private ZeebeDb zeebeDb;
+  private ExecutableWorkflowCache executableWorkflowCache;
 
   public StreamProcessorBuilder(int id, String name) {
     Objects.requireNonNull(name);
@@ -89,11 +92,40 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * Enables the batched processing mode, which processes up to the given number of records in one
+   * state transaction and writes their follow-up records together. The batch is closed earlier if
+   * the follow-up records exceed the given bytes, the processing exceeds the given duration or a
+   * record produces a response or side effect.
+   *
+   * @param maxBatchSize the maximum number of records in a batch, 1 disables batching
+   * @param maxBatchBytes the maximum length of the follow-up records of a batch
+   * @param maxBatchDuration the maximum time which is spent to process a batch
+   */
+  public StreamProcessorBuilder processingBatch(
+      int maxBatchSize, int maxBatchBytes, Duration maxBatchDuration) {
+    processingContext
+        .maxBatchSize(maxBatchSize)
+        .maxBatchBytes(maxBatchBytes)
+        .maxBatchDuration(maxBatchDuration);
+    return this;
+  }
+
   public StreamProcessorBuilder zeebeDb(final ZeebeDb zeebeDb) {
     this.zeebeDb = zeebeDb;
     return this;
   }
 
+  /**
+   * @param executableWorkflowCache the cache of the transformed workflows which is shared with the
+   *     other partitions, if not set then the workflows are not shared
+   */
+  public StreamProcessorBuilder executableWorkflowCache(
+      final ExecutableWorkflowCache executableWorkflowCache) {
+    this.executableWorkflowCache = executableWorkflowCache;
+    return this;
+  }
+
   public TypedRecordProcessorFactory getTypedRecordProcessorFactory() {
     return typedRecordProcessorFactory;
   }
@@ -118,6 +150,10 @@ public class StreamProcessorBuilder {
     return zeebeDb;
   }
 
+  public ExecutableWorkflowCache getExecutableWorkflowCache() {
+    return executableWorkflowCache;
+  }
+
   public ActorFuture<StreamProcessor> build() {
     validate();
 
@@ -126,6 +162,10 @@ public class StreamProcessorBuilder {
         .logStreamReader(new BufferedLogStreamReader(logStream))
         .logStreamWriter(new TypedStreamWriterImpl(logStream));
 
+    if (executableWorkflowCache == null) {
+      executableWorkflowCache = new ExecutableWorkflowCache();
+    }
+
     final MetadataFilter metadataFilter = new VersionFilter();
     final EventFilter eventFilter = new MetadataEventFilter(metadataFilter);
     processingContext.eventFilter(eventFilter);
@@ -160,6 +200,10 @@ public class StreamProcessorBuilder {
     Objects.requireNonNull(
         processingContext.getCommandResponseWriter(), "No command response writer provided.");
     Objects.requireNonNull(zeebeDb, "No database provided.");
+
+    if (processingContext.getMaxBatchSize() < 1) {
+      throw new IllegalArgumentException("Expected max batch size to be greater than zero.");
+    }
   }
 
   private static class MetadataEventFilter implements EventFilter {
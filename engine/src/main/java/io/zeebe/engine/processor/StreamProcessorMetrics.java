@@ -24,6 +24,11 @@ public class StreamProcessorMetrics {
   private final Metric eventsProcessedCountMetric;
   private final Metric eventsWrittenCountMetric;
   private final Metric eventsSkippedCountMetric;
+  private final Metric batchesCommittedCountMetric;
+  private final Metric batchesAbortedCountMetric;
+  private final Metric eventsReprocessedCountMetric;
+  private final Metric eventsReprocessedBytesMetric;
+  private final Metric reprocessingRemainingTimeMetric;
 
   public StreamProcessorMetrics(
       final MetricsManager metricsManager, final String processorName, final String partitionId) {
@@ -53,12 +58,60 @@ public class StreamProcessorMetrics {
             .label("action", "skipped")
             .label("partition", partitionId)
             .create();
+
+    batchesCommittedCountMetric =
+        metricsManager
+            .newMetric("streamprocessor_batches_count")
+            .type("counter")
+            .label("processor", processorName)
+            .label("action", "committed")
+            .label("partition", partitionId)
+            .create();
+
+    batchesAbortedCountMetric =
+        metricsManager
+            .newMetric("streamprocessor_batches_count")
+            .type("counter")
+            .label("processor", processorName)
+            .label("action", "aborted")
+            .label("partition", partitionId)
+            .create();
+
+    eventsReprocessedCountMetric =
+        metricsManager
+            .newMetric("streamprocessor_events_count")
+            .type("counter")
+            .label("processor", processorName)
+            .label("action", "reprocessed")
+            .label("partition", partitionId)
+            .create();
+
+    eventsReprocessedBytesMetric =
+        metricsManager
+            .newMetric("streamprocessor_reprocessed_bytes")
+            .type("counter")
+            .label("processor", processorName)
+            .label("partition", partitionId)
+            .create();
+
+    reprocessingRemainingTimeMetric =
+        metricsManager
+            .newMetric("streamprocessor_reprocessing_remaining_time_millis")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("partition", partitionId)
+            .create();
   }
 
   public void close() {
     eventsProcessedCountMetric.close();
     eventsSkippedCountMetric.close();
     eventsWrittenCountMetric.close();
+    batchesCommittedCountMetric.close();
+    batchesAbortedCountMetric.close();
+    eventsReprocessedCountMetric.close();
+    eventsReprocessedBytesMetric.close();
+    reprocessingRemainingTimeMetric.close();
   }
 
   public void incrementEventsProcessedCount() {
@@ -72,4 +125,22 @@ public class StreamProcessorMetrics {
   public void incrementEventsWrittenCount() {
     eventsWrittenCountMetric.incrementOrdered();
   }
+
+  public void incrementBatchesCommittedCount() {
+    batchesCommittedCountMetric.incrementOrdered();
+  }
+
+  public void incrementBatchesAbortedCount() {
+    batchesAbortedCountMetric.incrementOrdered();
+  }
+
+  public void incrementReprocessedEventsCount(long count, long bytes) {
+    eventsReprocessedCountMetric.getAndAddOrdered(count);
+    eventsReprocessedBytesMetric.getAndAddOrdered(bytes);
+  }
+
+  /** Sets the estimated time until the reprocessing is done. */
+  public void setReprocessingRemainingTime(long millis) {
+    reprocessingRemainingTimeMetric.setOrdered(millis);
+  }
 }
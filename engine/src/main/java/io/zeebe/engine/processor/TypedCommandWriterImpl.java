@@ -94,7 +94,8 @@ public class TypedCommandWriterImpl implements TypedCommandWriter {
     batchWriter.producerId(producerId);
 
     if (sourceRecordPosition >= 0) {
-      batchWriter.sourceRecordPosition(sourceRecordPosition);
+      // records of different source records can be written in the same batch
+      event.sourceEventPosition(sourceRecordPosition);
     }
 
     initMetadata(type, intent, value);
@@ -136,6 +137,10 @@ public class TypedCommandWriterImpl implements TypedCommandWriter {
     batchWriter.reset();
   }
 
+  public int getBatchLength() {
+    return batchWriter.getBatchLength();
+  }
+
   @Override
   public long flush() {
     return batchWriter.tryWrite();
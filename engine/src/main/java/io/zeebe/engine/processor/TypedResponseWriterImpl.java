@@ -113,6 +113,12 @@ public class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectP
     isResponseStaged = false;
   }
 
+  @Override
+  public boolean isEmpty() {
+    return !isResponseStaged;
+  }
+
+  @Override
   public boolean flush() {
     if (isResponseStaged) {
       return writer.tryWriteResponse(requestStreamId, requestId);
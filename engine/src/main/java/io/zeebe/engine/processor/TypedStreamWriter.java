@@ -42,4 +42,10 @@ public interface TypedStreamWriter extends TypedCommandWriter {
       long key, Intent intent, UnpackedObject value, Consumer<RecordMetadata> metadata);
 
   void configureSourceContext(int producerId, long sourceRecordPosition);
+
+  /**
+   * @return the length of all records which are appended since the last reset or flush, including
+   *     their headers
+   */
+  int getBatchLength();
 }
@@ -35,6 +35,8 @@ import io.zeebe.logstreams.log.LogStreamWriterImpl;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.intent.DeploymentIntent;
+import io.zeebe.util.sched.ActorControl;
+import java.util.function.Consumer;
 
 public class EngineProcessors {
 
@@ -42,7 +44,8 @@ public class EngineProcessors {
       ProcessingContext processingContext,
       int partitionsCount,
       SubscriptionCommandSender subscriptionCommandSender,
-      DeploymentDistributor deploymentDistributor) {
+      DeploymentDistributor deploymentDistributor,
+      Consumer<String> onJobsAvailableCallback) {
 
     final TypedRecordProcessors typedRecordProcessors = TypedRecordProcessors.processors();
     final LogStream stream = processingContext.getLogStream();
@@ -63,7 +66,8 @@ public class EngineProcessors {
         addWorkflowProcessors(
             zeebeState, typedRecordProcessors, subscriptionCommandSender, catchEventBehavior);
     addIncidentProcessors(zeebeState, stepProcessor, typedRecordProcessors);
-    addJobProcessors(zeebeState, typedRecordProcessors);
+    addJobProcessors(
+        zeebeState, typedRecordProcessors, processingContext.getActor(), onJobsAvailableCallback);
 
     return typedRecordProcessors;
   }
@@ -126,8 +130,12 @@ public class EngineProcessors {
   }
 
   private static void addJobProcessors(
-      ZeebeState zeebeState, TypedRecordProcessors typedRecordProcessors) {
-    JobEventProcessors.addJobProcessors(typedRecordProcessors, zeebeState);
+      ZeebeState zeebeState,
+      TypedRecordProcessors typedRecordProcessors,
+      ActorControl actor,
+      Consumer<String> onJobsAvailableCallback) {
+    JobEventProcessors.addJobProcessors(
+        typedRecordProcessors, zeebeState, actor, onJobsAvailableCallback);
   }
 
   private static void addMessageProcessors(
@@ -28,6 +28,11 @@ public class SideEffectQueue implements SideEffectProducer {
     sideEffects.clear();
   }
 
+  @Override
+  public boolean isEmpty() {
+    return sideEffects.isEmpty();
+  }
+
   @Override
   public boolean flush() {
     if (sideEffects.isEmpty()) {
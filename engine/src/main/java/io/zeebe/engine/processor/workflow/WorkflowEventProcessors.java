@@ -140,7 +140,10 @@ public class WorkflowEventProcessors {
             ValueType.TIMER,
             TimerIntent.TRIGGER,
             new TriggerTimerProcessor(zeebeState, catchEventOutput))
-        .onCommand(ValueType.TIMER, TimerIntent.CANCEL, new CancelTimerProcessor(workflowState))
+        .onCommand(
+            ValueType.TIMER,
+            TimerIntent.CANCEL,
+            new CancelTimerProcessor(workflowState, timerChecker))
         .withListener(timerChecker);
   }
 
@@ -60,12 +60,46 @@ public class WorkflowInstanceLifecycle {
     TRANSITION_RULES.put(ELEMENT_TERMINATED, Collections.emptySet());
   }
 
+  // the states and the transition rules as bit masks of the intent ordinals, since they are checked
+  // for every processed record
+  static {
+    final int intentCount = WorkflowInstanceIntent.values().length;
+    if (intentCount > Integer.SIZE) {
+      throw new IllegalStateException(
+          String.format(
+              "Expected at most %d workflow instance intents to build the bit masks, but found %d",
+              Integer.SIZE, intentCount));
+    }
+  }
+
+  private static final int ELEMENT_INSTANCE_STATES_MASK = toMask(ELEMENT_INSTANCE_STATES);
+  private static final int FINAL_ELEMENT_INSTANCE_STATES_MASK =
+      toMask(FINAL_ELEMENT_INSTANCE_STATES);
+  private static final int TERMINATABLE_STATES_MASK = toMask(TERMINATABLE_STATES);
+  private static final int[] TRANSITION_MASKS = new int[WorkflowInstanceIntent.values().length];
+
+  static {
+    TRANSITION_RULES.forEach((from, to) -> TRANSITION_MASKS[from.ordinal()] = toMask(to));
+  }
+
+  private static int toMask(Set<WorkflowInstanceIntent> states) {
+    int mask = 0;
+    for (WorkflowInstanceIntent state : states) {
+      mask |= bit(state);
+    }
+    return mask;
+  }
+
+  private static int bit(WorkflowInstanceIntent state) {
+    return 1 << state.ordinal();
+  }
+
   public static boolean canTransition(WorkflowInstanceIntent from, WorkflowInstanceIntent to) {
-    return TRANSITION_RULES.get(from).contains(to);
+    return (TRANSITION_MASKS[from.ordinal()] & bit(to)) != 0;
   }
 
   public static boolean isFinalState(WorkflowInstanceIntent state) {
-    return FINAL_ELEMENT_INSTANCE_STATES.contains(state);
+    return (FINAL_ELEMENT_INSTANCE_STATES_MASK & bit(state)) != 0;
   }
 
   public static boolean isInitialState(WorkflowInstanceIntent state) {
@@ -73,7 +107,7 @@ public class WorkflowInstanceLifecycle {
   }
 
   public static boolean isElementInstanceState(WorkflowInstanceIntent state) {
-    return ELEMENT_INSTANCE_STATES.contains(state);
+    return (ELEMENT_INSTANCE_STATES_MASK & bit(state)) != 0;
   }
 
   public static boolean isTokenState(WorkflowInstanceIntent state) {
@@ -81,7 +115,7 @@ public class WorkflowInstanceLifecycle {
   }
 
   public static boolean canTerminate(WorkflowInstanceIntent currentState) {
-    return TERMINATABLE_STATES.contains(currentState);
+    return (TERMINATABLE_STATES_MASK & bit(currentState)) != 0;
   }
 
   public static boolean isActive(WorkflowInstanceIntent currentState) {
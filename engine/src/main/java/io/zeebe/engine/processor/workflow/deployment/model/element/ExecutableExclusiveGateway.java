@@ -17,6 +17,7 @@
  */
 package io.zeebe.engine.processor.workflow.deployment.model.element;
 
+import io.zeebe.msgpack.el.JsonConditionPlan;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,6 +26,7 @@ public class ExecutableExclusiveGateway extends ExecutableFlowNode {
   private ExecutableSequenceFlow defaultFlow;
 
   private final List<ExecutableSequenceFlow> outgoingWithCondition = new ArrayList<>();
+  private JsonConditionPlan conditionPlan;
 
   public ExecutableExclusiveGateway(String id) {
     super(id);
@@ -49,4 +51,16 @@ public class ExecutableExclusiveGateway extends ExecutableFlowNode {
   public List<ExecutableSequenceFlow> getOutgoingWithCondition() {
     return outgoingWithCondition;
   }
+
+  /**
+   * @return the conditions of the outgoing sequence flows with condition, in the same order as
+   *     {@link #getOutgoingWithCondition()}
+   */
+  public JsonConditionPlan getConditionPlan() {
+    return conditionPlan;
+  }
+
+  public void setConditionPlan(JsonConditionPlan conditionPlan) {
+    this.conditionPlan = conditionPlan;
+  }
 }
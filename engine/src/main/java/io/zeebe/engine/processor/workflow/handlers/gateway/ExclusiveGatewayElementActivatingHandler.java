@@ -21,16 +21,13 @@ import io.zeebe.engine.processor.workflow.BpmnStepContext;
 import io.zeebe.engine.processor.workflow.deployment.model.element.ExecutableExclusiveGateway;
 import io.zeebe.engine.processor.workflow.deployment.model.element.ExecutableSequenceFlow;
 import io.zeebe.engine.processor.workflow.handlers.element.ElementActivatingHandler;
-import io.zeebe.msgpack.el.CompiledJsonCondition;
 import io.zeebe.msgpack.el.JsonConditionException;
-import io.zeebe.msgpack.el.JsonConditionInterpreter;
+import io.zeebe.msgpack.el.JsonConditionPlan;
+import io.zeebe.msgpack.el.JsonConditionPlanEvaluator;
 import io.zeebe.protocol.BpmnElementType;
 import io.zeebe.protocol.ErrorType;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
 import io.zeebe.protocol.intent.WorkflowInstanceIntent;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 import org.agrona.DirectBuffer;
 
 public class ExclusiveGatewayElementActivatingHandler<T extends ExecutableExclusiveGateway>
@@ -38,15 +35,15 @@ public class ExclusiveGatewayElementActivatingHandler<T extends ExecutableExclus
   private static final String NO_OUTGOING_FLOW_CHOSEN_ERROR =
       "Expected at least one condition to evaluate to true, or to have a default flow";
   private final WorkflowInstanceRecord record = new WorkflowInstanceRecord();
-  private final JsonConditionInterpreter interpreter;
+  private final JsonConditionPlanEvaluator evaluator;
 
   public ExclusiveGatewayElementActivatingHandler() {
-    this(new JsonConditionInterpreter());
+    this(new JsonConditionPlanEvaluator());
   }
 
-  public ExclusiveGatewayElementActivatingHandler(JsonConditionInterpreter interpreter) {
+  public ExclusiveGatewayElementActivatingHandler(JsonConditionPlanEvaluator evaluator) {
     super();
-    this.interpreter = interpreter;
+    this.evaluator = evaluator;
   }
 
   @Override
@@ -79,19 +76,12 @@ public class ExclusiveGatewayElementActivatingHandler<T extends ExecutableExclus
 
   private DirectBuffer determineVariables(
       BpmnStepContext<T> context, ExecutableExclusiveGateway exclusiveGateway) {
-    final List<ExecutableSequenceFlow> sequenceFlows = exclusiveGateway.getOutgoingWithCondition();
-
-    final Set<DirectBuffer> actualNeededVariables = new HashSet<>();
-    for (final ExecutableSequenceFlow seqFlow : sequenceFlows) {
-      final CompiledJsonCondition compiledCondition = seqFlow.getCondition();
-      final Set<DirectBuffer> variableNames = compiledCondition.getVariableNames();
-      actualNeededVariables.addAll(variableNames);
-    }
+    final JsonConditionPlan conditionPlan = exclusiveGateway.getConditionPlan();
 
     return context
         .getElementInstanceState()
         .getVariablesState()
-        .getVariablesAsDocument(context.getKey(), actualNeededVariables);
+        .getVariablesAsDocument(context.getKey(), conditionPlan.getVariableNames());
   }
 
   private void deferSequenceFlowTaken(
@@ -109,15 +99,12 @@ public class ExclusiveGatewayElementActivatingHandler<T extends ExecutableExclus
 
   private ExecutableSequenceFlow getSequenceFlowWithFulfilledCondition(
       ExecutableExclusiveGateway exclusiveGateway, DirectBuffer variables) {
-    final List<ExecutableSequenceFlow> sequenceFlows = exclusiveGateway.getOutgoingWithCondition();
-
-    for (final ExecutableSequenceFlow sequenceFlow : sequenceFlows) {
-      final CompiledJsonCondition compiledCondition = sequenceFlow.getCondition();
-      final boolean isFulFilled = interpreter.eval(compiledCondition, variables);
+    // all conditions are evaluated together, the first fulfilled condition is taken
+    final int fulfilledCondition =
+        evaluator.evaluate(exclusiveGateway.getConditionPlan(), variables);
 
-      if (isFulFilled) {
-        return sequenceFlow;
-      }
+    if (fulfilledCondition != JsonConditionPlanEvaluator.NO_CONDITION_FULFILLED) {
+      return exclusiveGateway.getOutgoingWithCondition().get(fulfilledCondition);
     }
 
     return exclusiveGateway.getDefaultFlow();
@@ -17,6 +17,7 @@
  */
 package io.zeebe.engine.processor.workflow.job;
 
+import io.zeebe.engine.processor.SideEffectProducer;
 import io.zeebe.engine.processor.TypedRecord;
 import io.zeebe.engine.processor.TypedRecordProcessor;
 import io.zeebe.engine.processor.TypedResponseWriter;
@@ -26,20 +27,25 @@ import io.zeebe.engine.state.instance.ElementInstance;
 import io.zeebe.engine.state.instance.ElementInstanceState;
 import io.zeebe.protocol.impl.record.value.job.JobHeaders;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import java.util.function.Consumer;
 
 public final class JobCreatedProcessor implements TypedRecordProcessor<JobRecord> {
 
   private final WorkflowState workflowState;
+  private final JobsAvailableNotifier jobsAvailableNotifier;
 
-  public JobCreatedProcessor(WorkflowState scopeInstances) {
+  public JobCreatedProcessor(
+      WorkflowState scopeInstances, JobsAvailableNotifier jobsAvailableNotifier) {
     this.workflowState = scopeInstances;
+    this.jobsAvailableNotifier = jobsAvailableNotifier;
   }
 
   @Override
   public void processRecord(
       TypedRecord<JobRecord> record,
       TypedResponseWriter responseWriter,
-      TypedStreamWriter streamWriter) {
+      TypedStreamWriter streamWriter,
+      Consumer<SideEffectProducer> sideEffect) {
 
     final JobHeaders jobHeaders = record.getValue().getJobHeaders();
     final long elementInstanceKey = jobHeaders.getElementInstanceKey();
@@ -52,5 +58,7 @@ public final class JobCreatedProcessor implements TypedRecordProcessor<JobRecord
         elementInstanceState.updateInstance(elementInstance);
       }
     }
+
+    sideEffect.accept(jobsAvailableNotifier.ofType(record.getValue().getTypeBuffer()));
   }
 }
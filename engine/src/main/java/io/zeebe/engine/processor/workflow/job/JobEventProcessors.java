@@ -24,21 +24,34 @@ import io.zeebe.engine.state.instance.JobState;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.intent.JobBatchIntent;
 import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.util.sched.ActorControl;
+import java.util.function.Consumer;
 
 public class JobEventProcessors {
   public static void addJobProcessors(
-      TypedRecordProcessors typedRecordProcessors, ZeebeState zeebeState) {
+      TypedRecordProcessors typedRecordProcessors,
+      ZeebeState zeebeState,
+      ActorControl actor,
+      Consumer<String> onJobsAvailableCallback) {
     final WorkflowState workflowState = zeebeState.getWorkflowState();
     final JobState jobState = zeebeState.getJobState();
+    final JobsAvailableNotifier jobsAvailableNotifier =
+        new JobsAvailableNotifier(actor, onJobsAvailableCallback);
 
     typedRecordProcessors
-        .onEvent(ValueType.JOB, JobIntent.CREATED, new JobCreatedProcessor(workflowState))
+        .onEvent(
+            ValueType.JOB,
+            JobIntent.CREATED,
+            new JobCreatedProcessor(workflowState, jobsAvailableNotifier))
         .onEvent(ValueType.JOB, JobIntent.COMPLETED, new JobCompletedEventProcessor(workflowState))
         .onCommand(ValueType.JOB, JobIntent.CREATE, new CreateProcessor(jobState))
         .onCommand(ValueType.JOB, JobIntent.COMPLETE, new CompleteProcessor(jobState))
         .onCommand(ValueType.JOB, JobIntent.FAIL, new FailProcessor(jobState))
-        .onEvent(ValueType.JOB, JobIntent.FAILED, new JobFailedProcessor())
-        .onCommand(ValueType.JOB, JobIntent.TIME_OUT, new TimeOutProcessor(jobState))
+        .onEvent(ValueType.JOB, JobIntent.FAILED, new JobFailedProcessor(jobsAvailableNotifier))
+        .onCommand(
+            ValueType.JOB,
+            JobIntent.TIME_OUT,
+            new TimeOutProcessor(jobState, jobsAvailableNotifier))
         .onCommand(ValueType.JOB, JobIntent.UPDATE_RETRIES, new UpdateRetriesProcessor(jobState))
         .onCommand(ValueType.JOB, JobIntent.CANCEL, new CancelProcessor(jobState))
         .onCommand(
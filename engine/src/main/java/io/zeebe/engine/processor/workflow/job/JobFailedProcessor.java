@@ -19,6 +19,7 @@ package io.zeebe.engine.processor.workflow.job;
 
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 
+import io.zeebe.engine.processor.SideEffectProducer;
 import io.zeebe.engine.processor.TypedRecord;
 import io.zeebe.engine.processor.TypedRecordProcessor;
 import io.zeebe.engine.processor.TypedResponseWriter;
@@ -28,18 +29,25 @@ import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
 import io.zeebe.protocol.impl.record.value.job.JobHeaders;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.IncidentIntent;
+import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
 
 public final class JobFailedProcessor implements TypedRecordProcessor<JobRecord> {
 
   private static final DirectBuffer DEFAULT_ERROR_MESSAGE = wrapString("No more retries left.");
   private final IncidentRecord incidentEvent = new IncidentRecord();
+  private final JobsAvailableNotifier jobsAvailableNotifier;
+
+  public JobFailedProcessor(JobsAvailableNotifier jobsAvailableNotifier) {
+    this.jobsAvailableNotifier = jobsAvailableNotifier;
+  }
 
   @Override
   public void processRecord(
       TypedRecord<JobRecord> event,
       TypedResponseWriter responseWriter,
-      TypedStreamWriter streamWriter) {
+      TypedStreamWriter streamWriter,
+      Consumer<SideEffectProducer> sideEffect) {
     final JobRecord value = event.getValue();
 
     if (value.getRetries() <= 0) {
@@ -64,6 +72,8 @@ public final class JobFailedProcessor implements TypedRecordProcessor<JobRecord>
           .setVariableScopeKey(jobHeaders.getElementInstanceKey());
 
       streamWriter.appendNewCommand(IncidentIntent.CREATE, incidentEvent);
+    } else {
+      sideEffect.accept(jobsAvailableNotifier.ofType(value.getTypeBuffer()));
     }
   }
 }
@@ -0,0 +1,75 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.job;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class JobTimeoutMetrics implements AutoCloseable {
+  private final Metric timedOutJobs;
+  private final Metric timeoutDelay;
+  private final Metric jobDeadlines;
+
+  public JobTimeoutMetrics(final MetricsManager metricsManager, final int partitionId) {
+    final String partitionIdString = Integer.toString(partitionId);
+
+    timedOutJobs =
+        metricsManager
+            .newMetric("job_timed_out_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .create();
+
+    timeoutDelay =
+        metricsManager
+            .newMetric("job_timeout_delay_millis")
+            .type("gauge")
+            .label("partition", partitionIdString)
+            .create();
+
+    jobDeadlines =
+        metricsManager
+            .newMetric("job_deadline_count")
+            .type("gauge")
+            .label("partition", partitionIdString)
+            .create();
+  }
+
+  public void countTimedOutJob() {
+    timedOutJobs.incrementOrdered();
+  }
+
+  /**
+   * @param delay the maximum time between the deadline and the detection of the time out of the
+   *     jobs which were timed out together
+   */
+  public void setTimeoutDelay(final long delay) {
+    timeoutDelay.setOrdered(delay);
+  }
+
+  public void setJobDeadlines(final long count) {
+    jobDeadlines.setOrdered(count);
+  }
+
+  @Override
+  public void close() {
+    timedOutJobs.close();
+    timeoutDelay.close();
+    jobDeadlines.close();
+  }
+}
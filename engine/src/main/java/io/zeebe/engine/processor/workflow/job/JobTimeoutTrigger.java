@@ -17,58 +17,197 @@
  */
 package io.zeebe.engine.processor.workflow.job;
 
-import static io.zeebe.util.sched.clock.ActorClock.currentTimeMillis;
-
 import io.zeebe.engine.processor.ReadonlyProcessingContext;
 import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
 import io.zeebe.engine.processor.TypedCommandWriter;
 import io.zeebe.engine.state.instance.JobState;
+import io.zeebe.engine.state.instance.JobState.State;
+import io.zeebe.engine.util.DueDateQueue;
 import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ScheduledTimer;
+import io.zeebe.util.sched.clock.ActorClock;
 import java.time.Duration;
 
-public class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
-  public static final Duration TIME_OUT_POLLING_INTERVAL = Duration.ofSeconds(30);
+/**
+ * Times out the activated jobs when their deadline is reached. The deadlines are kept in memory and
+ * the trigger is scheduled for the earliest deadline, so a job is timed out right after its
+ * deadline without polling the state. The deadlines are rebuilt from the state when the stream
+ * processor is recovered and are kept in sync by the {@link JobState}.
+ */
+public class JobTimeoutTrigger implements StreamProcessorLifecycleAware, JobState.DeadlineListener {
+
+  private static final long TIME_OUT_RESOLUTION = Duration.ofMillis(100).toMillis();
+
+  // limits the size of the batch which contains the TIME_OUT commands of the timed out jobs
+  private static final int MAX_JOBS_PER_BATCH = 100;
+
+  private final DueDateQueue deadlineQueue = new DueDateQueue();
+
+  private final long[] batchJobKeys = new long[MAX_JOBS_PER_BATCH];
+  private final long[] batchDeadlines = new long[MAX_JOBS_PER_BATCH];
+
   private final JobState state;
 
-  private ScheduledTimer timer;
+  private ActorControl actor;
   private TypedCommandWriter writer;
+  private JobTimeoutMetrics metrics;
+
+  private ScheduledTimer scheduledTimer;
+  private long nextDeadline = -1L;
 
   public JobTimeoutTrigger(final JobState state) {
     this.state = state;
+    state.setDeadlineListener(this);
   }
 
   @Override
   public void onRecovered(final ReadonlyProcessingContext processingContext) {
-    timer =
-        processingContext
-            .getActor()
-            .runAtFixedRate(TIME_OUT_POLLING_INTERVAL, this::deactivateTimedOutJobs);
     writer = processingContext.getLogStreamWriter();
+    metrics =
+        new JobTimeoutMetrics(
+            processingContext.getMetricsManager(),
+            processingContext.getLogStream().getPartitionId());
+
+    // the jobs are visited in the order of their deadlines
+    deadlineQueue.clear();
+    state.forEachTimedOutEntry(
+        Long.MAX_VALUE,
+        (key, record) -> {
+          deadlineQueue.add(key, 0L, record.getDeadlineLong());
+          return true;
+        });
+
+    actor = processingContext.getActor();
+
+    // check if jobs are timed out after restart
+    deactivateTimedOutJobs();
   }
 
   @Override
   public void onClose() {
-    if (timer != null) {
-      timer.cancel();
-      timer = null;
+    if (scheduledTimer != null) {
+      scheduledTimer.cancel();
+      scheduledTimer = null;
+    }
+
+    if (metrics != null) {
+      metrics.close();
+    }
+  }
+
+  @Override
+  public void onDeadlineAdded(final long key, final long deadline) {
+    // the deadlines are collected when the stream processor is recovered
+    if (actor != null) {
+      deadlineQueue.add(key, 0L, deadline);
+      metrics.setJobDeadlines(deadlineQueue.size());
+
+      scheduleTimeOut(deadline);
+    }
+  }
+
+  @Override
+  public void onDeadlineRemoved(final long key) {
+    if (actor != null && deadlineQueue.remove(key)) {
+      metrics.setJobDeadlines(deadlineQueue.size());
+    }
+  }
+
+  private void scheduleTimeOut(final long deadline) {
+    // only one runnable is scheduled for the earliest deadline, it is re-scheduled if a job with
+    // an earlier deadline is activated
+    final Duration duration = Duration.ofMillis(deadline - ActorClock.currentTimeMillis());
+
+    if (scheduledTimer == null) {
+      scheduledTimer = actor.runDelayed(duration, this::deactivateTimedOutJobs);
+      nextDeadline = deadline;
+
+    } else if (nextDeadline - deadline > TIME_OUT_RESOLUTION) {
+      scheduledTimer.cancel();
+
+      scheduledTimer = actor.runDelayed(duration, this::deactivateTimedOutJobs);
+      nextDeadline = deadline;
     }
   }
 
   void deactivateTimedOutJobs() {
-    final long now = currentTimeMillis();
-    state.forEachTimedOutEntry(
-        now,
-        (key, record) -> {
-          writer.appendFollowUpCommand(
-              key, JobIntent.TIME_OUT, record, (m) -> m.valueType(ValueType.JOB));
-
-          final boolean flushed = writer.flush() >= 0;
-          if (!flushed) {
-            writer.reset();
-          }
-          return flushed;
-        });
+    scheduledTimer = null;
+    nextDeadline = -1L;
+
+    final long now = ActorClock.currentTimeMillis();
+
+    boolean written = true;
+    while (written && isJobTimedOut(now)) {
+      written = writeTimeOutCommands(now);
+    }
+
+    metrics.setJobDeadlines(deadlineQueue.size());
+
+    if (!written) {
+      // the log stream is busy, back off instead of retrying immediately
+      scheduleTimeOut(now + TIME_OUT_RESOLUTION);
+
+    } else if (!deadlineQueue.isEmpty()) {
+      scheduleTimeOut(deadlineQueue.peekDueDate());
+    }
+  }
+
+  private boolean isJobTimedOut(final long now) {
+    return !deadlineQueue.isEmpty() && deadlineQueue.peekDueDate() < now;
+  }
+
+  /**
+   * Writes the TIME_OUT commands of the next timed out jobs in one batch. The jobs are removed from
+   * the queue when the commands are written.
+   *
+   * @return false, if the batch could not be written
+   */
+  private boolean writeTimeOutCommands(final long now) {
+    int jobCount = 0;
+    long maxDelay = 0;
+
+    while (jobCount < MAX_JOBS_PER_BATCH && isJobTimedOut(now)) {
+      final long jobKey = deadlineQueue.peekKey();
+      final long deadline = deadlineQueue.peekDueDate();
+      deadlineQueue.poll();
+
+      final JobRecord job = state.getJob(jobKey);
+      if (job != null
+          && job.getDeadlineLong() == deadline
+          && state.isInState(jobKey, State.ACTIVATED)) {
+        writer.appendFollowUpCommand(
+            jobKey, JobIntent.TIME_OUT, job, (m) -> m.valueType(ValueType.JOB));
+
+        batchJobKeys[jobCount] = jobKey;
+        batchDeadlines[jobCount] = deadline;
+        jobCount += 1;
+
+        maxDelay = Math.max(maxDelay, now - deadline);
+      }
+    }
+
+    if (jobCount == 0) {
+      return true;
+    }
+
+    if (writer.flush() >= 0) {
+      for (int i = 0; i < jobCount; i++) {
+        metrics.countTimedOutJob();
+      }
+      metrics.setTimeoutDelay(maxDelay);
+      return true;
+
+    } else {
+      // retry to time out the jobs on the next run
+      writer.reset();
+
+      for (int i = 0; i < jobCount; i++) {
+        deadlineQueue.add(batchJobKeys[i], 0L, batchDeadlines[i]);
+      }
+      return false;
+    }
   }
 }
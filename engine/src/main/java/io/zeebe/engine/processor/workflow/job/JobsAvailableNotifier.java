@@ -0,0 +1,114 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.job;
+
+import io.zeebe.engine.processor.SideEffectProducer;
+import io.zeebe.util.sched.ActorControl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.IntArrayList;
+
+/**
+ * Side effect which notifies that jobs of a type became activatable. It is executed after the
+ * record is committed, so that a notified gateway finds the jobs when it sends the next activate
+ * command.
+ *
+ * <p>The notifications are coalesced: the job types are collected until the actor runs the
+ * submitted notification job, and each type is then notified once. The types are kept in reusable
+ * buffers and only converted to a string when the notification is sent.
+ */
+public final class JobsAvailableNotifier implements SideEffectProducer {
+
+  private final ActorControl actor;
+  private final Consumer<String> onJobsAvailableCallback;
+
+  private final MutableDirectBuffer jobType = new ExpandableArrayBuffer();
+  private int jobTypeLength;
+
+  private final List<MutableDirectBuffer> pendingJobTypes = new ArrayList<>();
+  private final IntArrayList pendingJobTypeLengths = new IntArrayList();
+  private boolean isNotificationScheduled;
+
+  public JobsAvailableNotifier(ActorControl actor, Consumer<String> onJobsAvailableCallback) {
+    this.actor = actor;
+    this.onJobsAvailableCallback = onJobsAvailableCallback;
+  }
+
+  public SideEffectProducer ofType(DirectBuffer jobType) {
+    jobTypeLength = jobType.capacity();
+    this.jobType.putBytes(0, jobType, 0, jobTypeLength);
+    return this;
+  }
+
+  @Override
+  public boolean flush() {
+    if (!isPending()) {
+      addPending();
+    }
+
+    if (!isNotificationScheduled) {
+      isNotificationScheduled = true;
+      actor.submit(this::notifyPendingJobTypes);
+    }
+    return true;
+  }
+
+  private boolean isPending() {
+    for (int i = 0; i < pendingJobTypeLengths.size(); i++) {
+      if (pendingJobTypeLengths.getInt(i) == jobTypeLength
+          && hasSameBytes(pendingJobTypes.get(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean hasSameBytes(DirectBuffer pendingJobType) {
+    for (int i = 0; i < jobTypeLength; i++) {
+      if (pendingJobType.getByte(i) != jobType.getByte(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void addPending() {
+    final int index = pendingJobTypeLengths.size();
+    if (index == pendingJobTypes.size()) {
+      pendingJobTypes.add(new ExpandableArrayBuffer());
+    }
+
+    pendingJobTypes.get(index).putBytes(0, jobType, 0, jobTypeLength);
+    pendingJobTypeLengths.addInt(jobTypeLength);
+  }
+
+  private void notifyPendingJobTypes() {
+    for (int i = 0; i < pendingJobTypeLengths.size(); i++) {
+      final String type =
+          pendingJobTypes.get(i).getStringWithoutLengthUtf8(0, pendingJobTypeLengths.getInt(i));
+      onJobsAvailableCallback.accept(type);
+    }
+
+    pendingJobTypeLengths.clear();
+    isNotificationScheduled = false;
+  }
+}
@@ -18,30 +18,42 @@
 package io.zeebe.engine.processor.workflow.job;
 
 import io.zeebe.engine.processor.CommandProcessor;
+import io.zeebe.engine.processor.SideEffectProducer;
 import io.zeebe.engine.processor.TypedRecord;
+import io.zeebe.engine.processor.TypedStreamWriter;
 import io.zeebe.engine.state.instance.JobState;
 import io.zeebe.engine.state.instance.JobState.State;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobIntent;
+import java.util.function.Consumer;
 
 public class TimeOutProcessor implements CommandProcessor<JobRecord> {
   public static final String NOT_ACTIVATED_JOB_MESSAGE =
       "Expected to time out activated job with key '%d', but %s";
   private final JobState state;
+  private final JobsAvailableNotifier jobsAvailableNotifier;
 
-  public TimeOutProcessor(JobState state) {
+  public TimeOutProcessor(JobState state, JobsAvailableNotifier jobsAvailableNotifier) {
     this.state = state;
+    this.jobsAvailableNotifier = jobsAvailableNotifier;
   }
 
   @Override
-  public void onCommand(TypedRecord<JobRecord> command, CommandControl<JobRecord> commandControl) {
+  public void onCommand(
+      TypedRecord<JobRecord> command,
+      CommandControl<JobRecord> commandControl,
+      TypedStreamWriter streamWriter,
+      Consumer<SideEffectProducer> sideEffect) {
     final long jobKey = command.getKey();
     final JobState.State jobState = state.getState(jobKey);
 
     if (jobState == State.ACTIVATED) {
       state.timeout(command.getKey(), command.getValue());
       commandControl.accept(JobIntent.TIMED_OUT, command.getValue());
+
+      // time out commands are written by the broker itself, so there is no response to send
+      sideEffect.accept(jobsAvailableNotifier.ofType(command.getValue().getTypeBuffer()));
     } else {
       final String textState;
 
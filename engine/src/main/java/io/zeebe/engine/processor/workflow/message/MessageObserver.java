@@ -37,6 +37,8 @@ public class MessageObserver implements StreamProcessorLifecycleAware {
   private final MessageState messageState;
   private final MessageSubscriptionState subscriptionState;
 
+  private MessageTimeToLiveMetrics timeToLiveMetrics;
+
   public MessageObserver(
       MessageState messageState,
       MessageSubscriptionState subscriptionState,
@@ -53,15 +55,22 @@ public class MessageObserver implements StreamProcessorLifecycleAware {
 
     final TypedStreamWriterImpl typedStreamWriter =
         new TypedStreamWriterImpl(processingContext.getLogStream());
+    timeToLiveMetrics =
+        new MessageTimeToLiveMetrics(
+            processingContext.getMetricsManager(),
+            Integer.toString(processingContext.getLogStream().getPartitionId()));
     final MessageTimeToLiveChecker timeToLiveChecker =
-        new MessageTimeToLiveChecker(typedStreamWriter, messageState);
-    processingContext
-        .getActor()
-        .runAtFixedRate(MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL, timeToLiveChecker);
+        new MessageTimeToLiveChecker(actor, typedStreamWriter, messageState, timeToLiveMetrics);
+    actor.runAtFixedRate(MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL, timeToLiveChecker);
 
     final PendingMessageSubscriptionChecker pendingSubscriptionChecker =
         new PendingMessageSubscriptionChecker(
             subscriptionCommandSender, subscriptionState, SUBSCRIPTION_TIMEOUT.toMillis());
     actor.runAtFixedRate(SUBSCRIPTION_CHECK_INTERVAL, pendingSubscriptionChecker);
   }
+
+  @Override
+  public void onClose() {
+    timeToLiveMetrics.close();
+  }
 }
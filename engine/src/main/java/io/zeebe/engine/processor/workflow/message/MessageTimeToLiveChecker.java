@@ -17,30 +17,163 @@
  */
 package io.zeebe.engine.processor.workflow.message;
 
+import static io.zeebe.engine.state.message.MessageState.getDeadlineBucket;
+
 import io.zeebe.engine.processor.TypedCommandWriter;
 import io.zeebe.engine.state.message.Message;
 import io.zeebe.engine.state.message.MessageState;
 import io.zeebe.protocol.impl.record.value.message.MessageRecord;
 import io.zeebe.protocol.intent.MessageIntent;
+import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.clock.ActorClock;
 
+/**
+ * Writes a delete command for each message whose time to live is expired. The deadlines are visited
+ * bucket by bucket (see {@link MessageState#DEADLINE_BUCKET_SHIFT}).
+ *
+ * <p>A sweep writes at most {@link #MAX_EXPIRED_MESSAGES_PER_RUN} commands per actor cycle. If more
+ * messages are expired, it continues in the next cycle, so that the stream processor can process
+ * records in between. The sweep continues after the last message which it deleted, since the delete
+ * commands of the previous cycles may not be processed yet. When the sweep ends, it forgets where
+ * it stopped, so that the next sweep visits all expired messages again, including messages whose
+ * delete command is not processed (e.g. because it was lost on a leader change).
+ */
 public class MessageTimeToLiveChecker implements Runnable {
 
+  static final int MAX_EXPIRED_MESSAGES_PER_RUN = 100;
+
+  private final ActorControl actor;
   private final TypedCommandWriter writer;
   private final MessageState messageState;
+  private final MessageTimeToLiveMetrics metrics;
 
   private final MessageRecord deleteMessageCommand = new MessageRecord();
 
+  // the bucket to continue with, and the last message which is deleted in the current sweep
+  private long nextBucket = -1L;
+  private long lastDeadline = -1L;
+  private long lastMessageKey = -1L;
+
+  private boolean isSweeping;
+  private long sweepStartTime;
+
+  // the state of the current run
+  private long now;
+  private int remainingMessages;
+  private long pendingDeadline;
+  private boolean hasWriteFailed;
+
   public MessageTimeToLiveChecker(
-      final TypedCommandWriter writer, final MessageState messageState) {
+      final ActorControl actor,
+      final TypedCommandWriter writer,
+      final MessageState messageState,
+      final MessageTimeToLiveMetrics metrics) {
+    this.actor = actor;
     this.writer = writer;
     this.messageState = messageState;
+    this.metrics = metrics;
   }
 
   @Override
   public void run() {
+    // a sweep which is not done yet continues on its own
+    if (!isSweeping) {
+      isSweeping = true;
+      sweepStartTime = ActorClock.currentTimeMillis();
+
+      sweep();
+    }
+  }
+
+  private void sweep() {
+    now = ActorClock.currentTimeMillis();
+    remainingMessages = MAX_EXPIRED_MESSAGES_PER_RUN;
+    pendingDeadline = -1L;
+    hasWriteFailed = false;
+
+    final long currentBucket = getDeadlineBucket(now);
+    if (nextBucket < 0) {
+      findOldestBucket(currentBucket);
+    }
+
+    // the buckets before the current one contain only expired messages, while new messages can
+    // still be added to the current bucket
+    while (nextBucket < currentBucket && isRunning()) {
+      messageState.visitDeadlinesInBucket(nextBucket, this::deleteIfExpired);
+
+      if (isRunning()) {
+        nextBucket += 1;
+      }
+    }
+
+    if (isRunning()) {
+      messageState.visitDeadlinesInBucket(currentBucket, this::deleteIfExpired);
+    }
+
+    if (pendingDeadline > 0) {
+      metrics.setExpiryLag(now - pendingDeadline);
+    } else {
+      metrics.setExpiryLag(0);
+    }
+
+    if (remainingMessages == 0) {
+      actor.submit(this::sweep);
+    } else {
+      // done, or the writer is full - the next run retries the failed message
+      isSweeping = false;
+      metrics.setSweepDuration(now - sweepStartTime);
+
+      nextBucket = -1L;
+      lastDeadline = -1L;
+      lastMessageKey = -1L;
+    }
+  }
+
+  private void findOldestBucket(long currentBucket) {
+    nextBucket = currentBucket;
+
     messageState.visitMessagesWithDeadlineBefore(
-        ActorClock.currentTimeMillis(), this::writeDeleteMessageCommand);
+        Long.MAX_VALUE,
+        message -> {
+          nextBucket = Math.min(currentBucket, getDeadlineBucket(message.getDeadline()));
+          return false;
+        });
+  }
+
+  private boolean isRunning() {
+    return remainingMessages > 0 && !hasWriteFailed;
+  }
+
+  private boolean deleteIfExpired(final long deadline, final long messageKey) {
+    if (deadline > now) {
+      return false;
+    }
+
+    if (deadline < lastDeadline || (deadline == lastDeadline && messageKey <= lastMessageKey)) {
+      // the message is deleted already
+      return true;
+    }
+
+    if (remainingMessages == 0) {
+      pendingDeadline = deadline;
+      return false;
+    }
+
+    final Message message = messageState.getMessage(messageKey);
+    if (message != null) {
+      if (!writeDeleteMessageCommand(message)) {
+        pendingDeadline = deadline;
+        hasWriteFailed = true;
+        return false;
+      }
+
+      remainingMessages -= 1;
+      metrics.incrementExpiredMessages();
+    }
+
+    lastDeadline = deadline;
+    lastMessageKey = messageKey;
+    return true;
   }
 
   private boolean writeDeleteMessageCommand(final Message message) {
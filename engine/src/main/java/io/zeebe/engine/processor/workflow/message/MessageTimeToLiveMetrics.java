@@ -0,0 +1,69 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class MessageTimeToLiveMetrics {
+
+  private final Metric expiredMessagesCountMetric;
+  private final Metric expiryLagMetric;
+  private final Metric sweepDurationMetric;
+
+  public MessageTimeToLiveMetrics(final MetricsManager metricsManager, final String partitionId) {
+    expiredMessagesCountMetric =
+        metricsManager
+            .newMetric("message_ttl_expired_count")
+            .type("counter")
+            .label("partition", partitionId)
+            .create();
+
+    expiryLagMetric =
+        metricsManager
+            .newMetric("message_ttl_expiry_lag_millis")
+            .type("gauge")
+            .label("partition", partitionId)
+            .create();
+
+    sweepDurationMetric =
+        metricsManager
+            .newMetric("message_ttl_sweep_duration_millis")
+            .type("gauge")
+            .label("partition", partitionId)
+            .create();
+  }
+
+  public void close() {
+    expiredMessagesCountMetric.close();
+    expiryLagMetric.close();
+    sweepDurationMetric.close();
+  }
+
+  public void incrementExpiredMessages() {
+    expiredMessagesCountMetric.incrementOrdered();
+  }
+
+  public void setExpiryLag(long lagMillis) {
+    expiryLagMetric.setOrdered(lagMillis);
+  }
+
+  public void setSweepDuration(long durationMillis) {
+    sweepDurationMetric.setOrdered(durationMillis);
+  }
+}
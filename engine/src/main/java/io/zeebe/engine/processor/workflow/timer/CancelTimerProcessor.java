@@ -17,6 +17,7 @@
  */
 package io.zeebe.engine.processor.workflow.timer;
 
+import io.zeebe.engine.processor.SideEffectProducer;
 import io.zeebe.engine.processor.TypedRecord;
 import io.zeebe.engine.processor.TypedRecordProcessor;
 import io.zeebe.engine.processor.TypedResponseWriter;
@@ -26,21 +27,28 @@ import io.zeebe.engine.state.instance.TimerInstance;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.impl.record.value.timer.TimerRecord;
 import io.zeebe.protocol.intent.TimerIntent;
+import java.util.function.Consumer;
 
 public class CancelTimerProcessor implements TypedRecordProcessor<TimerRecord> {
   public static final String NO_TIMER_FOUND_MESSAGE =
       "Expected to cancel timer with key '%d', but no such timer was found";
   private final WorkflowState workflowState;
+  private final DueDateTimerChecker timerChecker;
 
-  public CancelTimerProcessor(final WorkflowState workflowState) {
+  private long canceledTimerKey;
+
+  public CancelTimerProcessor(
+      final WorkflowState workflowState, final DueDateTimerChecker timerChecker) {
     this.workflowState = workflowState;
+    this.timerChecker = timerChecker;
   }
 
   @Override
   public void processRecord(
       TypedRecord<TimerRecord> record,
       TypedResponseWriter responseWriter,
-      TypedStreamWriter streamWriter) {
+      TypedStreamWriter streamWriter,
+      Consumer<SideEffectProducer> sideEffect) {
     final TimerRecord timer = record.getValue();
     final TimerInstance timerInstance =
         workflowState.getTimerState().get(timer.getElementInstanceKey(), record.getKey());
@@ -51,6 +59,15 @@ public class CancelTimerProcessor implements TypedRecordProcessor<TimerRecord> {
     } else {
       streamWriter.appendFollowUpEvent(record.getKey(), TimerIntent.CANCELED, timer);
       workflowState.getTimerState().remove(timerInstance);
+
+      canceledTimerKey = record.getKey();
+      sideEffect.accept(this::removeTimer);
     }
   }
+
+  private boolean removeTimer() {
+    timerChecker.removeTimer(canceledTimerKey);
+
+    return true;
+  }
 }
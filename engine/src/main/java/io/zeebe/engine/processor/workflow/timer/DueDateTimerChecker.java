@@ -22,6 +22,8 @@ import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
 import io.zeebe.engine.processor.TypedStreamWriterImpl;
 import io.zeebe.engine.state.deployment.WorkflowState;
 import io.zeebe.engine.state.instance.TimerInstance;
+import io.zeebe.engine.state.instance.TimerInstanceState;
+import io.zeebe.engine.util.DueDateQueue;
 import io.zeebe.protocol.impl.record.value.timer.TimerRecord;
 import io.zeebe.protocol.intent.TimerIntent;
 import io.zeebe.util.sched.ActorControl;
@@ -29,15 +31,29 @@ import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.clock.ActorClock;
 import java.time.Duration;
 
+/**
+ * Triggers the timers when they are due. The due dates of the timers are kept in memory, so the
+ * state is only read when a timer is triggered. The queue is rebuilt from the state when the stream
+ * processor is recovered and is kept in sync by the timer processors via side effects.
+ */
 public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
 
   private static final long TIMER_RESOLUTION = Duration.ofMillis(100).toMillis();
 
+  // limits the size of the batch which contains the TRIGGER commands of the due timers
+  private static final int MAX_TIMERS_PER_BATCH = 100;
+
   private final TimerRecord timerRecord = new TimerRecord();
+  private final DueDateQueue dueDateQueue = new DueDateQueue();
+
+  private final long[] batchTimerKeys = new long[MAX_TIMERS_PER_BATCH];
+  private final long[] batchElementInstanceKeys = new long[MAX_TIMERS_PER_BATCH];
+  private final long[] batchDueDates = new long[MAX_TIMERS_PER_BATCH];
 
   private final WorkflowState workflowState;
   private ActorControl actor;
   private TypedStreamWriterImpl streamWriter;
+  private TimerMetrics metrics;
 
   private ScheduledTimer scheduledTimer;
   private long nextDueDate = -1L;
@@ -47,6 +63,23 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
   }
 
   public void scheduleTimer(final TimerInstance timer) {
+    dueDateQueue.add(timer.getKey(), timer.getElementInstanceKey(), timer.getDueDate());
+    metrics.setScheduledTimers(dueDateQueue.size());
+
+    scheduleTriggerTimers(timer.getDueDate());
+  }
+
+  /**
+   * Removes the timer from the queue of scheduled timers. It must be called when the timer is
+   * removed from the state.
+   */
+  public void removeTimer(final long timerKey) {
+    if (dueDateQueue.remove(timerKey)) {
+      metrics.setScheduledTimers(dueDateQueue.size());
+    }
+  }
+
+  private void scheduleTriggerTimers(final long dueDate) {
 
     // We schedule only one runnable for all timers.
     // - The runnable is scheduled when the first timer is scheduled.
@@ -55,39 +88,97 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
     // - Otherwise, we don't need to cancel the runnable. It will be rescheduled when it is
     // executed.
 
-    final Duration duration =
-        Duration.ofMillis(timer.getDueDate() - ActorClock.currentTimeMillis());
+    final Duration duration = Duration.ofMillis(dueDate - ActorClock.currentTimeMillis());
 
     if (scheduledTimer == null) {
       scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
-      nextDueDate = timer.getDueDate();
+      nextDueDate = dueDate;
 
-    } else if (nextDueDate - timer.getDueDate() > TIMER_RESOLUTION) {
+    } else if (nextDueDate - dueDate > TIMER_RESOLUTION) {
       scheduledTimer.cancel();
 
       scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
-      nextDueDate = timer.getDueDate();
+      nextDueDate = dueDate;
     }
   }
 
   private void triggerTimers() {
-    nextDueDate =
-        workflowState
-            .getTimerState()
-            .findTimersWithDueDateBefore(ActorClock.currentTimeMillis(), this::triggerTimer);
+    scheduledTimer = null;
+    nextDueDate = -1L;
+
+    final long now = ActorClock.currentTimeMillis();
+
+    boolean triggered = true;
+    while (triggered && isTimerDue(now)) {
+      triggered = triggerDueTimers(now);
+    }
+
+    metrics.setScheduledTimers(dueDateQueue.size());
 
     // reschedule the runnable if there are timers left
+    if (!dueDateQueue.isEmpty()) {
+      scheduleTriggerTimers(dueDateQueue.peekDueDate());
+    }
+  }
 
-    if (nextDueDate > 0) {
-      final Duration duration = Duration.ofMillis(nextDueDate - ActorClock.currentTimeMillis());
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
+  private boolean isTimerDue(final long now) {
+    return !dueDateQueue.isEmpty() && dueDateQueue.peekDueDate() <= now;
+  }
+
+  /**
+   * Writes the TRIGGER commands of the next due timers in one batch. The timers are removed from
+   * the queue, the timer instances are removed from the state when the commands are processed.
+   *
+   * @return false, if the batch could not be written
+   */
+  private boolean triggerDueTimers(final long now) {
+    final TimerInstanceState timerState = workflowState.getTimerState();
+
+    int timerCount = 0;
+    long maxLag = 0;
+
+    while (timerCount < MAX_TIMERS_PER_BATCH && isTimerDue(now)) {
+      final long timerKey = dueDateQueue.peekKey();
+      final long elementInstanceKey = dueDateQueue.peekValue();
+      final long dueDate = dueDateQueue.peekDueDate();
+      dueDateQueue.poll();
+
+      final TimerInstance timer = timerState.get(elementInstanceKey, timerKey);
+      if (timer != null) {
+        appendTriggerCommand(timer);
+
+        batchTimerKeys[timerCount] = timerKey;
+        batchElementInstanceKeys[timerCount] = elementInstanceKey;
+        batchDueDates[timerCount] = dueDate;
+        timerCount += 1;
+
+        maxLag = Math.max(maxLag, now - dueDate);
+      }
+    }
+
+    if (timerCount == 0) {
+      return true;
+    }
+
+    if (streamWriter.flush() > 0) {
+      for (int i = 0; i < timerCount; i++) {
+        metrics.countTriggeredTimer();
+      }
+      metrics.setTriggerLag(maxLag);
+      return true;
 
     } else {
-      scheduledTimer = null;
+      // retry to trigger the timers on the next run
+      streamWriter.reset();
+
+      for (int i = 0; i < timerCount; i++) {
+        dueDateQueue.add(batchTimerKeys[i], batchElementInstanceKeys[i], batchDueDates[i]);
+      }
+      return false;
     }
   }
 
-  private boolean triggerTimer(TimerInstance timer) {
+  private void appendTriggerCommand(TimerInstance timer) {
     timerRecord.reset();
     timerRecord
         .setElementInstanceKey(timer.getElementInstanceKey())
@@ -98,19 +189,37 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
         .setWorkflowKey(timer.getWorkflowKey());
 
     streamWriter.appendFollowUpCommand(timer.getKey(), TimerIntent.TRIGGER, timerRecord);
-
-    return streamWriter.flush() > 0;
   }
 
   @Override
   public void onOpen(final ReadonlyProcessingContext processingContext) {
     this.actor = processingContext.getActor();
     streamWriter = new TypedStreamWriterImpl(processingContext.getLogStream());
+    metrics =
+        new TimerMetrics(
+            processingContext.getMetricsManager(),
+            processingContext.getLogStream().getPartitionId());
   }
 
   @Override
   public void onRecovered(final ReadonlyProcessingContext processingContext) {
+    // the timers are visited in the order of their due dates
+    dueDateQueue.clear();
+    workflowState
+        .getTimerState()
+        .findTimersWithDueDateBefore(
+            Long.MAX_VALUE,
+            timer -> {
+              dueDateQueue.add(timer.getKey(), timer.getElementInstanceKey(), timer.getDueDate());
+              return true;
+            });
+
     // check if timers are due after restart
     triggerTimers();
   }
+
+  @Override
+  public void onClose() {
+    metrics.close();
+  }
 }
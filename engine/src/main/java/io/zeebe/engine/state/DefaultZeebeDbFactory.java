@@ -18,6 +18,7 @@
 package io.zeebe.engine.state;
 
 import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
 
 public final class DefaultZeebeDbFactory {
@@ -42,4 +43,16 @@ public final class DefaultZeebeDbFactory {
     // one place to replace the zeebe database implementation
     return ZeebeRocksDbFactory.newFactory(columnFamilyNamesClass);
   }
+
+  /**
+   * Returns a zeebe database factory for the broker state which uses the given RocksDB profile. The
+   * factory has to be closed to release the shared block cache.
+   *
+   * @param configuration the RocksDB profile
+   * @return the created zeebe database factory
+   */
+  public static ZeebeRocksDbFactory<ZbColumnFamilies> configuredFactory(
+      RocksDbConfiguration configuration) {
+    return ZeebeRocksDbFactory.newFactory(ZbColumnFamilies.class, configuration);
+  }
 }
@@ -17,7 +17,19 @@
  */
 package io.zeebe.engine.state;
 
-public enum ZbColumnFamilies {
+import static io.zeebe.db.AccessPattern.POINT_LOOKUP;
+import static io.zeebe.db.AccessPattern.PREFIX_SCAN;
+import static io.zeebe.db.AccessPattern.TIME_ORDERED;
+
+import io.zeebe.db.AccessPattern;
+import io.zeebe.db.AccessPatternAware;
+
+/**
+ * The column families of the broker state. The access pattern of a column family is used to tune
+ * its storage. A prefix scan column family must only be iterated with prefixes of at least the
+ * declared prefix length, e.g. the job type of the activatable jobs is prefixed by its hash.
+ */
+public enum ZbColumnFamilies implements AccessPatternAware {
   DEFAULT,
 
   // util
@@ -27,44 +39,44 @@ public enum ZbColumnFamilies {
   WORKFLOW_VERSION,
 
   // workflow cache
-  WORKFLOW_CACHE,
+  WORKFLOW_CACHE(POINT_LOOKUP),
   WORKFLOW_CACHE_BY_ID_AND_VERSION,
   WORKFLOW_CACHE_LATEST_KEY,
 
   // element instance
-  ELEMENT_INSTANCE_PARENT_CHILD,
-  ELEMENT_INSTANCE_KEY,
-  STORED_INSTANCE_EVENTS,
-  STORED_INSTANCE_EVENTS_PARENT_CHILD,
+  ELEMENT_INSTANCE_PARENT_CHILD(PREFIX_SCAN, Long.BYTES),
+  ELEMENT_INSTANCE_KEY(POINT_LOOKUP),
+  STORED_INSTANCE_EVENTS(POINT_LOOKUP),
+  STORED_INSTANCE_EVENTS_PARENT_CHILD(PREFIX_SCAN, Long.BYTES),
 
   // variable state
-  ELEMENT_INSTANCE_CHILD_PARENT,
-  VARIABLES,
-  TEMPORARY_VARIABLE_STORE,
+  ELEMENT_INSTANCE_CHILD_PARENT(POINT_LOOKUP),
+  VARIABLES(PREFIX_SCAN, Long.BYTES),
+  TEMPORARY_VARIABLE_STORE(POINT_LOOKUP),
 
   // timer state
-  TIMERS,
-  TIMER_DUE_DATES,
+  TIMERS(PREFIX_SCAN, Long.BYTES),
+  TIMER_DUE_DATES(TIME_ORDERED),
 
   // pending deployments
   PENDING_DEPLOYMENT,
 
   // jobs
-  JOBS,
-  JOB_STATES,
-  JOB_DEADLINES,
-  JOB_ACTIVATABLE,
+  JOBS(POINT_LOOKUP),
+  JOB_STATES(POINT_LOOKUP),
+  JOB_DEADLINES(TIME_ORDERED),
+  JOB_ACTIVATABLE(PREFIX_SCAN, Long.BYTES),
 
   // message
   MESSAGE_KEY,
-  MESSAGES,
-  MESSAGE_DEADLINES,
-  MESSAGE_IDS,
+  MESSAGES(POINT_LOOKUP),
+  MESSAGE_DEADLINES(TIME_ORDERED),
+  MESSAGE_IDS(POINT_LOOKUP),
   MESSAGE_CORRELATED,
 
   // message subscription
   MESSAGE_SUBSCRIPTION_BY_KEY,
-  MESSAGE_SUBSCRIPTION_BY_SENT_TIME,
+  MESSAGE_SUBSCRIPTION_BY_SENT_TIME(TIME_ORDERED),
   MESSAGE_SUBSCRIPTION_BY_NAME_AND_CORRELATION_KEY,
 
   // message start event subscription
@@ -73,18 +85,44 @@ public enum ZbColumnFamilies {
 
   // workflow instance subscription
   WORKFLOW_SUBSCRIPTION_BY_KEY,
-  WORKFLOW_SUBSCRIPTION_BY_SENT_TIME,
+  WORKFLOW_SUBSCRIPTION_BY_SENT_TIME(TIME_ORDERED),
 
   // incident
-  INCIDENTS,
-  INCIDENT_WORKFLOW_INSTANCES,
-  INCIDENT_JOBS,
+  INCIDENTS(POINT_LOOKUP),
+  INCIDENT_WORKFLOW_INSTANCES(POINT_LOOKUP),
+  INCIDENT_JOBS(POINT_LOOKUP),
 
   // event
-  EVENT_SCOPE,
-  EVENT_TRIGGER,
+  EVENT_SCOPE(POINT_LOOKUP),
+  EVENT_TRIGGER(PREFIX_SCAN, Long.BYTES),
+
+  BLACKLIST(POINT_LOOKUP),
+
+  EXPORTER;
+
+  private final AccessPattern accessPattern;
+  private final int prefixLength;
+
+  ZbColumnFamilies() {
+    this(AccessPattern.DEFAULT);
+  }
+
+  ZbColumnFamilies(AccessPattern accessPattern) {
+    this(accessPattern, 0);
+  }
+
+  ZbColumnFamilies(AccessPattern accessPattern, int prefixLength) {
+    this.accessPattern = accessPattern;
+    this.prefixLength = prefixLength;
+  }
 
-  BLACKLIST,
+  @Override
+  public AccessPattern getAccessPattern() {
+    return accessPattern;
+  }
 
-  EXPORTER
+  @Override
+  public int getPrefixLength() {
+    return prefixLength;
+  }
 }
@@ -26,6 +26,7 @@ import io.zeebe.engine.Loggers;
 import io.zeebe.engine.processor.KeyGenerator;
 import io.zeebe.engine.processor.TypedRecord;
 import io.zeebe.engine.state.deployment.DeploymentsState;
+import io.zeebe.engine.state.deployment.ExecutableWorkflowCache;
 import io.zeebe.engine.state.deployment.WorkflowState;
 import io.zeebe.engine.state.instance.IncidentState;
 import io.zeebe.engine.state.instance.JobState;
@@ -70,8 +71,16 @@ public class ZeebeState {
   }
 
   public ZeebeState(int partitionId, ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
+    this(partitionId, zeebeDb, dbContext, new ExecutableWorkflowCache());
+  }
+
+  public ZeebeState(
+      int partitionId,
+      ZeebeDb<ZbColumnFamilies> zeebeDb,
+      DbContext dbContext,
+      ExecutableWorkflowCache executableWorkflowCache) {
     keyState = new KeyState(partitionId, zeebeDb, dbContext);
-    workflowState = new WorkflowState(zeebeDb, dbContext, keyState);
+    workflowState = new WorkflowState(zeebeDb, dbContext, keyState, executableWorkflowCache);
     deploymentState = new DeploymentsState(zeebeDb, dbContext);
     jobState = new JobState(zeebeDb, dbContext);
     messageState = new MessageState(zeebeDb, dbContext);
@@ -177,4 +186,9 @@ public class ZeebeState {
     final DbLong position = lastProcessedRecordPositionColumnFamily.get(lastProcessedEventKey);
     return position != null ? position.getValue() : NO_EVENTS_PROCESSED;
   }
+
+  /** Releases the resources which are shared with other partitions. */
+  public void close() {
+    workflowState.close();
+  }
 }
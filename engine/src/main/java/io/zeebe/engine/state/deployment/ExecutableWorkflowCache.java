@@ -0,0 +1,145 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.deployment;
+
+import io.zeebe.engine.processor.workflow.deployment.model.element.ExecutableWorkflow;
+import io.zeebe.util.metrics.MetricsManager;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import org.agrona.DirectBuffer;
+
+/**
+ * Shares the transformed workflows between the partitions of a broker, so that a workflow is parsed
+ * and transformed once instead of once per partition. An {@link ExecutableWorkflow} is not modified
+ * after the transformation and can be used by multiple partitions at the same time.
+ *
+ * <p>A partition acquires a workflow when it loads it into its in-memory state, and releases it
+ * when it is closed. A workflow is cached by its key and the checksum of its resource. Workflows
+ * which are not acquired by any partition are kept as well, up to the capacity of the cache, and
+ * the least recently used of them are evicted first.
+ */
+public class ExecutableWorkflowCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  // ordered by access, the least recently used first
+  private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final int capacity;
+  private final ExecutableWorkflowCacheMetrics metrics;
+
+  public ExecutableWorkflowCache() {
+    this(DEFAULT_CAPACITY, new MetricsManager());
+  }
+
+  public ExecutableWorkflowCache(int capacity, MetricsManager metricsManager) {
+    this.capacity = capacity;
+    this.metrics = new ExecutableWorkflowCacheMetrics(metricsManager);
+  }
+
+  /**
+   * Returns the cached workflow with the given key and resource, or transforms it if it is not
+   * cached. The returned workflow must be released when it is not used anymore.
+   *
+   * @param transformer transforms the resource, it is called without holding the lock of the cache
+   */
+  public ExecutableWorkflow acquire(
+      long workflowKey, DirectBuffer resource, Supplier<ExecutableWorkflow> transformer) {
+    final long checksum = checksum(resource);
+
+    synchronized (this) {
+      final Entry entry = entries.get(workflowKey);
+      if (entry != null && entry.checksum == checksum) {
+        entry.references += 1;
+        metrics.incrementHits();
+        return entry.workflow;
+      }
+    }
+
+    final long start = System.nanoTime();
+    final ExecutableWorkflow workflow = transformer.get();
+    final long parseTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    synchronized (this) {
+      metrics.incrementMisses(parseTime);
+
+      Entry entry = entries.get(workflowKey);
+      if (entry == null || (entry.checksum != checksum && entry.references == 0)) {
+        entry = new Entry(checksum, workflow);
+        entries.put(workflowKey, entry);
+      } else if (entry.checksum != checksum) {
+        // another workflow with the same key is in use - this one is not cached
+        return workflow;
+      }
+      // else: another partition transformed the workflow in the meantime
+
+      entry.references += 1;
+      evictUnused();
+      return entry.workflow;
+    }
+  }
+
+  public synchronized void release(long workflowKey, ExecutableWorkflow workflow) {
+    final Entry entry = entries.get(workflowKey);
+    if (entry != null && entry.workflow == workflow && entry.references > 0) {
+      entry.references -= 1;
+      evictUnused();
+    }
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public void close() {
+    metrics.close();
+  }
+
+  private void evictUnused() {
+    final Iterator<Entry> iterator = entries.values().iterator();
+    while (entries.size() > capacity && iterator.hasNext()) {
+      if (iterator.next().references == 0) {
+        iterator.remove();
+      }
+    }
+    metrics.setEntries(entries.size());
+  }
+
+  private static long checksum(DirectBuffer resource) {
+    final byte[] bytes = new byte[resource.capacity()];
+    resource.getBytes(0, bytes);
+
+    final CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+
+  private static final class Entry {
+    private final long checksum;
+    private final ExecutableWorkflow workflow;
+    private int references;
+
+    private Entry(long checksum, ExecutableWorkflow workflow) {
+      this.checksum = checksum;
+      this.workflow = workflow;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.deployment;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class ExecutableWorkflowCacheMetrics {
+
+  private final Metric hitsMetric;
+  private final Metric missesMetric;
+  private final Metric parseTimeMetric;
+  private final Metric entriesMetric;
+
+  public ExecutableWorkflowCacheMetrics(MetricsManager metricsManager) {
+    hitsMetric = metricsManager.newMetric("workflow_cache_hit_count").type("counter").create();
+    missesMetric = metricsManager.newMetric("workflow_cache_miss_count").type("counter").create();
+    parseTimeMetric =
+        metricsManager.newMetric("workflow_cache_parse_time_millis").type("counter").create();
+    entriesMetric = metricsManager.newMetric("workflow_cache_entries").type("gauge").create();
+  }
+
+  public void close() {
+    hitsMetric.close();
+    missesMetric.close();
+    parseTimeMetric.close();
+    entriesMetric.close();
+  }
+
+  public void incrementHits() {
+    hitsMetric.incrementOrdered();
+  }
+
+  public void incrementMisses(long parseTimeMillis) {
+    missesMetric.incrementOrdered();
+    parseTimeMetric.getAndAddOrdered(parseTimeMillis);
+  }
+
+  public void setEntries(long entries) {
+    entriesMetric.setOrdered(entries);
+  }
+}
@@ -45,6 +45,7 @@ import org.agrona.io.DirectBufferInputStream;
 
 public class WorkflowPersistenceCache {
   private final BpmnTransformer transformer = new BpmnTransformer();
+  private final ExecutableWorkflowCache executableWorkflowCache;
 
   private final Map<DirectBuffer, Long2ObjectHashMap<DeployedWorkflow>>
       workflowsByProcessIdAndVersion = new HashMap<>();
@@ -63,7 +64,12 @@ public class WorkflowPersistenceCache {
   private final DbString workflowId;
   private final DbLong workflowVersion;
 
-  public WorkflowPersistenceCache(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
+  public WorkflowPersistenceCache(
+      ZeebeDb<ZbColumnFamilies> zeebeDb,
+      DbContext dbContext,
+      ExecutableWorkflowCache executableWorkflowCache) {
+    this.executableWorkflowCache = executableWorkflowCache;
+
     workflowKey = new DbLong();
     persistedWorkflow = new PersistedWorkflow();
     workflowColumnFamily =
@@ -133,21 +139,21 @@ public class WorkflowPersistenceCache {
   private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
   // is called on getters, if workflow is not in memory
   private DeployedWorkflow updateInMemoryState(PersistedWorkflow persistedWorkflow) {
+    final DeployedWorkflow existingWorkflow = workflowsByKey.get(persistedWorkflow.getKey());
+    if (existingWorkflow != null) {
+      return existingWorkflow;
+    }
 
     // we have to copy to store this in cache
     persistedWorkflow.write(buffer, 0);
     final PersistedWorkflow copiedWorkflow = new PersistedWorkflow();
     copiedWorkflow.wrap(buffer, 0, persistedWorkflow.getLength());
 
-    final BpmnModelInstance modelInstance =
-        readModelInstanceFromBuffer(copiedWorkflow.getResource());
-    final List<ExecutableWorkflow> definitions = transformer.transformDefinitions(modelInstance);
-
     final ExecutableWorkflow executableWorkflow =
-        definitions.stream()
-            .filter((w) -> BufferUtil.equals(persistedWorkflow.getBpmnProcessId(), w.getId()))
-            .findFirst()
-            .get();
+        executableWorkflowCache.acquire(
+            copiedWorkflow.getKey(),
+            copiedWorkflow.getResource(),
+            () -> transformWorkflow(copiedWorkflow));
 
     final DeployedWorkflow deployedWorkflow =
         new DeployedWorkflow(executableWorkflow, copiedWorkflow);
@@ -157,6 +163,17 @@ public class WorkflowPersistenceCache {
     return deployedWorkflow;
   }
 
+  private ExecutableWorkflow transformWorkflow(PersistedWorkflow persistedWorkflow) {
+    final BpmnModelInstance modelInstance =
+        readModelInstanceFromBuffer(persistedWorkflow.getResource());
+    final List<ExecutableWorkflow> definitions = transformer.transformDefinitions(modelInstance);
+
+    return definitions.stream()
+        .filter((w) -> BufferUtil.equals(persistedWorkflow.getBpmnProcessId(), w.getId()))
+        .findFirst()
+        .get();
+  }
+
   private BpmnModelInstance readModelInstanceFromBuffer(DirectBuffer buffer) {
     try (DirectBufferInputStream stream = new DirectBufferInputStream(buffer)) {
       return Bpmn.readModelFromStream(stream);
@@ -293,4 +310,13 @@ public class WorkflowPersistenceCache {
   private void updateCompleteInMemoryState() {
     workflowColumnFamily.forEach((workflow) -> updateInMemoryState(persistedWorkflow));
   }
+
+  /** Releases the workflows of the in-memory state, so that they can be evicted from the cache. */
+  public void close() {
+    workflowsByKey
+        .values()
+        .forEach(w -> executableWorkflowCache.release(w.getKey(), w.getWorkflow()));
+    workflowsByKey.clear();
+    workflowsByProcessIdAndVersion.clear();
+  }
 }
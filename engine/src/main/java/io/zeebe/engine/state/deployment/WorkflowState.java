@@ -39,8 +39,17 @@ public class WorkflowState {
 
   public WorkflowState(
       ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext, KeyGenerator keyGenerator) {
+    this(zeebeDb, dbContext, keyGenerator, new ExecutableWorkflowCache());
+  }
+
+  public WorkflowState(
+      ZeebeDb<ZbColumnFamilies> zeebeDb,
+      DbContext dbContext,
+      KeyGenerator keyGenerator,
+      ExecutableWorkflowCache executableWorkflowCache) {
     versionManager = new NextValueManager(zeebeDb, dbContext, ZbColumnFamilies.WORKFLOW_VERSION);
-    workflowPersistenceCache = new WorkflowPersistenceCache(zeebeDb, dbContext);
+    workflowPersistenceCache =
+        new WorkflowPersistenceCache(zeebeDb, dbContext, executableWorkflowCache);
     timerInstanceState = new TimerInstanceState(zeebeDb, dbContext);
     elementInstanceState = new ElementInstanceState(zeebeDb, dbContext, keyGenerator);
     eventScopeInstanceState = new EventScopeInstanceState(zeebeDb, dbContext);
@@ -86,4 +95,8 @@ public class WorkflowState {
   public EventScopeInstanceState getEventScopeInstanceState() {
     return eventScopeInstanceState;
   }
+
+  public void close() {
+    workflowPersistenceCache.close();
+  }
 }
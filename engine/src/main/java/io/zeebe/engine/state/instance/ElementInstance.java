@@ -119,6 +119,18 @@ public class ElementInstance implements DbValue {
     return activeTokens + getNumberOfActiveElementInstances();
   }
 
+  /**
+   * Copies the given instance without serializing it. The copy shares the buffers of the record
+   * value, so the given instance must not be modified in place afterwards.
+   */
+  void copyFrom(ElementInstance instance) {
+    elementRecord.copyFrom(instance.elementRecord);
+    parentKey = instance.parentKey;
+    childCount = instance.childCount;
+    jobKey = instance.jobKey;
+    activeTokens = instance.activeTokens;
+  }
+
   @Override
   public void wrap(DirectBuffer buffer, int offset, int length) {
     final int startOffset = offset;
@@ -0,0 +1,134 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.instance;
+
+import io.zeebe.db.TransactionListener;
+import org.agrona.collections.Long2ObjectCache;
+import org.agrona.collections.Long2ObjectHashMap;
+
+/**
+ * A bounded cache of decoded element instances. The instances which are written in the current
+ * transaction are kept separately and are moved into the cache when the transaction is committed,
+ * or are discarded when it is rolled back. So the cache contains only committed instances.
+ *
+ * <p>The cached instances are owned by the cache. Callers get a copy of them and must put an
+ * instance again to update it.
+ */
+final class ElementInstanceCache implements TransactionListener {
+
+  // the cache is set-associative, an instance is evicted if its set is full
+  private static final int CACHE_SETS = 1024;
+  private static final int CACHE_SET_SIZE = 8;
+
+  // marks an instance which is removed in the current transaction
+  private static final ElementInstance REMOVED = new ElementInstance();
+
+  private final Long2ObjectCache<ElementInstance> committedInstances =
+      new Long2ObjectCache<>(CACHE_SETS, CACHE_SET_SIZE, instance -> {});
+  private final Long2ObjectHashMap<ElementInstance> uncommittedInstances =
+      new Long2ObjectHashMap<>();
+
+  private ElementInstanceCacheMetrics metrics;
+
+  /**
+   * @return a copy of the cached instance, {@link #REMOVED} if it was removed in the current
+   *     transaction, or null if it is not cached
+   */
+  ElementInstance get(final long key) {
+    ElementInstance instance = uncommittedInstances.get(key);
+    if (instance == null) {
+      instance = committedInstances.get(key);
+    }
+
+    if (instance == null) {
+      if (metrics != null) {
+        metrics.countMiss();
+      }
+      return null;
+    }
+
+    if (metrics != null) {
+      metrics.countHit();
+    }
+
+    if (instance == REMOVED) {
+      return REMOVED;
+    }
+    return copy(instance);
+  }
+
+  boolean isRemoved(final ElementInstance instance) {
+    return instance == REMOVED;
+  }
+
+  /**
+   * Caches an instance which was read from the state. It must not be modified in place afterwards.
+   */
+  void putCommitted(final ElementInstance instance) {
+    committedInstances.put(instance.getKey(), instance);
+  }
+
+  /**
+   * Caches an instance which was written in the current transaction. It must not be modified in
+   * place afterwards.
+   */
+  void putUncommitted(final ElementInstance instance) {
+    uncommittedInstances.put(instance.getKey(), instance);
+  }
+
+  void removeUncommitted(final long key) {
+    uncommittedInstances.put(key, REMOVED);
+  }
+
+  void setMetrics(final ElementInstanceCacheMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void onCommit() {
+    if (uncommittedInstances.isEmpty()) {
+      return;
+    }
+
+    final Long2ObjectHashMap<ElementInstance>.EntryIterator iterator =
+        uncommittedInstances.entrySet().iterator();
+    while (iterator.hasNext()) {
+      iterator.next();
+
+      final long key = iterator.getLongKey();
+      final ElementInstance instance = iterator.getValue();
+      if (instance == REMOVED) {
+        committedInstances.remove(key);
+      } else {
+        committedInstances.put(key, instance);
+      }
+    }
+    uncommittedInstances.clear();
+  }
+
+  @Override
+  public void onRollback() {
+    uncommittedInstances.clear();
+  }
+
+  static ElementInstance copy(final ElementInstance instance) {
+    final ElementInstance copiedInstance = new ElementInstance();
+    copiedInstance.copyFrom(instance);
+    return copiedInstance;
+  }
+}
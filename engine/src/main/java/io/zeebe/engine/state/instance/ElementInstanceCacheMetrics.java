@@ -0,0 +1,60 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.instance;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class ElementInstanceCacheMetrics implements AutoCloseable {
+  private final Metric cacheHits;
+  private final Metric cacheMisses;
+
+  public ElementInstanceCacheMetrics(final MetricsManager metricsManager, final int partitionId) {
+    final String partitionIdString = Integer.toString(partitionId);
+
+    cacheHits =
+        metricsManager
+            .newMetric("element_instance_cache_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .label("type", "hit")
+            .create();
+
+    cacheMisses =
+        metricsManager
+            .newMetric("element_instance_cache_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .label("type", "miss")
+            .create();
+  }
+
+  public void countHit() {
+    cacheHits.incrementOrdered();
+  }
+
+  public void countMiss() {
+    cacheMisses.incrementOrdered();
+  }
+
+  @Override
+  public void close() {
+    cacheHits.close();
+    cacheMisses.close();
+  }
+}
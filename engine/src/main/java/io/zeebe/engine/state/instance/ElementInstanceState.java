@@ -56,6 +56,8 @@ public class ElementInstanceState {
 
   private final ExpandableArrayBuffer copyBuffer = new ExpandableArrayBuffer();
 
+  private final ElementInstanceCache instanceCache = new ElementInstanceCache();
+
   private final VariablesState variablesState;
 
   public ElementInstanceState(
@@ -94,6 +96,8 @@ public class ElementInstanceState {
             DbNil.INSTANCE);
 
     variablesState = new VariablesState(zeebeDb, dbContext, keyGenerator);
+
+    dbContext.addTransactionListener(instanceCache);
   }
 
   public ElementInstance newInstance(
@@ -126,12 +130,27 @@ public class ElementInstanceState {
     elementInstanceColumnFamily.put(elementInstanceKey, instance);
     parentChildColumnFamily.put(parentChildKey, DbNil.INSTANCE);
     variablesState.createScope(elementInstanceKey.getValue(), parentKey.getValue());
+
+    // the caller can still modify the instance, so the cache gets its own copy
+    instanceCache.putUncommitted(copyElementInstance(instance));
   }
 
   public ElementInstance getInstance(long key) {
+    final ElementInstance cachedInstance = instanceCache.get(key);
+    if (cachedInstance != null) {
+      return instanceCache.isRemoved(cachedInstance) ? null : cachedInstance;
+    }
+
     elementInstanceKey.wrapLong(key);
     final ElementInstance elementInstance = elementInstanceColumnFamily.get(elementInstanceKey);
-    return copyElementInstance(elementInstance);
+    if (elementInstance == null) {
+      return null;
+    }
+
+    // the record value of a read instance is backed by its own buffer, so it can be shared
+    final ElementInstance readInstance = ElementInstanceCache.copy(elementInstance);
+    instanceCache.putCommitted(readInstance);
+    return ElementInstanceCache.copy(readInstance);
   }
 
   public void removeInstance(long key) {
@@ -152,6 +171,7 @@ public class ElementInstanceState {
           });
 
       variablesState.removeScope(key);
+      instanceCache.removeUncommitted(key);
 
       final long parentKey = instance.getParentKey();
       if (parentKey > 0) {
@@ -182,9 +202,7 @@ public class ElementInstanceState {
           (key, value) -> {
             final DbLong childKey = key.getSecond();
             final ElementInstance childInstance = getInstance(childKey.getValue());
-
-            final ElementInstance copiedElementInstance = copyElementInstance(childInstance);
-            children.add(copiedElementInstance);
+            children.add(childInstance);
           });
     }
     return children;
@@ -301,6 +319,10 @@ public class ElementInstanceState {
     return variablesState;
   }
 
+  void setCacheMetrics(ElementInstanceCacheMetrics cacheMetrics) {
+    instanceCache.setMetrics(cacheMetrics);
+  }
+
   private ElementInstance copyElementInstance(ElementInstance elementInstance) {
     if (elementInstance != null) {
       elementInstance.write(copyBuffer, 0);
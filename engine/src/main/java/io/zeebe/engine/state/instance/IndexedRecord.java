@@ -68,6 +68,16 @@ public class IndexedRecord implements DbValue {
     this.value.wrap(valueBuffer, 0, encodedLength);
   }
 
+  /**
+   * Copies the given record without serializing it. The copy shares the buffers of the record
+   * value, so the given record must not be modified in place afterwards.
+   */
+  void copyFrom(IndexedRecord record) {
+    key = record.key;
+    state = record.state;
+    value.wrap(record.value);
+  }
+
   @Override
   public void wrap(DirectBuffer buffer, int offset, int length) {
     final int startOffset = offset;
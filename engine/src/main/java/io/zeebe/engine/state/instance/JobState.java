@@ -19,6 +19,7 @@ package io.zeebe.engine.state.instance;
 
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbByte;
 import io.zeebe.db.impl.DbCompositeKey;
@@ -28,8 +29,10 @@ import io.zeebe.db.impl.DbString;
 import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.util.EnsureUtil;
+import io.zeebe.util.buffer.BufferUtil;
 import java.util.function.BiFunction;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.Long2LongHashMap;
 
 public class JobState {
 
@@ -46,16 +49,22 @@ public class JobState {
   private final DbByte jobState;
   private final ColumnFamily<DbLong, DbByte> statesJobColumnFamily;
 
-  // type => [key]
+  // [type hash, type] => [key]
+  private final DbLong jobTypeHashKey;
   private final DbString jobTypeKey;
-  private final DbCompositeKey<DbString, DbLong> typeJobKey;
-  private final ColumnFamily<DbCompositeKey<DbString, DbLong>, DbNil> activatableColumnFamily;
+  private final DbCompositeKey<DbLong, DbString> jobTypePrefix;
+  private final DbCompositeKey<DbCompositeKey<DbLong, DbString>, DbLong> typeJobKey;
+  private final ColumnFamily<DbCompositeKey<DbCompositeKey<DbLong, DbString>, DbLong>, DbNil>
+      activatableColumnFamily;
 
   // timeout => key
   private final DbLong deadlineKey;
   private final DbCompositeKey<DbLong, DbLong> deadlineJobKey;
   private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> deadlinesColumnFamily;
 
+  private final UncommittedDeadlines uncommittedDeadlines = new UncommittedDeadlines();
+  private DeadlineListener deadlineListener;
+
   public JobState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
 
     jobRecordToRead = new UnpackedObjectValue();
@@ -70,8 +79,10 @@ public class JobState {
     statesJobColumnFamily =
         zeebeDb.createColumnFamily(ZbColumnFamilies.JOB_STATES, dbContext, jobKey, jobState);
 
+    jobTypeHashKey = new DbLong();
     jobTypeKey = new DbString();
-    typeJobKey = new DbCompositeKey<>(jobTypeKey, jobKey);
+    jobTypePrefix = new DbCompositeKey<>(jobTypeHashKey, jobTypeKey);
+    typeJobKey = new DbCompositeKey<>(jobTypePrefix, jobKey);
     activatableColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.JOB_ACTIVATABLE, dbContext, typeJobKey, DbNil.INSTANCE);
@@ -81,6 +92,8 @@ public class JobState {
     deadlinesColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.JOB_DEADLINES, dbContext, deadlineJobKey, DbNil.INSTANCE);
+
+    dbContext.addTransactionListener(uncommittedDeadlines);
   }
 
   public void create(final long key, final JobRecord record) {
@@ -112,6 +125,9 @@ public class JobState {
 
     makeJobNotActivatable(type);
 
+    // the change is collected before the put, which commits it if there is no open transaction
+    uncommittedDeadlines.add(key, deadline);
+
     deadlineKey.wrapLong(deadline);
     deadlinesColumnFamily.put(deadlineJobKey, DbNil.INSTANCE);
   }
@@ -208,10 +224,10 @@ public class JobState {
 
   public void forEachActivatableJobs(
       final DirectBuffer type, final BiFunction<Long, JobRecord, Boolean> callback) {
-    jobTypeKey.wrapBuffer(type);
+    wrapJobType(type);
 
     activatableColumnFamily.whileEqualPrefix(
-        jobTypeKey,
+        jobTypePrefix,
         ((compositeKey, zbNil) -> {
           final long jobKey = compositeKey.getSecond().getValue();
           return visitJob(jobKey, callback);
@@ -242,6 +258,14 @@ public class JobState {
     return unpackedObjectValue == null ? null : (JobRecord) unpackedObjectValue.getObject();
   }
 
+  public void setDeadlineListener(DeadlineListener listener) {
+    if (this.deadlineListener != null) {
+      throw new IllegalStateException("deadline listener is already set");
+    }
+
+    this.deadlineListener = listener;
+  }
+
   public enum State {
     ACTIVATABLE((byte) 0),
     ACTIVATED((byte) 1),
@@ -284,19 +308,91 @@ public class JobState {
   private void makeJobActivatable(DirectBuffer type) {
     EnsureUtil.ensureNotNullOrEmpty("type", type);
 
-    jobTypeKey.wrapBuffer(type);
+    wrapJobType(type);
     activatableColumnFamily.put(typeJobKey, DbNil.INSTANCE);
   }
 
   private void makeJobNotActivatable(DirectBuffer type) {
     EnsureUtil.ensureNotNullOrEmpty("type", type);
 
-    jobTypeKey.wrapBuffer(type);
+    wrapJobType(type);
     activatableColumnFamily.delete(typeJobKey);
   }
 
+  private void wrapJobType(DirectBuffer type) {
+    // the hash is a fixed length prefix of the type, which is used by the prefix bloom filter
+    jobTypeHashKey.wrapLong(BufferUtil.bufferContentsHash(type));
+    jobTypeKey.wrapBuffer(type);
+  }
+
   private void removeJobDeadline(long deadline) {
+    // the change is collected before the delete, which commits it if there is no open transaction
+    uncommittedDeadlines.remove(jobKey.getValue());
+
     deadlineKey.wrapLong(deadline);
     deadlinesColumnFamily.delete(deadlineJobKey);
   }
+
+  /**
+   * Collects the deadline changes of the current transaction. They are passed to the deadline
+   * listener when the transaction is committed, and dropped when it is rolled back.
+   */
+  private final class UncommittedDeadlines implements TransactionListener {
+
+    // deadlines are greater than zero
+    private static final long REMOVED = 0L;
+    private static final long MISSING = -1L;
+
+    // key => deadline, or REMOVED
+    private final Long2LongHashMap deadlines = new Long2LongHashMap(MISSING);
+
+    private void add(final long key, final long deadline) {
+      if (deadlineListener != null) {
+        deadlines.put(key, deadline);
+      }
+    }
+
+    private void remove(final long key) {
+      if (deadlineListener != null) {
+        deadlines.put(key, REMOVED);
+      }
+    }
+
+    @Override
+    public void onCommit() {
+      if (deadlines.isEmpty()) {
+        return;
+      }
+
+      final Long2LongHashMap.EntryIterator iterator = deadlines.entrySet().iterator();
+      while (iterator.hasNext()) {
+        iterator.next();
+
+        final long key = iterator.getLongKey();
+        final long deadline = iterator.getLongValue();
+        if (deadline == REMOVED) {
+          deadlineListener.onDeadlineRemoved(key);
+        } else {
+          deadlineListener.onDeadlineAdded(key, deadline);
+        }
+      }
+      deadlines.clear();
+    }
+
+    @Override
+    public void onRollback() {
+      deadlines.clear();
+    }
+  }
+
+  /**
+   * Is notified when the deadline of an activated job is added or removed, i.e. when the job is
+   * activated, or when it is completed, failed, timed out or canceled. The listener is only
+   * notified about committed changes.
+   */
+  public interface DeadlineListener {
+    void onDeadlineAdded(long key, long deadline);
+
+    void onDeadlineRemoved(long key);
+  }
 }
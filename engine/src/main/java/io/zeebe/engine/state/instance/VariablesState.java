@@ -19,6 +19,7 @@ package io.zeebe.engine.state.instance;
 
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbBuffer;
 import io.zeebe.db.impl.DbCompositeKey;
@@ -30,16 +31,19 @@ import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackToken;
 import io.zeebe.msgpack.spec.MsgPackWriter;
 import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
-import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.Int2IntHashMap;
 import org.agrona.collections.Int2IntHashMap.EntryIterator;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.LongArrayList;
 import org.agrona.collections.ObjectHashSet;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -71,9 +75,15 @@ public class VariablesState {
   private final VariableInstance newVariable = new VariableInstance();
   private final DirectBuffer variableNameView = new UnsafeBuffer(0, 0);
 
+  // (child scope key) => (parent scope key), of the scopes resolved in the current transaction
+  private final ScopeParentCache scopeParentCache = new ScopeParentCache();
+  private final LongArrayList scopeChain = new LongArrayList();
+
   // collecting variables
   private final ObjectHashSet<DirectBuffer> collectedVariables = new ObjectHashSet<>();
+  private final List<UnsafeBuffer> collectedVariableNames = new ArrayList<>();
   private final ObjectHashSet<DirectBuffer> variablesToCollect = new ObjectHashSet<>();
+  private int variableCount = 0;
 
   // setting variables
   private final IndexedDocument indexedDocument = new IndexedDocument();
@@ -101,6 +111,8 @@ public class VariablesState {
     temporaryVariableStoreColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.TEMPORARY_VARIABLE_STORE, dbContext, scopeKey, temporaryVariables);
+
+    dbContext.addTransactionListener(scopeParentCache);
   }
 
   public void setVariablesLocalFromDocument(
@@ -108,6 +120,7 @@ public class VariablesState {
     reader.wrap(document, 0, document.capacity());
 
     final int variables = reader.readMapHeader();
+    final long rootScopeKey = variables > 0 ? getRootScopeKey(scopeKey) : NO_PARENT;
 
     for (int i = 0; i < variables; i++) {
       final MsgPackToken variableName = reader.readToken();
@@ -118,15 +131,11 @@ public class VariablesState {
       reader.skipValue();
       final int valueLength = reader.getOffset() - valueOffset;
 
+      final VariableInstance currentVariable =
+          getVariableLocal(scopeKey, document, nameOffset, nameLength);
+
       setVariableLocal(
-          scopeKey,
-          workflowKey,
-          document,
-          nameOffset,
-          nameLength,
-          document,
-          valueOffset,
-          valueLength);
+          scopeKey, workflowKey, rootScopeKey, currentVariable, document, valueOffset, valueLength);
     }
   }
 
@@ -140,18 +149,38 @@ public class VariablesState {
       int valueOffset,
       int valueLength) {
 
-    newVariable.reset();
-    newVariable.setValue(value, valueOffset, valueLength);
-
+    final long rootScopeKey = getRootScopeKey(scopeKey);
     final VariableInstance currentVariable =
         getVariableLocal(scopeKey, name, nameOffset, nameLength);
 
+    setVariableLocal(
+        scopeKey, workflowKey, rootScopeKey, currentVariable, value, valueOffset, valueLength);
+  }
+
+  /**
+   * Sets the variable which the variable key is wrapped around, i.e. the variable which was read
+   * last by {@link #getVariableLocal(long, DirectBuffer, int, int)}. It is only written if it is
+   * new or its value changed.
+   *
+   * @param currentVariable the current value of the variable, or null if it does not exist
+   */
+  private void setVariableLocal(
+      long scopeKey,
+      long workflowKey,
+      long rootScopeKey,
+      VariableInstance currentVariable,
+      DirectBuffer value,
+      int valueOffset,
+      int valueLength) {
+
+    newVariable.reset();
+    newVariable.setValue(value, valueOffset, valueLength);
+
     if (currentVariable == null) {
       newVariable.setKey(keyGenerator.nextKey());
       variablesColumnFamily.put(scopeKeyVariableNameKey, newVariable);
 
       if (listener != null) {
-        final long rootScopeKey = getRootScopeKey(scopeKey);
         listener.onCreate(
             newVariable.getKey(),
             workflowKey,
@@ -166,7 +195,6 @@ public class VariablesState {
       variablesColumnFamily.put(scopeKeyVariableNameKey, newVariable);
 
       if (listener != null) {
-        final long rootScopeKey = getRootScopeKey(scopeKey);
         listener.onUpdate(
             newVariable.getKey(),
             workflowKey,
@@ -181,15 +209,6 @@ public class VariablesState {
     }
   }
 
-  private boolean hasVariableLocal(
-      long scopeKey, DirectBuffer name, int nameOffset, int nameLength) {
-    this.scopeKey.wrapLong(scopeKey);
-    variableNameView.wrap(name, nameOffset, nameLength);
-    this.variableName.wrapBuffer(variableNameView);
-
-    return variablesColumnFamily.exists(scopeKeyVariableNameKey);
-  }
-
   public DirectBuffer getVariableLocal(long scopeKey, DirectBuffer name) {
     final VariableInstance variable = getVariableLocal(scopeKey, name, 0, name.capacity());
 
@@ -212,31 +231,36 @@ public class VariablesState {
   public void setVariablesFromDocument(long scopeKey, long workflowKey, DirectBuffer document) {
     // 1. index entries in the document
     indexedDocument.index(document);
+    if (!indexedDocument.hasEntries()) {
+      return;
+    }
 
-    long currentScope = scopeKey;
-    long parentScope;
+    resolveScopeChain(scopeKey);
+    final int topScopeIndex = scopeChain.size() - 1;
+    final long topScope = scopeChain.getLong(topScopeIndex);
 
-    // 2. overwrite any variables in the scope hierarchy
-    while (indexedDocument.hasEntries() && (parentScope = getParent(currentScope)) > 0) {
+    // 2. overwrite any variables in the scope hierarchy, looking up each remaining variable once
+    // per scope
+    for (int i = 0; i < topScopeIndex && indexedDocument.hasEntries(); i++) {
+      final long currentScope = scopeChain.getLong(i);
       final DocumentEntryIterator entryIterator = indexedDocument.iterator();
 
       while (entryIterator.hasNext()) {
         entryIterator.next();
 
-        final boolean hasVariable =
-            hasVariableLocal(
+        final VariableInstance currentVariable =
+            getVariableLocal(
                 currentScope,
                 document,
                 entryIterator.getNameOffset(),
                 entryIterator.getNameLength());
 
-        if (hasVariable) {
+        if (currentVariable != null) {
           setVariableLocal(
               currentScope,
               workflowKey,
-              document,
-              entryIterator.getNameOffset(),
-              entryIterator.getNameLength(),
+              topScope,
+              currentVariable,
               document,
               entryIterator.getValueOffset(),
               entryIterator.getValueLength());
@@ -244,7 +268,6 @@ public class VariablesState {
           entryIterator.remove();
         }
       }
-      currentScope = parentScope;
     }
 
     // 3. set remaining variables on top scope
@@ -254,12 +277,15 @@ public class VariablesState {
       while (entryIterator.hasNext()) {
         entryIterator.next();
 
+        final VariableInstance currentVariable =
+            getVariableLocal(
+                topScope, document, entryIterator.getNameOffset(), entryIterator.getNameLength());
+
         setVariableLocal(
-            currentScope,
+            topScope,
             workflowKey,
-            document,
-            entryIterator.getNameOffset(),
-            entryIterator.getNameLength(),
+            topScope,
+            currentVariable,
             document,
             entryIterator.getValueOffset(),
             entryIterator.getValueLength());
@@ -267,69 +293,121 @@ public class VariablesState {
     }
   }
 
+  /**
+   * Resolves the given scope and its parent scopes, from the given scope up to the top scope, into
+   * {@link #scopeChain}.
+   */
+  private void resolveScopeChain(long scopeKey) {
+    scopeChain.clear();
+
+    long currentScope = scopeKey;
+    do {
+      scopeChain.addLong(currentScope);
+      currentScope = getParent(currentScope);
+    } while (currentScope > 0);
+  }
+
   private long getParent(long childKey) {
-    this.childKey.wrapLong(childKey);
+    long parent = scopeParentCache.get(childKey);
+
+    if (parent == ScopeParentCache.UNKNOWN_PARENT) {
+      this.childKey.wrapLong(childKey);
+
+      final DbLong parentKey = childParentColumnFamily.get(this.childKey);
+      parent = parentKey != null ? parentKey.getValue() : NO_PARENT;
+      scopeParentCache.put(childKey, parent);
+    }
 
-    final DbLong parentKey = childParentColumnFamily.get(this.childKey);
-    return parentKey != null ? parentKey.getValue() : NO_PARENT;
+    return parent;
   }
 
   public DirectBuffer getVariablesAsDocument(long scopeKey) {
 
     collectedVariables.clear();
+    variableCount = 0;
     writer.wrap(documentResultBuffer, 0);
 
     writer.reserveMapHeader();
 
-    visitVariables(
-        scopeKey,
-        name -> !collectedVariables.contains(name.getBuffer()),
-        (name, value) -> {
-          final DirectBuffer variableNameBuffer = name.getBuffer();
-          writer.writeString(variableNameBuffer);
-          writer.writeRaw(value.getValue());
-
-          // must create a new name wrapper, because we keep them all in the hashset at the same
-          // time
-          final MutableDirectBuffer nameView = new UnsafeBuffer(variableNameBuffer);
-          collectedVariables.add(nameView);
-        },
-        () -> false);
+    resolveScopeChain(scopeKey);
+    final int topScopeIndex = scopeChain.size() - 1;
+
+    for (int i = 0; i <= topScopeIndex; i++) {
+      // the variables of the top scope can't shadow the variables of another scope
+      final boolean collectNames = i < topScopeIndex;
+
+      visitVariablesLocal(
+          scopeChain.getLong(i),
+          name -> !collectedVariables.contains(name.getBuffer()),
+          (name, value) -> {
+            writer.writeString(name.getBuffer());
+
+            if (collectNames) {
+              // the name is kept as a view of the written document instead of a copy - the view
+              // keeps referring to the written bytes if the buffer grows
+              final int nameLength = name.getBuffer().capacity();
+              final UnsafeBuffer nameView = nextCollectedVariableName();
+              nameView.wrap(documentResultBuffer, writer.getOffset() - nameLength, nameLength);
+              collectedVariables.add(nameView);
+            }
+
+            writer.writeRaw(value.getValue());
+            variableCount += 1;
+          },
+          () -> false);
+    }
 
-    writer.writeReservedMapHeader(0, collectedVariables.size());
+    writer.writeReservedMapHeader(0, variableCount);
 
     resultView.wrap(documentResultBuffer, 0, writer.getOffset());
     return resultView;
   }
 
+  private UnsafeBuffer nextCollectedVariableName() {
+    final int index = collectedVariables.size();
+    if (index == collectedVariableNames.size()) {
+      collectedVariableNames.add(new UnsafeBuffer(0, 0));
+    }
+    return collectedVariableNames.get(index);
+  }
+
   public DirectBuffer getVariablesAsDocument(long scopeKey, Collection<DirectBuffer> names) {
 
     variablesToCollect.clear();
     variablesToCollect.addAll(names);
+    variableCount = 0;
 
     writer.wrap(documentResultBuffer, 0);
 
     writer.reserveMapHeader();
 
-    visitVariables(
-        scopeKey,
-        name -> variablesToCollect.contains(name.getBuffer()),
-        (name, value) -> {
-          writer.writeString(name.getBuffer());
-          writer.writeRaw(value.getValue());
+    resolveScopeChain(scopeKey);
 
-          variablesToCollect.remove(name.getBuffer());
-        },
-        variablesToCollect::isEmpty);
+    // look up the requested variables by name instead of scanning all variables of the scopes
+    for (int i = 0; i < scopeChain.size() && !variablesToCollect.isEmpty(); i++) {
+      final long currentScope = scopeChain.getLong(i);
+      final Iterator<DirectBuffer> iterator = variablesToCollect.iterator();
 
-    writer.writeReservedMapHeader(0, names.size() - variablesToCollect.size());
+      while (iterator.hasNext()) {
+        final DirectBuffer name = iterator.next();
+        final VariableInstance variable = getVariableLocal(currentScope, name, 0, name.capacity());
+
+        if (variable != null) {
+          writer.writeString(name);
+          writer.writeRaw(variable.getValue());
+          variableCount += 1;
+
+          iterator.remove();
+        }
+      }
+    }
+
+    writer.writeReservedMapHeader(0, variableCount);
 
     resultView.wrap(documentResultBuffer, 0, writer.getOffset());
     return resultView;
   }
 
-  private int variableCount = 0;
-
   public DirectBuffer getVariablesLocalAsDocument(long scopeKey) {
 
     writer.wrap(documentResultBuffer, 0);
@@ -355,26 +433,6 @@ public class VariablesState {
     return resultView;
   }
 
-  /**
-   * Like {@link #visitVariablesLocal(long, Predicate, BiConsumer, BooleanSupplier)} but walks up
-   * the scope hierarchy.
-   */
-  private void visitVariables(
-      long scopeKey,
-      Predicate<DbString> filter,
-      BiConsumer<DbString, VariableInstance> variableConsumer,
-      BooleanSupplier completionCondition) {
-    long currentScope = scopeKey;
-
-    boolean completed;
-    do {
-      completed = visitVariablesLocal(currentScope, filter, variableConsumer, completionCondition);
-
-      currentScope = getParent(currentScope);
-
-    } while (!completed && currentScope >= 0);
-  }
-
   /**
    * Provides all variables of a scope to the given consumer until a condition is met.
    *
@@ -411,6 +469,7 @@ public class VariablesState {
     this.parentKey.wrapLong(parentKey);
 
     childParentColumnFamily.put(this.childKey, this.parentKey);
+    scopeParentCache.put(childKey, parentKey);
   }
 
   public void removeScope(long scopeKey) {
@@ -419,6 +478,7 @@ public class VariablesState {
     removeAllVariables(scopeKey);
 
     childParentColumnFamily.delete(this.scopeKey);
+    scopeParentCache.put(scopeKey, NO_PARENT);
   }
 
   public void removeAllVariables(long scopeKey) {
@@ -475,6 +535,36 @@ public class VariablesState {
     return rootScopeKey;
   }
 
+  /**
+   * Caches the parents of the scopes which are resolved in the current transaction, since the
+   * variables of the same scopes are usually read and written several times while a record is
+   * processed. The cache is dropped when the transaction is committed or rolled back, so it doesn't
+   * grow with the number of scopes.
+   */
+  private static final class ScopeParentCache implements TransactionListener {
+    private static final long UNKNOWN_PARENT = -2;
+
+    private final Long2LongHashMap parents = new Long2LongHashMap(UNKNOWN_PARENT);
+
+    long get(long scopeKey) {
+      return parents.get(scopeKey);
+    }
+
+    void put(long scopeKey, long parentKey) {
+      parents.put(scopeKey, parentKey);
+    }
+
+    @Override
+    public void onCommit() {
+      parents.clear();
+    }
+
+    @Override
+    public void onRollback() {
+      parents.clear();
+    }
+  }
+
   private class IndexedDocument implements Iterable<Void> {
     // variable name offset -> variable value offset
     private final Int2IntHashMap entries = new Int2IntHashMap(-1);
@@ -34,6 +34,7 @@ public class WorkflowEngineState implements StreamProcessorLifecycleAware {
   private final WorkflowState workflowState;
   private ElementInstanceState elementInstanceState;
   private WorkflowInstanceMetrics metrics;
+  private ElementInstanceCacheMetrics cacheMetrics;
 
   public WorkflowEngineState(WorkflowState workflowState) {
     this.workflowState = workflowState;
@@ -47,6 +48,9 @@ public class WorkflowEngineState implements StreamProcessorLifecycleAware {
     this.metrics = new WorkflowInstanceMetrics(metricsManager, logStream.getPartitionId());
     this.elementInstanceState = workflowState.getElementInstanceState();
 
+    cacheMetrics = new ElementInstanceCacheMetrics(metricsManager, logStream.getPartitionId());
+    elementInstanceState.setCacheMetrics(cacheMetrics);
+
     final UpdateVariableStreamWriter updateVariableStreamWriter =
         new UpdateVariableStreamWriter(processingContext.getLogStreamWriter());
 
@@ -56,6 +60,8 @@ public class WorkflowEngineState implements StreamProcessorLifecycleAware {
   @Override
   public void onClose() {
     metrics.close();
+    elementInstanceState.setCacheMetrics(null);
+    cacheMetrics.close();
   }
 
   public void onEventProduced(
@@ -0,0 +1,172 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.message;
+
+import io.zeebe.db.TransactionListener;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+
+/**
+ * An in-memory bloom filter of the (message name, correlation key) pairs of a column family. If the
+ * filter doesn't contain a pair then the column family doesn't contain it either, and the lookup
+ * can skip the column family.
+ *
+ * <p>A pair can't be removed from the filter, because a state change can be rolled back. Instead,
+ * the filter is rebuilt from the column family by the given loader when it is used the first time
+ * (i.e. after recovery), and when too many pairs were added since it was built.
+ *
+ * <p>The filter is only built while the current transaction has no uncommitted changes of the
+ * column family. Otherwise, it could miss a pair which is removed by the transaction and restored
+ * by the rollback. Until then, it may contain any pair.
+ */
+final class MessageCorrelationFilter implements TransactionListener {
+
+  private static final int INITIAL_BITS = 1 << 16;
+  private static final int MAX_BITS = 1 << 28;
+  private static final int HASH_FUNCTIONS = 3;
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final Consumer<MessageCorrelationFilter> loader;
+
+  private long[] bits = new long[INITIAL_BITS / Long.SIZE];
+  private int count;
+  private int maxCount;
+  private boolean isLoaded;
+  private boolean hasUncommittedChanges;
+
+  MessageCorrelationFilter(Consumer<MessageCorrelationFilter> loader) {
+    this.loader = loader;
+  }
+
+  void add(DirectBuffer name, DirectBuffer correlationKey) {
+    hasUncommittedChanges = true;
+
+    if (isLoaded) {
+      set(fingerprint(name, correlationKey));
+
+      count += 1;
+      if (count > maxCount) {
+        // the filter is rebuilt to drop the pairs which are removed in the meantime
+        isLoaded = false;
+      }
+    }
+  }
+
+  /** Is called when a pair is removed from the column family. The filter still contains it. */
+  void remove() {
+    hasUncommittedChanges = true;
+  }
+
+  boolean mayContain(DirectBuffer name, DirectBuffer correlationKey) {
+    if (!isLoaded) {
+      if (hasUncommittedChanges) {
+        return true;
+      }
+      load();
+    }
+    return test(fingerprint(name, correlationKey));
+  }
+
+  @Override
+  public void onCommit() {
+    hasUncommittedChanges = false;
+  }
+
+  @Override
+  public void onRollback() {
+    hasUncommittedChanges = false;
+  }
+
+  private void load() {
+    loadPairs();
+
+    int numBits = bits.length * Long.SIZE;
+    if (count > numBits / 16 && numBits < MAX_BITS) {
+      while (count > numBits / 16 && numBits < MAX_BITS) {
+        numBits *= 2;
+      }
+      bits = new long[numBits / Long.SIZE];
+      loadPairs();
+    }
+
+    maxCount = Math.max(numBits / 8, 2 * count);
+  }
+
+  private void loadPairs() {
+    Arrays.fill(bits, 0L);
+    count = 0;
+    maxCount = Integer.MAX_VALUE;
+    isLoaded = true;
+
+    loader.accept(this);
+    // the loaded pairs are committed already
+    hasUncommittedChanges = false;
+  }
+
+  private void set(long fingerprint) {
+    final int mask = bits.length * Long.SIZE - 1;
+    final int hash1 = (int) fingerprint;
+    final int hash2 = (int) (fingerprint >>> 32);
+
+    for (int i = 0; i < HASH_FUNCTIONS; i++) {
+      final int bit = (hash1 + i * hash2) & mask;
+      bits[bit >>> 6] |= 1L << bit;
+    }
+  }
+
+  private boolean test(long fingerprint) {
+    final int mask = bits.length * Long.SIZE - 1;
+    final int hash1 = (int) fingerprint;
+    final int hash2 = (int) (fingerprint >>> 32);
+
+    for (int i = 0; i < HASH_FUNCTIONS; i++) {
+      final int bit = (hash1 + i * hash2) & mask;
+      if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static long fingerprint(DirectBuffer name, DirectBuffer correlationKey) {
+    long hash = FNV_OFFSET_BASIS;
+    hash = hash(hash, name);
+    // separates the name from the correlation key
+    hash = (hash ^ 0xff) * FNV_PRIME;
+    hash = hash(hash, correlationKey);
+
+    // spreads the bits of the hash (finalizer of MurmurHash3)
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  private static long hash(long hash, DirectBuffer buffer) {
+    final int length = buffer.capacity();
+    for (int i = 0; i < length; i++) {
+      hash = (hash ^ (buffer.getByte(i) & 0xff)) * FNV_PRIME;
+    }
+    return hash;
+  }
+}
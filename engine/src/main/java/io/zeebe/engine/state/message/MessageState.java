@@ -19,6 +19,7 @@ package io.zeebe.engine.state.message;
 
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.DbKey;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
@@ -26,9 +27,16 @@ import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DbString;
 import io.zeebe.engine.state.ZbColumnFamilies;
 import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 
 public class MessageState {
 
+  /**
+   * The deadlines are grouped into buckets of 2^16 ms (about a minute). Since a deadline is stored
+   * big-endian, the messages of a bucket share the leading bytes of the key.
+   */
+  public static final int DEADLINE_BUCKET_SHIFT = 16;
+
   /**
    * <pre>message key -> message
    */
@@ -59,6 +67,7 @@ public class MessageState {
 
   private final DbCompositeKey<DbLong, DbLong> deadlineMessageKey;
   private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> deadlineColumnFamily;
+  private final DeadlineBucket deadlineBucket = new DeadlineBucket();
 
   /**
    * <pre>name | correlation key | message id -> []
@@ -80,6 +89,9 @@ public class MessageState {
   private final DbLong workflowInstanceKey;
   private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> correlatedMessageColumnFamily;
 
+  private final MessageCorrelationFilter correlationFilter =
+      new MessageCorrelationFilter(this::loadCorrelationFilter);
+
   public MessageState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
     messageKey = new DbLong();
     message = new Message();
@@ -111,6 +123,18 @@ public class MessageState {
     correlatedMessageColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.MESSAGE_CORRELATED, dbContext, messageWorkflowKey, DbNil.INSTANCE);
+
+    dbContext.addTransactionListener(correlationFilter);
+  }
+
+  private void loadCorrelationFilter(MessageCorrelationFilter filter) {
+    nameCorrelationMessageColumnFamily.forEach(
+        (compositeKey, nil) -> {
+          final DbCompositeKey<DbString, DbString> nameAndCorrelationKey = compositeKey.getFirst();
+          filter.add(
+              nameAndCorrelationKey.getFirst().getBuffer(),
+              nameAndCorrelationKey.getSecond().getBuffer());
+        });
   }
 
   public void put(final Message message) {
@@ -120,6 +144,7 @@ public class MessageState {
     messageName.wrapBuffer(message.getName());
     correlationKey.wrapBuffer(message.getCorrelationKey());
     nameCorrelationMessageColumnFamily.put(nameCorrelationMessageKey, DbNil.INSTANCE);
+    correlationFilter.add(message.getName(), message.getCorrelationKey());
 
     deadline.wrapLong(message.getDeadline());
     deadlineColumnFamily.put(deadlineMessageKey, DbNil.INSTANCE);
@@ -154,6 +179,11 @@ public class MessageState {
   public void visitMessages(
       final DirectBuffer name, final DirectBuffer correlationKey, final MessageVisitor visitor) {
 
+    // the filter is checked first, since loading it overrides the key
+    if (!correlationFilter.mayContain(name, correlationKey)) {
+      return;
+    }
+
     messageName.wrapBuffer(name);
     this.correlationKey.wrapBuffer(correlationKey);
 
@@ -184,8 +214,30 @@ public class MessageState {
         }));
   }
 
+  public static long getDeadlineBucket(final long deadline) {
+    return deadline >>> DEADLINE_BUCKET_SHIFT;
+  }
+
+  /** Visits the deadlines of the given bucket in ascending order, without reading the messages. */
+  public void visitDeadlinesInBucket(final long bucket, final MessageDeadlineVisitor visitor) {
+    deadlineBucket.wrapBucket(bucket);
+
+    deadlineColumnFamily.whileEqualPrefix(
+        deadlineBucket,
+        (compositeKey, nil) -> {
+          final long deadline = compositeKey.getFirst().getValue();
+          final long messageKey = compositeKey.getSecond().getValue();
+          return visitor.visit(deadline, messageKey);
+        });
+  }
+
   public boolean exist(
       final DirectBuffer name, final DirectBuffer correlationKey, final DirectBuffer messageId) {
+    // a message id can only exist if a message with the name and correlation key exists
+    if (!correlationFilter.mayContain(name, correlationKey)) {
+      return false;
+    }
+
     messageName.wrapBuffer(name);
     this.correlationKey.wrapBuffer(correlationKey);
     this.messageId.wrapBuffer(messageId);
@@ -206,6 +258,7 @@ public class MessageState {
     this.correlationKey.wrapBuffer(message.getCorrelationKey());
 
     nameCorrelationMessageColumnFamily.delete(nameCorrelationMessageKey);
+    correlationFilter.remove();
 
     final DirectBuffer messageId = message.getId();
     if (messageId.capacity() > 0) {
@@ -227,4 +280,41 @@ public class MessageState {
   public interface MessageVisitor {
     boolean visit(Message message);
   }
+
+  @FunctionalInterface
+  public interface MessageDeadlineVisitor {
+    boolean visit(long deadline, long messageKey);
+  }
+
+  /** The leading bytes of a deadline, used as prefix of the deadline column family. */
+  private static final class DeadlineBucket implements DbKey {
+
+    private static final int LENGTH = Long.BYTES - DEADLINE_BUCKET_SHIFT / Byte.SIZE;
+
+    private long bucket;
+
+    void wrapBucket(long bucket) {
+      this.bucket = bucket;
+    }
+
+    @Override
+    public void wrap(DirectBuffer buffer, int offset, int length) {
+      bucket = 0;
+      for (int i = 0; i < LENGTH; i++) {
+        bucket = (bucket << Byte.SIZE) | (buffer.getByte(offset + i) & 0xff);
+      }
+    }
+
+    @Override
+    public int getLength() {
+      return LENGTH;
+    }
+
+    @Override
+    public void write(MutableDirectBuffer buffer, int offset) {
+      for (int i = 0; i < LENGTH; i++) {
+        buffer.putByte(offset + i, (byte) (bucket >>> (Byte.SIZE * (LENGTH - 1 - i))));
+      }
+    }
+  }
 }
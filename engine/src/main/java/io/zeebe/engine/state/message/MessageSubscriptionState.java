@@ -53,6 +53,10 @@ public class MessageSubscriptionState {
   private final ColumnFamily<DbCompositeKey<DbCompositeKey<DbString, DbString>, DbLong>, DbNil>
       messageNameAndCorrelationKeyColumnFamily;
 
+  // most of the published messages have no subscription, the filter skips the lookup for them
+  private final MessageCorrelationFilter correlationFilter =
+      new MessageCorrelationFilter(this::loadCorrelationFilter);
+
   public MessageSubscriptionState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
     this.dbContext = dbContext;
 
@@ -86,6 +90,18 @@ public class MessageSubscriptionState {
             dbContext,
             nameCorrelationAndElementInstanceKey,
             DbNil.INSTANCE);
+
+    dbContext.addTransactionListener(correlationFilter);
+  }
+
+  private void loadCorrelationFilter(MessageCorrelationFilter filter) {
+    messageNameAndCorrelationKeyColumnFamily.forEach(
+        (compositeKey, nil) -> {
+          final DbCompositeKey<DbString, DbString> nameAndCorrelationKey = compositeKey.getFirst();
+          filter.add(
+              nameAndCorrelationKey.getFirst().getBuffer(),
+              nameAndCorrelationKey.getSecond().getBuffer());
+        });
   }
 
   public MessageSubscription get(long elementInstanceKey, DirectBuffer messageName) {
@@ -102,6 +118,8 @@ public class MessageSubscriptionState {
     correlationKey.wrapBuffer(subscription.getCorrelationKey());
     messageNameAndCorrelationKeyColumnFamily.put(
         nameCorrelationAndElementInstanceKey, DbNil.INSTANCE);
+
+    correlationFilter.add(subscription.getMessageName(), subscription.getCorrelationKey());
   }
 
   public void visitSubscriptions(
@@ -109,6 +127,11 @@ public class MessageSubscriptionState {
       final DirectBuffer correlationKey,
       MessageSubscriptionVisitor visitor) {
 
+    // the filter is checked first, since loading it overrides the key
+    if (!correlationFilter.mayContain(messageName, correlationKey)) {
+      return;
+    }
+
     this.messageName.wrapBuffer(messageName);
     this.correlationKey.wrapBuffer(correlationKey);
 
@@ -207,6 +230,7 @@ public class MessageSubscriptionState {
     messageName.wrapBuffer(subscription.getMessageName());
     correlationKey.wrapBuffer(subscription.getCorrelationKey());
     messageNameAndCorrelationKeyColumnFamily.delete(nameCorrelationAndElementInstanceKey);
+    correlationFilter.remove();
 
     removeSubscriptionFromSentTimeColumnFamily(subscription);
   }
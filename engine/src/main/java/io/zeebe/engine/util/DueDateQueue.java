@@ -0,0 +1,156 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.util;
+
+import java.util.Arrays;
+import org.agrona.collections.Long2LongHashMap;
+
+/**
+ * A primitive min-heap of entries which is ordered by the due date, e.g. of timers or job
+ * deadlines. The entries are identified by their key, so an entry can be removed without scanning
+ * the heap. Each entry can hold an additional value, like the key of the scope it belongs to.
+ */
+public final class DueDateQueue {
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final long MISSING_INDEX = -1L;
+
+  private final Long2LongHashMap indexByKey = new Long2LongHashMap(MISSING_INDEX);
+
+  private long[] dueDates = new long[INITIAL_CAPACITY];
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private long[] values = new long[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Adds the entry to the queue. If an entry with the same key is already queued then it is
+   * replaced.
+   */
+  public void add(final long key, final long value, final long dueDate) {
+    remove(key);
+    ensureCapacity(size + 1);
+
+    final int index = size++;
+    set(index, key, value, dueDate);
+    siftUp(index);
+  }
+
+  /** @return true, if the entry was queued */
+  public boolean remove(final long key) {
+    final long index = indexByKey.remove(key);
+    if (index == MISSING_INDEX) {
+      return false;
+    }
+
+    final int removedIndex = (int) index;
+    final int lastIndex = --size;
+
+    if (removedIndex != lastIndex) {
+      set(removedIndex, keys[lastIndex], values[lastIndex], dueDates[lastIndex]);
+      siftDown(removedIndex);
+      siftUp(removedIndex);
+    }
+    return true;
+  }
+
+  /** Removes the entry with the earliest due date. */
+  public void poll() {
+    if (size > 0) {
+      remove(keys[0]);
+    }
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** @return the earliest due date, or -1 if the queue is empty */
+  public long peekDueDate() {
+    return size > 0 ? dueDates[0] : -1L;
+  }
+
+  public long peekKey() {
+    return keys[0];
+  }
+
+  public long peekValue() {
+    return values[0];
+  }
+
+  public void clear() {
+    indexByKey.clear();
+    size = 0;
+  }
+
+  private void siftUp(int index) {
+    while (index > 0) {
+      final int parent = (index - 1) >>> 1;
+      if (dueDates[parent] <= dueDates[index]) {
+        break;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  private void siftDown(int index) {
+    while (true) {
+      final int left = 2 * index + 1;
+      if (left >= size) {
+        break;
+      }
+
+      final int right = left + 1;
+      final int child = right < size && dueDates[right] < dueDates[left] ? right : left;
+      if (dueDates[index] <= dueDates[child]) {
+        break;
+      }
+      swap(index, child);
+      index = child;
+    }
+  }
+
+  private void swap(final int i, final int j) {
+    final long key = keys[i];
+    final long value = values[i];
+    final long dueDate = dueDates[i];
+
+    set(i, keys[j], values[j], dueDates[j]);
+    set(j, key, value, dueDate);
+  }
+
+  private void set(final int index, final long key, final long value, final long dueDate) {
+    keys[index] = key;
+    values[index] = value;
+    dueDates[index] = dueDate;
+    indexByKey.put(key, index);
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > dueDates.length) {
+      final int newCapacity = Math.max(capacity, dueDates.length << 1);
+      dueDates = Arrays.copyOf(dueDates, newCapacity);
+      keys = Arrays.copyOf(keys, newCapacity);
+      values = Arrays.copyOf(values, newCapacity);
+    }
+  }
+}
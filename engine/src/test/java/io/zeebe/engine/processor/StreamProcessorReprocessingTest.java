@@ -284,6 +284,102 @@ public class StreamProcessorReprocessingTest {
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void shouldRetryWholeBatchOnException() {
+    // given
+    final long firstPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    final long secondPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    final long thirdPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    streamProcessorRule.writeWorkflowInstanceEventWithSource(ELEMENT_ACTIVATED, 1, thirdPosition);
+
+    waitUntil(
+        () ->
+            streamProcessorRule
+                .events()
+                .onlyWorkflowInstanceRecords()
+                .withIntent(ELEMENT_ACTIVATED)
+                .exists());
+
+    // when
+    final TypedRecordProcessor<?> typedRecordProcessor = mock(TypedRecordProcessor.class);
+    final AtomicInteger count = new AtomicInteger(0);
+    doAnswer(
+            (invocationOnMock -> {
+              if (count.getAndIncrement() == 1) {
+                throw new RuntimeException("recoverable");
+              }
+              return null;
+            }))
+        .when(typedRecordProcessor)
+        .processRecord(anyLong(), any(), any(), any(), any());
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE, ELEMENT_ACTIVATING, typedRecordProcessor));
+
+    // then
+    final InOrder inOrder = inOrder(typedRecordProcessor);
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onOpen(any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(firstPosition), any(), any(), any(), any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(secondPosition), any(), any(), any(), any());
+    // the batch is rolled back and replayed from its first event
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(firstPosition), any(), any(), any(), any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(secondPosition), any(), any(), any(), any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(thirdPosition), any(), any(), any(), any());
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onRecovered(any());
+
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldReprocessMoreEventsThanFitIntoOneBatch() {
+    // given
+    final int eventCount = 2 * ReProcessingStateMachine.MAX_BATCH_SIZE + 1;
+    long lastSourceEvent = -1L;
+    for (int i = 0; i < eventCount; i++) {
+      lastSourceEvent = streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    }
+    streamProcessorRule.writeWorkflowInstanceEventWithSource(ELEMENT_ACTIVATED, 1, lastSourceEvent);
+
+    waitUntil(
+        () ->
+            streamProcessorRule
+                .events()
+                .onlyWorkflowInstanceRecords()
+                .withIntent(ELEMENT_ACTIVATED)
+                .exists());
+
+    // when
+    final TypedRecordProcessor<?> typedRecordProcessor = mock(TypedRecordProcessor.class);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE, ELEMENT_ACTIVATING, typedRecordProcessor));
+
+    // then
+    final InOrder inOrder = inOrder(typedRecordProcessor);
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onOpen(any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(eventCount))
+        .processRecord(anyLong(), any(), any(), any(), any());
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onRecovered(any());
+
+    inOrder.verifyNoMoreInteractions();
+  }
+
   @Test
   public void shouldIgnoreRecordWhenNoProcessorExistForThisType() {
     // given
@@ -45,11 +45,13 @@ import io.zeebe.protocol.intent.WorkflowInstanceIntent;
 import io.zeebe.util.exception.RecoverableException;
 import io.zeebe.util.sched.ActorControl;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -775,4 +777,104 @@ public class StreamProcessorTest {
 
     assertThat(lastCommitPosition.get()).isEqualTo(((CopiedTypedEvent) errorRecord).getPosition());
   }
+
+  @Test
+  public void shouldWriteFollowUpEventsOfBatch() {
+    // given
+    streamProcessorRule.setProcessingBatch(10, Integer.MAX_VALUE, Duration.ofMinutes(1));
+
+    final long firstPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    final long secondPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 2);
+    final long thirdPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 3);
+
+    // when
+    final StreamProcessor streamProcessor =
+        streamProcessorRule.startTypedStreamProcessor(
+            (processors, state) ->
+                processors.onEvent(
+                    ValueType.WORKFLOW_INSTANCE,
+                    WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                    new FollowUpEventProcessor(-1L)));
+
+    // then
+    final List<TypedRecord<WorkflowInstanceRecord>> activatedEvents = waitForActivatedEvents(3);
+
+    assertThat(activatedEvents)
+        .extracting(TypedRecord::getSourceRecordPosition)
+        .containsExactly(firstPosition, secondPosition, thirdPosition);
+    assertThat(streamProcessor.getLastProcessedPositionAsync().join()).isEqualTo(thirdPosition);
+  }
+
+  @Test
+  public void shouldProcessRecordsOneByOneIfBatchFails() {
+    // given
+    streamProcessorRule.setProcessingBatch(10, Integer.MAX_VALUE, Duration.ofMinutes(1));
+
+    final long firstPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    final long secondPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 2);
+    final long thirdPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 3);
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new FollowUpEventProcessor(2L)));
+
+    // then
+    final List<TypedRecord<WorkflowInstanceRecord>> activatedEvents = waitForActivatedEvents(2);
+
+    assertThat(activatedEvents)
+        .extracting(TypedRecord::getSourceRecordPosition)
+        .containsExactly(firstPosition, thirdPosition);
+
+    final TypedRecord<ErrorRecord> errorRecord =
+        streamProcessorRule.events().onlyErrorRecords().getFirst();
+    assertThat(errorRecord.getSourceRecordPosition()).isEqualTo(secondPosition);
+  }
+
+  private List<TypedRecord<WorkflowInstanceRecord>> waitForActivatedEvents(final int count) {
+    return doRepeatedly(
+            () ->
+                streamProcessorRule
+                    .events()
+                    .onlyWorkflowInstanceRecords()
+                    .withIntent(WorkflowInstanceIntent.ELEMENT_ACTIVATED)
+                    .collect(Collectors.toList()))
+        .until(events -> events.size() >= count);
+  }
+
+  private static class FollowUpEventProcessor
+      implements TypedRecordProcessor<WorkflowInstanceRecord> {
+
+    private final long failingWorkflowInstanceKey;
+
+    FollowUpEventProcessor(final long failingWorkflowInstanceKey) {
+      this.failingWorkflowInstanceKey = failingWorkflowInstanceKey;
+    }
+
+    @Override
+    public void processRecord(
+        TypedRecord<WorkflowInstanceRecord> record,
+        TypedResponseWriter responseWriter,
+        TypedStreamWriter streamWriter) {
+      if (record.getValue().getWorkflowInstanceKey() == failingWorkflowInstanceKey) {
+        throw new RuntimeException("expected");
+      }
+
+      streamWriter.appendFollowUpEvent(
+          record.getKey(), WorkflowInstanceIntent.ELEMENT_ACTIVATED, record.getValue());
+    }
+  }
 }
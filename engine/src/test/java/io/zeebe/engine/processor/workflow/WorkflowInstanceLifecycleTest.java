@@ -0,0 +1,58 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import java.util.Collections;
+import org.junit.Test;
+
+public class WorkflowInstanceLifecycleTest {
+
+  @Test
+  public void shouldTransitionAccordingToRules() {
+    for (WorkflowInstanceIntent from : WorkflowInstanceIntent.values()) {
+      for (WorkflowInstanceIntent to : WorkflowInstanceIntent.values()) {
+        final boolean expected =
+            WorkflowInstanceLifecycle.TRANSITION_RULES
+                .getOrDefault(from, Collections.emptySet())
+                .contains(to);
+
+        assertThat(WorkflowInstanceLifecycle.canTransition(from, to))
+            .describedAs("transition from %s to %s", from, to)
+            .isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void shouldCheckStates() {
+    for (WorkflowInstanceIntent state : WorkflowInstanceIntent.values()) {
+      assertThat(WorkflowInstanceLifecycle.isElementInstanceState(state))
+          .describedAs("element instance state %s", state)
+          .isEqualTo(WorkflowInstanceLifecycle.ELEMENT_INSTANCE_STATES.contains(state));
+      assertThat(WorkflowInstanceLifecycle.isFinalState(state))
+          .describedAs("final state %s", state)
+          .isEqualTo(WorkflowInstanceLifecycle.FINAL_ELEMENT_INSTANCE_STATES.contains(state));
+      assertThat(WorkflowInstanceLifecycle.canTerminate(state))
+          .describedAs("terminatable state %s", state)
+          .isEqualTo(WorkflowInstanceLifecycle.TERMINATABLE_STATES.contains(state));
+    }
+  }
+}
@@ -29,9 +29,11 @@ import static org.mockito.Mockito.when;
 import io.zeebe.engine.processor.ReadonlyProcessingContext;
 import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
 import io.zeebe.engine.processor.TypedRecord;
+import io.zeebe.engine.processor.TypedRecordProcessors;
 import io.zeebe.engine.processor.workflow.job.JobEventProcessors;
 import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSender;
 import io.zeebe.engine.processor.workflow.timer.DueDateTimerChecker;
+import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.deployment.WorkflowState;
 import io.zeebe.engine.util.CopiedTypedEvent;
 import io.zeebe.engine.util.Records;
@@ -111,7 +113,9 @@ public class WorkflowInstanceStreamProcessorRule extends ExternalResource
         .thenReturn(true);
 
     environmentRule.startTypedStreamProcessor(
-        (typedRecordProcessors, zeebeState) -> {
+        processingContext -> {
+          final ZeebeState zeebeState = processingContext.getZeebeState();
+          final TypedRecordProcessors typedRecordProcessors = TypedRecordProcessors.processors();
           workflowState = zeebeState.getWorkflowState();
           WorkflowEventProcessors.addWorkflowProcessors(
               zeebeState,
@@ -120,7 +124,8 @@ public class WorkflowInstanceStreamProcessorRule extends ExternalResource
               new CatchEventBehavior(zeebeState, mockSubscriptionCommandSender, 1),
               new DueDateTimerChecker(workflowState));
 
-          JobEventProcessors.addJobProcessors(typedRecordProcessors, zeebeState);
+          JobEventProcessors.addJobProcessors(
+              typedRecordProcessors, zeebeState, processingContext.getActor(), jobType -> {});
           typedRecordProcessors.withListener(this);
           return typedRecordProcessors;
         });
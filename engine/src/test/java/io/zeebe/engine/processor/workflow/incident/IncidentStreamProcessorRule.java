@@ -27,6 +27,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import io.zeebe.engine.processor.TypedRecord;
+import io.zeebe.engine.processor.TypedRecordProcessors;
 import io.zeebe.engine.processor.workflow.BpmnStepProcessor;
 import io.zeebe.engine.processor.workflow.CatchEventBehavior;
 import io.zeebe.engine.processor.workflow.WorkflowEventProcessors;
@@ -85,7 +86,9 @@ public class IncidentStreamProcessorRule extends ExternalResource {
         .thenReturn(true);
 
     environmentRule.startTypedStreamProcessor(
-        (typedRecordProcessors, zeebeState) -> {
+        processingContext -> {
+          final ZeebeState zeebeState = processingContext.getZeebeState();
+          final TypedRecordProcessors typedRecordProcessors = TypedRecordProcessors.processors();
           this.zeebeState = zeebeState;
           this.workflowState = zeebeState.getWorkflowState();
           final BpmnStepProcessor stepProcessor =
@@ -97,7 +100,8 @@ public class IncidentStreamProcessorRule extends ExternalResource {
                   mockTimerEventScheduler);
 
           IncidentEventProcessors.addProcessors(typedRecordProcessors, zeebeState, stepProcessor);
-          JobEventProcessors.addJobProcessors(typedRecordProcessors, zeebeState);
+          JobEventProcessors.addJobProcessors(
+              typedRecordProcessors, zeebeState, processingContext.getActor(), jobType -> {});
           return typedRecordProcessors;
         });
   }
@@ -18,17 +18,28 @@
 package io.zeebe.engine.processor.workflow.job;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.processor.ProcessingContext;
 import io.zeebe.engine.processor.TypedStreamWriter;
 import io.zeebe.engine.state.instance.JobState;
 import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.time.Duration;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -41,40 +52,133 @@ public class JobTimeoutTriggerTest {
   @Rule public final ZeebeStateRule stateRule = new ZeebeStateRule();
 
   @Mock private ActorControl someActor;
+  @Mock private LogStream logStream;
 
   @Mock private TypedStreamWriter typedStreamWriter;
+  private JobState jobState;
   private JobTimeoutTrigger jobTimeoutTrigger;
+  private ProcessingContext processingContext;
 
   @Before
   public void setUp() {
     initMocks(this);
 
-    final JobState jobState = stateRule.getZeebeState().getJobState();
+    jobState = stateRule.getZeebeState().getJobState();
     jobTimeoutTrigger = new JobTimeoutTrigger(jobState);
 
-    final ProcessingContext processingContext =
-        new ProcessingContext().actor(someActor).logStreamWriter(typedStreamWriter);
-    jobTimeoutTrigger.onRecovered(processingContext);
+    processingContext =
+        new ProcessingContext()
+            .actor(someActor)
+            .logStream(logStream)
+            .logStreamWriter(typedStreamWriter)
+            .metricsManager(new MetricsManager());
+
+    when(typedStreamWriter.flush()).thenReturn(1L);
+  }
 
-    jobState.activate(0, newJobRecord());
-    jobState.activate(1, newJobRecord());
-    jobState.activate(2, newJobRecord());
+  @After
+  public void tearDown() {
+    jobTimeoutTrigger.onClose();
   }
 
-  private JobRecord newJobRecord() {
+  private JobRecord newJobRecord(final long deadline) {
     final JobRecord jobRecord = new JobRecord();
 
     jobRecord.setRetries(2);
-    jobRecord.setDeadline(256L);
+    jobRecord.setDeadline(deadline);
     jobRecord.setType("test");
 
     return jobRecord;
   }
 
   @Test
-  public void shouldNotWriteAgainAfterFlushFailed() {
+  public void shouldTimeOutJobsInOneBatch() {
+    // given
+    jobTimeoutTrigger.onRecovered(processingContext);
+
+    jobState.activate(0, newJobRecord(256L));
+    jobState.activate(1, newJobRecord(257L));
+    jobState.activate(2, newJobRecord(258L));
+
+    // when
+    jobTimeoutTrigger.deactivateTimedOutJobs();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(0L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(1L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(2L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder.verify(typedStreamWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldTimeOutJobsWhichWereActivatedBeforeRecovery() {
+    // given
+    jobState.activate(0, newJobRecord(256L));
+    jobState.activate(1, newJobRecord(257L));
+
+    // when
+    jobTimeoutTrigger.onRecovered(processingContext);
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(0L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(1L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder.verify(typedStreamWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldNotTimeOutRemovedJobs() {
+    // given
+    jobTimeoutTrigger.onRecovered(processingContext);
+
+    final JobRecord completedJob = newJobRecord(256L);
+    jobState.activate(0, completedJob);
+    jobState.activate(1, newJobRecord(257L));
+    final JobRecord failedJob = newJobRecord(258L);
+    jobState.activate(2, failedJob);
+
+    jobState.delete(0, completedJob);
+    jobState.fail(2, failedJob);
+
+    // when
+    jobTimeoutTrigger.deactivateTimedOutJobs();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(1L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder.verify(typedStreamWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldTimeOutJobIfRemoveIsRolledBack() throws Exception {
     // given
-    when(typedStreamWriter.flush()).thenReturn(1L, -1L);
+    jobTimeoutTrigger.onRecovered(processingContext);
+
+    final JobRecord job = newJobRecord(256L);
+    jobState.activate(0, job);
+
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    transaction.run(() -> jobState.delete(0, job));
+    transaction.rollback();
 
     // when
     jobTimeoutTrigger.deactivateTimedOutJobs();
@@ -86,11 +190,87 @@ public class JobTimeoutTriggerTest {
         .verify(typedStreamWriter)
         .appendFollowUpCommand(eq(0L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
     inOrder.verify(typedStreamWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldNotScheduleTimeOutIfActivationIsRolledBack() throws Exception {
+    // given
+    jobTimeoutTrigger.onRecovered(processingContext);
+
+    // when
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    transaction.run(
+        () -> jobState.activate(0, newJobRecord(ActorClock.currentTimeMillis() + 1_000L)));
+    transaction.rollback();
+
+    // then
+    verify(someActor, never()).runDelayed(any(Duration.class), any(Runnable.class));
+  }
+
+  @Test
+  public void shouldWriteAgainAfterFlushFailed() {
+    // given
+    jobTimeoutTrigger.onRecovered(processingContext);
+
+    jobState.activate(0, newJobRecord(256L));
+    jobState.activate(1, newJobRecord(257L));
+
+    when(typedStreamWriter.flush()).thenReturn(-1L, 1L);
+
+    // when
+    jobTimeoutTrigger.deactivateTimedOutJobs();
+    jobTimeoutTrigger.deactivateTimedOutJobs();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(0L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
     inOrder
         .verify(typedStreamWriter)
         .appendFollowUpCommand(eq(1L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
     inOrder.verify(typedStreamWriter).flush();
     inOrder.verify(typedStreamWriter).reset();
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(0L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(1L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder.verify(typedStreamWriter).flush();
     inOrder.verifyNoMoreInteractions();
   }
+
+  @Test
+  public void shouldScheduleTimeOutForDeadline() {
+    // given
+    jobTimeoutTrigger.onRecovered(processingContext);
+    final long deadline = ActorClock.currentTimeMillis() + Duration.ofMinutes(5).toMillis();
+
+    // when
+    jobState.activate(0, newJobRecord(deadline));
+
+    // then
+    verify(someActor).runDelayed(any(Duration.class), any(Runnable.class));
+    verify(typedStreamWriter, never())
+        .appendFollowUpCommand(anyLong(), any(JobIntent.class), any(JobRecord.class), any());
+  }
+
+  @Test
+  public void shouldNotRescheduleForLaterDeadline() {
+    // given
+    jobTimeoutTrigger.onRecovered(processingContext);
+    final long deadline = ActorClock.currentTimeMillis() + Duration.ofMinutes(5).toMillis();
+    when(someActor.runDelayed(any(Duration.class), any(Runnable.class)))
+        .thenReturn(Mockito.mock(ScheduledTimer.class));
+
+    // when
+    jobState.activate(0, newJobRecord(deadline));
+    jobState.activate(1, newJobRecord(deadline + 1_000));
+
+    // then
+    verify(someActor, times(1)).runDelayed(any(Duration.class), any(Runnable.class));
+  }
 }
@@ -0,0 +1,173 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message;
+
+import static io.zeebe.test.util.MsgPackUtil.asMsgPack;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.engine.processor.TypedCommandWriter;
+import io.zeebe.engine.state.message.Message;
+import io.zeebe.engine.state.message.MessageState;
+import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.protocol.intent.MessageIntent;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.ActorControl;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class MessageTimeToLiveCheckerTest {
+
+  @Rule public ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private final ActorControl actor = mock(ActorControl.class);
+  private final TypedCommandWriter writer = mock(TypedCommandWriter.class);
+  private final List<Long> deletedMessageKeys = new ArrayList<>();
+
+  private MessageState messageState;
+  private MessageTimeToLiveChecker checker;
+  private long now;
+
+  @Before
+  public void setUp() {
+    messageState = stateRule.getZeebeState().getMessageState();
+
+    doAnswer(
+            invocation -> {
+              deletedMessageKeys.add(invocation.getArgument(0));
+              return null;
+            })
+        .when(writer)
+        .appendFollowUpCommand(anyLong(), eq(MessageIntent.DELETE), any());
+    when(writer.flush()).thenReturn(1L);
+
+    checker =
+        new MessageTimeToLiveChecker(
+            actor, writer, messageState, new MessageTimeToLiveMetrics(new MetricsManager(), "1"));
+    now = System.currentTimeMillis();
+  }
+
+  @Test
+  public void shouldDeleteExpiredMessages() {
+    // given
+    putMessage(1L, now - Duration.ofMinutes(10).toMillis());
+    putMessage(2L, now - Duration.ofMinutes(5).toMillis());
+    putMessage(3L, now - 1);
+    putMessage(4L, now + Duration.ofHours(1).toMillis());
+
+    // when
+    checker.run();
+
+    // then
+    assertThat(deletedMessageKeys).containsExactly(1L, 2L, 3L);
+    verify(actor, never()).submit(any());
+  }
+
+  @Test
+  public void shouldNotDeleteDeletedMessageAgain() {
+    // given
+    putMessage(1L, now - 1);
+    checker.run();
+    messageState.remove(1L);
+
+    // when
+    putMessage(2L, now - 1);
+    checker.run();
+
+    // then
+    assertThat(deletedMessageKeys).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldDeleteMessageAgainInNextSweepIfNotDeleted() {
+    // given
+    putMessage(1L, now - Duration.ofMinutes(10).toMillis());
+    putMessage(2L, now - 1);
+    checker.run();
+
+    // when
+    messageState.remove(2L);
+    checker.run();
+
+    // then
+    assertThat(deletedMessageKeys).containsExactly(1L, 2L, 1L);
+  }
+
+  @Test
+  public void shouldContinueInNextCycleIfManyMessagesExpired() {
+    // given
+    final int expiredMessages = MessageTimeToLiveChecker.MAX_EXPIRED_MESSAGES_PER_RUN + 10;
+    for (int i = 0; i < expiredMessages; i++) {
+      putMessage(i + 1, now - Duration.ofMinutes(10).toMillis() + i);
+    }
+
+    // when
+    checker.run();
+
+    // then
+    assertThat(deletedMessageKeys).hasSize(MessageTimeToLiveChecker.MAX_EXPIRED_MESSAGES_PER_RUN);
+
+    final ArgumentCaptor<Runnable> continuation = ArgumentCaptor.forClass(Runnable.class);
+    verify(actor).submit(continuation.capture());
+
+    // when
+    continuation.getValue().run();
+
+    // then
+    assertThat(deletedMessageKeys).hasSize(expiredMessages).doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void shouldRetryIfWriteFailed() {
+    // given
+    putMessage(1L, now - 1);
+    when(writer.flush()).thenReturn(-1L, 1L);
+
+    // when
+    checker.run();
+    checker.run();
+
+    // then
+    assertThat(deletedMessageKeys).containsExactly(1L, 1L);
+  }
+
+  private void putMessage(long key, long deadline) {
+    messageState.put(
+        new Message(
+            key,
+            wrapString("name"),
+            wrapString("correlationKey-" + key),
+            asMsgPack("{}"),
+            wrapString("id"),
+            deadline - now,
+            deadline));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.deployment;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.engine.processor.workflow.deployment.model.element.ExecutableWorkflow;
+import io.zeebe.util.metrics.MetricsManager;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+public class ExecutableWorkflowCacheTest {
+
+  private static final DirectBuffer RESOURCE = wrapString("resource");
+
+  private final ExecutableWorkflowCache cache =
+      new ExecutableWorkflowCache(2, new MetricsManager());
+  private final AtomicInteger transformations = new AtomicInteger();
+
+  @Test
+  public void shouldTransformWorkflowOnce() {
+    // when
+    final ExecutableWorkflow first = cache.acquire(1, RESOURCE, transformer("process"));
+    final ExecutableWorkflow second = cache.acquire(1, RESOURCE, transformer("process"));
+
+    // then
+    assertThat(first).isSameAs(second);
+    assertThat(transformations.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldTransformWorkflowIfResourceDiffers() {
+    // given
+    final ExecutableWorkflow first = cache.acquire(1, RESOURCE, transformer("process"));
+
+    // when
+    final ExecutableWorkflow second =
+        cache.acquire(1, wrapString("other resource"), transformer("process"));
+
+    // then
+    assertThat(first).isNotSameAs(second);
+    assertThat(transformations.get()).isEqualTo(2);
+    assertThat(cache.acquire(1, RESOURCE, transformer("process"))).isSameAs(first);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedWorkflow() {
+    // given
+    cache.release(1, cache.acquire(1, RESOURCE, transformer("process1")));
+    cache.release(2, cache.acquire(2, RESOURCE, transformer("process2")));
+    cache.release(1, cache.acquire(1, RESOURCE, transformer("process1")));
+
+    // when
+    cache.release(3, cache.acquire(3, RESOURCE, transformer("process3")));
+
+    // then
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.acquire(1, RESOURCE, transformer("process1"));
+    assertThat(transformations.get()).isEqualTo(3);
+    cache.acquire(2, RESOURCE, transformer("process2"));
+    assertThat(transformations.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldNotEvictAcquiredWorkflows() {
+    // given
+    final ExecutableWorkflow first = cache.acquire(1, RESOURCE, transformer("process1"));
+    cache.acquire(2, RESOURCE, transformer("process2"));
+
+    // when
+    cache.acquire(3, RESOURCE, transformer("process3"));
+
+    // then
+    assertThat(cache.size()).isEqualTo(3);
+    assertThat(cache.acquire(1, RESOURCE, transformer("process1"))).isSameAs(first);
+    assertThat(transformations.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldEvictReleasedWorkflow() {
+    // given
+    final ExecutableWorkflow first = cache.acquire(1, RESOURCE, transformer("process1"));
+    cache.acquire(2, RESOURCE, transformer("process2"));
+    cache.acquire(3, RESOURCE, transformer("process3"));
+
+    // when
+    cache.release(1, first);
+
+    // then
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.acquire(1, RESOURCE, transformer("process1"))).isNotSameAs(first);
+  }
+
+  private Supplier<ExecutableWorkflow> transformer(String processId) {
+    return () -> {
+      transformations.incrementAndGet();
+      return new ExecutableWorkflow(processId);
+    };
+  }
+}
@@ -20,9 +20,11 @@ package io.zeebe.engine.state.deployment;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.processor.KeyGenerator;
 import io.zeebe.engine.processor.workflow.deployment.model.element.AbstractFlowElement;
 import io.zeebe.engine.processor.workflow.deployment.model.element.ExecutableWorkflow;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.util.ZeebeStateRule;
 import io.zeebe.exporter.api.record.value.deployment.ResourceType;
@@ -335,6 +337,31 @@ public class WorkflowStateTest {
     Assertions.assertThat(serviceTask).isNotNull();
   }
 
+  @Test
+  public void shouldShareExecutableWorkflowBetweenPartitions() throws Exception {
+    // given
+    final ExecutableWorkflowCache cache = new ExecutableWorkflowCache();
+    final DeploymentRecord deploymentRecord = creatingDeploymentRecord(zeebeState);
+
+    try (ZeebeDb<ZbColumnFamilies> firstDb = stateRule.createNewDb();
+        ZeebeDb<ZbColumnFamilies> secondDb = stateRule.createNewDb()) {
+      final ZeebeState firstState = new ZeebeState(1, firstDb, firstDb.createContext(), cache);
+      final ZeebeState secondState = new ZeebeState(2, secondDb, secondDb.createContext(), cache);
+      firstState.getWorkflowState().putDeployment(1, deploymentRecord);
+      secondState.getWorkflowState().putDeployment(1, deploymentRecord);
+
+      // when
+      final DeployedWorkflow firstWorkflow =
+          firstState.getWorkflowState().getWorkflowByKey(FIRST_WORKFLOW_KEY);
+      final DeployedWorkflow secondWorkflow =
+          secondState.getWorkflowState().getWorkflowByKey(FIRST_WORKFLOW_KEY);
+
+      // then
+      assertThat(firstWorkflow.getWorkflow()).isSameAs(secondWorkflow.getWorkflow());
+      assertThat(cache.size()).isEqualTo(1);
+    }
+  }
+
   @Test
   public void shouldGetExecutableWorkflowByLatestWorkflow() {
     // given
@@ -20,6 +20,7 @@ package io.zeebe.engine.state.instance;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.instance.StoredRecord.Purpose;
 import io.zeebe.engine.util.ZeebeStateRule;
@@ -305,6 +306,90 @@ public class ElementInstanceStateTest {
     assertElementInstance(oldInstance, 0);
   }
 
+  @Test
+  public void shouldNotReturnUpdatedInstanceAfterRollback() throws Exception {
+    // given
+    final WorkflowInstanceRecord workflowInstanceRecord = createWorkflowInstanceRecord();
+    elementInstanceState.newInstance(
+        100, workflowInstanceRecord, WorkflowInstanceIntent.ELEMENT_ACTIVATED);
+
+    // when
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    transaction.run(
+        () -> {
+          final ElementInstance instance = elementInstanceState.getInstance(100);
+          instance.spawnToken();
+          instance.setJobKey(5);
+          elementInstanceState.updateInstance(instance);
+
+          assertThat(elementInstanceState.getInstance(100).getJobKey()).isEqualTo(5);
+        });
+    transaction.rollback();
+
+    // then
+    final ElementInstance instance = elementInstanceState.getInstance(100);
+    assertElementInstance(instance, 0);
+  }
+
+  @Test
+  public void shouldReturnUpdatedInstanceAfterCommit() throws Exception {
+    // given
+    final WorkflowInstanceRecord workflowInstanceRecord = createWorkflowInstanceRecord();
+    elementInstanceState.newInstance(
+        100, workflowInstanceRecord, WorkflowInstanceIntent.ELEMENT_ACTIVATED);
+
+    // when
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    transaction.run(
+        () -> {
+          final ElementInstance instance = elementInstanceState.getInstance(100);
+          instance.setJobKey(5);
+          elementInstanceState.updateInstance(instance);
+        });
+    transaction.commit();
+
+    // then
+    assertThat(elementInstanceState.getInstance(100).getJobKey()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldReturnRemovedInstanceAfterRollback() throws Exception {
+    // given
+    final WorkflowInstanceRecord workflowInstanceRecord = createWorkflowInstanceRecord();
+    elementInstanceState.newInstance(
+        100, workflowInstanceRecord, WorkflowInstanceIntent.ELEMENT_ACTIVATED);
+
+    // when
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    transaction.run(
+        () -> {
+          elementInstanceState.removeInstance(100);
+
+          assertThat(elementInstanceState.getInstance(100)).isNull();
+        });
+    transaction.rollback();
+
+    // then
+    assertElementInstance(elementInstanceState.getInstance(100), 0);
+  }
+
+  @Test
+  public void shouldNotModifyCachedInstance() {
+    // given
+    final WorkflowInstanceRecord workflowInstanceRecord = createWorkflowInstanceRecord();
+    elementInstanceState.newInstance(
+        100, workflowInstanceRecord, WorkflowInstanceIntent.ELEMENT_ACTIVATED);
+
+    // when
+    final ElementInstance instance = elementInstanceState.getInstance(100);
+    instance.spawnToken();
+    instance.setState(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    instance.getValue().setElementId("other");
+
+    // then
+    assertElementInstance(elementInstanceState.getInstance(100), 0);
+  }
+
   @Test
   public void shouldCollectChildInstances() {
     // given
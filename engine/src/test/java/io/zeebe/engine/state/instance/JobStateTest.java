@@ -331,6 +331,26 @@ public class JobStateTest {
     assertThat(jobKeys).containsExactly(256L, 65536L);
   }
 
+  @Test
+  public void shouldListActivatableJobsOfTypesWithSameLength() {
+    // given
+    jobState.create(1, newJobRecord().setType("aaaa"));
+    jobState.create(2, newJobRecord().setType("bbbb"));
+    jobState.create(3, newJobRecord().setType("aaaa"));
+    jobState.create(4, newJobRecord().setType("aaab"));
+    jobState.create(5, newJobRecord().setType("bbbb"));
+
+    // when
+    final List<Long> jobKeysA = getActivatableKeys(wrapString("aaaa"));
+    final List<Long> jobKeysB = getActivatableKeys(wrapString("bbbb"));
+    final List<Long> jobKeysC = getActivatableKeys(wrapString("cccc"));
+
+    // then
+    assertThat(jobKeysA).containsExactly(1L, 3L);
+    assertThat(jobKeysB).containsExactly(2L, 5L);
+    assertThat(jobKeysC).isEmpty();
+  }
+
   @Test
   public void shouldNotDoAnythingIfNoActivatableJobs() {
     // given
@@ -155,6 +155,33 @@ public class VariableStateTest {
     MsgPackUtil.assertEquality(variablesDocument, "{'a': 1, 'b': 3}");
   }
 
+  @Test
+  public void shouldNotCollectHiddenVariablesOfLargeScopes() {
+    // given
+    declareScope(parent);
+    declareScope(parent, child);
+
+    final StringBuilder expectedDocument = new StringBuilder("{");
+    for (int i = 0; i < 1_000; i++) {
+      final DirectBuffer name = wrapString("variable" + i);
+      setVariableLocal(parent, name, MsgPackUtil.asMsgPack("1"));
+
+      if (i % 2 == 0) {
+        setVariableLocal(child, name, MsgPackUtil.asMsgPack("2"));
+      }
+
+      expectedDocument.append(i > 0 ? ", " : "").append("'variable").append(i).append("': ");
+      expectedDocument.append(i % 2 == 0 ? 2 : 1);
+    }
+    expectedDocument.append("}");
+
+    // when
+    final DirectBuffer variablesDocument = variablesState.getVariablesAsDocument(child);
+
+    // then
+    MsgPackUtil.assertEquality(variablesDocument, expectedDocument.toString());
+  }
+
   @Test
   public void shouldNotCollectVariablesFromChildScope() {
     // given
@@ -0,0 +1,164 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.message;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MessageCorrelationFilterTest {
+
+  private final List<String> correlationKeys = new ArrayList<>();
+  private int loadCount;
+
+  private MessageCorrelationFilter filter;
+
+  @Before
+  public void setUp() {
+    filter =
+        new MessageCorrelationFilter(
+            f -> {
+              loadCount += 1;
+              correlationKeys.forEach(key -> f.add(wrapString("message"), wrapString(key)));
+            });
+  }
+
+  @Test
+  public void shouldLoadPairsOnFirstUse() {
+    // given
+    correlationKeys.add("key-1");
+
+    // when
+    final boolean mayContain = filter.mayContain(wrapString("message"), wrapString("key-1"));
+
+    // then
+    assertThat(mayContain).isTrue();
+    assertThat(loadCount).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldContainAddedPair() {
+    // given
+    filter.mayContain(wrapString("message"), wrapString("key-1"));
+
+    // when
+    filter.add(wrapString("message"), wrapString("key-2"));
+
+    // then
+    assertThat(filter.mayContain(wrapString("message"), wrapString("key-2"))).isTrue();
+    assertThat(loadCount).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotContainOtherPairs() {
+    // given
+    for (int i = 0; i < 1_000; i++) {
+      correlationKeys.add("key-" + i);
+    }
+
+    // when
+    int falsePositives = 0;
+    for (int i = 1_000; i < 11_000; i++) {
+      if (filter.mayContain(wrapString("message"), wrapString("key-" + i))) {
+        falsePositives += 1;
+      }
+    }
+
+    // then
+    assertThat(falsePositives).isLessThan(100);
+    assertThat(filter.mayContain(wrapString("other"), wrapString("key-1"))).isFalse();
+  }
+
+  @Test
+  public void shouldContainAllLoadedPairs() {
+    // given
+    for (int i = 0; i < 100_000; i++) {
+      correlationKeys.add("key-" + i);
+    }
+
+    // when - then
+    for (int i = 0; i < 100_000; i++) {
+      assertThat(filter.mayContain(wrapString("message"), wrapString("key-" + i))).isTrue();
+    }
+    // the filter grows to the number of pairs and loads them again
+    assertThat(loadCount).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReloadWhenManyPairsAdded() {
+    // given
+    filter.mayContain(wrapString("message"), wrapString("key"));
+
+    // when
+    for (int i = 0; i < 10_000; i++) {
+      filter.add(wrapString("message"), wrapString("key-" + i));
+    }
+    filter.onCommit();
+
+    // then
+    assertThat(filter.mayContain(wrapString("message"), wrapString("key-1"))).isFalse();
+    assertThat(loadCount).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotReloadWithUncommittedChanges() {
+    // given
+    correlationKeys.add("key");
+    filter.mayContain(wrapString("message"), wrapString("key"));
+
+    correlationKeys.remove("key");
+    filter.remove();
+
+    // when
+    for (int i = 0; i < 10_000; i++) {
+      filter.add(wrapString("message"), wrapString("key-" + i));
+    }
+
+    // then
+    assertThat(filter.mayContain(wrapString("message"), wrapString("key"))).isTrue();
+    assertThat(filter.mayContain(wrapString("message"), wrapString("other"))).isTrue();
+    assertThat(loadCount).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldContainRemovedPairAfterRollback() {
+    // given
+    correlationKeys.add("key");
+    filter.mayContain(wrapString("message"), wrapString("key"));
+
+    correlationKeys.remove("key");
+    filter.remove();
+
+    for (int i = 0; i < 10_000; i++) {
+      filter.add(wrapString("message"), wrapString("key-" + i));
+    }
+    filter.mayContain(wrapString("message"), wrapString("key"));
+
+    // when
+    correlationKeys.add("key");
+    filter.onRollback();
+
+    // then
+    assertThat(filter.mayContain(wrapString("message"), wrapString("key"))).isTrue();
+    assertThat(loadCount).isEqualTo(2);
+  }
+}
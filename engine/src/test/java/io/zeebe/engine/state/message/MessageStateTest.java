@@ -100,6 +100,49 @@ public class MessageStateTest {
     assertThat(exist).isTrue();
   }
 
+  @Test
+  public void shouldExistIfPublishedAfterLookup() {
+    // given
+    messageState.exist(wrapString("name"), wrapString("correlationKey"), wrapString("id"));
+
+    final Message message = createMessage(1L, "name", "correlationKey", "{}", "id");
+    messageState.put(message);
+
+    // when
+    final boolean exist =
+        messageState.exist(wrapString("name"), wrapString("correlationKey"), wrapString("id"));
+
+    // then
+    assertThat(exist).isTrue();
+  }
+
+  @Test
+  public void shouldVisitDeadlinesInBucket() {
+    // given
+    final long bucketStart = 5L << MessageState.DEADLINE_BUCKET_SHIFT;
+    final long nextBucketStart = 6L << MessageState.DEADLINE_BUCKET_SHIFT;
+
+    messageState.put(createMessage(1L, "name", "correlationKey", "{}", "id", bucketStart - 1));
+    messageState.put(createMessage(2L, "name", "correlationKey", "{}", "id", nextBucketStart - 1));
+    messageState.put(createMessage(3L, "name", "correlationKey", "{}", "id", bucketStart));
+    messageState.put(createMessage(4L, "name", "correlationKey", "{}", "id", nextBucketStart));
+
+    // when
+    final List<Long> deadlines = new ArrayList<>();
+    final List<Long> keys = new ArrayList<>();
+    messageState.visitDeadlinesInBucket(
+        MessageState.getDeadlineBucket(bucketStart),
+        (deadline, messageKey) -> {
+          deadlines.add(deadline);
+          keys.add(messageKey);
+          return true;
+        });
+
+    // then
+    assertThat(deadlines).containsExactly(bucketStart, nextBucketStart - 1);
+    assertThat(keys).containsExactly(3L, 2L);
+  }
+
   @Test
   public void shouldVisitMessages() {
     // given
@@ -20,6 +20,7 @@ package io.zeebe.engine.state.message;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.util.ZeebeStateRule;
 import java.util.ArrayList;
@@ -111,6 +112,34 @@ public class MessageSubscriptionStateTest {
         .isEqualTo(subscription.getCommandSentTime());
   }
 
+  @Test
+  public void shouldVisitSubscriptionAfterRollbackOfRemove() throws Exception {
+    // given
+    final MessageSubscription subscription = subscription("messageName", "correlationKey", 1);
+    state.put(subscription);
+
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    transaction.run(
+        () -> {
+          state.remove(subscription);
+          state.visitSubscriptions(
+              wrapString("messageName"),
+              wrapString("correlationKey"),
+              s -> {
+                throw new AssertionError("Expected no subscription, but found " + s);
+              });
+        });
+    transaction.rollback();
+
+    // when
+    final List<MessageSubscription> subscriptions = new ArrayList<>();
+    state.visitSubscriptions(
+        wrapString("messageName"), wrapString("correlationKey"), subscriptions::add);
+
+    // then
+    assertThat(subscriptions).hasSize(1);
+  }
+
   @Test
   public void shouldVisitSubscriptionsInOrder() {
     // given
@@ -339,6 +368,24 @@ public class MessageSubscriptionStateTest {
     assertThat(keys).hasSize(1).contains(1L);
   }
 
+  @Test
+  public void shouldVisitSubscriptionOpenedAfterLookup() {
+    // given
+    state.visitSubscriptions(wrapString("messageName"), wrapString("correlationKey"), s -> true);
+
+    state.put(subscription("messageName", "correlationKey", 1L));
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    state.visitSubscriptions(
+        wrapString("messageName"),
+        wrapString("correlationKey"),
+        s -> keys.add(s.getElementInstanceKey()));
+
+    // then
+    assertThat(keys).containsExactly(1L);
+  }
+
   private MessageSubscription subscriptionWithElementInstanceKey(long elementInstanceKey) {
     return subscription("messageName", "correlationKey", elementInstanceKey);
   }
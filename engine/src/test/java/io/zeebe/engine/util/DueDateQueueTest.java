@@ -0,0 +1,135 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class DueDateQueueTest {
+
+  private final DueDateQueue queue = new DueDateQueue();
+
+  @Test
+  public void shouldBeEmpty() {
+    // then
+    assertThat(queue.isEmpty()).isTrue();
+    assertThat(queue.peekDueDate()).isEqualTo(-1L);
+  }
+
+  @Test
+  public void shouldPeekEarliestDueDate() {
+    // given
+    queue.add(1, 10, 300);
+    queue.add(2, 20, 100);
+    queue.add(3, 30, 200);
+
+    // then
+    assertThat(queue.size()).isEqualTo(3);
+    assertThat(queue.peekDueDate()).isEqualTo(100);
+    assertThat(queue.peekKey()).isEqualTo(2);
+    assertThat(queue.peekValue()).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldPollInOrderOfDueDates() {
+    // given
+    final Random random = new Random(42);
+    for (int i = 0; i < 1_000; i++) {
+      queue.add(i, i, random.nextInt(10_000));
+    }
+
+    // when
+    final List<Long> dueDates = new ArrayList<>();
+    while (!queue.isEmpty()) {
+      dueDates.add(queue.peekDueDate());
+      queue.poll();
+    }
+
+    // then
+    assertThat(dueDates).hasSize(1_000).isSorted();
+  }
+
+  @Test
+  public void shouldRemoveTimer() {
+    // given
+    queue.add(1, 10, 100);
+    queue.add(2, 20, 200);
+    queue.add(3, 30, 300);
+
+    // when
+    final boolean removed = queue.remove(1);
+
+    // then
+    assertThat(removed).isTrue();
+    assertThat(queue.size()).isEqualTo(2);
+    assertThat(queue.peekKey()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotRemoveUnknownTimer() {
+    // given
+    queue.add(1, 10, 100);
+
+    // when
+    final boolean removed = queue.remove(2);
+
+    // then
+    assertThat(removed).isFalse();
+    assertThat(queue.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepOrderAfterRemovingTimers() {
+    // given
+    for (int i = 0; i < 100; i++) {
+      queue.add(i, i, 1_000 - i);
+    }
+
+    // when
+    for (int i = 0; i < 100; i += 2) {
+      queue.remove(i);
+    }
+
+    // then
+    final List<Long> timerKeys = new ArrayList<>();
+    while (!queue.isEmpty()) {
+      timerKeys.add(queue.peekKey());
+      queue.poll();
+    }
+    assertThat(timerKeys).hasSize(50).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    assertThat(timerKeys).allMatch(key -> key % 2 == 1);
+  }
+
+  @Test
+  public void shouldReplaceTimerWithSameKey() {
+    // given
+    queue.add(1, 10, 100);
+    queue.add(2, 20, 200);
+
+    // when
+    queue.add(1, 10, 300);
+
+    // then
+    assertThat(queue.size()).isEqualTo(2);
+    assertThat(queue.peekKey()).isEqualTo(2);
+  }
+}
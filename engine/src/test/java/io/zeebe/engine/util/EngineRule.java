@@ -127,7 +127,11 @@ public class EngineRule extends ExternalResource implements StreamProcessorLifec
     environmentRule.startTypedStreamProcessor(
         (processingContext) ->
             EngineProcessors.createEngineProcessors(
-                    processingContext, 1, mockSubscriptionCommandSender, mockDeploymentDistributor)
+                    processingContext,
+                    1,
+                    mockSubscriptionCommandSender,
+                    mockDeploymentDistributor,
+                    jobType -> {})
                 .withListener(this));
   }
 
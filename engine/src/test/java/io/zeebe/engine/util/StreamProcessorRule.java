@@ -132,6 +132,11 @@ public class StreamProcessorRule implements TestRule {
         snapshotPeriod);
   }
 
+  public void setProcessingBatch(
+      final int maxBatchSize, final int maxBatchBytes, final Duration maxBatchDuration) {
+    streams.setProcessingBatch(maxBatchSize, maxBatchBytes, maxBatchDuration);
+  }
+
   public void closeStreamProcessor() throws Exception {
     streams.closeProcessor(STREAM_NAME);
   }
@@ -103,6 +103,10 @@ public class TestStreams {
   private ZeebeDb zeebeDb;
   private AsyncSnapshotDirector asyncSnapshotDirector;
 
+  private int maxBatchSize = 1;
+  private int maxBatchBytes = Integer.MAX_VALUE;
+  private Duration maxBatchDuration = Duration.ZERO;
+
   public TestStreams(
       final TemporaryFolder storageDirectory,
       final AutoCloseableRule closeables,
@@ -126,6 +130,13 @@ public class TestStreams {
     when(mockCommandResponseWriter.tryWriteResponse(anyInt(), anyLong())).thenReturn(true);
   }
 
+  public void setProcessingBatch(
+      final int maxBatchSize, final int maxBatchBytes, final Duration maxBatchDuration) {
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchBytes = maxBatchBytes;
+    this.maxBatchDuration = maxBatchDuration;
+  }
+
   public CommandResponseWriter getMockedResponseWriter() {
     return mockCommandResponseWriter;
   }
@@ -308,6 +319,7 @@ public class TestStreams {
             .actorScheduler(actorScheduler)
             .serviceContainer(serviceContainer)
             .commandResponseWriter(mockCommandResponseWriter)
+            .processingBatch(maxBatchSize, maxBatchBytes, maxBatchDuration)
             .streamProcessorFactory(
                 (context) -> {
                   final TypedRecordProcessors processors = factory.createProcessors(context);
@@ -0,0 +1,139 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor;
+
+import static io.zeebe.engine.processor.TypedRecordProcessors.processors;
+
+import io.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.zeebe.engine.util.TestStreams;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import io.zeebe.servicecontainer.impl.ServiceContainerImpl;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.util.sched.ActorScheduler;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Benchmark)
+public class ProcessingCtx {
+
+  private static final String STREAM_NAME = "stream";
+  private static final int PROCESSOR_ID = 1;
+
+  @Param({"1", "10", "100"})
+  public int maxBatchSize;
+
+  private final TemporaryFolder tempFolder = new TemporaryFolder();
+  private final AutoCloseableRule closeables = new AutoCloseableRule();
+
+  private final RecordMetadata metadata = new RecordMetadata();
+  private final WorkflowInstanceRecord value = new WorkflowInstanceRecord();
+
+  private ActorScheduler actorScheduler;
+  private ServiceContainerImpl serviceContainer;
+  private TestStreams streams;
+  private LogStreamWriterImpl writer;
+
+  StreamProcessor streamProcessor;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    tempFolder.create();
+
+    actorScheduler = ActorScheduler.newActorScheduler().setCpuBoundActorThreadCount(2).build();
+    actorScheduler.start();
+
+    serviceContainer = new ServiceContainerImpl(actorScheduler);
+    serviceContainer.start();
+
+    streams = new TestStreams(tempFolder, closeables, serviceContainer, actorScheduler);
+    final LogStream logStream = streams.createLogStream(STREAM_NAME);
+    writer = new LogStreamWriterImpl(logStream);
+
+    metadata
+        .protocolVersion(Protocol.PROTOCOL_VERSION)
+        .recordType(RecordType.EVENT)
+        .valueType(ValueType.WORKFLOW_INSTANCE)
+        .intent(WorkflowInstanceIntent.ELEMENT_ACTIVATING);
+    value.setWorkflowInstanceKey(1L).setElementId("task");
+
+    streams.setProcessingBatch(maxBatchSize, 64 * 1024, Duration.ofMillis(10));
+    streamProcessor =
+        streams.startStreamProcessor(
+            STREAM_NAME,
+            PROCESSOR_ID,
+            DefaultZeebeDbFactory.DEFAULT_DB_FACTORY,
+            context ->
+                processors()
+                    .onEvent(
+                        ValueType.WORKFLOW_INSTANCE,
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                        new TypedRecordProcessor<WorkflowInstanceRecord>() {
+                          @Override
+                          public void processRecord(
+                              TypedRecord<WorkflowInstanceRecord> record,
+                              TypedResponseWriter responseWriter,
+                              TypedStreamWriter streamWriter) {
+                            streamWriter.appendFollowUpEvent(
+                                record.getKey(),
+                                WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                                record.getValue());
+                          }
+                        }));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    streams.closeProcessor(STREAM_NAME);
+    closeables.after();
+    serviceContainer.close(10, TimeUnit.SECONDS);
+    actorScheduler.stop().get();
+    tempFolder.delete();
+  }
+
+  long writeRecord() {
+    long position = -1L;
+    while (position < 0) {
+      writer.reset();
+      writer.keyNull();
+      writer.metadataWriter(metadata);
+      writer.valueWriter(value);
+      position = writer.tryWrite();
+    }
+    return position;
+  }
+
+  void awaitProcessed(final long position) {
+    while (streamProcessor.getLastProcessedPositionAsync().join() < position) {
+      Thread.yield();
+    }
+  }
+}
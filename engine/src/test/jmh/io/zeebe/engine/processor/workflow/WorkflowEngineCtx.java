@@ -0,0 +1,275 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow;
+
+import static io.zeebe.test.util.MsgPackUtil.asMsgPack;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.engine.processor.StreamProcessor;
+import io.zeebe.engine.processor.workflow.deployment.distribute.DeploymentDistributor;
+import io.zeebe.engine.processor.workflow.deployment.distribute.PendingDeploymentDistribution;
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSender;
+import io.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.zeebe.engine.util.TestStreams;
+import io.zeebe.exporter.api.record.value.deployment.ResourceType;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.model.bpmn.BpmnModelInstance;
+import io.zeebe.protocol.BpmnElementType;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.intent.DeploymentIntent;
+import io.zeebe.protocol.intent.WorkflowInstanceCreationIntent;
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import io.zeebe.servicecontainer.impl.ServiceContainerImpl;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Runs the engine processors on a log stream and deploys one of the following workflows:
+ *
+ * <ul>
+ *   <li>{@code scopes}: a workflow with nested scopes, parallel branches and an exclusive gateway,
+ *       so the element instances are looked up several times per processed record
+ *   <li>{@code straight-through}: a sequence of ten elements which don't wait for anything, so most
+ *       of the time is spent to dispatch the records to the step handlers
+ * </ul>
+ */
+@State(Scope.Benchmark)
+public class WorkflowEngineCtx {
+
+  private static final String STREAM_NAME = "stream";
+  private static final int PROCESSOR_ID = 1;
+  private static final String PROCESS_ID = "process";
+
+  private static final BpmnModelInstance SCOPES_WORKFLOW =
+      Bpmn.createExecutableProcess(PROCESS_ID)
+          .startEvent()
+          .parallelGateway("fork")
+          .subProcess("sub-1")
+          .embeddedSubProcess()
+          .startEvent()
+          .endEvent()
+          .subProcessDone()
+          .parallelGateway("join")
+          .exclusiveGateway("split")
+          .sequenceFlowId("to-other-end")
+          .condition("foo > 10")
+          .endEvent("other-end")
+          .moveToLastExclusiveGateway()
+          .defaultFlow()
+          .endEvent("end")
+          .moveToNode("fork")
+          .subProcess("sub-2")
+          .embeddedSubProcess()
+          .startEvent()
+          .endEvent()
+          .subProcessDone()
+          .connectTo("join")
+          .moveToNode("fork")
+          .subProcess("sub-3")
+          .embeddedSubProcess()
+          .startEvent()
+          .endEvent()
+          .subProcessDone()
+          .connectTo("join")
+          .done();
+
+  private static final BpmnModelInstance STRAIGHT_THROUGH_WORKFLOW =
+      Bpmn.createExecutableProcess(PROCESS_ID)
+          .startEvent()
+          .parallelGateway()
+          .parallelGateway()
+          .parallelGateway()
+          .parallelGateway()
+          .parallelGateway()
+          .parallelGateway()
+          .parallelGateway()
+          .parallelGateway()
+          .endEvent()
+          .done();
+
+  @Param({"scopes", "straight-through"})
+  public String workflow;
+
+  private final TemporaryFolder tempFolder = new TemporaryFolder();
+  private final AutoCloseableRule closeables = new AutoCloseableRule();
+
+  private final RecordMetadata metadata = new RecordMetadata();
+  private final WorkflowInstanceCreationRecord creationRecord =
+      new WorkflowInstanceCreationRecord();
+
+  private final RecordMetadata readMetadata = new RecordMetadata();
+  private final WorkflowInstanceRecord readRecord = new WorkflowInstanceRecord();
+
+  private ActorScheduler actorScheduler;
+  private ServiceContainerImpl serviceContainer;
+  private TestStreams streams;
+  private LogStreamWriterImpl writer;
+  private BufferedLogStreamReader reader;
+  private StreamProcessor streamProcessor;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    tempFolder.create();
+
+    actorScheduler = ActorScheduler.newActorScheduler().setCpuBoundActorThreadCount(2).build();
+    actorScheduler.start();
+
+    serviceContainer = new ServiceContainerImpl(actorScheduler);
+    serviceContainer.start();
+
+    streams = new TestStreams(tempFolder, closeables, serviceContainer, actorScheduler);
+    final LogStream logStream = streams.createLogStream(STREAM_NAME, Protocol.DEPLOYMENT_PARTITION);
+    writer = new LogStreamWriterImpl(logStream);
+    reader = new BufferedLogStreamReader(logStream);
+
+    final SubscriptionCommandSender subscriptionCommandSender =
+        mock(SubscriptionCommandSender.class);
+    final DeploymentDistributor deploymentDistributor = mockDeploymentDistributor();
+
+    streamProcessor =
+        streams.startStreamProcessor(
+            STREAM_NAME,
+            PROCESSOR_ID,
+            DefaultZeebeDbFactory.DEFAULT_DB_FACTORY,
+            context ->
+                EngineProcessors.createEngineProcessors(
+                    context, 1, subscriptionCommandSender, deploymentDistributor, jobType -> {}));
+
+    awaitProcessed(deployWorkflow());
+
+    metadata
+        .protocolVersion(Protocol.PROTOCOL_VERSION)
+        .recordType(RecordType.COMMAND)
+        .valueType(ValueType.WORKFLOW_INSTANCE_CREATION)
+        .intent(WorkflowInstanceCreationIntent.CREATE);
+    creationRecord.setBpmnProcessId(PROCESS_ID).setVariables(asMsgPack("foo", 5));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    streams.closeProcessor(STREAM_NAME);
+    closeables.after();
+    serviceContainer.close(10, TimeUnit.SECONDS);
+    actorScheduler.stop().get();
+    tempFolder.delete();
+  }
+
+  private DeploymentDistributor mockDeploymentDistributor() {
+    final DeploymentDistributor deploymentDistributor = mock(DeploymentDistributor.class);
+    when(deploymentDistributor.pushDeployment(anyLong(), anyLong(), any()))
+        .thenReturn(CompletableActorFuture.completed(null));
+
+    final DeploymentRecord deploymentRecord = new DeploymentRecord();
+    final UnsafeBuffer deploymentBuffer = new UnsafeBuffer(new byte[deploymentRecord.getLength()]);
+    deploymentRecord.write(deploymentBuffer, 0);
+
+    final PendingDeploymentDistribution deploymentDistribution =
+        mock(PendingDeploymentDistribution.class);
+    when(deploymentDistribution.getDeployment()).thenReturn(deploymentBuffer);
+    when(deploymentDistributor.removePendingDeployment(anyLong()))
+        .thenReturn(deploymentDistribution);
+
+    return deploymentDistributor;
+  }
+
+  private long deployWorkflow() {
+    final DeploymentRecord deploymentRecord = new DeploymentRecord();
+    deploymentRecord
+        .resources()
+        .add()
+        .setResourceName(wrapString("process.bpmn"))
+        .setResource(wrapString(Bpmn.convertToString(getWorkflow())))
+        .setResourceType(ResourceType.BPMN_XML);
+
+    return streams
+        .newRecord(STREAM_NAME)
+        .recordType(RecordType.COMMAND)
+        .intent(DeploymentIntent.CREATE)
+        .event(deploymentRecord)
+        .write();
+  }
+
+  private BpmnModelInstance getWorkflow() {
+    return "straight-through".equals(workflow) ? STRAIGHT_THROUGH_WORKFLOW : SCOPES_WORKFLOW;
+  }
+
+  long createWorkflowInstance() {
+    long position = -1L;
+    while (position < 0) {
+      writer.reset();
+      writer.keyNull();
+      writer.metadataWriter(metadata);
+      writer.valueWriter(creationRecord);
+      position = writer.tryWrite();
+    }
+    return position;
+  }
+
+  /** Waits until the given number of workflow instances are completed. */
+  void awaitCompletedWorkflowInstances(final int count) {
+    int completedInstances = 0;
+    while (completedInstances < count) {
+      if (!reader.hasNext()) {
+        Thread.yield();
+        continue;
+      }
+
+      final LoggedEvent event = reader.next();
+      event.readMetadata(readMetadata);
+
+      if (readMetadata.getValueType() == ValueType.WORKFLOW_INSTANCE
+          && readMetadata.getIntent() == WorkflowInstanceIntent.ELEMENT_COMPLETED) {
+        event.readValue(readRecord);
+
+        if (readRecord.getBpmnElementType() == BpmnElementType.PROCESS) {
+          completedInstances += 1;
+        }
+      }
+    }
+  }
+
+  private void awaitProcessed(final long position) {
+    while (streamProcessor.getLastProcessedPositionAsync().join() < position) {
+      Thread.yield();
+    }
+  }
+}
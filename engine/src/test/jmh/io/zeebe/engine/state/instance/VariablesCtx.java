@@ -0,0 +1,123 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.instance;
+
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A hierarchy of nested scopes with the given number of variables, which are spread evenly over the
+ * scopes. The benchmarks access the variables from the innermost scope.
+ */
+@State(Scope.Benchmark)
+public class VariablesCtx {
+
+  private static final long WORKFLOW_KEY = 1L;
+  private static final int ACCESSED_VARIABLES = 10;
+
+  @Param({"10", "1000", "10000"})
+  public int variables;
+
+  @Param({"1", "2", "3", "4", "5"})
+  public int depth;
+
+  private final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private ZeebeDb<ZbColumnFamilies> zeebeDb;
+  private long nextKey;
+
+  DbContext dbContext;
+  VariablesState variablesState;
+  long scopeKey;
+
+  // documents which update the accessed variables, they differ in the value of one variable
+  final DirectBuffer[] updateDocuments = new DirectBuffer[2];
+  final List<DirectBuffer> accessedVariableNames = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    tempFolder.create();
+
+    zeebeDb = DefaultZeebeDbFactory.DEFAULT_DB_FACTORY.createDb(tempFolder.newFolder());
+    dbContext = zeebeDb.createContext();
+    variablesState = new VariablesState(zeebeDb, dbContext, () -> ++nextKey);
+
+    final long[] scopes = new long[depth];
+    for (int i = 0; i < depth; i++) {
+      scopes[i] = i + 1;
+      if (i > 0) {
+        variablesState.createScope(scopes[i], scopes[i - 1]);
+      }
+    }
+    scopeKey = scopes[depth - 1];
+
+    final DirectBuffer value = BufferUtil.wrapArray(new byte[] {(byte) 0xa3, 'f', 'o', 'o'});
+    for (int i = 0; i < variables; i++) {
+      final DirectBuffer name = variableName(i);
+      variablesState.setVariableLocal(
+          scopes[i % depth], WORKFLOW_KEY, name, 0, name.capacity(), value, 0, value.capacity());
+    }
+
+    for (int i = 0; i < Math.min(ACCESSED_VARIABLES, variables); i++) {
+      accessedVariableNames.add(variableName(i));
+    }
+
+    updateDocuments[0] = updateDocument(0);
+    updateDocuments[1] = updateDocument(1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+    tempFolder.delete();
+  }
+
+  private static DirectBuffer variableName(int index) {
+    return BufferUtil.wrapString("variable" + index);
+  }
+
+  private DirectBuffer updateDocument(int changedValue) {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final MsgPackWriter writer = new MsgPackWriter();
+    writer.wrap(buffer, 0);
+
+    writer.writeMapHeader(accessedVariableNames.size());
+    for (int i = 0; i < accessedVariableNames.size(); i++) {
+      writer.writeString(accessedVariableNames.get(i));
+      writer.writeInteger(i == 0 ? changedValue : i);
+    }
+
+    return new UnsafeBuffer(buffer, 0, writer.getOffset());
+  }
+}
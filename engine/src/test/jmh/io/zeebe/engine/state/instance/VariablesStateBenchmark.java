@@ -0,0 +1,74 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.instance;
+
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the access of the variables of a scope hierarchy like the processors do it. Each
+ * operation is one transaction which sets or collects ten variables of the hierarchy, or collects
+ * all of its variables.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class VariablesStateBenchmark {
+
+  private int updates;
+  private DirectBuffer document;
+
+  @Benchmark
+  @Threads(1)
+  public void setVariablesFromDocument(final VariablesCtx ctx) {
+    // one of the variables changes, the others are written with the same value again
+    final DirectBuffer updateDocument = ctx.updateDocuments[updates++ & 1];
+
+    ctx.dbContext.runInTransaction(
+        () -> ctx.variablesState.setVariablesFromDocument(ctx.scopeKey, 1L, updateDocument));
+  }
+
+  @Benchmark
+  @Threads(1)
+  public DirectBuffer getVariablesByName(final VariablesCtx ctx) {
+    ctx.dbContext.runInTransaction(
+        () ->
+            document =
+                ctx.variablesState.getVariablesAsDocument(ctx.scopeKey, ctx.accessedVariableNames));
+    return document;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public DirectBuffer getAllVariables(final VariablesCtx ctx) {
+    ctx.dbContext.runInTransaction(
+        () -> document = ctx.variablesState.getVariablesAsDocument(ctx.scopeKey));
+    return document;
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.message;
+
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookups of a published message like the publish message processor does them. Each
+ * operation is one transaction which checks if the message id exists and visits the subscriptions
+ * of the message.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class MessageCorrelationBenchmark {
+
+  private int published;
+  private boolean exist;
+  private int visitedSubscriptions;
+
+  @Benchmark
+  @Threads(1)
+  public int publishMessage(final MessageCorrelationCtx ctx) {
+    final DirectBuffer correlationKey =
+        ctx.publishedCorrelationKeys[published++ % ctx.publishedCorrelationKeys.length];
+
+    ctx.dbContext.runInTransaction(
+        () -> {
+          exist =
+              ctx.messageState.exist(
+                  MessageCorrelationCtx.MESSAGE_NAME,
+                  correlationKey,
+                  MessageCorrelationCtx.MESSAGE_ID);
+
+          if (!exist) {
+            ctx.subscriptionState.visitSubscriptions(
+                MessageCorrelationCtx.MESSAGE_NAME,
+                correlationKey,
+                subscription -> {
+                  visitedSubscriptions += 1;
+                  return true;
+                });
+          }
+        });
+    return visitedSubscriptions;
+  }
+}
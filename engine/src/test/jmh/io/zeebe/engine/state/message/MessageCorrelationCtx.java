@@ -0,0 +1,100 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.message;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.engine.state.ZeebeState;
+import io.zeebe.protocol.Protocol;
+import org.agrona.DirectBuffer;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Opened message subscriptions and buffered messages with distinct correlation keys, and the
+ * correlation keys of the published messages. The given percentage of the published messages
+ * matches a subscription, the others have a correlation key without subscription.
+ */
+@State(Scope.Benchmark)
+public class MessageCorrelationCtx {
+
+  private static final int SUBSCRIPTIONS = 10_000;
+  private static final int PUBLISHED_MESSAGES = 1_000;
+
+  private static final DirectBuffer BUFFERED_MESSAGE_ID = wrapString("buffered");
+
+  static final DirectBuffer MESSAGE_NAME = wrapString("message");
+  static final DirectBuffer MESSAGE_ID = wrapString("published");
+
+  @Param({"0", "10", "100"})
+  public int matchPercentage;
+
+  private final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private ZeebeDb<ZbColumnFamilies> zeebeDb;
+
+  DbContext dbContext;
+  MessageState messageState;
+  MessageSubscriptionState subscriptionState;
+
+  final DirectBuffer[] publishedCorrelationKeys = new DirectBuffer[PUBLISHED_MESSAGES];
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    tempFolder.create();
+
+    zeebeDb = DefaultZeebeDbFactory.DEFAULT_DB_FACTORY.createDb(tempFolder.newFolder());
+    dbContext = zeebeDb.createContext();
+
+    final ZeebeState zeebeState = new ZeebeState(Protocol.DEPLOYMENT_PARTITION, zeebeDb, dbContext);
+    messageState = zeebeState.getMessageState();
+    subscriptionState = zeebeState.getMessageSubscriptionState();
+
+    // a message with another id is buffered for each subscription
+    for (int i = 0; i < SUBSCRIPTIONS; i++) {
+      final DirectBuffer correlationKey = wrapString("key-" + i);
+
+      subscriptionState.put(new MessageSubscription(i, i, MESSAGE_NAME, correlationKey, true));
+      messageState.put(
+          new Message(
+              i, MESSAGE_NAME, correlationKey, wrapString("{}"), BUFFERED_MESSAGE_ID, 1000, i));
+    }
+
+    for (int i = 0; i < PUBLISHED_MESSAGES; i++) {
+      final boolean matches = i % 100 < matchPercentage;
+      final String correlationKey = matches ? "key-" + (i * 7 % SUBSCRIPTIONS) : "published-" + i;
+
+      publishedCorrelationKeys[i] = wrapString(correlationKey);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+    tempFolder.delete();
+  }
+}
@@ -35,6 +35,21 @@ public interface Context {
    */
   void setFilter(RecordFilter filter);
 
+  /**
+   * Export the records as views, which read the properties of the record from the log when they are
+   * accessed, instead of copies. A view is reused for the next record, so an exporter must not use
+   * the record or its value after {@link io.zeebe.exporter.api.spi.Exporter#export} returned, but
+   * keep a {@link io.zeebe.exporter.api.record.Record#copy()} instead. By default, the records are
+   * copied.
+   *
+   * <p>A context which doesn't support views ignores this setting and keeps copying the records.
+   *
+   * @param enabled {@code true} to export the records as views
+   */
+  default void setRecordViewsEnabled(boolean enabled) {
+    // copies the records
+  }
+
   /** A filter to limit the records which are exported. */
   interface RecordFilter {
 
@@ -15,6 +15,9 @@
  */
 package io.zeebe.exporter.api.record;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 
 /** Represents a record published to the log stream. */
@@ -79,4 +82,27 @@ public interface Record<T extends RecordValue> {
 
   /** @return a JSON marshaled representation of this record */
   String toJson();
+
+  /**
+   * Writes a JSON marshaled representation of this record to the given stream. Implementations
+   * should override it to serialize the record without creating an intermediate string.
+   *
+   * @param outputStream the stream to write the UTF-8 encoded JSON to; it is not closed
+   * @throws IOException if the stream fails to write the JSON
+   */
+  default void writeJson(OutputStream outputStream) throws IOException {
+    outputStream.write(toJson().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns a record which stays valid after {@link io.zeebe.exporter.api.spi.Exporter#export}
+   * returned. An exporter which enabled record views (see {@link
+   * io.zeebe.exporter.api.context.Context#setRecordViewsEnabled(boolean)}) must copy a record which
+   * it keeps. By default, the records are already copies, and this returns the record itself.
+   *
+   * @return a copy of this record
+   */
+  default Record<T> copy() {
+    return this;
+  }
 }
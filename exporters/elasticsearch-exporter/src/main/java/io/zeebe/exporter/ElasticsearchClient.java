@@ -23,7 +23,9 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Map;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
@@ -31,7 +33,7 @@ import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
-import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
@@ -41,6 +43,8 @@ import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.slf4j.Logger;
@@ -54,6 +58,11 @@ public class ElasticsearchClient {
   private final Logger log;
   protected final RestHighLevelClient client;
   private BulkRequest bulkRequest;
+  private long bulkLastPosition = -1;
+
+  // the bulks which are sent but not acknowledged yet, in the order they were created
+  private final Deque<PendingBulk> pendingBulks = new ArrayDeque<>();
+  private long lastAcknowledgedPosition = -1;
 
   private final DateTimeFormatter formatter;
 
@@ -72,47 +81,74 @@ public class ElasticsearchClient {
   public void index(final Record<?> record) {
     final IndexRequest request =
         new IndexRequest(indexFor(record), typeFor(record), idFor(record))
-            .source(record.toJson(), XContentType.JSON);
+            .source(toJson(record), XContentType.JSON);
     bulk(request);
+    bulkLastPosition = record.getPosition();
+  }
+
+  private BytesReference toJson(final Record<?> record) {
+    final BytesStreamOutput output = new BytesStreamOutput();
+    try {
+      record.writeJson(output);
+    } catch (IOException e) {
+      throw new ElasticsearchExporterException("Failed to serialize record " + idFor(record), e);
+    }
+    return output.bytes();
   }
 
   public void bulk(final IndexRequest indexRequest) {
     bulkRequest.add(indexRequest);
   }
 
-  /** @return true if all bulk records where flushed successfully */
+  /**
+   * Sends the current bulk asynchronously and resends the failed items of previously sent bulks. It
+   * never waits for a pending bulk; if the maximum number of bulks is pending, the current bulk is
+   * kept.
+   *
+   * @return true if the current bulk was sent, false if it is kept and sent by the next flush
+   */
   public boolean flush() {
-    boolean success = true;
-    if (bulkRequest.numberOfActions() > 0) {
-      try {
-        final BulkResponse responses = client.bulk(bulkRequest, RequestOptions.DEFAULT);
-        success = checkBulkResponses(responses);
-      } catch (IOException e) {
-        throw new ElasticsearchExporterException("Failed to flush bulk", e);
-      }
+    processCompletedBulks();
 
-      if (success) {
-        // all records where flushed, create new bulk request, otherwise retry next time
-        bulkRequest = new BulkRequest();
-      }
+    if (bulkRequest.numberOfActions() == 0) {
+      return true;
+    }
+
+    if (pendingBulks.size() >= configuration.bulk.maxInFlightRequests) {
+      return false;
     }
 
-    return success;
+    final PendingBulk bulk = new PendingBulk(bulkLastPosition);
+    pendingBulks.add(bulk);
+    bulk.send(bulkRequest);
+
+    bulkRequest = new BulkRequest();
+    return true;
   }
 
-  private boolean checkBulkResponses(final BulkResponse responses) {
-    for (BulkItemResponse response : responses) {
-      if (response.isFailed()) {
-        log.warn("Failed to flush at least one bulk request {}", response.getFailureMessage());
-        return false;
+  /**
+   * @return the position of the last record which is indexed, together with all records before it,
+   *     as seen by the last flush
+   */
+  public long getLastAcknowledgedPosition() {
+    return lastAcknowledgedPosition;
+  }
+
+  private void processCompletedBulks() {
+    for (PendingBulk bulk : pendingBulks) {
+      if (bulk.isFailed()) {
+        bulk.resend();
       }
     }
 
-    return true;
+    while (!pendingBulks.isEmpty() && pendingBulks.peekFirst().isAcknowledged()) {
+      lastAcknowledgedPosition = pendingBulks.removeFirst().lastPosition;
+    }
   }
 
   public boolean shouldFlush() {
-    return bulkRequest.numberOfActions() >= configuration.bulk.size;
+    return bulkRequest.numberOfActions() >= configuration.bulk.size
+        || bulkRequest.estimatedSizeInBytes() >= configuration.bulk.memoryLimit;
   }
 
   /** @return true if request was acknowledged */
@@ -173,8 +209,6 @@ public class ElasticsearchClient {
   }
 
   private HttpAsyncClientBuilder setHttpClientConfigCallback(HttpAsyncClientBuilder builder) {
-    builder.setDefaultIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(1).build());
-
     if (configuration.authentication.isPresent()) {
       setupBasicAuthentication(builder);
     }
@@ -221,6 +255,75 @@ public class ElasticsearchClient {
     return configuration.index.prefix + "-" + valueTypeToString(valueType);
   }
 
+  private final class PendingBulk implements ActionListener<BulkResponse> {
+    private final long lastPosition;
+
+    private volatile BulkState state = BulkState.IN_FLIGHT;
+    private volatile BulkRequest request;
+
+    private PendingBulk(final long lastPosition) {
+      this.lastPosition = lastPosition;
+    }
+
+    private void send(final BulkRequest request) {
+      this.request = request;
+      state = BulkState.IN_FLIGHT;
+      client.bulkAsync(request, RequestOptions.DEFAULT, this);
+    }
+
+    private void resend() {
+      send(request);
+    }
+
+    @Override
+    public void onResponse(final BulkResponse responses) {
+      if (responses.hasFailures()) {
+        // only retry the items which failed, the others are indexed already
+        final BulkRequest failedItems = new BulkRequest();
+        for (BulkItemResponse response : responses) {
+          if (response.isFailed()) {
+            failedItems.add(request.requests().get(response.getItemId()));
+          }
+        }
+
+        log.warn(
+            "Failed to flush {} of {} items of bulk, retry them with next flush: {}",
+            failedItems.numberOfActions(),
+            request.numberOfActions(),
+            responses.buildFailureMessage());
+
+        request = failedItems;
+        complete(BulkState.FAILED);
+      } else {
+        complete(BulkState.ACKNOWLEDGED);
+      }
+    }
+
+    @Override
+    public void onFailure(final Exception e) {
+      log.warn("Failed to flush bulk, retry it with next flush", e);
+      complete(BulkState.FAILED);
+    }
+
+    private void complete(final BulkState state) {
+      this.state = state;
+    }
+
+    private boolean isFailed() {
+      return state == BulkState.FAILED;
+    }
+
+    private boolean isAcknowledged() {
+      return state == BulkState.ACKNOWLEDGED;
+    }
+  }
+
+  private enum BulkState {
+    IN_FLIGHT,
+    FAILED,
+    ACKNOWLEDGED
+  }
+
   private static String valueTypeToString(final ValueType valueType) {
     return valueType.name().toLowerCase().replaceAll("_", "-");
   }
@@ -29,6 +29,9 @@ public class ElasticsearchExporter implements Exporter {
 
   public static final String ZEEBE_RECORD_TEMPLATE_JSON = "/zeebe-record-template.json";
 
+  // the delay to send a kept bulk again if the maximum number of bulks was pending
+  public static final Duration FLUSH_RETRY_DELAY = Duration.ofMillis(100);
+
   private Logger log;
   private Controller controller;
 
@@ -38,6 +41,7 @@ public class ElasticsearchExporter implements Exporter {
 
   private long lastPosition = -1;
   private boolean indexTemplatesCreated;
+  private boolean isFlushRetryScheduled;
 
   @Override
   public void configure(Context context) {
@@ -47,6 +51,8 @@ public class ElasticsearchExporter implements Exporter {
     log.debug("Exporter configured with {}", configuration);
 
     context.setFilter(new ElasticsearchRecordFilter(configuration));
+    // the records are serialized on export and not kept
+    context.setRecordViewsEnabled(true);
   }
 
   @Override
@@ -64,7 +70,12 @@ public class ElasticsearchExporter implements Exporter {
 
   @Override
   public void close() {
-    flush();
+    if (!client.flush()) {
+      log.warn(
+          "Failed to flush bulk on close, {} bulks are still pending",
+          configuration.bulk.maxInFlightRequests);
+    }
+    updateLastPosition();
 
     try {
       client.close();
@@ -81,9 +92,9 @@ public class ElasticsearchExporter implements Exporter {
     }
 
     client.index(record);
-    lastPosition = record.getPosition();
 
-    if (client.shouldFlush()) {
+    // while a retry is scheduled, the bulk can't be sent and the records are aggregated
+    if (client.shouldFlush() && !isFlushRetryScheduled) {
       flush();
     }
   }
@@ -97,11 +108,29 @@ public class ElasticsearchExporter implements Exporter {
     controller.scheduleTask(Duration.ofSeconds(configuration.bulk.delay), this::flushAndReschedule);
   }
 
+  private void retryFlush() {
+    isFlushRetryScheduled = false;
+    flush();
+  }
+
   private void flush() {
-    if (client.flush()) {
+    if (!client.flush() && !isFlushRetryScheduled) {
+      // don't wait on the exporter's thread for a pending bulk, try again after a short delay
+      log.debug(
+          "Failed to flush bulk, {} bulks are still pending",
+          configuration.bulk.maxInFlightRequests);
+      isFlushRetryScheduled = true;
+      controller.scheduleTask(FLUSH_RETRY_DELAY, this::retryFlush);
+    }
+    updateLastPosition();
+  }
+
+  private void updateLastPosition() {
+    // the bulks are indexed asynchronously, so the position only includes the acknowledged ones
+    final long acknowledgedPosition = client.getLastAcknowledgedPosition();
+    if (acknowledgedPosition > lastPosition) {
+      lastPosition = acknowledgedPosition;
       controller.updateLastExportedRecordPosition(lastPosition);
-    } else {
-      log.warn("Failed to flush bulk completely");
     }
   }
 
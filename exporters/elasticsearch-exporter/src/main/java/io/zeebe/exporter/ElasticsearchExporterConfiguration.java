@@ -115,10 +115,23 @@ public class ElasticsearchExporterConfiguration {
     public int delay = 5;
     // bulk size before flush
     public int size = 1_000;
+    // bulk size in bytes before flush
+    public int memoryLimit = 10 * 1024 * 1024;
+    // number of bulks which are sent but not acknowledged yet
+    public int maxInFlightRequests = 2;
 
     @Override
     public String toString() {
-      return "BulkConfiguration{" + "delay=" + delay + ", size=" + size + '}';
+      return "BulkConfiguration{"
+          + "delay="
+          + delay
+          + ", size="
+          + size
+          + ", memoryLimit="
+          + memoryLimit
+          + ", maxInFlightRequests="
+          + maxInFlightRequests
+          + '}';
     }
   }
 
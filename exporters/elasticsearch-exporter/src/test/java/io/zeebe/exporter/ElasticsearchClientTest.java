@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.ZbLogger;
+import java.util.Collections;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ElasticsearchClientTest {
+
+  private ElasticsearchExporterConfiguration config;
+  private ElasticsearchClient client;
+
+  @Before
+  public void setUp() {
+    config = new ElasticsearchExporterConfiguration();
+    // no elasticsearch is listening, so the bulks are never acknowledged
+    config.url = "http://localhost:1";
+    config.bulk.maxInFlightRequests = 1;
+
+    client = new ElasticsearchClient(config, new ZbLogger("test"));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    client.close();
+  }
+
+  @Test
+  public void shouldNotWaitForPendingBulk() {
+    // given
+    client.bulk(newIndexRequest("1"));
+    assertThat(client.flush()).isTrue();
+
+    // when
+    client.bulk(newIndexRequest("2"));
+    final long startTime = System.currentTimeMillis();
+    final boolean flushed = client.flush();
+
+    // then
+    assertThat(flushed).isFalse();
+    assertThat(System.currentTimeMillis() - startTime).isLessThan(1_000L);
+    assertThat(client.getLastAcknowledgedPosition()).isEqualTo(-1L);
+  }
+
+  private static IndexRequest newIndexRequest(final String id) {
+    return new IndexRequest("index", "_doc", id).source(Collections.emptyMap());
+  }
+}
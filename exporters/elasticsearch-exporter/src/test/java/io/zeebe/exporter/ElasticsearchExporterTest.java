@@ -223,18 +223,37 @@ public class ElasticsearchExporterTest {
   public void shouldUpdateLastPositionOnFlush() {
     // given
     when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.getLastAcknowledgedPosition()).thenReturn(123L);
 
     // when
     createAndOpenExporter();
-    final Record record =
-        testHarness.export(
-            r ->
-                r.getMetadata()
-                    .setValueType(ValueType.WORKFLOW_INSTANCE)
-                    .setRecordType(RecordType.EVENT));
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+
+    // then
+    assertThat(testHarness.getController().getPosition()).isEqualTo(123L);
+  }
+
+  @Test
+  public void shouldNotUpdateLastPositionIfBulkIsNotAcknowledged() {
+    // given
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.getLastAcknowledgedPosition()).thenReturn(-1L);
+
+    // when
+    createAndOpenExporter();
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
 
     // then
-    assertThat(testHarness.getController().getPosition()).isEqualTo(record.getPosition());
+    verify(esClient).flush();
+    assertThat(testHarness.getController().getPosition()).isEqualTo(-1L);
   }
 
   @Test
@@ -292,6 +311,7 @@ public class ElasticsearchExporterTest {
                         .setValueType(ValueType.WORKFLOW_INSTANCE)
                         .setRecordType(RecordType.EVENT))
             .export(4);
+    when(esClient.getLastAcknowledgedPosition()).thenReturn(exported.get(3).getPosition());
     testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
 
     // then record was indexed and the exporter record position was updated
@@ -299,6 +319,32 @@ public class ElasticsearchExporterTest {
     assertThat(testHarness.getController().getPosition()).isEqualTo(exported.get(3).getPosition());
   }
 
+  @Test
+  public void shouldRetryFlushIfBulksArePending() {
+    // given
+    config.bulk.delay = 10;
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.flush()).thenReturn(false, true);
+    createAndOpenExporter();
+
+    // when
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+
+    // then
+    verify(esClient).flush();
+    assertThat(testHarness.getController().getScheduledTasks())
+        .extracting(t -> t.getDelay())
+        .contains(ElasticsearchExporter.FLUSH_RETRY_DELAY);
+
+    // and
+    testHarness.getController().runScheduledTasks(ElasticsearchExporter.FLUSH_RETRY_DELAY);
+    verify(esClient, times(2)).flush();
+  }
+
   private ElasticsearchExporter createExporter() {
     return createExporter(esClient);
   }
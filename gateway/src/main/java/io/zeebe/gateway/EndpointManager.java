@@ -31,9 +31,11 @@ import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
 import io.zeebe.gateway.impl.broker.response.BrokerRejection;
 import io.zeebe.gateway.impl.job.ActivateJobsHandler;
+import io.zeebe.gateway.impl.job.JobStreamHandler;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
 import io.zeebe.gateway.protocol.GatewayOuterClass.BrokerInfo;
 import io.zeebe.gateway.protocol.GatewayOuterClass.BrokerInfo.Builder;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceRequest;
@@ -54,6 +56,7 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.TopologyRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.TopologyResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesRequest;
@@ -63,17 +66,23 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class EndpointManager extends GatewayGrpc.GatewayImplBase {
 
   private final BrokerClient brokerClient;
   private final BrokerTopologyManager topologyManager;
   private final ActivateJobsHandler activateJobsHandler;
+  private final Supplier<JobStreamHandler> jobStreamHandlerSupplier;
 
-  public EndpointManager(final BrokerClient brokerClient) {
+  public EndpointManager(
+      final BrokerClient brokerClient,
+      final ActivateJobsHandler activateJobsHandler,
+      final Supplier<JobStreamHandler> jobStreamHandlerSupplier) {
     this.brokerClient = brokerClient;
     this.topologyManager = brokerClient.getTopologyManager();
-    this.activateJobsHandler = new ActivateJobsHandler(brokerClient);
+    this.activateJobsHandler = activateJobsHandler;
+    this.jobStreamHandlerSupplier = jobStreamHandlerSupplier;
   }
 
   @Override
@@ -238,6 +247,23 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
     activateJobsHandler.activateJobs(topology.getPartitionsCount(), request, responseObserver);
   }
 
+  @Override
+  public StreamObserver<StreamActivatedJobsRequest> streamActivatedJobs(
+      StreamObserver<ActivatedJob> responseObserver) {
+    final JobStreamHandler jobStreamHandler = jobStreamHandlerSupplier.get();
+    if (jobStreamHandler == null) {
+      responseObserver.onError(
+          Status.FAILED_PRECONDITION
+              .augmentDescription(
+                  "Expected to stream activated jobs, but long polling is disabled in the gateway")
+              .asRuntimeException());
+      return new IgnoringStreamObserver<>();
+    }
+
+    final BrokerClusterState topology = topologyManager.getTopology();
+    return jobStreamHandler.openStream(topology.getPartitionsCount(), responseObserver);
+  }
+
   @Override
   public void resolveIncident(
       ResolveIncidentRequest request, StreamObserver<ResolveIncidentResponse> responseObserver) {
@@ -340,4 +366,16 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
 
     return status.augmentDescription(description);
   }
+
+  private static final class IgnoringStreamObserver<T> implements StreamObserver<T> {
+
+    @Override
+    public void onNext(T value) {}
+
+    @Override
+    public void onError(Throwable throwable) {}
+
+    @Override
+    public void onCompleted() {}
+  }
 }
@@ -22,6 +22,12 @@ import io.grpc.netty.NettyServerBuilder;
 import io.zeebe.gateway.impl.broker.BrokerClient;
 import io.zeebe.gateway.impl.broker.BrokerClientImpl;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
+import io.zeebe.gateway.impl.configuration.LongPollingCfg;
+import io.zeebe.gateway.impl.job.ActivateJobsHandler;
+import io.zeebe.gateway.impl.job.JobStreamHandler;
+import io.zeebe.gateway.impl.job.LongPollingActivateJobsHandler;
+import io.zeebe.gateway.impl.job.RoundRobinActivateJobsHandler;
+import io.zeebe.util.sched.ActorScheduler;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.function.Function;
@@ -48,6 +54,8 @@ public class Gateway {
   private Server server;
   private BrokerClient brokerClient;
   private EndpointManager endpointManager;
+  private LongPollingActivateJobsHandler longPollingHandler;
+  private JobStreamHandler jobStreamHandler;
 
   public Gateway(GatewayCfg gatewayCfg, AtomixCluster atomixCluster) {
     this(
@@ -83,7 +91,9 @@ public class Gateway {
 
     brokerClient = buildBrokerClient();
 
-    endpointManager = new EndpointManager(brokerClient);
+    final ActivateJobsHandler activateJobsHandler = buildActivateJobsHandler(brokerClient);
+    endpointManager =
+        new EndpointManager(brokerClient, activateJobsHandler, this::getOrCreateJobStreamHandler);
     server = serverBuilderFactory.apply(gatewayCfg).addService(endpointManager).build();
 
     server.start();
@@ -93,6 +103,33 @@ public class Gateway {
     return brokerClientFactory.apply(gatewayCfg);
   }
 
+  private ActivateJobsHandler buildActivateJobsHandler(BrokerClient brokerClient) {
+    final LongPollingCfg longPollingCfg = gatewayCfg.getLongPolling();
+    if (!longPollingCfg.isEnabled()) {
+      return new RoundRobinActivateJobsHandler(brokerClient);
+    }
+
+    final ActorScheduler actorScheduler = brokerClient.getActorScheduler();
+    longPollingHandler =
+        new LongPollingActivateJobsHandler(
+            brokerClient, longPollingCfg.getTimeout(), actorScheduler.getMetricsManager());
+    actorScheduler.submitActor(longPollingHandler).join();
+    return longPollingHandler;
+  }
+
+  private synchronized JobStreamHandler getOrCreateJobStreamHandler() {
+    // the streams rely on the job notifications, which are only sent if long polling is enabled
+    if (jobStreamHandler == null
+        && longPollingHandler != null
+        && server != null
+        && !server.isShutdown()) {
+      final ActorScheduler actorScheduler = brokerClient.getActorScheduler();
+      jobStreamHandler = new JobStreamHandler(brokerClient, actorScheduler.getMetricsManager());
+      actorScheduler.submitActor(jobStreamHandler).join();
+    }
+    return jobStreamHandler;
+  }
+
   public void listenAndServe() throws InterruptedException, IOException {
     start();
     server.awaitTermination();
@@ -101,6 +138,10 @@ public class Gateway {
   public void stop() {
     if (server != null && !server.isShutdown()) {
       server.shutdown();
+
+      // the job streams are kept open until they are closed, so they must be
+      // closed to let the server terminate
+      closeJobStreamHandler();
       try {
         server.awaitTermination();
       } catch (InterruptedException e) {
@@ -110,9 +151,23 @@ public class Gateway {
       }
     }
 
+    closeJobStreamHandler();
+
+    if (longPollingHandler != null) {
+      longPollingHandler.close().join();
+      longPollingHandler = null;
+    }
+
     if (brokerClient != null) {
       brokerClient.close();
       brokerClient = null;
     }
   }
+
+  private synchronized void closeJobStreamHandler() {
+    if (jobStreamHandler != null) {
+      jobStreamHandler.close().join();
+      jobStreamHandler = null;
+    }
+  }
 }
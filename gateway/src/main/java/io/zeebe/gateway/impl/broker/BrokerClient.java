@@ -18,6 +18,7 @@ package io.zeebe.gateway.impl.broker;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.util.function.Consumer;
 
@@ -33,4 +34,16 @@ public interface BrokerClient extends AutoCloseable {
       Consumer<Throwable> throwableConsumer);
 
   BrokerTopologyManager getTopologyManager();
+
+  /** @return the scheduler which runs the actors of the client */
+  ActorScheduler getActorScheduler();
+
+  /**
+   * Subscribes to the notifications which are broadcast by the brokers when jobs of a type became
+   * activatable.
+   *
+   * @param topic the topic of the notifications
+   * @param handler consumes the job type of a notification
+   */
+  void subscribeJobAvailableNotification(String topic, Consumer<String> handler);
 }
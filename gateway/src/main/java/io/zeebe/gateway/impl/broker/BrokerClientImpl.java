@@ -18,6 +18,7 @@ package io.zeebe.gateway.impl.broker;
 import io.atomix.cluster.AtomixCluster;
 import io.atomix.cluster.ClusterMembershipEvent;
 import io.atomix.cluster.ClusterMembershipEvent.Type;
+import io.atomix.cluster.messaging.Subscription;
 import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.dispatcher.Dispatchers;
 import io.zeebe.gateway.Loggers;
@@ -38,6 +39,9 @@ import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -52,6 +56,8 @@ public class BrokerClientImpl implements BrokerClient {
   protected final BrokerTopologyManagerImpl topologyManager;
   private final Dispatcher dataFrameReceiveBuffer;
   private final BrokerRequestManager requestManager;
+  private final AtomixCluster atomixCluster;
+  private final List<Subscription> jobAvailableSubscriptions = new CopyOnWriteArrayList<>();
   protected boolean isClosed;
 
   public BrokerClientImpl(final GatewayCfg configuration, final AtomixCluster atomixCluster) {
@@ -81,6 +87,7 @@ public class BrokerClientImpl implements BrokerClient {
       final boolean ownsActorScheduler) {
     this.actorScheduler = actorScheduler;
     this.ownsActorScheduler = ownsActorScheduler;
+    this.atomixCluster = atomixCluster;
 
     if (ownsActorScheduler) {
       actorScheduler.start();
@@ -149,6 +156,9 @@ public class BrokerClientImpl implements BrokerClient {
 
     LOG.debug("Closing gateway broker client ...");
 
+    jobAvailableSubscriptions.forEach(
+        subscription -> doAndLogException(() -> subscription.close().join()));
+    LOG.debug("job available subscriptions closed");
     doAndLogException(() -> topologyManager.close().join());
     LOG.debug("topology manager closed");
     doAndLogException(transport::close);
@@ -196,6 +206,23 @@ public class BrokerClientImpl implements BrokerClient {
     return topologyManager;
   }
 
+  @Override
+  public ActorScheduler getActorScheduler() {
+    return actorScheduler;
+  }
+
+  @Override
+  public void subscribeJobAvailableNotification(
+      final String topic, final Consumer<String> handler) {
+    final Subscription subscription =
+        atomixCluster
+            .getEventService()
+            .subscribe(
+                topic, bytes -> new String(bytes, StandardCharsets.UTF_8), handler, Runnable::run)
+            .join();
+    jobAvailableSubscriptions.add(subscription);
+  }
+
   public ClientTransport getTransport() {
     return transport;
   }
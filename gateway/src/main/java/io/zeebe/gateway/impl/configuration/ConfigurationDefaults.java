@@ -28,4 +28,6 @@ public class ConfigurationDefaults {
   public static final String DEFAULT_CLUSTER_MEMBER_ID = "gateway";
   public static final String DEFAULT_CLUSTER_HOST = "0.0.0.0";
   public static final int DEFAULT_CLUSTER_PORT = 26499;
+  public static final boolean DEFAULT_LONG_POLLING_ENABLED = false;
+  public static final String DEFAULT_LONG_POLLING_TIMEOUT = "10s";
 }
@@ -27,4 +27,8 @@ public class EnvironmentConstants {
   public static final String ENV_GATEWAY_CLUSTER_MEMBER_ID = "ZEEBE_GATEWAY_CLUSTER_MEMBER_ID";
   public static final String ENV_GATEWAY_CLUSTER_HOST = "ZEEBE_GATEWAY_CLUSTER_HOST";
   public static final String ENV_GATEWAY_CLUSTER_PORT = "ZEEBE_GATEWAY_CLUSTER_PORT";
+  public static final String ENV_GATEWAY_LONG_POLLING_ENABLED =
+      "ZEEBE_GATEWAY_LONG_POLLING_ENABLED";
+  public static final String ENV_GATEWAY_LONG_POLLING_TIMEOUT =
+      "ZEEBE_GATEWAY_LONG_POLLING_TIMEOUT";
 }
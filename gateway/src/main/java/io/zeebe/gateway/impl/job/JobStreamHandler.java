@@ -0,0 +1,324 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pushes activated jobs to the workers which opened a job stream. A worker grants the stream a
+ * capacity, and jobs are only activated for a stream as long as it has capacity left. The jobs are
+ * activated like by the {@link RoundRobinActivateJobsHandler} when a stream is opened or gets more
+ * capacity, and when a broker notified that jobs of its type became available.
+ *
+ * <p>Only one stream of a job type activates jobs at a time. The streams of a job type take turns,
+ * and the next stream only activates jobs if the previous one could activate as many jobs as it
+ * asked for, so that the brokers are not asked for jobs if none are available.
+ */
+public class JobStreamHandler extends Actor {
+
+  private final RoundRobinActivateJobsHandler activateJobsHandler;
+  private final BrokerClient brokerClient;
+  private final JobStreamMetrics metrics;
+
+  private final Map<String, JobTypeState> jobTypeStates = new HashMap<>();
+  private long openStreamsCount;
+
+  public JobStreamHandler(BrokerClient brokerClient, MetricsManager metricsManager) {
+    this.activateJobsHandler = new RoundRobinActivateJobsHandler(brokerClient);
+    this.brokerClient = brokerClient;
+    this.metrics = new JobStreamMetrics(metricsManager);
+  }
+
+  @Override
+  public String getName() {
+    return "GatewayJobStreamHandler";
+  }
+
+  @Override
+  protected void onActorStarted() {
+    brokerClient.subscribeJobAvailableNotification(
+        Protocol.JOBS_AVAILABLE_TOPIC, this::onJobsAvailable);
+  }
+
+  @Override
+  protected void onActorClosing() {
+    jobTypeStates.values().forEach(state -> state.streams.forEach(this::complete));
+    jobTypeStates.clear();
+    metrics.close();
+  }
+
+  public ActorFuture<Void> close() {
+    return actor.close();
+  }
+
+  /**
+   * Opens a job stream which pushes the activated jobs to the given observer.
+   *
+   * @return the observer of the requests which the worker sends on the stream
+   */
+  public StreamObserver<StreamActivatedJobsRequest> openStream(
+      int partitionsCount, StreamObserver<ActivatedJob> jobObserver) {
+    final JobStream stream = new JobStream(partitionsCount, jobObserver);
+
+    return new StreamObserver<StreamActivatedJobsRequest>() {
+      @Override
+      public void onNext(StreamActivatedJobsRequest request) {
+        actor.run(() -> onRequest(stream, request));
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+        actor.run(() -> onStreamClosed(stream));
+      }
+
+      @Override
+      public void onCompleted() {
+        actor.run(() -> onStreamClosed(stream));
+      }
+    };
+  }
+
+  private void onRequest(JobStream stream, StreamActivatedJobsRequest request) {
+    if (stream.isClosed) {
+      return;
+    }
+
+    if (stream.state == null) {
+      open(stream, request);
+    } else if (request.getCapacity() > 0) {
+      stream.capacity += request.getCapacity();
+      activateNext(stream.state);
+    }
+  }
+
+  private void open(JobStream stream, StreamActivatedJobsRequest request) {
+    final String error = validate(request);
+    if (error != null) {
+      stream.isClosed = true;
+      stream.jobObserver.onError(Status.INVALID_ARGUMENT.augmentDescription(error).asException());
+      return;
+    }
+
+    stream.request =
+        ActivateJobsRequest.newBuilder()
+            .setType(request.getType())
+            .setWorker(request.getWorker())
+            .setTimeout(request.getTimeout())
+            .addAllFetchVariable(request.getFetchVariableList());
+    stream.capacity = request.getCapacity();
+
+    final JobTypeState state = jobTypeStates.computeIfAbsent(request.getType(), JobTypeState::new);
+    stream.state = state;
+    state.streams.add(stream);
+    metrics.setOpenStreams(++openStreamsCount);
+
+    // jobs may have been created before the stream was opened
+    state.jobsAvailable = true;
+    activateNext(state);
+  }
+
+  private String validate(StreamActivatedJobsRequest request) {
+    if (request.getType().trim().isEmpty()) {
+      return "Expected to stream jobs of a type, but type is blank";
+    } else if (request.getWorker().trim().isEmpty()) {
+      return "Expected to stream jobs for a worker, but worker is blank";
+    } else if (request.getTimeout() < 1) {
+      return String.format(
+          "Expected to stream jobs with a timeout greater than 0, but was %d",
+          request.getTimeout());
+    } else if (request.getCapacity() < 1) {
+      return String.format(
+          "Expected to open the stream with a capacity greater than 0, but was %d",
+          request.getCapacity());
+    }
+    return null;
+  }
+
+  private void onJobsAvailable(String jobType) {
+    actor.run(
+        () -> {
+          final JobTypeState state = jobTypeStates.get(jobType);
+          if (state != null) {
+            state.jobsAvailable = true;
+            activateNext(state);
+          }
+        });
+  }
+
+  private void activateNext(JobTypeState state) {
+    if (state.isActivating || !state.jobsAvailable) {
+      return;
+    }
+
+    final JobStream stream = nextStreamWithCapacity(state);
+    if (stream == null) {
+      removeIfIdle(state);
+    } else {
+      // the capacity is reserved for the activated jobs until the activation is done
+      final int maxJobsToActivate = stream.capacity;
+      stream.capacity = 0;
+      state.isActivating = true;
+      state.jobsAvailable = false;
+
+      activateJobsHandler.activateJobs(
+          stream.partitionsCount,
+          stream.request.setMaxJobsToActivate(maxJobsToActivate).build(),
+          new JobPushObserver(stream),
+          activatedJobsCount ->
+              actor.run(() -> onActivated(stream, maxJobsToActivate, activatedJobsCount)));
+    }
+  }
+
+  private JobStream nextStreamWithCapacity(JobTypeState state) {
+    for (int i = state.streams.size(); i > 0; i--) {
+      final JobStream stream = state.streams.pollFirst();
+
+      if (stream.isCancelled()) {
+        complete(stream);
+        continue;
+      }
+
+      // the stream goes to the end of the queue to give the other streams a turn
+      state.streams.addLast(stream);
+      if (stream.capacity > 0) {
+        return stream;
+      }
+    }
+    return null;
+  }
+
+  private void onActivated(JobStream stream, int maxJobsToActivate, int activatedJobsCount) {
+    final JobTypeState state = stream.state;
+    state.isActivating = false;
+    stream.capacity += maxJobsToActivate - activatedJobsCount;
+
+    if (activatedJobsCount >= maxJobsToActivate) {
+      // the partitions may have more jobs
+      state.jobsAvailable = true;
+    }
+    activateNext(state);
+    removeIfIdle(state);
+  }
+
+  private void push(JobStream stream, ActivateJobsResponse response) {
+    // the jobs of a closed stream time out like the jobs of a cancelled activate jobs request
+    if (stream.isClosed || stream.isCancelled()) {
+      return;
+    }
+
+    for (ActivatedJob job : response.getJobsList()) {
+      stream.jobObserver.onNext(job);
+    }
+    metrics.incrementPushedJobsCount(response.getJobsCount());
+  }
+
+  private void onStreamClosed(JobStream stream) {
+    if (stream.state != null && stream.state.streams.remove(stream)) {
+      complete(stream);
+      removeIfIdle(stream.state);
+    } else if (!stream.isClosed) {
+      // closed before it was opened
+      stream.isClosed = true;
+      if (!stream.isCancelled()) {
+        stream.jobObserver.onCompleted();
+      }
+    }
+  }
+
+  private void removeIfIdle(JobTypeState state) {
+    if (!state.isActivating && state.streams.isEmpty()) {
+      jobTypeStates.remove(state.jobType, state);
+    }
+  }
+
+  private void complete(JobStream stream) {
+    stream.isClosed = true;
+    metrics.setOpenStreams(--openStreamsCount);
+
+    if (!stream.isCancelled()) {
+      stream.jobObserver.onCompleted();
+    }
+  }
+
+  private final class JobPushObserver implements StreamObserver<ActivateJobsResponse> {
+    private final JobStream stream;
+
+    private JobPushObserver(JobStream stream) {
+      this.stream = stream;
+    }
+
+    @Override
+    public void onNext(ActivateJobsResponse response) {
+      actor.run(() -> push(stream, response));
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      // the activation continues with the next partition
+    }
+
+    @Override
+    public void onCompleted() {
+      // the stream stays open
+    }
+  }
+
+  private static final class JobTypeState {
+    private final String jobType;
+    private final Deque<JobStream> streams = new ArrayDeque<>();
+    private boolean isActivating;
+    private boolean jobsAvailable;
+
+    private JobTypeState(String jobType) {
+      this.jobType = jobType;
+    }
+  }
+
+  private static final class JobStream {
+    private final int partitionsCount;
+    private final StreamObserver<ActivatedJob> jobObserver;
+
+    private JobTypeState state;
+    private ActivateJobsRequest.Builder request;
+    private int capacity;
+    private boolean isClosed;
+
+    private JobStream(int partitionsCount, StreamObserver<ActivatedJob> jobObserver) {
+      this.partitionsCount = partitionsCount;
+      this.jobObserver = jobObserver;
+    }
+
+    private boolean isCancelled() {
+      return jobObserver instanceof ServerCallStreamObserver
+          && ((ServerCallStreamObserver<ActivatedJob>) jobObserver).isCancelled();
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class JobStreamMetrics {
+
+  private final Metric openStreamsMetric;
+  private final Metric pushedJobsCountMetric;
+
+  public JobStreamMetrics(final MetricsManager metricsManager) {
+    openStreamsMetric = metricsManager.newMetric("gateway_job_streams_open").type("gauge").create();
+
+    pushedJobsCountMetric =
+        metricsManager.newMetric("gateway_job_streams_pushed_jobs_count").type("counter").create();
+  }
+
+  public void close() {
+    openStreamsMetric.close();
+    pushedJobsCountMetric.close();
+  }
+
+  public void setOpenStreams(long count) {
+    openStreamsMetric.setOrdered(count);
+  }
+
+  public void incrementPushedJobsCount(long count) {
+    pushedJobsCountMetric.getAndAddOrdered(count);
+  }
+}
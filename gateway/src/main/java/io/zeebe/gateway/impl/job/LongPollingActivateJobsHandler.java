@@ -0,0 +1,247 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ScheduledTimer;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Activates jobs like the {@link RoundRobinActivateJobsHandler}, but parks a request if no jobs
+ * could be activated. A parked request is completed if jobs of its type could be activated after a
+ * broker notified that such jobs became available, or if the long polling timeout is reached.
+ *
+ * <p>The requests of a job type are queued in the order they arrived. Only the first request of a
+ * queue tries to activate jobs at a time, and the next request is only woken up if the previous one
+ * could activate as many jobs as it asked for, so that a notification doesn't result in a burst of
+ * requests to the brokers.
+ */
+public class LongPollingActivateJobsHandler extends Actor implements ActivateJobsHandler {
+
+  private final RoundRobinActivateJobsHandler activateJobsHandler;
+  private final BrokerClient brokerClient;
+  private final Duration longPollingTimeout;
+  private final LongPollingMetrics metrics;
+
+  private final Map<String, JobTypeState> jobTypeStates = new HashMap<>();
+  private long parkedRequestsCount;
+
+  public LongPollingActivateJobsHandler(
+      BrokerClient brokerClient, Duration longPollingTimeout, MetricsManager metricsManager) {
+    this.activateJobsHandler = new RoundRobinActivateJobsHandler(brokerClient);
+    this.brokerClient = brokerClient;
+    this.longPollingTimeout = longPollingTimeout;
+    this.metrics = new LongPollingMetrics(metricsManager);
+  }
+
+  @Override
+  public String getName() {
+    return "GatewayLongPollingJobHandler";
+  }
+
+  @Override
+  protected void onActorStarted() {
+    brokerClient.subscribeJobAvailableNotification(
+        Protocol.JOBS_AVAILABLE_TOPIC, this::onJobsAvailable);
+  }
+
+  @Override
+  protected void onActorClosing() {
+    jobTypeStates.values().forEach(state -> state.pendingRequests.forEach(this::complete));
+    jobTypeStates.clear();
+    metrics.close();
+  }
+
+  public ActorFuture<Void> close() {
+    return actor.close();
+  }
+
+  @Override
+  public void activateJobs(
+      int partitionsCount,
+      ActivateJobsRequest request,
+      StreamObserver<ActivateJobsResponse> responseObserver) {
+    actor.run(
+        () -> {
+          final JobTypeState state =
+              jobTypeStates.computeIfAbsent(request.getType(), JobTypeState::new);
+          final LongPollingRequest longPollingRequest =
+              new LongPollingRequest(partitionsCount, request, responseObserver);
+          longPollingRequest.timeoutTimer =
+              actor.runDelayed(longPollingTimeout, () -> onTimeout(state, longPollingRequest));
+
+          state.pendingRequests.add(longPollingRequest);
+
+          if (state.pendingRequests.size() == 1) {
+            activateNext(state);
+          } else {
+            // requests which arrived earlier are waiting for jobs of this type
+            park(longPollingRequest);
+          }
+        });
+  }
+
+  private void onJobsAvailable(String jobType) {
+    actor.run(
+        () -> {
+          final JobTypeState state = jobTypeStates.get(jobType);
+          if (state != null) {
+            state.jobsAvailable = true;
+            activateNext(state);
+          }
+        });
+  }
+
+  private void activateNext(JobTypeState state) {
+    if (state.isActivating) {
+      return;
+    }
+
+    LongPollingRequest request = state.pendingRequests.peekFirst();
+    while (request != null && request.isCancelled()) {
+      state.pendingRequests.removeFirst();
+      complete(request);
+      request = state.pendingRequests.peekFirst();
+    }
+
+    if (request == null) {
+      removeIfIdle(state);
+    } else {
+      final LongPollingRequest activatingRequest = request;
+      state.isActivating = true;
+      state.jobsAvailable = false;
+
+      activateJobsHandler.activateJobs(
+          request.partitionsCount,
+          request.request,
+          request.responseObserver,
+          activatedJobsCount ->
+              actor.run(() -> onActivated(state, activatingRequest, activatedJobsCount)));
+    }
+  }
+
+  private void onActivated(JobTypeState state, LongPollingRequest request, int activatedJobsCount) {
+    state.isActivating = false;
+
+    if (activatedJobsCount > 0 || request.isTimedOut) {
+      state.pendingRequests.remove(request);
+
+      if (activatedJobsCount > 0 && request.isParked) {
+        metrics.incrementRequestsWokenCount();
+      } else if (request.isTimedOut) {
+        metrics.incrementRequestsTimedOutCount();
+      }
+      complete(request);
+
+      final boolean mayHaveMoreJobs = activatedJobsCount >= request.request.getMaxJobsToActivate();
+      if (mayHaveMoreJobs || state.jobsAvailable) {
+        activateNext(state);
+      } else {
+        removeIfIdle(state);
+      }
+    } else if (state.jobsAvailable) {
+      // jobs became available while the partitions were asked
+      activateNext(state);
+    } else {
+      park(request);
+    }
+  }
+
+  private void onTimeout(JobTypeState state, LongPollingRequest request) {
+    if (state.isActivating && state.pendingRequests.peekFirst() == request) {
+      // complete the request after the activation, otherwise activated jobs would get lost
+      request.isTimedOut = true;
+    } else if (state.pendingRequests.remove(request)) {
+      metrics.incrementRequestsTimedOutCount();
+      complete(request);
+      removeIfIdle(state);
+    }
+  }
+
+  private void removeIfIdle(JobTypeState state) {
+    if (!state.isActivating && state.pendingRequests.isEmpty()) {
+      jobTypeStates.remove(state.jobType, state);
+    }
+  }
+
+  private void park(LongPollingRequest request) {
+    if (!request.isParked) {
+      request.isParked = true;
+      metrics.incrementRequestsParkedCount();
+      metrics.setParkedRequests(++parkedRequestsCount);
+    }
+  }
+
+  private void complete(LongPollingRequest request) {
+    request.timeoutTimer.cancel();
+
+    if (request.isParked) {
+      request.isParked = false;
+      metrics.setParkedRequests(--parkedRequestsCount);
+    }
+
+    if (!request.isCancelled()) {
+      request.responseObserver.onCompleted();
+    }
+  }
+
+  private static final class JobTypeState {
+    private final String jobType;
+    private final Deque<LongPollingRequest> pendingRequests = new ArrayDeque<>();
+    private boolean isActivating;
+    private boolean jobsAvailable;
+
+    private JobTypeState(String jobType) {
+      this.jobType = jobType;
+    }
+  }
+
+  private static final class LongPollingRequest {
+    private final int partitionsCount;
+    private final ActivateJobsRequest request;
+    private final StreamObserver<ActivateJobsResponse> responseObserver;
+
+    private ScheduledTimer timeoutTimer;
+    private boolean isParked;
+    private boolean isTimedOut;
+
+    private LongPollingRequest(
+        int partitionsCount,
+        ActivateJobsRequest request,
+        StreamObserver<ActivateJobsResponse> responseObserver) {
+      this.partitionsCount = partitionsCount;
+      this.request = request;
+      this.responseObserver = responseObserver;
+    }
+
+    private boolean isCancelled() {
+      return responseObserver instanceof ServerCallStreamObserver
+          && ((ServerCallStreamObserver<ActivateJobsResponse>) responseObserver).isCancelled();
+    }
+  }
+}
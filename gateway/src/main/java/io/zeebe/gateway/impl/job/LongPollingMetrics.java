@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class LongPollingMetrics {
+
+  private final Metric requestsParkedCountMetric;
+  private final Metric requestsWokenCountMetric;
+  private final Metric requestsTimedOutCountMetric;
+  private final Metric parkedRequestsMetric;
+
+  public LongPollingMetrics(final MetricsManager metricsManager) {
+    requestsParkedCountMetric =
+        metricsManager
+            .newMetric("gateway_long_polling_requests_count")
+            .type("counter")
+            .label("action", "parked")
+            .create();
+
+    requestsWokenCountMetric =
+        metricsManager
+            .newMetric("gateway_long_polling_requests_count")
+            .type("counter")
+            .label("action", "woken")
+            .create();
+
+    requestsTimedOutCountMetric =
+        metricsManager
+            .newMetric("gateway_long_polling_requests_count")
+            .type("counter")
+            .label("action", "timed_out")
+            .create();
+
+    parkedRequestsMetric =
+        metricsManager.newMetric("gateway_long_polling_parked_requests").type("gauge").create();
+  }
+
+  public void close() {
+    requestsParkedCountMetric.close();
+    requestsWokenCountMetric.close();
+    requestsTimedOutCountMetric.close();
+    parkedRequestsMetric.close();
+  }
+
+  public void incrementRequestsParkedCount() {
+    requestsParkedCountMetric.incrementOrdered();
+  }
+
+  public void incrementRequestsWokenCount() {
+    requestsWokenCountMetric.incrementOrdered();
+  }
+
+  public void incrementRequestsTimedOutCount() {
+    requestsTimedOutCountMetric.incrementOrdered();
+  }
+
+  public void setParkedRequests(long count) {
+    parkedRequestsMetric.setOrdered(count);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.Loggers;
+import io.zeebe.gateway.RequestMapper;
+import io.zeebe.gateway.ResponseMapper;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Activates jobs by asking the partitions one after another, starting with the partition after the
+ * one which was asked last for the same job type.
+ */
+public class RoundRobinActivateJobsHandler implements ActivateJobsHandler {
+
+  private final Map<String, Integer> jobTypeToNextPartitionId = new ConcurrentHashMap<>();
+  private final BrokerClient brokerClient;
+
+  public RoundRobinActivateJobsHandler(BrokerClient brokerClient) {
+    this.brokerClient = brokerClient;
+  }
+
+  @Override
+  public void activateJobs(
+      int partitionsCount,
+      ActivateJobsRequest request,
+      StreamObserver<ActivateJobsResponse> responseObserver) {
+    activateJobs(
+        partitionsCount,
+        request,
+        responseObserver,
+        activatedJobsCount -> responseObserver.onCompleted());
+  }
+
+  /**
+   * Asks every partition once for jobs, until enough jobs are activated. The activated jobs are
+   * sent to the response observer, but the observer is not completed.
+   *
+   * @param onCompleted called with the count of activated jobs after the partitions were asked
+   */
+  public void activateJobs(
+      int partitionsCount,
+      ActivateJobsRequest request,
+      StreamObserver<ActivateJobsResponse> responseObserver,
+      IntConsumer onCompleted) {
+    final int maxJobsToActivate = request.getMaxJobsToActivate();
+    activateJobs(
+        RequestMapper.toActivateJobsRequest(request),
+        partitionIdIteratorForType(request.getType(), partitionsCount),
+        maxJobsToActivate,
+        request.getType(),
+        responseObserver,
+        remainingAmount -> onCompleted.accept(maxJobsToActivate - remainingAmount));
+  }
+
+  private void activateJobs(
+      BrokerActivateJobsRequest request,
+      PartitionIdIterator partitionIdIterator,
+      int remainingAmount,
+      String jobType,
+      StreamObserver<ActivateJobsResponse> responseObserver,
+      IntConsumer onCompleted) {
+    activateJobs(
+        request,
+        partitionIdIterator,
+        remainingAmount,
+        jobType,
+        responseObserver,
+        onCompleted,
+        false);
+  }
+
+  private void activateJobs(
+      BrokerActivateJobsRequest request,
+      PartitionIdIterator partitionIdIterator,
+      int remainingAmount,
+      String jobType,
+      StreamObserver<ActivateJobsResponse> responseObserver,
+      IntConsumer onCompleted,
+      boolean pollPrevPartition) {
+
+    if (remainingAmount > 0 && (pollPrevPartition || partitionIdIterator.hasNext())) {
+      final int partitionId =
+          pollPrevPartition
+              ? partitionIdIterator.getCurrentPartitionId()
+              : partitionIdIterator.next();
+
+      // partitions to check and jobs to activate left
+      request.setPartitionId(partitionId);
+      request.setMaxJobsToActivate(remainingAmount);
+      brokerClient.sendRequest(
+          request,
+          (key, response) -> {
+            final ActivateJobsResponse grpcResponse =
+                ResponseMapper.toActivateJobsResponse(key, response);
+            final int jobsCount = grpcResponse.getJobsCount();
+            if (jobsCount > 0) {
+              responseObserver.onNext(grpcResponse);
+            }
+
+            activateJobs(
+                request,
+                partitionIdIterator,
+                remainingAmount - jobsCount,
+                jobType,
+                responseObserver,
+                onCompleted,
+                response.getTruncated());
+          },
+          error -> {
+            Loggers.GATEWAY_LOGGER.warn(
+                "Failed to activate jobs for type {} from partition {}",
+                jobType,
+                partitionIdIterator.getCurrentPartitionId(),
+                error);
+            activateJobs(
+                request,
+                partitionIdIterator,
+                remainingAmount,
+                jobType,
+                responseObserver,
+                onCompleted);
+          });
+    } else {
+      // enough jobs activated or no more partitions left to check
+      jobTypeToNextPartitionId.put(jobType, partitionIdIterator.getCurrentPartitionId());
+      onCompleted.accept(remainingAmount);
+    }
+  }
+
+  private PartitionIdIterator partitionIdIteratorForType(String jobType, int partitionsCount) {
+    final Integer nextPartitionId = jobTypeToNextPartitionId.computeIfAbsent(jobType, t -> 0);
+    return new PartitionIdIterator(nextPartitionId, partitionsCount);
+  }
+}
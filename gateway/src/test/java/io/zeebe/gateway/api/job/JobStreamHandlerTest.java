@@ -0,0 +1,252 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.Status;
+import io.grpc.StatusException;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.api.util.StubbedActivateJobsBrokerClient;
+import io.zeebe.gateway.impl.job.JobStreamHandler;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class JobStreamHandlerTest {
+
+  private static final String JOB_TYPE = "test";
+  private static final int PARTITIONS_COUNT = 3;
+
+  @Rule
+  public final ControlledActorSchedulerRule actorSchedulerRule = new ControlledActorSchedulerRule();
+
+  private final StubbedActivateJobsBrokerClient brokerClient =
+      new StubbedActivateJobsBrokerClient();
+  private JobStreamHandler handler;
+
+  @Before
+  public void setUp() {
+    handler = new JobStreamHandler(brokerClient, actorSchedulerRule.get().getMetricsManager());
+    actorSchedulerRule.submitActor(handler);
+    actorSchedulerRule.workUntilDone();
+  }
+
+  @Test
+  public void shouldPushAvailableJobsWhenStreamIsOpened() {
+    // given
+    brokerClient.setAvailableJobs(2);
+
+    // when
+    final RecordingObserver observer = new RecordingObserver();
+    openStream(observer, 5);
+
+    // then
+    assertThat(observer.jobs).hasSize(2);
+    assertThat(observer.jobs).extracting(ActivatedJob::getType).containsOnly(JOB_TYPE);
+    assertThat(observer.isCompleted).isFalse();
+  }
+
+  @Test
+  public void shouldNotPushMoreJobsThanCapacity() {
+    // given
+    brokerClient.setAvailableJobs(5);
+
+    // when
+    final RecordingObserver observer = new RecordingObserver();
+    openStream(observer, 2);
+
+    // then
+    assertThat(observer.jobs).hasSize(2);
+    assertThat(brokerClient.getAvailableJobs()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldPushJobsOnNotification() {
+    // given
+    final RecordingObserver observer = new RecordingObserver();
+    openStream(observer, 5);
+    final int requestsCount = brokerClient.getRequestsCount();
+
+    // when
+    brokerClient.setAvailableJobs(1);
+    brokerClient.notifyJobsAvailable(JOB_TYPE);
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(observer.jobs).hasSize(1);
+    assertThat(brokerClient.getRequestsCount()).isEqualTo(requestsCount + PARTITIONS_COUNT);
+  }
+
+  @Test
+  public void shouldNotActivateJobsWithoutNotification() {
+    // given
+    final RecordingObserver observer = new RecordingObserver();
+    final StreamObserver<StreamActivatedJobsRequest> requestObserver = openStream(observer, 5);
+    final int requestsCount = brokerClient.getRequestsCount();
+
+    // when
+    requestObserver.onNext(StreamActivatedJobsRequest.newBuilder().setCapacity(3).build());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(brokerClient.getRequestsCount()).isEqualTo(requestsCount);
+  }
+
+  @Test
+  public void shouldIgnoreNotificationOfOtherJobType() {
+    // given
+    final RecordingObserver observer = new RecordingObserver();
+    openStream(observer, 5);
+    final int requestsCount = brokerClient.getRequestsCount();
+    brokerClient.setAvailableJobs(1);
+
+    // when
+    brokerClient.notifyJobsAvailable("other");
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(brokerClient.getRequestsCount()).isEqualTo(requestsCount);
+    assertThat(observer.jobs).isEmpty();
+  }
+
+  @Test
+  public void shouldPushRemainingJobsWhenCapacityIsGranted() {
+    // given
+    brokerClient.setAvailableJobs(5);
+    final RecordingObserver observer = new RecordingObserver();
+    final StreamObserver<StreamActivatedJobsRequest> requestObserver = openStream(observer, 2);
+
+    // when
+    requestObserver.onNext(StreamActivatedJobsRequest.newBuilder().setCapacity(2).build());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(observer.jobs).hasSize(4);
+    assertThat(brokerClient.getAvailableJobs()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldPushJobsToStreamsInTurn() {
+    // given
+    final RecordingObserver firstObserver = new RecordingObserver();
+    openStream(firstObserver, 1);
+    final RecordingObserver secondObserver = new RecordingObserver();
+    openStream(secondObserver, 1);
+
+    // when
+    brokerClient.setAvailableJobs(1);
+    brokerClient.notifyJobsAvailable(JOB_TYPE);
+    actorSchedulerRule.workUntilDone();
+
+    brokerClient.setAvailableJobs(1);
+    brokerClient.notifyJobsAvailable(JOB_TYPE);
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(firstObserver.jobs).hasSize(1);
+    assertThat(secondObserver.jobs).hasSize(1);
+  }
+
+  @Test
+  public void shouldRejectInvalidStream() {
+    // when
+    final RecordingObserver observer = new RecordingObserver();
+    openStream(observer, 0);
+
+    // then
+    assertThat(observer.error).isInstanceOf(StatusException.class);
+    assertThat(((StatusException) observer.error).getStatus().getCode())
+        .isEqualTo(Status.Code.INVALID_ARGUMENT);
+    assertThat(brokerClient.getRequestsCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCompleteStreamWhenClosedByWorker() {
+    // given
+    final RecordingObserver observer = new RecordingObserver();
+    final StreamObserver<StreamActivatedJobsRequest> requestObserver = openStream(observer, 5);
+
+    // when
+    requestObserver.onCompleted();
+    actorSchedulerRule.workUntilDone();
+
+    brokerClient.setAvailableJobs(1);
+    brokerClient.notifyJobsAvailable(JOB_TYPE);
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(observer.isCompleted).isTrue();
+    assertThat(observer.jobs).isEmpty();
+  }
+
+  @Test
+  public void shouldCompleteStreamsOnClose() {
+    // given
+    final RecordingObserver observer = new RecordingObserver();
+    openStream(observer, 5);
+
+    // when
+    final ActorFuture<Void> closeFuture = handler.close();
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(closeFuture).isDone();
+    assertThat(observer.isCompleted).isTrue();
+  }
+
+  private StreamObserver<StreamActivatedJobsRequest> openStream(
+      RecordingObserver observer, int capacity) {
+    final StreamObserver<StreamActivatedJobsRequest> requestObserver =
+        handler.openStream(PARTITIONS_COUNT, observer);
+    requestObserver.onNext(
+        StreamActivatedJobsRequest.newBuilder()
+            .setType(JOB_TYPE)
+            .setWorker("worker")
+            .setTimeout(1000)
+            .setCapacity(capacity)
+            .build());
+    actorSchedulerRule.workUntilDone();
+    return requestObserver;
+  }
+
+  private static final class RecordingObserver implements StreamObserver<ActivatedJob> {
+    private final List<ActivatedJob> jobs = new ArrayList<>();
+    private Throwable error;
+    private boolean isCompleted;
+
+    @Override
+    public void onNext(ActivatedJob job) {
+      jobs.add(job);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onCompleted() {
+      isCompleted = true;
+    }
+  }
+}
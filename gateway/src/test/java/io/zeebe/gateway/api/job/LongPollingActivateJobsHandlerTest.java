@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.api.util.StubbedActivateJobsBrokerClient;
+import io.zeebe.gateway.impl.job.LongPollingActivateJobsHandler;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class LongPollingActivateJobsHandlerTest {
+
+  private static final String JOB_TYPE = "test";
+  private static final Duration LONG_POLLING_TIMEOUT = Duration.ofSeconds(10);
+  private static final int PARTITIONS_COUNT = 3;
+
+  @Rule
+  public final ControlledActorSchedulerRule actorSchedulerRule = new ControlledActorSchedulerRule();
+
+  private final StubbedActivateJobsBrokerClient brokerClient =
+      new StubbedActivateJobsBrokerClient();
+  private LongPollingActivateJobsHandler handler;
+
+  @Before
+  public void setUp() {
+    handler =
+        new LongPollingActivateJobsHandler(
+            brokerClient, LONG_POLLING_TIMEOUT, actorSchedulerRule.get().getMetricsManager());
+    actorSchedulerRule.submitActor(handler);
+    actorSchedulerRule.workUntilDone();
+  }
+
+  @Test
+  public void shouldCompleteRequestIfJobsAreAvailable() {
+    // given
+    brokerClient.setAvailableJobs(2);
+
+    // when
+    final RecordingObserver observer = activateJobs(2);
+
+    // then
+    assertThat(observer.activatedJobsCount()).isEqualTo(2);
+    assertThat(observer.isCompleted).isTrue();
+  }
+
+  @Test
+  public void shouldParkRequestIfNoJobsAreAvailable() {
+    // when
+    final RecordingObserver observer = activateJobs(2);
+
+    // then
+    assertThat(brokerClient.getRequestsCount()).isEqualTo(PARTITIONS_COUNT);
+    assertThat(observer.activatedJobsCount()).isEqualTo(0);
+    assertThat(observer.isCompleted).isFalse();
+  }
+
+  @Test
+  public void shouldCompleteParkedRequestAfterTimeout() {
+    // given
+    final RecordingObserver observer = activateJobs(2);
+
+    // when
+    actorSchedulerRule.getClock().addTime(LONG_POLLING_TIMEOUT);
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(observer.activatedJobsCount()).isEqualTo(0);
+    assertThat(observer.isCompleted).isTrue();
+  }
+
+  @Test
+  public void shouldActivateJobsOfParkedRequestOnNotification() {
+    // given
+    final RecordingObserver observer = activateJobs(2);
+
+    // when
+    brokerClient.setAvailableJobs(1);
+    brokerClient.notifyJobsAvailable(JOB_TYPE);
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(observer.activatedJobsCount()).isEqualTo(1);
+    assertThat(observer.isCompleted).isTrue();
+  }
+
+  @Test
+  public void shouldIgnoreNotificationOfOtherJobType() {
+    // given
+    final RecordingObserver observer = activateJobs(2);
+    brokerClient.setAvailableJobs(1);
+
+    // when
+    brokerClient.notifyJobsAvailable("other");
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(brokerClient.getRequestsCount()).isEqualTo(PARTITIONS_COUNT);
+    assertThat(observer.isCompleted).isFalse();
+  }
+
+  @Test
+  public void shouldWakeUpParkedRequestsInOrder() {
+    // given
+    final RecordingObserver firstObserver = activateJobs(1);
+    final RecordingObserver secondObserver = activateJobs(1);
+
+    // when
+    brokerClient.setAvailableJobs(1);
+    brokerClient.notifyJobsAvailable(JOB_TYPE);
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(firstObserver.activatedJobsCount()).isEqualTo(1);
+    assertThat(firstObserver.isCompleted).isTrue();
+    assertThat(secondObserver.activatedJobsCount()).isEqualTo(0);
+    assertThat(secondObserver.isCompleted).isFalse();
+  }
+
+  @Test
+  public void shouldCompleteParkedRequestsOnClose() {
+    // given
+    final RecordingObserver observer = activateJobs(2);
+
+    // when
+    final ActorFuture<Void> closeFuture = handler.close();
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    assertThat(closeFuture).isDone();
+    assertThat(observer.isCompleted).isTrue();
+  }
+
+  private RecordingObserver activateJobs(int maxJobsToActivate) {
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType(JOB_TYPE)
+            .setWorker("worker")
+            .setTimeout(1000)
+            .setMaxJobsToActivate(maxJobsToActivate)
+            .build();
+    final RecordingObserver observer = new RecordingObserver();
+    handler.activateJobs(PARTITIONS_COUNT, request, observer);
+    actorSchedulerRule.workUntilDone();
+    return observer;
+  }
+
+  private static final class RecordingObserver implements StreamObserver<ActivateJobsResponse> {
+    private final List<ActivateJobsResponse> responses = new ArrayList<>();
+    private boolean isCompleted;
+
+    @Override
+    public void onNext(ActivateJobsResponse response) {
+      responses.add(response);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      throw new AssertionError("unexpected error", throwable);
+    }
+
+    @Override
+    public void onCompleted() {
+      isCompleted = true;
+    }
+
+    private int activatedJobsCount() {
+      return responses.stream().mapToInt(ActivateJobsResponse::getJobsCount).sum();
+    }
+  }
+}
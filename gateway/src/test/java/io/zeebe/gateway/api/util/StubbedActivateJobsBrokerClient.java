@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.util;
+
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.impl.broker.BrokerResponseConsumer;
+import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
+import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Answers activate jobs requests with the configured number of available jobs, and lets the tests
+ * notify the subscribers that jobs became available.
+ */
+public final class StubbedActivateJobsBrokerClient implements BrokerClient {
+  private final List<Consumer<String>> notificationHandlers = new ArrayList<>();
+  private int availableJobs;
+  private int requestsCount;
+
+  public void setAvailableJobs(int availableJobs) {
+    this.availableJobs = availableJobs;
+  }
+
+  public int getAvailableJobs() {
+    return availableJobs;
+  }
+
+  public int getRequestsCount() {
+    return requestsCount;
+  }
+
+  public void notifyJobsAvailable(String jobType) {
+    notificationHandlers.forEach(handler -> handler.accept(jobType));
+  }
+
+  @Override
+  public void close() {}
+
+  @Override
+  public <T> ActorFuture<BrokerResponse<T>> sendRequest(BrokerRequest<T> request) {
+    throw new UnsupportedOperationException("not implemented");
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> void sendRequest(
+      BrokerRequest<T> request,
+      BrokerResponseConsumer<T> responseConsumer,
+      Consumer<Throwable> throwableConsumer) {
+    requestsCount++;
+
+    final BrokerActivateJobsRequest activateJobsRequest = (BrokerActivateJobsRequest) request;
+    final JobBatchRecord requestDto = activateJobsRequest.getRequestWriter();
+    final int partitionId = activateJobsRequest.getPartitionId();
+
+    final JobBatchRecord response = new JobBatchRecord();
+    final int jobsCount = Math.min(availableJobs, requestDto.getMaxJobsToActivate());
+    for (int i = 0; i < jobsCount; i++) {
+      response.jobKeys().add().setValue(Protocol.encodePartitionId(partitionId, i));
+      response.jobs().add().setType(requestDto.getType()).setWorker(requestDto.getWorker());
+    }
+    availableJobs -= jobsCount;
+
+    responseConsumer.accept(Protocol.encodePartitionId(partitionId, 1), (T) response);
+  }
+
+  @Override
+  public BrokerTopologyManager getTopologyManager() {
+    throw new UnsupportedOperationException("not implemented");
+  }
+
+  @Override
+  public ActorScheduler getActorScheduler() {
+    throw new UnsupportedOperationException("not implemented");
+  }
+
+  @Override
+  public void subscribeJobAvailableNotification(String topic, Consumer<String> handler) {
+    notificationHandlers.add(handler);
+  }
+}
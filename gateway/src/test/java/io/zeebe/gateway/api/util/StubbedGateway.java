@@ -36,6 +36,7 @@ import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayGrpc.GatewayBlockingStub;
+import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -128,6 +129,14 @@ public class StubbedGateway extends Gateway {
     public BrokerTopologyManager getTopologyManager() {
       return topologyManager;
     }
+
+    @Override
+    public ActorScheduler getActorScheduler() {
+      throw new UnsupportedOperationException("not implemented");
+    }
+
+    @Override
+    public void subscribeJobAvailableNotification(String topic, Consumer<String> handler) {}
   }
 
   private class StubbedTopologyManager implements BrokerTopologyManager {
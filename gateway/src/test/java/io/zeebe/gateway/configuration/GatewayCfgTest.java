@@ -21,6 +21,8 @@ import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEW
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_CLUSTER_PORT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_CONTACT_POINT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_HOST;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_LONG_POLLING_ENABLED;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_LONG_POLLING_TIMEOUT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_MANAGEMENT_THREADS;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_PORT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_TIMEOUT;
@@ -57,6 +59,7 @@ public class GatewayCfgTest {
         .setHost("1.2.3.4")
         .setPort(12321);
     CUSTOM_CFG.getThreads().setManagementThreads(100);
+    CUSTOM_CFG.getLongPolling().setEnabled(true).setTimeout("30s");
   }
 
   private final Map<String, String> environment = new HashMap<>();
@@ -92,6 +95,8 @@ public class GatewayCfgTest {
     setEnv(ENV_GATEWAY_CLUSTER_MEMBER_ID, "envMember");
     setEnv(ENV_GATEWAY_CLUSTER_HOST, "envHost");
     setEnv(ENV_GATEWAY_CLUSTER_PORT, "12345");
+    setEnv(ENV_GATEWAY_LONG_POLLING_ENABLED, "false");
+    setEnv(ENV_GATEWAY_LONG_POLLING_TIMEOUT, "5m");
 
     final GatewayCfg expected = new GatewayCfg();
     expected.getNetwork().setHost("zeebe").setPort(5432);
@@ -105,6 +110,7 @@ public class GatewayCfgTest {
         .setHost("envHost")
         .setPort(12345);
     expected.getThreads().setManagementThreads(32);
+    expected.getLongPolling().setEnabled(false).setTimeout("5m");
 
     // when
     final GatewayCfg gatewayCfg = readCustomConfig();
@@ -0,0 +1,363 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import static io.zeebe.msgpack.spec.MsgPackType.FLOAT;
+import static io.zeebe.msgpack.spec.MsgPackType.INTEGER;
+import static io.zeebe.msgpack.spec.MsgPackType.NIL;
+import static io.zeebe.msgpack.spec.MsgPackType.STRING;
+
+import io.zeebe.msgpack.el.JsonConditionPlan.Condition;
+import io.zeebe.msgpack.el.JsonConditionPlan.PathNode;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import io.zeebe.msgpack.spec.MsgPackType;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.agrona.DirectBuffer;
+import scala.collection.JavaConverters;
+
+/**
+ * Compiles conditions into a {@link JsonConditionPlan}. The comparisons have the same semantics as
+ * in the {@link JsonConditionInterpreter}.
+ */
+final class JsonConditionCompiler {
+
+  private final PathNode paths = new PathNode();
+  private final Map<String, Integer> pathIndexes = new HashMap<>();
+  private final Set<DirectBuffer> variableNames = new HashSet<>();
+
+  static JsonConditionPlan compile(List<CompiledJsonCondition> conditions) {
+    return new JsonConditionCompiler().compilePlan(conditions);
+  }
+
+  private JsonConditionPlan compilePlan(List<CompiledJsonCondition> conditions) {
+    final Condition[] compiledConditions = new Condition[conditions.size()];
+
+    for (int i = 0; i < conditions.size(); i++) {
+      final CompiledJsonCondition condition = conditions.get(i);
+      if (!condition.isValid()) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected to compile valid conditions, but '%s' is invalid: %s",
+                condition.getExpression(), condition.getErrorMessage()));
+      }
+
+      compiledConditions[i] = compileCondition(condition.getCondition());
+      variableNames.addAll(condition.getVariableNames());
+    }
+
+    return new JsonConditionPlan(
+        new ArrayList<>(conditions), compiledConditions, paths, pathIndexes.size(), variableNames);
+  }
+
+  private Condition compileCondition(JsonCondition condition) {
+    if (condition instanceof Comparison) {
+      return compileComparison((Comparison) condition);
+
+    } else if (condition instanceof Disjunction) {
+      final Disjunction disjunction = (Disjunction) condition;
+      final Condition x = compileCondition(disjunction.x());
+      final Condition y = compileCondition(disjunction.y());
+
+      return values -> x.test(values) || y.test(values);
+
+    } else if (condition instanceof Conjunction) {
+      final Conjunction conjunction = (Conjunction) condition;
+      final Condition x = compileCondition(conjunction.x());
+      final Condition y = compileCondition(conjunction.y());
+
+      return values -> x.test(values) && y.test(values);
+
+    } else {
+      throw new RuntimeException(String.format("Illegal condition: %s", condition));
+    }
+  }
+
+  private Condition compileComparison(Comparison comparison) {
+    final Operator operator = Operator.of(comparison);
+    final JsonObject x = comparison.x();
+    final JsonObject y = comparison.y();
+
+    if (x instanceof JsonPath && y instanceof JsonConstant) {
+      final int pathIndex = indexPath((JsonPath) x);
+      final MsgPackToken constant = copyConstant((JsonConstant) y);
+
+      if (constant.getType() == INTEGER) {
+        return compareWithInteger(operator, pathIndex, constant);
+      } else if (constant.getType() == STRING && operator == Operator.EQUAL) {
+        return values -> equalsString(values[pathIndex], constant);
+      } else if (constant.getType() == STRING && operator == Operator.NOT_EQUAL) {
+        return values -> !equalsString(values[pathIndex], constant);
+      } else {
+        return values -> operator.test(values[pathIndex], constant);
+      }
+
+    } else if (x instanceof JsonPath && y instanceof JsonPath) {
+      final int xPathIndex = indexPath((JsonPath) x);
+      final int yPathIndex = indexPath((JsonPath) y);
+
+      return values -> operator.test(values[xPathIndex], values[yPathIndex]);
+
+    } else if (x instanceof JsonConstant && y instanceof JsonPath) {
+      final MsgPackToken constant = copyConstant((JsonConstant) x);
+      final int pathIndex = indexPath((JsonPath) y);
+
+      return values -> operator.test(constant, values[pathIndex]);
+
+    } else {
+      // both are constants, the comparison is still evaluated to report type errors
+      final MsgPackToken xConstant = copyConstant((JsonConstant) x);
+      final MsgPackToken yConstant = copyConstant((JsonConstant) y);
+
+      return values -> operator.test(xConstant, yConstant);
+    }
+  }
+
+  private static Condition compareWithInteger(
+      Operator operator, int pathIndex, MsgPackToken constant) {
+    final long y = constant.getIntegerValue();
+
+    switch (operator) {
+      case EQUAL:
+        return values -> {
+          final MsgPackToken x = values[pathIndex];
+          return x.getType() == INTEGER ? x.getIntegerValue() == y : operator.test(x, constant);
+        };
+      case NOT_EQUAL:
+        return values -> {
+          final MsgPackToken x = values[pathIndex];
+          return x.getType() == INTEGER ? x.getIntegerValue() != y : operator.test(x, constant);
+        };
+      case LESS_THAN:
+        return values -> {
+          final MsgPackToken x = values[pathIndex];
+          return x.getType() == INTEGER ? x.getIntegerValue() < y : operator.test(x, constant);
+        };
+      case LESS_OR_EQUAL:
+        return values -> {
+          final MsgPackToken x = values[pathIndex];
+          return x.getType() == INTEGER ? x.getIntegerValue() <= y : operator.test(x, constant);
+        };
+      case GREATER_THAN:
+        return values -> {
+          final MsgPackToken x = values[pathIndex];
+          return x.getType() == INTEGER ? x.getIntegerValue() > y : operator.test(x, constant);
+        };
+      case GREATER_OR_EQUAL:
+        return values -> {
+          final MsgPackToken x = values[pathIndex];
+          return x.getType() == INTEGER ? x.getIntegerValue() >= y : operator.test(x, constant);
+        };
+      default:
+        throw new RuntimeException(String.format("Illegal operator: %s", operator));
+    }
+  }
+
+  private static boolean equalsString(MsgPackToken x, MsgPackToken y) {
+    if (x.getType() == STRING) {
+      return BufferUtil.equals(x.getValueBuffer(), y.getValueBuffer());
+    } else {
+      return Operator.EQUAL.test(x, y);
+    }
+  }
+
+  /** @return the index of the given path, the same paths of all conditions share the index */
+  private int indexPath(JsonPath path) {
+    final Integer existingIndex = pathIndexes.get(path.jsonPath());
+    if (existingIndex != null) {
+      return existingIndex;
+    }
+
+    final int pathIndex = pathIndexes.size();
+    pathIndexes.put(path.jsonPath(), pathIndex);
+
+    PathNode node = paths.getOrAddChild(path.variableName());
+    for (String property : JavaConverters.seqAsJavaList(path.path())) {
+      node = node.getOrAddChild(BufferUtil.wrapString(property));
+    }
+    node.setPathIndex(pathIndex);
+
+    return pathIndex;
+  }
+
+  /**
+   * Copies the token of the constant, since the interpreter converts the type of the tokens it
+   * compares.
+   */
+  private static MsgPackToken copyConstant(JsonConstant constant) {
+    final MsgPackToken token = constant.token();
+    final MsgPackToken copy = new MsgPackToken();
+    copy.setType(token.getType());
+
+    switch (token.getType()) {
+      case INTEGER:
+        copy.setValue(token.getIntegerValue());
+        break;
+      case FLOAT:
+        copy.setValue(token.getFloatValue());
+        break;
+      case BOOLEAN:
+        copy.setValue(token.getBooleanValue());
+        break;
+      case STRING:
+        final DirectBuffer value = BufferUtil.cloneBuffer(token.getValueBuffer());
+        copy.setValue(value, 0, value.capacity());
+        break;
+      default:
+        break;
+    }
+    return copy;
+  }
+
+  /** The comparison operators, which compare two values without converting their tokens. */
+  enum Operator {
+    EQUAL {
+      @Override
+      boolean test(MsgPackToken x, MsgPackToken y) {
+        return isEqual(x, y);
+      }
+    },
+    NOT_EQUAL {
+      @Override
+      boolean test(MsgPackToken x, MsgPackToken y) {
+        return !isEqual(x, y);
+      }
+    },
+    LESS_THAN {
+      @Override
+      boolean test(MsgPackToken x, MsgPackToken y) {
+        ensureNumbers(x, y);
+        return isInteger(x, y)
+            ? x.getIntegerValue() < y.getIntegerValue()
+            : asFloat(x) < asFloat(y);
+      }
+    },
+    LESS_OR_EQUAL {
+      @Override
+      boolean test(MsgPackToken x, MsgPackToken y) {
+        ensureNumbers(x, y);
+        return isInteger(x, y)
+            ? x.getIntegerValue() <= y.getIntegerValue()
+            : asFloat(x) <= asFloat(y);
+      }
+    },
+    GREATER_THAN {
+      @Override
+      boolean test(MsgPackToken x, MsgPackToken y) {
+        ensureNumbers(x, y);
+        return isInteger(x, y)
+            ? x.getIntegerValue() > y.getIntegerValue()
+            : asFloat(x) > asFloat(y);
+      }
+    },
+    GREATER_OR_EQUAL {
+      @Override
+      boolean test(MsgPackToken x, MsgPackToken y) {
+        ensureNumbers(x, y);
+        return isInteger(x, y)
+            ? x.getIntegerValue() >= y.getIntegerValue()
+            : asFloat(x) >= asFloat(y);
+      }
+    };
+
+    abstract boolean test(MsgPackToken x, MsgPackToken y);
+
+    static Operator of(Comparison comparison) {
+      if (comparison instanceof Equal) {
+        return EQUAL;
+      } else if (comparison instanceof NotEqual) {
+        return NOT_EQUAL;
+      } else if (comparison instanceof LessThan) {
+        return LESS_THAN;
+      } else if (comparison instanceof LessOrEqual) {
+        return LESS_OR_EQUAL;
+      } else if (comparison instanceof GreaterThan) {
+        return GREATER_THAN;
+      } else if (comparison instanceof GreaterOrEqual) {
+        return GREATER_OR_EQUAL;
+      } else {
+        throw new RuntimeException(String.format("Illegal comparison: %s", comparison));
+      }
+    }
+
+    private static boolean isEqual(MsgPackToken x, MsgPackToken y) {
+      final MsgPackType xType = x.getType();
+      final MsgPackType yType = y.getType();
+
+      if (xType == NIL || yType == NIL) {
+        return xType == yType;
+      } else if (isNumber(xType) && isNumber(yType) && xType != yType) {
+        return asFloat(x) == asFloat(y);
+      }
+
+      ensureSameType(xType, yType);
+
+      switch (xType) {
+        case STRING:
+          return BufferUtil.equals(x.getValueBuffer(), y.getValueBuffer());
+
+        case BOOLEAN:
+          return x.getBooleanValue() == y.getBooleanValue();
+
+        case INTEGER:
+          return x.getIntegerValue() == y.getIntegerValue();
+
+        case FLOAT:
+          return x.getFloatValue() == y.getFloatValue();
+
+        default:
+          throw new JsonConditionException(
+              String.format("Cannot compare value of type: %s", xType));
+      }
+    }
+
+    private static void ensureNumbers(MsgPackToken x, MsgPackToken y) {
+      final MsgPackType xType = x.getType();
+      final MsgPackType yType = y.getType();
+
+      if (!isNumber(xType) || !isNumber(yType)) {
+        ensureSameType(xType, yType);
+
+        throw new JsonConditionException(
+            String.format("Cannot compare values. Expected number but found: %s", xType));
+      }
+    }
+
+    private static void ensureSameType(MsgPackType xType, MsgPackType yType) {
+      if (xType != yType) {
+        throw new JsonConditionException(
+            String.format("Cannot compare values of different types: %s and %s", xType, yType));
+      }
+    }
+
+    private static boolean isNumber(MsgPackType type) {
+      return type == INTEGER || type == FLOAT;
+    }
+
+    private static boolean isInteger(MsgPackToken x, MsgPackToken y) {
+      return x.getType() == INTEGER && y.getType() == INTEGER;
+    }
+
+    private static double asFloat(MsgPackToken token) {
+      return token.getType() == FLOAT ? token.getFloatValue() : token.getIntegerValue();
+    }
+  }
+}
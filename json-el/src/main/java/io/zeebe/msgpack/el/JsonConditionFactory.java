@@ -48,6 +48,15 @@ public class JsonConditionFactory {
     }
   }
 
+  /**
+   * Compiles the given conditions into one plan, which evaluates them together.
+   *
+   * @param conditions valid conditions, in the order in which they are evaluated
+   */
+  public static JsonConditionPlan createPlan(List<CompiledJsonCondition> conditions) {
+    return JsonConditionCompiler.compile(conditions);
+  }
+
   private static void indexJsonPathExpressions(JsonCondition condition) {
     final List<JsonPath> pathExpressions = new ArrayList<>();
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import io.zeebe.msgpack.spec.MsgPackToken;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.agrona.DirectBuffer;
+
+/**
+ * The conditions of the outgoing sequence flows of an exclusive gateway, compiled into one
+ * evaluation plan. The JSON paths of all conditions are resolved together in one pass over the
+ * document and the conditions are evaluated as closures which are specialized for their operands.
+ *
+ * <p>The plan is immutable and can be shared between threads, see {@link
+ * JsonConditionPlanEvaluator} for the evaluation.
+ */
+public final class JsonConditionPlan {
+
+  private final List<CompiledJsonCondition> conditions;
+  private final Condition[] compiledConditions;
+  private final PathNode paths;
+  private final int pathCount;
+  private final Set<DirectBuffer> variableNames;
+
+  JsonConditionPlan(
+      List<CompiledJsonCondition> conditions,
+      Condition[] compiledConditions,
+      PathNode paths,
+      int pathCount,
+      Set<DirectBuffer> variableNames) {
+    this.conditions = conditions;
+    this.compiledConditions = compiledConditions;
+    this.paths = paths;
+    this.pathCount = pathCount;
+    this.variableNames = Collections.unmodifiableSet(variableNames);
+  }
+
+  public List<CompiledJsonCondition> getConditions() {
+    return conditions;
+  }
+
+  /** @return the names of the variables which are referenced by any of the conditions */
+  public Set<DirectBuffer> getVariableNames() {
+    return variableNames;
+  }
+
+  Condition getCompiledCondition(int index) {
+    return compiledConditions[index];
+  }
+
+  int getConditionCount() {
+    return compiledConditions.length;
+  }
+
+  PathNode getPaths() {
+    return paths;
+  }
+
+  int getPathCount() {
+    return pathCount;
+  }
+
+  /** A compiled condition, which is evaluated with the resolved values of the JSON paths. */
+  @FunctionalInterface
+  interface Condition {
+    boolean test(MsgPackToken[] pathValues);
+  }
+
+  /**
+   * A node of the trie of the JSON paths of the plan. The children of the root are the variables,
+   * the children of the other nodes are the properties of the node's value.
+   */
+  static final class PathNode {
+    static final int NO_PATH = -1;
+
+    private DirectBuffer[] names = new DirectBuffer[0];
+    private PathNode[] children = new PathNode[0];
+    private int pathIndex = NO_PATH;
+
+    PathNode getChild(DirectBuffer name) {
+      for (int i = 0; i < names.length; i++) {
+        if (names[i].equals(name)) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    PathNode getOrAddChild(DirectBuffer name) {
+      PathNode child = getChild(name);
+
+      if (child == null) {
+        child = new PathNode();
+
+        final int childCount = names.length;
+        names = Arrays.copyOf(names, childCount + 1);
+        children = Arrays.copyOf(children, childCount + 1);
+        names[childCount] = name;
+        children[childCount] = child;
+      }
+      return child;
+    }
+
+    boolean hasChildren() {
+      return children.length > 0;
+    }
+
+    /** @return the index of the JSON path which ends with this node, or {@link #NO_PATH} */
+    int getPathIndex() {
+      return pathIndex;
+    }
+
+    void setPathIndex(int pathIndex) {
+      this.pathIndex = pathIndex;
+    }
+  }
+}
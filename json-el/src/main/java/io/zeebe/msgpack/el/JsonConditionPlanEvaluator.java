@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import io.zeebe.msgpack.el.JsonConditionPlan.PathNode;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import io.zeebe.msgpack.spec.MsgPackType;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+
+/**
+ * Evaluates {@link JsonConditionPlan}s. It resolves the JSON paths of a plan in one pass over the
+ * document, skipping the values which are not referenced, and then evaluates the conditions in
+ * order until one is fulfilled.
+ *
+ * <p>The evaluator is not thread-safe, but a plan can be evaluated by multiple evaluators.
+ */
+public class JsonConditionPlanEvaluator {
+
+  public static final int NO_CONDITION_FULFILLED = -1;
+
+  private final MsgPackReader reader = new MsgPackReader();
+
+  private MsgPackToken[] pathValues = new MsgPackToken[0];
+  private boolean[] resolvedPaths = new boolean[0];
+  private int resolvedPathCount;
+  private int pathCount;
+
+  /**
+   * @param plan the conditions to evaluate
+   * @param json the document which contains the variables of the conditions
+   * @return the index of the first condition of the plan which is fulfilled, or {@link
+   *     #NO_CONDITION_FULFILLED}
+   * @throws JsonConditionException if a condition can't be evaluated
+   */
+  public int evaluate(final JsonConditionPlan plan, final DirectBuffer json) {
+    if (plan.getConditionCount() == 0) {
+      return NO_CONDITION_FULFILLED;
+    }
+
+    try {
+      resolvePaths(plan, json);
+    } catch (Exception e) {
+      throw new JsonConditionException(plan.getConditions().get(0), e);
+    }
+
+    for (int i = 0; i < plan.getConditionCount(); i++) {
+      final boolean isFulfilled;
+      try {
+        isFulfilled = plan.getCompiledCondition(i).test(pathValues);
+      } catch (Exception e) {
+        throw new JsonConditionException(plan.getConditions().get(i), e);
+      }
+
+      if (isFulfilled) {
+        return i;
+      }
+    }
+
+    return NO_CONDITION_FULFILLED;
+  }
+
+  private void resolvePaths(final JsonConditionPlan plan, final DirectBuffer json) {
+    pathCount = plan.getPathCount();
+    ensureCapacity(pathCount);
+
+    for (int i = 0; i < pathCount; i++) {
+      // a path which is not contained in the document is null
+      pathValues[i].setType(MsgPackType.NIL);
+      resolvedPaths[i] = false;
+    }
+    resolvedPathCount = 0;
+
+    if (pathCount > 0 && json.capacity() > 0) {
+      reader.wrap(json, 0, json.capacity());
+
+      final MsgPackToken document = reader.readToken();
+      if (document.getType() == MsgPackType.MAP) {
+        resolveProperties(plan.getPaths(), document.getSize());
+      }
+    }
+  }
+
+  /**
+   * Reads the properties of the map which the reader is positioned at, and resolves the paths of
+   * the given node's children.
+   */
+  private void resolveProperties(final PathNode node, final int properties) {
+    for (int i = 0; i < properties && resolvedPathCount < pathCount; i++) {
+      final MsgPackToken name = reader.readToken();
+      final PathNode child =
+          name.getType() == MsgPackType.STRING ? node.getChild(name.getValueBuffer()) : null;
+
+      if (child == null) {
+        reader.skipValue();
+        continue;
+      }
+
+      final MsgPackToken value = reader.readToken();
+      final int pathIndex = child.getPathIndex();
+
+      if (pathIndex != PathNode.NO_PATH && !resolvedPaths[pathIndex]) {
+        copyToken(value, pathValues[pathIndex]);
+        resolvedPaths[pathIndex] = true;
+        resolvedPathCount += 1;
+      }
+
+      if (value.getType() == MsgPackType.MAP) {
+        final int size = value.getSize();
+
+        if (child.hasChildren()) {
+          resolveProperties(child, size);
+        } else {
+          reader.skipValues(2L * size);
+        }
+      } else if (value.getType() == MsgPackType.ARRAY) {
+        reader.skipValues(value.getSize());
+      }
+    }
+  }
+
+  private static void copyToken(final MsgPackToken source, final MsgPackToken target) {
+    target.setType(source.getType());
+
+    switch (source.getType()) {
+      case INTEGER:
+        target.setValue(source.getIntegerValue());
+        break;
+      case FLOAT:
+        target.setValue(source.getFloatValue());
+        break;
+      case BOOLEAN:
+        target.setValue(source.getBooleanValue());
+        break;
+      case STRING:
+      case BINARY:
+        // the value stays a view of the document
+        final DirectBuffer value = source.getValueBuffer();
+        target.setValue(value, 0, value.capacity());
+        break;
+      case MAP:
+      case ARRAY:
+        target.setMapHeader(source.getSize());
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void ensureCapacity(final int pathCount) {
+    if (pathValues.length < pathCount) {
+      final int previousLength = pathValues.length;
+
+      pathValues = Arrays.copyOf(pathValues, pathCount);
+      resolvedPaths = new boolean[pathCount];
+
+      for (int i = previousLength; i < pathCount; i++) {
+        pathValues[i] = new MsgPackToken();
+      }
+    }
+  }
+}
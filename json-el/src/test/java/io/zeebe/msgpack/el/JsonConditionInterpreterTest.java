@@ -19,6 +19,7 @@ import static io.zeebe.test.util.MsgPackUtil.asMsgPack;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
+import java.util.Collections;
 import org.agrona.DirectBuffer;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -30,6 +31,7 @@ import org.junit.runners.Parameterized.Parameters;
 public class JsonConditionInterpreterTest {
 
   private final JsonConditionInterpreter interpreter = new JsonConditionInterpreter();
+  private final JsonConditionPlanEvaluator planEvaluator = new JsonConditionPlanEvaluator();
 
   @Parameters(name = "{index}: expression = {0}")
   public static Iterable<Object[]> data() {
@@ -112,4 +114,14 @@ public class JsonConditionInterpreterTest {
     final boolean result = interpreter.eval(condition, json);
     assertThat(result).describedAs("is fulfilled").isEqualTo(isFulfilled);
   }
+
+  @Test
+  public void shouldEvaluatePlanLikeInterpreter() {
+    final CompiledJsonCondition condition = JsonConditionFactory.createCondition(expression);
+    final JsonConditionPlan plan =
+        JsonConditionFactory.createPlan(Collections.singletonList(condition));
+
+    final int fulfilledCondition = planEvaluator.evaluate(plan, json);
+    assertThat(fulfilledCondition == 0).describedAs("is fulfilled").isEqualTo(isFulfilled);
+  }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import static io.zeebe.msgpack.el.JsonConditionPlanEvaluator.NO_CONDITION_FULFILLED;
+import static io.zeebe.test.util.MsgPackUtil.asMsgPack;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+public class JsonConditionPlanTest {
+
+  private final JsonConditionPlanEvaluator evaluator = new JsonConditionPlanEvaluator();
+
+  @Test
+  public void shouldReturnFirstFulfilledCondition() {
+    // given
+    final JsonConditionPlan plan = createPlan("foo < 5", "foo < 10", "foo < 15");
+
+    // when - then
+    assertThat(evaluator.evaluate(plan, asMsgPack("foo", 3))).isEqualTo(0);
+    assertThat(evaluator.evaluate(plan, asMsgPack("foo", 7))).isEqualTo(1);
+    assertThat(evaluator.evaluate(plan, asMsgPack("foo", 12))).isEqualTo(2);
+    assertThat(evaluator.evaluate(plan, asMsgPack("foo", 20))).isEqualTo(NO_CONDITION_FULFILLED);
+  }
+
+  @Test
+  public void shouldNotFulfillAnyConditionIfEmpty() {
+    // given
+    final JsonConditionPlan plan = JsonConditionFactory.createPlan(Collections.emptyList());
+
+    // when - then
+    assertThat(evaluator.evaluate(plan, asMsgPack("foo", 3))).isEqualTo(NO_CONDITION_FULFILLED);
+    assertThat(plan.getVariableNames()).isEmpty();
+  }
+
+  @Test
+  public void shouldResolveNestedPaths() {
+    // given
+    final JsonConditionPlan plan =
+        createPlan("order.customer.name == 'foo'", "order.total > 10 && order.customer != null");
+
+    // when
+    final DirectBuffer document =
+        asMsgPack(
+            "{'items': [1, 2, 3], 'order': {'id': 1, 'customer': {'name': 'bar'}, 'total': 12}}");
+
+    // then
+    assertThat(evaluator.evaluate(plan, document)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldResolveMissingPathsAsNull() {
+    // given
+    final JsonConditionPlan plan = createPlan("order.customer == 'foo'", "order.customer == null");
+
+    // when - then
+    assertThat(evaluator.evaluate(plan, asMsgPack("order", 3))).isEqualTo(1);
+    assertThat(evaluator.evaluate(plan, asMsgPack("{'order': {'customer': 'foo'}}"))).isEqualTo(0);
+    assertThat(evaluator.evaluate(plan, asMsgPack("{'order': {'id': 'foo'}}"))).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotKeepValuesOfPreviousEvaluation() {
+    // given
+    final JsonConditionPlan plan = createPlan("foo == 'a'", "foo == null");
+
+    // when
+    evaluator.evaluate(plan, asMsgPack("foo", "a"));
+
+    // then
+    assertThat(evaluator.evaluate(plan, asMsgPack("bar", "a"))).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCollectVariableNamesOfAllConditions() {
+    // given
+    final JsonConditionPlan plan = createPlan("foo == 1", "bar.baz == 2 || foo == bar");
+
+    // then
+    assertThat(plan.getVariableNames()).containsOnly(wrapString("foo"), wrapString("bar"));
+  }
+
+  @Test
+  public void shouldNotConvertConstants() {
+    // given
+    final JsonConditionPlan plan = createPlan("foo == 2");
+
+    // when
+    assertThat(evaluator.evaluate(plan, asMsgPack("foo", 2.0))).isEqualTo(0);
+
+    // then
+    assertThat(evaluator.evaluate(plan, asMsgPack("foo", 2))).isEqualTo(0);
+    assertThat(evaluator.evaluate(plan, asMsgPack("foo", 2.5))).isEqualTo(NO_CONDITION_FULFILLED);
+  }
+
+  @Test
+  public void shouldFailWithFailingCondition() {
+    // given
+    final JsonConditionPlan plan = createPlan("foo == null", "foo > 3", "foo == 'bar'");
+
+    // then
+    assertThatThrownBy(() -> evaluator.evaluate(plan, asMsgPack("foo", "bar")))
+        .isInstanceOf(JsonConditionException.class)
+        .hasMessage(
+            "Expected to evaluate condition 'foo > 3' successfully, but failed because: "
+                + "Cannot compare values of different types: STRING and INTEGER");
+  }
+
+  @Test
+  public void shouldFailIfTypeIsNotNumber() {
+    // given
+    final JsonConditionPlan plan = createPlan("foo < bar");
+
+    // then
+    assertThatThrownBy(
+            () -> evaluator.evaluate(plan, asMsgPack(c -> c.put("foo", "a").put("bar", "b"))))
+        .isInstanceOf(JsonConditionException.class)
+        .hasMessageContaining("Cannot compare values. Expected number but found: STRING");
+  }
+
+  @Test
+  public void shouldFailIfTypeIsMap() {
+    // given
+    final JsonConditionPlan plan = createPlan("foo == bar");
+
+    // then
+    assertThatThrownBy(() -> evaluator.evaluate(plan, asMsgPack("{'foo': {'a': 1}, 'bar': {}}")))
+        .isInstanceOf(JsonConditionException.class)
+        .hasMessageContaining("Cannot compare value of type: MAP");
+  }
+
+  private static JsonConditionPlan createPlan(String... expressions) {
+    final List<CompiledJsonCondition> conditions =
+        Arrays.stream(expressions)
+            .map(JsonConditionFactory::createCondition)
+            .collect(Collectors.toList());
+
+    return JsonConditionFactory.createPlan(conditions);
+  }
+}
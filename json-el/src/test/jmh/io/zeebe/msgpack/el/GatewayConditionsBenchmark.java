@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares choosing the outgoing sequence flow of an exclusive gateway with the interpreter, which
+ * evaluates the conditions one after another, and with a compiled plan of all conditions. Each
+ * operation evaluates all conditions of the gateway, since only the last one is fulfilled.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class GatewayConditionsBenchmark {
+
+  private final JsonConditionInterpreter interpreter = new JsonConditionInterpreter();
+  private final JsonConditionPlanEvaluator evaluator = new JsonConditionPlanEvaluator();
+
+  @Benchmark
+  @Threads(1)
+  public int interpretConditions(final GatewayConditionsCtx ctx) {
+    final List<CompiledJsonCondition> conditions = ctx.conditions;
+
+    for (int i = 0; i < conditions.size(); i++) {
+      if (interpreter.eval(conditions.get(i), ctx.variables)) {
+        return i;
+      }
+    }
+    return JsonConditionPlanEvaluator.NO_CONDITION_FULFILLED;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int evaluatePlan(final GatewayConditionsCtx ctx) {
+    return evaluator.evaluate(ctx.plan, ctx.variables);
+  }
+}
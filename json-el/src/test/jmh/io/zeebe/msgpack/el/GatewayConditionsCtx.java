@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import io.zeebe.test.util.MsgPackUtil;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The conditions of an exclusive gateway with the given number of outgoing sequence flows, and a
+ * document of variables which fulfills only the condition of the last flow.
+ */
+@State(Scope.Benchmark)
+public class GatewayConditionsCtx {
+
+  private static final int OTHER_VARIABLES = 20;
+
+  @Param({"2", "10", "50"})
+  public int flows;
+
+  final List<CompiledJsonCondition> conditions = new ArrayList<>();
+  JsonConditionPlan plan;
+  DirectBuffer variables;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    for (int i = 0; i < flows; i++) {
+      final String expression =
+          String.format(
+              "order.type == 'type-%d' && order.total >= %d || order.customer.tier == %d",
+              i, i * 10, i);
+      conditions.add(JsonConditionFactory.createCondition(expression));
+    }
+
+    plan = JsonConditionFactory.createPlan(conditions);
+
+    final int last = flows - 1;
+    final StringBuilder document = new StringBuilder("{");
+    for (int i = 0; i < OTHER_VARIABLES; i++) {
+      document.append(String.format("'variable%d': {'id': %d, 'name': 'foo'}, ", i, i));
+    }
+    document.append(
+        String.format(
+            "'order': {'id': 1, 'items': [1, 2, 3], 'customer': {'name': 'bar', 'tier': %d}, "
+                + "'type': 'type-%d', 'total': %d}}",
+            last, last, last * 10 - 1));
+
+    variables = MsgPackUtil.asMsgPack(document.toString());
+  }
+}
@@ -15,20 +15,62 @@
  */
 package io.zeebe.msgpack.mapping;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public class JsonPathPointer {
 
   private final String[] pathElements;
 
+  /** the UTF-8 encoded path elements, one after another */
+  private final DirectBuffer pathBuffer;
+
+  private final int[] pathElementOffsets;
+  private final int[] pathElementLengths;
+
   public JsonPathPointer(String[] pathElements) {
     this.pathElements = pathElements;
+    this.pathElementOffsets = new int[pathElements.length];
+    this.pathElementLengths = new int[pathElements.length];
+
+    final byte[][] encodedPathElements = new byte[pathElements.length][];
+    int pathLength = 0;
+    for (int i = 0; i < pathElements.length; i++) {
+      encodedPathElements[i] = pathElements[i].getBytes(StandardCharsets.UTF_8);
+      pathLength += encodedPathElements[i].length;
+    }
+
+    final byte[] path = new byte[pathLength];
+    int offset = 0;
+    for (int i = 0; i < encodedPathElements.length; i++) {
+      final byte[] encodedPathElement = encodedPathElements[i];
+      System.arraycopy(encodedPathElement, 0, path, offset, encodedPathElement.length);
+
+      pathElementOffsets[i] = offset;
+      pathElementLengths[i] = encodedPathElement.length;
+      offset += encodedPathElement.length;
+    }
+    this.pathBuffer = new UnsafeBuffer(path);
   }
 
   public String[] getPathElements() {
     return pathElements;
   }
 
+  public DirectBuffer getPathBuffer() {
+    return pathBuffer;
+  }
+
+  public int getPathElementOffset(int index) {
+    return pathElementOffsets[index];
+  }
+
+  public int getPathElementLength(int index) {
+    return pathElementLengths[index];
+  }
+
   @Override
   public String toString() {
     return Arrays.toString(pathElements);
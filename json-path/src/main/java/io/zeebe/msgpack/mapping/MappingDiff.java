@@ -15,8 +15,6 @@
  */
 package io.zeebe.msgpack.mapping;
 
-import static io.zeebe.msgpack.mapping.MsgPackTreeNodeIdConstructor.construct;
-
 import io.zeebe.msgpack.spec.MsgPackWriter;
 import org.agrona.BitUtil;
 import org.agrona.DirectBuffer;
@@ -109,12 +107,15 @@ public class MappingDiff implements MsgPackDiff {
 
     for (int i = 0; i < mappings.length; i++) {
       final Mapping mapping = mappings[i];
-      final String[] targetPathElements = mapping.getTargetPointer().getPathElements();
+      final JsonPathPointer targetPointer = mapping.getTargetPointer();
+      final String[] targetPathElements = targetPointer.getPathElements();
+      final int pathDocumentId = document.addDocument(targetPointer.getPathBuffer());
 
-      String parentId = "";
+      int parentId = MsgPackTree.NO_PARENT;
 
       for (int j = 0; j < targetPathElements.length; j++) {
-        final String nodeName = targetPathElements[j];
+        final int nameOffset = targetPointer.getPathElementOffset(j);
+        final int nameLength = targetPointer.getPathElementLength(j);
 
         if (j == targetPathElements.length - 1) {
           final int valueOffset = getResultOffset(i);
@@ -125,25 +126,39 @@ public class MappingDiff implements MsgPackDiff {
           mergeValueInto(
               document,
               parentId,
-              nodeName,
+              pathDocumentId,
+              nameOffset,
+              nameLength,
               mapping.getType(),
               documentId,
               valueOffset,
               valueLength);
 
         } else {
-          parentId = mergeContainerInto(document, parentId, nodeName, targetPathElements[j + 1]);
+          parentId =
+              mergeContainerInto(
+                  document,
+                  parentId,
+                  pathDocumentId,
+                  nameOffset,
+                  nameLength,
+                  targetPathElements[j + 1]);
         }
       }
     }
   }
 
-  private String mergeContainerInto(
-      MsgPackTree document, String parentId, String nodeName, String nextPathElement) {
+  private int mergeContainerInto(
+      MsgPackTree document,
+      int parentId,
+      int nameDocumentId,
+      int nameOffset,
+      int nameLength,
+      String nextPathElement) {
 
-    final String nodeId = construct(parentId, nodeName);
+    final int nodeId = document.getNode(parentId, nameDocumentId, nameOffset, nameLength);
 
-    if (document.hasNode(nodeId)) {
+    if (nodeId != MsgPackTree.NO_NODE) {
       if (!isIndex(nextPathElement)) {
         document.convertToMapNode(nodeId);
       }
@@ -151,28 +166,32 @@ public class MappingDiff implements MsgPackDiff {
       return nodeId;
     } else {
       if (isIndex(nextPathElement)) {
-        return document.addArrayNode(parentId, nodeName);
+        return document.addArrayNode(parentId, nameDocumentId, nameOffset, nameLength);
       } else {
-        return document.addMapNode(parentId, nodeName);
+        return document.addMapNode(parentId, nameDocumentId, nameOffset, nameLength);
       }
     }
   }
 
   private void mergeValueInto(
       MsgPackTree document,
-      String parentId,
-      String nodeName,
+      int parentId,
+      int nameDocumentId,
+      int nameOffset,
+      int nameLength,
       Mapping.Type mappingType,
       int documentId,
       int valueOffset,
       int valueLength) {
     switch (mappingType) {
       case COLLECT:
-        document.appendToArray(parentId, nodeName, documentId, valueOffset, valueLength);
+        document.appendToArray(
+            parentId, nameDocumentId, nameOffset, nameLength, documentId, valueOffset, valueLength);
         break;
       case PUT:
       default:
-        document.addValueNode(parentId, nodeName, documentId, valueOffset, valueLength);
+        document.addValueNode(
+            parentId, nameDocumentId, nameOffset, nameLength, documentId, valueOffset, valueLength);
         break;
     }
   }
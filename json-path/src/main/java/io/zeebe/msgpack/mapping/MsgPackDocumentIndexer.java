@@ -19,8 +19,7 @@ import io.zeebe.msgpack.query.MsgPackTokenVisitor;
 import io.zeebe.msgpack.query.MsgPackTraverser;
 import io.zeebe.msgpack.spec.MsgPackCodes;
 import io.zeebe.msgpack.spec.MsgPackToken;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.Arrays;
 import org.agrona.DirectBuffer;
 
 /**
@@ -56,43 +55,29 @@ import org.agrona.DirectBuffer;
  * }
  * </pre>
  *
- * <p>Then this correspond to the following message pack tree structure:
- *
- * <pre>NodeTypes:
- * {@code
- *
- * 1object1 : MAP_NODE
- * 2field1 : LEAF
- * 2array : ARRAY_NODE
- * 1field2: LEAF
- * }
- * </pre>
- *
- * <pre>NodeChildsMap:
- * {@code
- *
- * 1object1: field1, array
- * 2array : 2array1, 2array2, 2array3,
- * }
- * </pre>
- *
- * <pre>LeafMap:
- * {@code
- *
- * 2field1: mapping
- * 2array1: mapping
- * 2array2: mapping
- * 2array3: mapping
- * 1field2: mapping
- * }
- * </pre>
+ * <p>The map keys of the nodes are not copied, they refer to the keys in the indexed document. The
+ * array elements are named by their index.
  */
 public final class MsgPackDocumentIndexer implements MsgPackTokenVisitor {
+  private static final int INITIAL_DEPTH = 16;
+
   /** The message pack tree which is constructed via the indexing of the message pack document. */
   private final MsgPackTree msgPackTree;
 
-  private final Deque<TokenParseContext> parsingContextStack = new ArrayDeque<>();
-  private final MapEntryParseContext mapEntryContext = new MapEntryParseContext();
+  /*
+   * The parsing contexts of the containers which are currently indexed, as a stack of
+   * primitive values to avoid garbage
+   */
+  private int[] contextParentNodeIds = new int[INITIAL_DEPTH];
+  private boolean[] contextIsArray = new boolean[INITIAL_DEPTH];
+  private int[] contextRepetitions = new int[INITIAL_DEPTH];
+  private int[] contextRemainingRepetitions = new int[INITIAL_DEPTH];
+  private int contextDepth;
+
+  private MapEntryParsingMode mapEntryParsingMode;
+  private int currentKeyDocumentId;
+  private int currentKeyOffset;
+  private int currentKeyLength;
 
   /** The traverser which is used to index the message pack document. */
   private final MsgPackTraverser traverser = new MsgPackTraverser();
@@ -110,9 +95,9 @@ public final class MsgPackDocumentIndexer implements MsgPackTokenVisitor {
       return msgPackTree;
     }
 
-    parsingContextStack.push(new TokenParseContext(ParsingMode.MAP_ENTRY, "", 1));
-    mapEntryContext.currentKey = "$";
-    mapEntryContext.parsingMode = MapEntryParsingMode.VALUE;
+    pushContext(false, MsgPackTree.NO_PARENT, 1);
+    currentKeyDocumentId = MsgPackTree.ROOT_NAME_DOCUMENT;
+    mapEntryParsingMode = MapEntryParsingMode.VALUE;
 
     documentId = msgPackTree.addDocument(document);
     traverser.wrap(document, 0, document.capacity());
@@ -127,123 +112,113 @@ public final class MsgPackDocumentIndexer implements MsgPackTokenVisitor {
 
   @Override
   public void visitElement(int position, MsgPackToken currentValue) {
+    final int context = contextDepth - 1;
+    final int parentNodeId = contextParentNodeIds[context];
+    final int remainingRepetitions = --contextRemainingRepetitions[context];
 
-    final TokenParseContext tokenContext = parsingContextStack.peek();
-    tokenContext.consumeRepetition();
-
-    if (tokenContext.remainingRepetitions == 0) {
-      parsingContextStack.remove();
+    if (remainingRepetitions == 0) {
+      contextDepth--;
     }
 
-    switch (tokenContext.parsingMode) {
-      case MAP_ENTRY:
-        switch (mapEntryContext.parsingMode) {
-          case KEY:
-            mapEntryContext.currentKey = parseMapKey(currentValue);
-            mapEntryContext.parsingMode = MapEntryParsingMode.VALUE;
-            break;
-          case VALUE:
-            parseValue(tokenContext, mapEntryContext.currentKey, position, currentValue);
-            mapEntryContext.currentKey = "";
-            mapEntryContext.parsingMode = MapEntryParsingMode.KEY;
-            break;
-        }
-        break;
-      case ARRAY_ENTRY:
-        final int index = tokenContext.repetitions - tokenContext.remainingRepetitions - 1;
-        final String key = Integer.toString(index);
-
-        parseValue(tokenContext, key, position, currentValue);
-
-        break;
+    if (contextIsArray[context]) {
+      final int index = contextRepetitions[context] - remainingRepetitions - 1;
+
+      parseValue(
+          parentNodeId, MsgPackTree.ARRAY_INDEX_NAME_DOCUMENT, index, 0, position, currentValue);
+
+    } else {
+      switch (mapEntryParsingMode) {
+        case KEY:
+          parseMapKey(position, currentValue);
+          mapEntryParsingMode = MapEntryParsingMode.VALUE;
+          break;
+        case VALUE:
+          parseValue(
+              parentNodeId,
+              currentKeyDocumentId,
+              currentKeyOffset,
+              currentKeyLength,
+              position,
+              currentValue);
+          mapEntryParsingMode = MapEntryParsingMode.KEY;
+          break;
+      }
     }
   }
 
   private void parseValue(
-      TokenParseContext tokenContext, String key, int valuePosition, MsgPackToken value) {
+      int parentNodeId,
+      int keyDocumentId,
+      int keyOffset,
+      int keyLength,
+      int valuePosition,
+      MsgPackToken value) {
 
     switch (value.getType()) {
       case MAP:
-        parseMapValue(tokenContext, key, value);
+        final int mapNodeId =
+            msgPackTree.addMapNode(parentNodeId, keyDocumentId, keyOffset, keyLength);
+        final int mapElements = value.getSize();
+
+        if (mapElements > 0) {
+          pushContext(false, mapNodeId, mapElements * 2);
+        }
         break;
       case ARRAY:
-        parseArrayValue(tokenContext, key, value);
+        final int arrayNodeId =
+            msgPackTree.addArrayNode(parentNodeId, keyDocumentId, keyOffset, keyLength);
+        final int arrayElements = value.getSize();
+
+        if (arrayElements > 0) {
+          pushContext(true, arrayNodeId, arrayElements);
+        }
         break;
       default:
-        parsePrimitiveValue(tokenContext, key, valuePosition, value);
+        msgPackTree.addValueNode(
+            parentNodeId,
+            keyDocumentId,
+            keyOffset,
+            keyLength,
+            documentId,
+            valuePosition,
+            value.getTotalLength());
         break;
     }
   }
 
-  private void parsePrimitiveValue(
-      TokenParseContext tokenContext, String key, int valuePosition, MsgPackToken value) {
-    msgPackTree.addValueNode(
-        tokenContext.parentNodeId, key, documentId, valuePosition, value.getTotalLength());
-  }
-
-  private void parseArrayValue(TokenParseContext tokenContext, String key, MsgPackToken value) {
-    final String arrayNodeId = msgPackTree.addArrayNode(tokenContext.parentNodeId, key);
-    final int arrayElements = value.getSize();
+  /** The key is referenced in the document, the key's value is located after the header. */
+  private void parseMapKey(int position, MsgPackToken currentValue) {
+    final int keyLength = currentValue.getValueBuffer().capacity();
 
-    if (arrayElements > 0) {
-      parsingContextStack.push(
-          new TokenParseContext(ParsingMode.ARRAY_ENTRY, arrayNodeId, arrayElements));
-    }
+    currentKeyDocumentId = documentId;
+    currentKeyOffset = position + currentValue.getTotalLength() - keyLength;
+    currentKeyLength = keyLength;
   }
 
-  private void parseMapValue(TokenParseContext tokenContext, String key, MsgPackToken value) {
-    final String nodeId = msgPackTree.addMapNode(tokenContext.parentNodeId, key);
-    final int mapElements = value.getSize();
-
-    if (mapElements > 0) {
-      parsingContextStack.push(
-          new TokenParseContext(ParsingMode.MAP_ENTRY, nodeId, mapElements * 2));
+  private void pushContext(boolean isArray, int parentNodeId, int repetitions) {
+    if (contextDepth == contextParentNodeIds.length) {
+      final int newDepth = contextDepth * 2;
+      contextParentNodeIds = Arrays.copyOf(contextParentNodeIds, newDepth);
+      contextIsArray = Arrays.copyOf(contextIsArray, newDepth);
+      contextRepetitions = Arrays.copyOf(contextRepetitions, newDepth);
+      contextRemainingRepetitions = Arrays.copyOf(contextRemainingRepetitions, newDepth);
     }
-  }
 
-  private String parseMapKey(MsgPackToken currentValue) {
-    final DirectBuffer valueBuffer = currentValue.getValueBuffer();
-
-    return valueBuffer.getStringWithoutLengthUtf8(0, valueBuffer.capacity());
+    contextParentNodeIds[contextDepth] = parentNodeId;
+    contextIsArray[contextDepth] = isArray;
+    contextRepetitions[contextDepth] = repetitions;
+    contextRemainingRepetitions[contextDepth] = repetitions;
+    contextDepth++;
   }
 
   /** Clears the preprocessor and resets to the initial state. */
   private void clear() {
-    parsingContextStack.clear();
+    contextDepth = 0;
     msgPackTree.clear();
   }
 
-  enum ParsingMode {
-    MAP_ENTRY,
-    ARRAY_ENTRY
-  }
-
   enum MapEntryParsingMode {
     KEY,
     VALUE
   }
-
-  static class MapEntryParseContext {
-    private MapEntryParsingMode parsingMode;
-    private String currentKey;
-  }
-
-  static class TokenParseContext {
-    final ParsingMode parsingMode;
-    final String parentNodeId;
-    final int repetitions;
-
-    int remainingRepetitions;
-
-    TokenParseContext(ParsingMode parsingMode, String parentNodeId, int repetitions) {
-      this.parsingMode = parsingMode;
-      this.parentNodeId = parentNodeId;
-      this.repetitions = repetitions;
-      this.remainingRepetitions = repetitions;
-    }
-
-    void consumeRepetition() {
-      remainingRepetitions--;
-    }
-  }
 }
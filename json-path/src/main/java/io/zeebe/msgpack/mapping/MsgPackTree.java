@@ -15,16 +15,11 @@
  */
 package io.zeebe.msgpack.mapping;
 
-import static io.zeebe.msgpack.mapping.MsgPackTreeNodeIdConstructor.construct;
-
 import io.zeebe.msgpack.spec.MsgPackWriter;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
 import org.agrona.DirectBuffer;
-import org.agrona.collections.Object2IntHashMap;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 /**
  * Represents a tree data structure, for a msg pack document.
@@ -36,230 +31,609 @@ import org.agrona.collections.Object2IntHashMap;
  * can be done with the {@link MsgPackDocumentIndexer}. It can also be constructed from only a port
  * of a message pack document. This can be done with the {@link MsgPackDocumentExtractor}.
  *
- * <p>The message pack tree can consist from two different message pack documents. The underlying
- * document, from which the tree is completely build and the extract document, which can be a part
- * of another message pack document. The tree representation of the extract document will be as well
- * added to the current message pack tree object.
+ * <p>The message pack tree can consist from multiple message pack documents. Since the leafs
+ * contains a mapping, which consist of the document, position and length, it is necessary that the
+ * documents are available for the message pack tree, so the leaf value can be resolved later.
  *
- * <p>Since the leafs contains a mapping, which consist of position and length, it is necessary that
- * both documents are available for the message pack tree, so the leaf value can be resolved later.
- * The leafs have to be distinguished, is it a leaf from the underlying document or is it from the
- * extract document. For this distinction the {@link MsgPackNodeType#EXISTING_LEAF_NODE} and {@link
- * MsgPackNodeType#EXTRACTED_LEAF_NODE} are used.
+ * <p>The nodes are identified by an int id and stored in flat arrays, which are reused after the
+ * tree is cleared. The name of a node refers to the key in the document it was indexed from, or to
+ * the index of the array element, so that building and merging trees doesn't produce garbage. The
+ * children of a node are linked in insertion order and can be looked up by name with {@link
+ * #getNode(int, DirectBuffer)}.
  */
 public class MsgPackTree implements MsgPackDiff {
-  protected final Map<String, MsgPackNodeType> nodeTypeMap; // Bytes2LongHashIndex nodeTypeMap;
-  protected final Map<String, Set<String>> nodeChildsMap;
-  protected final Map<String, Long> leafMap; // Bytes2LongHashIndex leafMap;
-  protected final Object2IntHashMap<String> leafDocumentSources;
 
-  private DirectBuffer[] documents = new DirectBuffer[0];
+  /** The id of the parent of the root node. */
+  public static final int NO_PARENT = -1;
+
+  /** Returned if a node doesn't exist. */
+  public static final int NO_NODE = -1;
+
+  /** The name document of the root node, the name is always {@link Mapping#JSON_ROOT_PATH}. */
+  public static final int ROOT_NAME_DOCUMENT = -2;
+
+  /** The name document of array elements, the name offset is the index of the element. */
+  public static final int ARRAY_INDEX_NAME_DOCUMENT = -3;
+
+  /** The name document of names which are copied into the tree itself. */
+  private static final int OWN_NAME_DOCUMENT = -4;
+
+  private static final DirectBuffer ROOT_NAME = new UnsafeBuffer(new byte[] {'$'});
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int nodeCount;
+
+  private MsgPackNodeType[] nodeTypes = new MsgPackNodeType[INITIAL_CAPACITY];
+  private int[] parents = new int[INITIAL_CAPACITY];
+  private boolean[] detached = new boolean[INITIAL_CAPACITY];
+
+  private int[] firstChildren = new int[INITIAL_CAPACITY];
+  private int[] lastChildren = new int[INITIAL_CAPACITY];
+  private int[] childCounts = new int[INITIAL_CAPACITY];
+  private int[] previousSiblings = new int[INITIAL_CAPACITY];
+  private int[] nextSiblings = new int[INITIAL_CAPACITY];
+
+  private int[] nameDocuments = new int[INITIAL_CAPACITY];
+  private int[] nameOffsets = new int[INITIAL_CAPACITY];
+  private int[] nameLengths = new int[INITIAL_CAPACITY];
+  private int[] nameHashes = new int[INITIAL_CAPACITY];
+
+  private int[] valueDocuments = new int[INITIAL_CAPACITY];
+  private long[] valueMappings = new long[INITIAL_CAPACITY];
+
+  /** open addressing index of the nodes by parent and name */
+  private int[] nodeIndex = new int[INITIAL_CAPACITY * 2];
+
+  private int indexedNodesCount;
+
+  private DirectBuffer[] documents = new DirectBuffer[INITIAL_CAPACITY];
+  private int documentCount;
+
+  private final ExpandableArrayBuffer ownNames = new ExpandableArrayBuffer();
+  private int ownNamesLength;
+
+  private final UnsafeBuffer nodeNameView = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer nodeIndexName = new UnsafeBuffer(new byte[10]);
+  private final UnsafeBuffer candidateNameView = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer candidateIndexName = new UnsafeBuffer(new byte[10]);
+  private final UnsafeBuffer queryNameView = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer queryIndexName = new UnsafeBuffer(new byte[10]);
 
   public MsgPackTree() {
-    nodeTypeMap = new HashMap<>();
-    nodeChildsMap = new HashMap<>();
-    leafMap = new HashMap<>();
-    leafDocumentSources = new Object2IntHashMap<>(-1);
+    Arrays.fill(nodeIndex, NO_NODE);
   }
 
   public int size() {
-    return nodeTypeMap.size();
+    return nodeCount;
   }
 
   public void clear() {
-    nodeChildsMap.clear();
-    nodeTypeMap.clear();
-    leafMap.clear();
-    leafDocumentSources.clear();
-    documents = new DirectBuffer[0];
-  }
+    nodeCount = 0;
+    ownNamesLength = 0;
+
+    if (indexedNodesCount > 0) {
+      Arrays.fill(nodeIndex, NO_NODE);
+      indexedNodesCount = 0;
+    }
 
-  /** @return the names (not IDs) of the child nodes */
-  public Set<String> getChildren(String nodeId) {
-    return nodeChildsMap.get(nodeId);
+    Arrays.fill(documents, 0, documentCount, null);
+    documentCount = 0;
   }
 
   public int addDocument(DirectBuffer document) {
-    documents = Arrays.copyOf(documents, documents.length + 1);
-    documents[documents.length - 1] = document;
-    return documents.length - 1;
+    if (documentCount == documents.length) {
+      documents = Arrays.copyOf(documents, documentCount * 2);
+    }
+
+    documents[documentCount] = document;
+    return documentCount++;
   }
 
-  private void addContainerNode(String nodeId, MsgPackNodeType nodeType) {
-    nodeTypeMap.put(nodeId, nodeType);
-    nodeChildsMap.put(nodeId, new LinkedHashSet<>());
+  /** @return the id of the root node, or {@link #NO_NODE} if the tree is empty */
+  public int getRootNode() {
+    return getNode(NO_PARENT, ROOT_NAME);
   }
 
-  private void addChildToNode(String parentId, String childName) {
-    if (!parentId.isEmpty()) {
-      nodeChildsMap.get(parentId).add(childName);
-    }
+  /**
+   * @param parentId the id of the parent node, or {@link #NO_PARENT} for the root node
+   * @param name the name of the node
+   * @return the id of the node, or {@link #NO_NODE} if the parent has no child with this name
+   */
+  public int getNode(int parentId, DirectBuffer name) {
+    return findNode(parentId, name, hashName(name));
+  }
+
+  /**
+   * @param nameDocumentId the id of the document which contains the name of the node, or {@link
+   *     #ROOT_NAME_DOCUMENT} or {@link #ARRAY_INDEX_NAME_DOCUMENT}
+   * @return the id of the node, or {@link #NO_NODE} if the parent has no child with this name
+   */
+  public int getNode(int parentId, int nameDocumentId, int nameOffset, int nameLength) {
+    wrapName(nameDocumentId, nameOffset, nameLength, queryNameView, queryIndexName);
+    return findNode(parentId, queryNameView, hashName(queryNameView));
+  }
+
+  public int getChildCount(int nodeId) {
+    return childCounts[nodeId];
+  }
+
+  /** @return the id of the first child node, or {@link #NO_NODE} if the node has no children */
+  public int getFirstChild(int nodeId) {
+    return firstChildren[nodeId];
+  }
+
+  /** @return the id of the next sibling node, or {@link #NO_NODE} if it is the last child */
+  public int getNextSibling(int nodeId) {
+    return nextSiblings[nodeId];
+  }
+
+  /** @return a view of the name of the node, which is valid until the method is called again */
+  public DirectBuffer getNodeName(int nodeId) {
+    wrapName(
+        nameDocuments[nodeId],
+        nameOffsets[nodeId],
+        nameLengths[nodeId],
+        nodeNameView,
+        nodeIndexName);
+    return nodeNameView;
   }
 
-  public boolean isValueNode(String nodeId) {
-    return nodeTypeMap.get(nodeId) == MsgPackNodeType.VALUE;
+  public boolean isValueNode(int nodeId) {
+    return nodeTypes[nodeId] == MsgPackNodeType.VALUE;
   }
 
-  public boolean isArrayNode(String nodeId) {
-    return nodeTypeMap.get(nodeId) == MsgPackNodeType.ARRAY;
+  public boolean isArrayNode(int nodeId) {
+    return nodeTypes[nodeId] == MsgPackNodeType.ARRAY;
   }
 
-  public boolean isMapNode(String nodeId) {
-    return nodeTypeMap.get(nodeId) == MsgPackNodeType.MAP;
+  public boolean isMapNode(int nodeId) {
+    return nodeTypes[nodeId] == MsgPackNodeType.MAP;
   }
 
-  public void writeValueNode(MsgPackWriter writer, String nodeId) {
-    final long mapping = leafMap.get(nodeId);
+  public void writeValueNode(MsgPackWriter writer, int nodeId) {
+    final long mapping = valueMappings[nodeId];
     final int position = (int) (mapping >> 32);
     final int length = (int) mapping;
 
-    final int documentId = leafDocumentSources.getValue(nodeId);
-    final DirectBuffer sourceDocument = documents[documentId];
+    final DirectBuffer sourceDocument = documents[valueDocuments[nodeId]];
 
     writer.writeRaw(sourceDocument, position, length);
   }
 
-  /** Always replaces containers (object/array), unless it is the root object */
+  /**
+   * Merges the root children of this tree into the root of the other tree. Any other node replaces
+   * the node with the same path in the other tree, including its children.
+   */
   @Override
   public void mergeInto(MsgPackTree other) {
     /*
      * This method is critical for the performance of document merging
      * and extraction, so optimizations should be made here.
      */
+    final int rootNode = getRootNode();
+    if (rootNode == NO_NODE) {
+      return;
+    }
 
-    final int newDocumentOffset =
-        other.documents.length; // => so we can map other document ids to this document id
-
-    for (DirectBuffer ourDocument : documents) {
-      other.addDocument(ourDocument);
+    // => so we can map our document ids to the document ids of the other tree
+    final int documentOffset = other.documentCount;
+    for (int i = 0; i < documentCount; i++) {
+      other.addDocument(documents[i]);
     }
 
-    for (Map.Entry<String, MsgPackNodeType> leafMapEntry : nodeTypeMap.entrySet()) {
-      final String key = leafMapEntry.getKey();
-      final MsgPackNodeType nodeType = leafMapEntry.getValue();
+    final int otherRootNode = other.getRootNode();
+    if (otherRootNode == NO_NODE || isValueNode(rootNode)) {
+      other.copyNode(this, rootNode, NO_PARENT, otherRootNode, documentOffset);
+    } else {
+      other.setContainerType(otherRootNode, mergeNodeType(other, otherRootNode, rootNode));
 
-      // hack: do not convert maps in the current tree to arrays
-      // use case: map keys that are digits
-      if (!(other.nodeTypeMap.get(key) == MsgPackNodeType.MAP
-          && nodeType == MsgPackNodeType.ARRAY)) {
-        other.nodeTypeMap.put(key, nodeType);
+      for (int child = firstChildren[rootNode]; child != NO_NODE; child = nextSiblings[child]) {
+        final int otherChild = other.findNode(otherRootNode, getNodeName(child), nameHashes[child]);
+        other.copyNode(this, child, otherRootNode, otherChild, documentOffset);
       }
+    }
+  }
 
-      other.leafMap.remove(
-          key); // => remove everything that was a leaf previously => is going to be restored by
-      // putting all leafs from the other map
+  private MsgPackNodeType mergeNodeType(MsgPackTree other, int otherNodeId, int nodeId) {
+    final MsgPackNodeType nodeType = nodeTypes[nodeId];
 
-      final int otherDocumentSource = leafDocumentSources.getValue(key);
-      if (otherDocumentSource >= 0) {
-        other.leafDocumentSources.put(key, otherDocumentSource + newDocumentOffset);
-      }
+    // hack: do not convert maps in the current tree to arrays
+    // use case: map keys that are digits
+    if (otherNodeId != NO_NODE
+        && other.nodeTypes[otherNodeId] == MsgPackNodeType.MAP
+        && nodeType == MsgPackNodeType.ARRAY) {
+      return MsgPackNodeType.MAP;
+    } else {
+      return nodeType;
     }
-    other.leafMap.putAll(leafMap);
-
-    for (Map.Entry<String, Set<String>> nodeChildsEntry : nodeChildsMap.entrySet()) {
-      final String key = nodeChildsEntry.getKey();
-
-      // if we change the following condition to if (nodeChildsMap.containsKey(key))
-      // we get a deep merge
-      if (key.equals(Mapping.JSON_ROOT_PATH)) {
-        other
-            .nodeChildsMap
-            .computeIfAbsent(key, (k) -> new LinkedHashSet<>())
-            .addAll(nodeChildsEntry.getValue());
-      } else {
-        other.nodeChildsMap.put(key, nodeChildsEntry.getValue());
+  }
+
+  /**
+   * Copies the node of the source tree with all its children into this tree.
+   *
+   * @param replacedNodeId the node with the same path in this tree, or {@link #NO_NODE}. The copy
+   *     takes its place if it is a child of the same parent.
+   */
+  private void copyNode(
+      MsgPackTree source, int sourceNodeId, int parentId, int replacedNodeId, int documentOffset) {
+    final MsgPackNodeType nodeType = source.mergeNodeType(this, replacedNodeId, sourceNodeId);
+
+    int nameDocument = source.nameDocuments[sourceNodeId];
+    int nameOffset = source.nameOffsets[sourceNodeId];
+    final int nameLength = source.nameLengths[sourceNodeId];
+
+    if (nameDocument >= 0) {
+      nameDocument += documentOffset;
+    } else if (nameDocument == OWN_NAME_DOCUMENT) {
+      nameOffset = copyName(source.ownNames, nameOffset, nameLength);
+    }
+
+    final int nodeId =
+        newNode(
+            parentId,
+            nameDocument,
+            nameOffset,
+            nameLength,
+            source.nameHashes[sourceNodeId],
+            nodeType,
+            replacedNodeId);
+
+    if (nodeType == MsgPackNodeType.VALUE) {
+      valueDocuments[nodeId] = source.valueDocuments[sourceNodeId] + documentOffset;
+      valueMappings[nodeId] = source.valueMappings[sourceNodeId];
+    } else {
+      final boolean hasReplacedChildren = replacedNodeId != NO_NODE && !isValueNode(replacedNodeId);
+
+      for (int child = source.firstChildren[sourceNodeId];
+          child != NO_NODE;
+          child = source.nextSiblings[child]) {
+
+        final int replacedChild =
+            hasReplacedChildren
+                ? findNode(replacedNodeId, source.getNodeName(child), source.nameHashes[child])
+                : NO_NODE;
+
+        copyNode(source, child, nodeId, replacedChild, documentOffset);
       }
     }
   }
 
   /** Keeps any children, e.g. when converting MAP to ARRAY */
-  public void convertToArrayNode(String nodeId) {
-    concertToContainer(nodeId, MsgPackNodeType.ARRAY);
+  public void convertToArrayNode(int nodeId) {
+    setContainerType(nodeId, MsgPackNodeType.ARRAY);
   }
 
   /** Keeps any children, e.g. when converting ARRAY to MAP */
-  public void convertToMapNode(String nodeId) {
-    concertToContainer(nodeId, MsgPackNodeType.MAP);
+  public void convertToMapNode(int nodeId) {
+    setContainerType(nodeId, MsgPackNodeType.MAP);
   }
 
-  private void concertToContainer(String nodeId, MsgPackNodeType containerType) {
-    final MsgPackNodeType priorType = nodeTypeMap.get(nodeId);
-
-    if (priorType == MsgPackNodeType.VALUE) {
-      leafMap.remove(nodeId);
-      nodeChildsMap.put(nodeId, new LinkedHashSet<>());
-    }
-
-    nodeTypeMap.put(nodeId, containerType);
+  private void setContainerType(int nodeId, MsgPackNodeType containerType) {
+    // a value node has no children, so it becomes an empty container
+    nodeTypes[nodeId] = containerType;
   }
 
   /**
    * Creates or converts the addressed node to an array and appends the value as a new element.
    * Replaces a previously existing non-array node completely.
    */
-  public String appendToArray(
-      String parentId, String arrayNodeName, int documentId, int elementOffset, int elementLength) {
-
-    final String arrayNodeId = construct(parentId, arrayNodeName);
-
-    if (hasNode(arrayNodeId)) {
+  public int appendToArray(
+      int parentId,
+      int nameDocumentId,
+      int nameOffset,
+      int nameLength,
+      int documentId,
+      int elementOffset,
+      int elementLength) {
+
+    int arrayNodeId = getNode(parentId, nameDocumentId, nameOffset, nameLength);
+
+    if (arrayNodeId != NO_NODE) {
       if (!isArrayNode(arrayNodeId)) {
         clearChildren(arrayNodeId);
         convertToArrayNode(arrayNodeId);
       }
     } else {
-      addArrayNode(parentId, arrayNodeName);
+      arrayNodeId = addArrayNode(parentId, nameDocumentId, nameOffset, nameLength);
     }
 
-    final int currentArrayElements = nodeChildsMap.get(arrayNodeId).size();
-    final String nodeName = Integer.toString(currentArrayElements);
+    final int currentArrayElements = childCounts[arrayNodeId];
 
-    return addValueNode(arrayNodeId, nodeName, documentId, elementOffset, elementLength);
+    return addValueNode(
+        arrayNodeId,
+        ARRAY_INDEX_NAME_DOCUMENT,
+        currentArrayElements,
+        0,
+        documentId,
+        elementOffset,
+        elementLength);
   }
 
-  public String addArrayNode(String parentId, String arrayNodeName) {
-    final String nodeId = construct(parentId, arrayNodeName);
+  public int addArrayNode(int parentId, int nameDocumentId, int nameOffset, int nameLength) {
+    return putNode(parentId, nameDocumentId, nameOffset, nameLength, MsgPackNodeType.ARRAY);
+  }
 
-    addContainerNode(nodeId, MsgPackNodeType.ARRAY);
-    addChildToNode(parentId, arrayNodeName);
+  public int addMapNode(int parentId, int nameDocumentId, int nameOffset, int nameLength) {
+    return putNode(parentId, nameDocumentId, nameOffset, nameLength, MsgPackNodeType.MAP);
+  }
+
+  /**
+   * Adds a value node, or replaces the node with the same name.
+   *
+   * @param nameDocumentId the id of the document which contains the name of the node, or {@link
+   *     #ROOT_NAME_DOCUMENT} or {@link #ARRAY_INDEX_NAME_DOCUMENT}
+   */
+  public int addValueNode(
+      int parentId,
+      int nameDocumentId,
+      int nameOffset,
+      int nameLength,
+      int documentId,
+      int valueOffset,
+      int valueLength) {
+    final int nodeId =
+        putNode(parentId, nameDocumentId, nameOffset, nameLength, MsgPackNodeType.VALUE);
+
+    valueDocuments[nodeId] = documentId;
+    valueMappings[nodeId] = ((long) valueOffset << 32) | valueLength;
 
     return nodeId;
   }
 
-  public String addValueNode(
-      String parentId, String nodeName, int documentId, int valueOffset, int valueLength) {
-    final String nodeId = construct(parentId, nodeName);
+  private int putNode(
+      int parentId, int nameDocumentId, int nameOffset, int nameLength, MsgPackNodeType nodeType) {
+    wrapName(nameDocumentId, nameOffset, nameLength, queryNameView, queryIndexName);
+    final int nameHash = hashName(queryNameView);
 
-    leafMap.put(nodeId, ((long) valueOffset << 32) | valueLength);
-    leafDocumentSources.put(nodeId, documentId);
-    nodeTypeMap.put(nodeId, MsgPackNodeType.VALUE);
+    final int nodeId = findNode(parentId, queryNameView, nameHash);
+    if (nodeId != NO_NODE) {
+      clearChildren(nodeId);
+      nodeTypes[nodeId] = nodeType;
+      return nodeId;
+    } else {
+      return newNode(parentId, nameDocumentId, nameOffset, nameLength, nameHash, nodeType, NO_NODE);
+    }
+  }
 
-    addChildToNode(parentId, nodeName);
+  public void clearChildren(int nodeId) {
+    for (int child = firstChildren[nodeId]; child != NO_NODE; child = nextSiblings[child]) {
+      detached[child] = true;
+    }
 
-    return nodeId;
+    firstChildren[nodeId] = NO_NODE;
+    lastChildren[nodeId] = NO_NODE;
+    childCounts[nodeId] = 0;
   }
 
-  public String addMapNode(String parentId, String nodeName) {
-    final String nodeId = construct(parentId, nodeName);
+  private int newNode(
+      int parentId,
+      int nameDocumentId,
+      int nameOffset,
+      int nameLength,
+      int nameHash,
+      MsgPackNodeType nodeType,
+      int replacedNodeId) {
+    ensureNodeCapacity(nodeCount + 1);
+    final int nodeId = nodeCount++;
+
+    nodeTypes[nodeId] = nodeType;
+    parents[nodeId] = parentId;
+    detached[nodeId] = false;
+    firstChildren[nodeId] = NO_NODE;
+    lastChildren[nodeId] = NO_NODE;
+    childCounts[nodeId] = 0;
+    nameDocuments[nodeId] = nameDocumentId;
+    nameOffsets[nodeId] = nameOffset;
+    nameLengths[nodeId] = nameLength;
+    nameHashes[nodeId] = nameHash;
+
+    if (replacedNodeId != NO_NODE && parents[replacedNodeId] == parentId) {
+      replaceChild(replacedNodeId, nodeId);
+    } else if (parentId != NO_PARENT) {
+      appendChild(parentId, nodeId);
+    } else {
+      previousSiblings[nodeId] = NO_NODE;
+      nextSiblings[nodeId] = NO_NODE;
+    }
 
-    addContainerNode(nodeId, MsgPackNodeType.MAP);
-    addChildToNode(parentId, nodeName);
+    indexNode(nodeId);
 
     return nodeId;
   }
 
-  private boolean isContainerNode(String nodeId) {
-    final MsgPackNodeType nodeType = nodeTypeMap.get(nodeId);
-    return nodeType == MsgPackNodeType.ARRAY || nodeType == MsgPackNodeType.MAP;
+  private void appendChild(int parentId, int nodeId) {
+    final int lastChild = lastChildren[parentId];
+
+    previousSiblings[nodeId] = lastChild;
+    nextSiblings[nodeId] = NO_NODE;
+
+    if (lastChild == NO_NODE) {
+      firstChildren[parentId] = nodeId;
+    } else {
+      nextSiblings[lastChild] = nodeId;
+    }
+    lastChildren[parentId] = nodeId;
+    childCounts[parentId]++;
+  }
+
+  private void replaceChild(int replacedNodeId, int nodeId) {
+    final int parentId = parents[replacedNodeId];
+    final int previousSibling = previousSiblings[replacedNodeId];
+    final int nextSibling = nextSiblings[replacedNodeId];
+
+    previousSiblings[nodeId] = previousSibling;
+    nextSiblings[nodeId] = nextSibling;
+
+    if (parentId != NO_PARENT) {
+      if (previousSibling == NO_NODE) {
+        firstChildren[parentId] = nodeId;
+      } else {
+        nextSiblings[previousSibling] = nodeId;
+      }
+
+      if (nextSibling == NO_NODE) {
+        lastChildren[parentId] = nodeId;
+      } else {
+        previousSiblings[nextSibling] = nodeId;
+      }
+    }
+
+    detached[replacedNodeId] = true;
+  }
+
+  private int copyName(DirectBuffer source, int offset, int length) {
+    final int nameOffset = ownNamesLength;
+    ownNames.putBytes(nameOffset, source, offset, length);
+    ownNamesLength += length;
+    return nameOffset;
+  }
+
+  private int findNode(int parentId, DirectBuffer name, int nameHash) {
+    final int mask = nodeIndex.length - 1;
+    int slot = slot(parentId, nameHash, mask);
+
+    int nodeId;
+    while ((nodeId = nodeIndex[slot]) != NO_NODE) {
+      if (isNode(nodeId, parentId, name, nameHash)) {
+        // children of a cleared node are kept in the index until they are replaced
+        return detached[nodeId] ? NO_NODE : nodeId;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return NO_NODE;
+  }
+
+  /** Adds the node to the index, replacing a previous node with the same parent and name. */
+  private void indexNode(int nodeId) {
+    if ((indexedNodesCount + 1) * 2 > nodeIndex.length) {
+      resizeIndex();
+    }
+
+    final int parentId = parents[nodeId];
+    final int nameHash = nameHashes[nodeId];
+    final DirectBuffer name = getNodeName(nodeId);
+
+    final int mask = nodeIndex.length - 1;
+    int slot = slot(parentId, nameHash, mask);
+
+    int indexedNodeId;
+    while ((indexedNodeId = nodeIndex[slot]) != NO_NODE) {
+      if (isNode(indexedNodeId, parentId, name, nameHash)) {
+        nodeIndex[slot] = nodeId;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    nodeIndex[slot] = nodeId;
+    indexedNodesCount++;
+  }
+
+  private void resizeIndex() {
+    final int[] previousIndex = nodeIndex;
+
+    nodeIndex = new int[previousIndex.length * 2];
+    Arrays.fill(nodeIndex, NO_NODE);
+
+    final int mask = nodeIndex.length - 1;
+    for (int nodeId : previousIndex) {
+      if (nodeId != NO_NODE) {
+        int slot = slot(parents[nodeId], nameHashes[nodeId], mask);
+        while (nodeIndex[slot] != NO_NODE) {
+          slot = (slot + 1) & mask;
+        }
+        nodeIndex[slot] = nodeId;
+      }
+    }
+  }
+
+  private boolean isNode(int nodeId, int parentId, DirectBuffer name, int nameHash) {
+    if (parents[nodeId] != parentId || nameHashes[nodeId] != nameHash) {
+      return false;
+    }
+
+    wrapName(
+        nameDocuments[nodeId],
+        nameOffsets[nodeId],
+        nameLengths[nodeId],
+        candidateNameView,
+        candidateIndexName);
+    return candidateNameView.equals(name);
+  }
+
+  private void wrapName(
+      int nameDocumentId,
+      int nameOffset,
+      int nameLength,
+      UnsafeBuffer view,
+      UnsafeBuffer indexNameBuffer) {
+    switch (nameDocumentId) {
+      case ROOT_NAME_DOCUMENT:
+        view.wrap(ROOT_NAME);
+        break;
+      case ARRAY_INDEX_NAME_DOCUMENT:
+        final int length = writeIndex(indexNameBuffer, nameOffset);
+        view.wrap(indexNameBuffer, 0, length);
+        break;
+      case OWN_NAME_DOCUMENT:
+        view.wrap(ownNames, nameOffset, nameLength);
+        break;
+      default:
+        view.wrap(documents[nameDocumentId], nameOffset, nameLength);
+        break;
+    }
+  }
+
+  private static int writeIndex(UnsafeBuffer buffer, int index) {
+    int length = 1;
+    for (int remaining = index / 10; remaining > 0; remaining /= 10) {
+      length++;
+    }
+
+    int remaining = index;
+    for (int i = length - 1; i >= 0; i--) {
+      buffer.putByte(i, (byte) ('0' + remaining % 10));
+      remaining /= 10;
+    }
+    return length;
+  }
+
+  private static int hashName(DirectBuffer name) {
+    int hash = 0;
+    for (int i = 0; i < name.capacity(); i++) {
+      hash = 31 * hash + name.getByte(i);
+    }
+    return hash;
   }
 
-  public boolean hasNode(String id) {
-    return nodeTypeMap.containsKey(id);
+  private static int slot(int parentId, int nameHash, int mask) {
+    int hash = parentId * 31 + nameHash;
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    return hash & mask;
   }
 
-  public void clearChildren(String nodeId) {
-    if (isContainerNode(nodeId)) {
-      nodeChildsMap.get(nodeId).clear();
+  private void ensureNodeCapacity(int capacity) {
+    if (capacity > nodeTypes.length) {
+      final int newCapacity = Math.max(capacity, nodeTypes.length * 2);
+
+      nodeTypes = Arrays.copyOf(nodeTypes, newCapacity);
+      parents = Arrays.copyOf(parents, newCapacity);
+      detached = Arrays.copyOf(detached, newCapacity);
+      firstChildren = Arrays.copyOf(firstChildren, newCapacity);
+      lastChildren = Arrays.copyOf(lastChildren, newCapacity);
+      childCounts = Arrays.copyOf(childCounts, newCapacity);
+      previousSiblings = Arrays.copyOf(previousSiblings, newCapacity);
+      nextSiblings = Arrays.copyOf(nextSiblings, newCapacity);
+      nameDocuments = Arrays.copyOf(nameDocuments, newCapacity);
+      nameOffsets = Arrays.copyOf(nameOffsets, newCapacity);
+      nameLengths = Arrays.copyOf(nameLengths, newCapacity);
+      nameHashes = Arrays.copyOf(nameHashes, newCapacity);
+      valueDocuments = Arrays.copyOf(valueDocuments, newCapacity);
+      valueMappings = Arrays.copyOf(valueMappings, newCapacity);
     }
   }
 }
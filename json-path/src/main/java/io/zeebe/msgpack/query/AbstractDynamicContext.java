@@ -81,6 +81,15 @@ public abstract class AbstractDynamicContext {
     return dynamicContextView;
   }
 
+  /**
+   * Wraps the given view around the dynamic context of the element. Unlike the cursor operations,
+   * this does not modify the context, so that multiple readers can read it at the same time.
+   */
+  public void wrapDynamicContext(int element, MutableDirectBuffer view) {
+    context.wrap(element, view);
+    view.wrap(view, staticElementSize, dynamicContextSize);
+  }
+
   public void clear() {
     context.clear();
   }
@@ -16,6 +16,7 @@
 package io.zeebe.msgpack.query;
 
 import org.agrona.BitUtil;
+import org.agrona.MutableDirectBuffer;
 
 public class MsgPackFilterContext extends AbstractDynamicContext {
 
@@ -34,4 +35,10 @@ public class MsgPackFilterContext extends AbstractDynamicContext {
   public void filterId(int filterId) {
     cursorView.putInt(FILTER_ID_OFFSET, filterId);
   }
+
+  /** Reads the filter id of the element without moving the cursor. */
+  public int filterId(int element, MutableDirectBuffer view) {
+    context.wrap(element, view);
+    return view.getInt(FILTER_ID_OFFSET);
+  }
 }
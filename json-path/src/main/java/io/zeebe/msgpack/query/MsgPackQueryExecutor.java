@@ -40,6 +40,7 @@ public class MsgPackQueryExecutor implements MsgPackTokenVisitor {
 
   protected CompactList matchingPositions;
   protected UnsafeBuffer currentResultView = new UnsafeBuffer(0, 0);
+  protected UnsafeBuffer filterInstanceView = new UnsafeBuffer(0, 0);
   protected UnsafeBuffer resultWriteBuffer = new UnsafeBuffer(new byte[RESULT_SIZE]);
 
   protected int matchingContainer = -1;
@@ -73,9 +74,11 @@ public class MsgPackQueryExecutor implements MsgPackTokenVisitor {
     // evaluate filter
     boolean filterMatch = false;
     if (currentFilter >= 0) {
-      filterInstances.moveTo(currentFilter);
-      final MsgPackFilter filter = filters[filterInstances.filterId()];
-      filterMatch = filter.matches(context, filterInstances.dynamicContext(), currentValue);
+      // the filter instances are read without moving their cursor, since a query can be executed
+      // by multiple threads
+      final int filterId = filterInstances.filterId(currentFilter, filterInstanceView);
+      filterInstances.wrapDynamicContext(currentFilter, filterInstanceView);
+      filterMatch = filters[filterId].matches(context, filterInstanceView, currentValue);
     }
 
     // build new context
@@ -184,6 +184,49 @@ public class MappingMergeTest {
         .hasValue("{'att1':'val1', 'att2':'val2', 'att3':'val3'}");
   }
 
+  @Test
+  public void shouldReplaceNestedNodesOnMerge() {
+    // given
+    final DirectBuffer targetDocument =
+        asMsgPack("{'a':1, 'b':{'c':1, 'd':{'e':2}}, 'f':[1, {'g':2}]}");
+    final DirectBuffer sourceDocument = asMsgPack("{'b':{'d':3}, 'f':[{'h':4}], 'i':5}");
+
+    // when
+    mergeTool.mergeDocument(targetDocument);
+    mergeTool.mergeDocument(sourceDocument);
+
+    // then
+    final DirectBuffer mergedDocument = mergeTool.writeResultToBuffer();
+
+    MappingTestUtil.assertThatMsgPack(mergedDocument)
+        .hasValue("{'a':1, 'b':{'d':3}, 'f':[{'h':4}], 'i':5}");
+  }
+
+  @Test
+  public void shouldMergeDocumentsRepeatedly() {
+    // given - the documents have more nodes than the tree holds initially
+    final DirectBuffer targetDocument =
+        asMsgPack(
+            "{'a':{'b':[1, 2, 3]}, 'c':{'d':4, 'e':5}, 'f':[{'g':6}, {'h':7}],"
+                + " 'i':8, 'j':9, 'k':{'l':{'m':10}}}");
+    final DirectBuffer sourceDocument =
+        asMsgPack("{'c':{'x':11}, 'f':[12], 'n':{'o':[13, 14]}, 'p':15}");
+
+    for (int i = 0; i < 3; i++) {
+      // when
+      mergeTool.reset();
+      mergeTool.mergeDocument(targetDocument);
+      mergeTool.mergeDocument(sourceDocument);
+
+      // then
+      final DirectBuffer mergedDocument = mergeTool.writeResultToBuffer();
+      MappingTestUtil.assertThatMsgPack(mergedDocument)
+          .hasValue(
+              "{'a':{'b':[1, 2, 3]}, 'c':{'x':11}, 'f':[12], 'i':8, 'j':9,"
+                  + " 'k':{'l':{'m':10}}, 'n':{'o':[13, 14]}, 'p':15}");
+    }
+  }
+
   private static DirectBuffer asMsgPack(String json) {
     try {
       return new UnsafeBuffer(MSGPACK_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree(json)));
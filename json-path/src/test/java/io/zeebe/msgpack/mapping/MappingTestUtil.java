@@ -15,8 +15,8 @@
  */
 package io.zeebe.msgpack.mapping;
 
-import static io.zeebe.msgpack.mapping.MsgPackTreeNodeIdConstructor.JSON_PATH_SEPARATOR;
-import static io.zeebe.msgpack.mapping.MsgPackTreeNodeIdConstructor.JSON_PATH_SEPARATOR_END;
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.fasterxml.jackson.core.JsonParser;
@@ -27,9 +27,10 @@ import io.zeebe.msgpack.spec.MsgPackWriter;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -37,6 +38,9 @@ import org.assertj.core.api.AbstractObjectAssert;
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 
 public class MappingTestUtil {
+  private static final String JSON_PATH_SEPARATOR = "[";
+  private static final String JSON_PATH_SEPARATOR_END = "]";
+
   protected static final String NODE_JSON_OBJECT_KEY = "jsonObject";
   protected static final String NODE_TEST_ATTR_KEY = "testAttr";
   protected static final String NODE_STRING_KEY = "string";
@@ -100,35 +104,62 @@ public class MappingTestUtil {
 
   public static void assertThatIsArrayNode(
       MsgPackTree msgPackTree, String nodeId, String... childs) {
-    assertThat(msgPackTree.isArrayNode(nodeId)).isTrue();
-    assertChildNodes(msgPackTree, nodeId, childs.length, childs);
+    final int node = findNode(msgPackTree, nodeId);
+    assertThat(msgPackTree.isArrayNode(node)).isTrue();
+    assertChildNodes(msgPackTree, node, childs.length, childs);
   }
 
   public static void assertThatIsMapNode(MsgPackTree msgPackTree, String nodeId, String... childs) {
-    assertThat(msgPackTree.isMapNode(nodeId)).isTrue();
-    assertChildNodes(msgPackTree, nodeId, childs.length, childs);
+    final int node = findNode(msgPackTree, nodeId);
+    assertThat(msgPackTree.isMapNode(node)).isTrue();
+    assertChildNodes(msgPackTree, node, childs.length, childs);
   }
 
   private static void assertChildNodes(
-      MsgPackTree msgPackTree, String nodeId, int childCount, String[] childs) {
-    final Set<String> arrayValues = msgPackTree.getChildren(nodeId);
-    assertThat(arrayValues.size()).isEqualTo(childCount);
-    for (String child : childs) {
-      assertThat(arrayValues.contains(child)).isTrue();
+      MsgPackTree msgPackTree, int nodeId, int childCount, String[] childs) {
+    final List<String> childNames = new ArrayList<>();
+    for (int child = msgPackTree.getFirstChild(nodeId);
+        child != MsgPackTree.NO_NODE;
+        child = msgPackTree.getNextSibling(child)) {
+      childNames.add(bufferAsString(msgPackTree.getNodeName(child)));
     }
+
+    assertThat(msgPackTree.getChildCount(nodeId)).isEqualTo(childCount);
+    assertThat(childNames).containsExactlyInAnyOrder(childs);
   }
 
   public static void assertThatIsLeafNode(
       MsgPackTree msgPackTree, String leafId, byte[] expectedBytes) {
-    assertThat(msgPackTree.isValueNode(leafId)).isTrue();
+    final int node = findNode(msgPackTree, leafId);
+    assertThat(msgPackTree.isValueNode(node)).isTrue();
 
     WRITER.wrap(WRITE_BUFFER, 0);
-    msgPackTree.writeValueNode(WRITER, leafId);
+    msgPackTree.writeValueNode(WRITER, node);
 
     assertThat(WRITER.getOffset()).isEqualTo(expectedBytes.length);
     assertThat(WRITE_BUFFER.byteArray()).startsWith(expectedBytes);
   }
 
+  private static int findNode(MsgPackTree msgPackTree, String nodeId) {
+    final int endOfRoot = nodeId.indexOf(JSON_PATH_SEPARATOR);
+    final String rootName = endOfRoot < 0 ? nodeId : nodeId.substring(0, endOfRoot);
+
+    int node = msgPackTree.getNode(MsgPackTree.NO_PARENT, wrapString(rootName));
+    assertThat(node).isNotEqualTo(MsgPackTree.NO_NODE);
+
+    int offset = endOfRoot;
+    while (offset >= 0) {
+      final int end = nodeId.indexOf(JSON_PATH_SEPARATOR_END, offset);
+      final String name = nodeId.substring(offset + 1, end);
+
+      node = msgPackTree.getNode(node, wrapString(name));
+      assertThat(node).describedAs("node %s of %s", name, nodeId).isNotEqualTo(MsgPackTree.NO_NODE);
+
+      offset = nodeId.indexOf(JSON_PATH_SEPARATOR, end);
+    }
+    return node;
+  }
+
   public static String constructNodeId(String... nodeNames) {
     final StringBuilder builder = new StringBuilder();
     if (nodeNames.length >= 1) {
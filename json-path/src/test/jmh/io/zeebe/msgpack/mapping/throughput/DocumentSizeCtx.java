@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.mapping.throughput;
+
+import io.zeebe.msgpack.mapping.Mapping;
+import io.zeebe.msgpack.mapping.MappingBuilder;
+import io.zeebe.msgpack.mapping.MsgPackConverter;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Documents of a given size, like large variable documents of a workflow instance. */
+@State(Scope.Thread)
+public class DocumentSizeCtx {
+
+  private static final int MAPPING_COUNT = 10;
+
+  @Param({"1024", "65536", "1048576"})
+  public int documentSize;
+
+  UnsafeBuffer targetDocument;
+  UnsafeBuffer sourceDocument;
+  Mapping[] mappings;
+
+  @Setup
+  public void setUp() {
+    targetDocument = new UnsafeBuffer(generateMsgPack("target", documentSize));
+    sourceDocument = new UnsafeBuffer(generateMsgPack("source", documentSize));
+
+    final MappingBuilder mappingBuilder = new MappingBuilder();
+    for (int i = 0; i < MAPPING_COUNT; i++) {
+      mappingBuilder.mapping("$.source" + i + ".name", "$.result" + i + ".name");
+    }
+    mappings = mappingBuilder.build();
+  }
+
+  private static byte[] generateMsgPack(String keyPrefix, int size) {
+    final MsgPackConverter converter = new MsgPackConverter();
+    final StringBuilder json = new StringBuilder("{");
+
+    // the msgpack document is smaller than the json document
+    for (int i = 0; json.length() < size * 1.3; i++) {
+      if (i > 0) {
+        json.append(",");
+      }
+      json.append(
+          String.format(
+              "\"%s%d\":{\"id\":%d,\"name\":\"name-%d\",\"items\":[1,2,3],\"active\":true}",
+              keyPrefix, i, i, i));
+    }
+    json.append("}");
+
+    return converter.convertToMsgPack(json.toString());
+  }
+}
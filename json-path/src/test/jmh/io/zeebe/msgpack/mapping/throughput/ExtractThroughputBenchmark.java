@@ -37,10 +37,25 @@ public class ExtractThroughputBenchmark {
   @Threads(1)
   public int extractThroughput(final MappingCtx mappingCtx, final ThroughputCtx documents) {
     final MsgPackMergeTool mergeTool = mappingCtx.processor;
+    mergeTool.reset();
 
     mergeTool.mergeDocument(documents.sourceDocument, documents.mappings);
 
     final DirectBuffer result = mergeTool.writeResultToBuffer();
     return result.capacity();
   }
+
+  @Benchmark
+  @Threads(1)
+  public int extractFromDocumentOfSize(
+      final MappingCtx mappingCtx, final DocumentSizeCtx documents) {
+    final MsgPackMergeTool mergeTool = mappingCtx.processor;
+    mergeTool.reset();
+
+    mergeTool.mergeDocument(documents.targetDocument);
+    mergeTool.mergeDocument(documents.sourceDocument, documents.mappings);
+
+    final DirectBuffer result = mergeTool.writeResultToBuffer();
+    return result.capacity();
+  }
 }
@@ -38,6 +38,7 @@ public class MergeThroughputBenchmark {
   public int mergeThroughput(final MappingCtx mappingCtx, final ThroughputCtx documents) {
 
     final MsgPackMergeTool mergeTool = mappingCtx.processor;
+    mergeTool.reset();
 
     mergeTool.mergeDocument(documents.targetDocument);
     mergeTool.mergeDocument(documents.sourceDocument, documents.mappings);
@@ -45,4 +46,17 @@ public class MergeThroughputBenchmark {
     final DirectBuffer result = mergeTool.writeResultToBuffer();
     return result.capacity();
   }
+
+  @Benchmark
+  @Threads(1)
+  public int mergeDocumentsOfSize(final MappingCtx mappingCtx, final DocumentSizeCtx documents) {
+    final MsgPackMergeTool mergeTool = mappingCtx.processor;
+    mergeTool.reset();
+
+    mergeTool.mergeDocument(documents.targetDocument);
+    mergeTool.mergeDocument(documents.sourceDocument);
+
+    final DirectBuffer result = mergeTool.writeResultToBuffer();
+    return result.capacity();
+  }
 }
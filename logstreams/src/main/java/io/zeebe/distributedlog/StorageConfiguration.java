@@ -44,6 +44,7 @@ public class StorageConfiguration {
   private int partitionId;
   private long logSegmentSize;
   private long indexBlockSize;
+  private int maxMappedSegments;
 
   public StorageConfiguration(
       final File metaFile,
@@ -92,6 +93,15 @@ public class StorageConfiguration {
     return indexBlockSize;
   }
 
+  public StorageConfiguration setMaxMappedSegments(final int maxMappedSegments) {
+    this.maxMappedSegments = maxMappedSegments;
+    return this;
+  }
+
+  public int getMaxMappedSegments() {
+    return maxMappedSegments;
+  }
+
   public File getSnapshotsDirectory() {
     return snapshotsDirectory;
   }
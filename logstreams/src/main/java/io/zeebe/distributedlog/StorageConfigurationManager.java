@@ -44,13 +44,23 @@ public class StorageConfigurationManager extends Actor {
   private final String indexBlockSize;
   private final List<String> directories;
   private final String segmentSize;
+  private final int maxMappedSegments;
 
   public StorageConfigurationManager(
       List<String> dataDirectories, String segmentSize, final String indexBlockSize) {
+    this(dataDirectories, segmentSize, indexBlockSize, 0);
+  }
+
+  public StorageConfigurationManager(
+      List<String> dataDirectories,
+      String segmentSize,
+      final String indexBlockSize,
+      final int maxMappedSegments) {
     this.directories = dataDirectories;
     this.segmentSize = segmentSize;
     this.partitionCountPerDataDirectory = new int[dataDirectories.size()];
     this.indexBlockSize = indexBlockSize;
+    this.maxMappedSegments = maxMappedSegments;
   }
 
   @Override
@@ -79,11 +89,12 @@ public class StorageConfigurationManager extends Actor {
 
         configurations.add(
             new StorageConfiguration(
-                configFile,
-                logDirectory,
-                indexSnapshotsDirectory,
-                statesDirectory,
-                indexRuntimeDirectory));
+                    configFile,
+                    logDirectory,
+                    indexSnapshotsDirectory,
+                    statesDirectory,
+                    indexRuntimeDirectory)
+                .setMaxMappedSegments(maxMappedSegments));
         partitionCountPerDataDirectory[offset]++;
       }
     }
@@ -144,6 +155,7 @@ public class StorageConfigurationManager extends Actor {
 
               storage
                   .setPartitionId(partitionId)
+                  .setMaxMappedSegments(maxMappedSegments)
                   .setLogSegmentSize(new ByteValue(segmentSize).toBytes())
                   .setIndexBlockSize(new ByteValue(indexBlockSize).toBytes());
 
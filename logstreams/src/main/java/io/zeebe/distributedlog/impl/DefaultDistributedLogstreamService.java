@@ -15,6 +15,9 @@
  */
 package io.zeebe.distributedlog.impl;
 
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.getFragmentLength;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.getPosition;
+
 import io.atomix.primitive.service.AbstractPrimitiveService;
 import io.atomix.primitive.service.BackupInput;
 import io.atomix.primitive.service.BackupOutput;
@@ -47,6 +50,7 @@ import io.zeebe.util.ZbLogger;
 import java.io.File;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,6 +68,7 @@ public class DefaultDistributedLogstreamService
   private String currentLeader;
   private long currentLeaderTerm = -1;
   private long lastPosition;
+  private final UnsafeBuffer blockView = new UnsafeBuffer(0, 0);
   private ServiceContainer serviceContainer;
   private ThreadContext restoreThreadContext;
   private String localMemberId;
@@ -179,6 +184,7 @@ public class DefaultDistributedLogstreamService
         .logDirectory(logDirectory.getAbsolutePath())
         .logSegmentSize((int) config.getLogSegmentSize())
         .indexBlockSize((int) config.getIndexBlockSize())
+        .maxMappedSegments(config.getMaxMappedSegments())
         .logName(logServiceName)
         .serviceContainer(serviceContainer)
         .indexStateStorage(stateStorage)
@@ -218,7 +224,10 @@ public class DefaultDistributedLogstreamService
       return 1; // Assume the append was successful because event was previously appended.
     }
 
-    final ByteBuffer buffer = ByteBuffer.wrap(blockBuffer);
+    // the appender coalesces several blocks into one append, so an append which is retried with
+    // other blocks may start with events which were appended before
+    final int offset = getOffsetOfFirstNewEvent(blockBuffer);
+    final ByteBuffer buffer = ByteBuffer.wrap(blockBuffer, offset, blockBuffer.length - offset);
     final long appendResult = logStorage.append(buffer);
     if (appendResult > 0) {
       updateCommitPosition(commitPosition);
@@ -230,6 +239,16 @@ public class DefaultDistributedLogstreamService
     return appendResult;
   }
 
+  private int getOffsetOfFirstNewEvent(byte[] blockBuffer) {
+    blockView.wrap(blockBuffer);
+
+    int offset = 0;
+    while (offset < blockBuffer.length && getPosition(blockView, offset) <= lastPosition) {
+      offset += getFragmentLength(blockView, offset);
+    }
+    return offset;
+  }
+
   @Override
   public boolean claimLeaderShip(String nodeId, long term) {
     logger.debug(
@@ -33,7 +33,7 @@ public class DefaultSnapshotRequestHandler implements SnapshotRequestHandler {
   public void onSnapshotRequest(Void request) {
     for (SnapshotController controller : controllers) {
       LOG.debug("Replicating snapshot on demand");
-      controller.replicateLatestSnapshot(Runnable::run);
+      controller.replicateLatestSnapshotFully(Runnable::run);
     }
   }
 }
@@ -15,44 +15,75 @@
  */
 package io.zeebe.logstreams.impl;
 
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.getPosition;
+
 import io.zeebe.dispatcher.BlockPeek;
 import io.zeebe.dispatcher.Subscription;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
 import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ScheduledTimer;
+import io.zeebe.util.sched.channel.ChannelSubscription;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
-import java.nio.ByteBuffer;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.agrona.DirectBuffer;
-import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.slf4j.Logger;
 
-/** Consume the write buffer and append the blocks to the distributedlog. */
+/**
+ * Consume the write buffer and append the blocks to the distributedlog.
+ *
+ * <p>Every append is replicated as one entry. If no append is in flight, a block is appended
+ * immediately. Otherwise, the following blocks are coalesced into one append until the append in
+ * flight is completed, the batch reaches the max append block size or the first block of the batch
+ * waited for the max batch delay.
+ *
+ * <p>If an append fails, the appender stops. The blocks are already removed from the write buffer,
+ * and the following appends would leave a gap in the log, since the distributedlog skips appends
+ * with a commit position below the last appended one.
+ */
 public class LogStorageAppender extends Actor {
   public static final Logger LOG = Loggers.LOGSTREAMS_LOGGER;
 
   private final AtomicBoolean isFailed = new AtomicBoolean(false);
 
   private final BlockPeek blockPeek = new BlockPeek();
-  private byte[] bytesToAppend;
-  private long commitPosition;
+
+  private final MutableDirectBuffer batchBuffer = new ExpandableArrayBuffer();
+  private int batchLength;
+  private int batchBlocks;
+  private long batchCommitPosition;
+  private long batchStartTime;
+  private ScheduledTimer batchDelayTimer;
+  private int appendsInFlight;
+  private ChannelSubscription writeBufferConsumption;
 
   private final String name;
   private final Subscription writeBufferSubscription;
 
   private final Runnable peekedBlockHandler = this::appendBlock;
   private final int maxAppendBlockSize;
+  private final Duration maxAppendBatchDelay;
 
   private final DistributedLogstreamPartition distributedLog;
+  private final LogStorageAppenderMetrics metrics;
 
   public LogStorageAppender(
       String name,
       DistributedLogstreamPartition distributedLog,
       Subscription writeBufferSubscription,
-      int maxBlockSize) {
+      int maxBlockSize,
+      Duration maxAppendBatchDelay,
+      LogStorageAppenderMetrics metrics) {
     this.name = name;
     this.distributedLog = distributedLog;
     this.writeBufferSubscription = writeBufferSubscription;
     this.maxAppendBlockSize = maxBlockSize;
+    this.maxAppendBatchDelay = maxAppendBatchDelay;
+    this.metrics = metrics;
   }
 
   @Override
@@ -63,7 +94,18 @@ public class LogStorageAppender extends Actor {
   @Override
   protected void onActorStarting() {
 
-    actor.consume(writeBufferSubscription, this::peekBlock);
+    writeBufferConsumption = actor.consume(writeBufferSubscription, this::peekBlock);
+  }
+
+  @Override
+  protected void onActorClosing() {
+    // the blocks of the batch are already removed from the write buffer
+    appendBatch();
+  }
+
+  @Override
+  protected void onActorClosed() {
+    metrics.close();
   }
 
   private void peekBlock() {
@@ -75,49 +117,107 @@ public class LogStorageAppender extends Actor {
   }
 
   private void appendBlock() {
-    final ByteBuffer rawBuffer = blockPeek.getRawBuffer();
+    final DirectBuffer block = blockPeek.getBuffer();
+    final int blockLength = blockPeek.getBlockLength();
+
+    if (batchLength + blockLength > maxAppendBlockSize) {
+      appendBatch();
+    }
 
-    bytesToAppend = new byte[rawBuffer.remaining()];
-    rawBuffer.get(bytesToAppend);
+    if (batchLength == 0) {
+      batchStartTime = ActorClock.currentTimeMillis();
+    }
+
+    // the append request is serialized and replicated asynchronously, so it needs its own copy
+    block.getBytes(0, batchBuffer, batchLength, blockLength);
+    batchLength += blockLength;
+    batchBlocks += 1;
 
     // Commit position is the position of the last event. DistributedLogstream uses this position
-    // to identify duplicate append requests during recovery.
-    commitPosition = getLastEventPosition(bytesToAppend);
-    actor.runUntilDone(this::tryWrite);
-  }
+    // to identify duplicate append requests during recovery. The block knows where its last event
+    // starts, so it can be read directly from the write buffer.
+    batchCommitPosition = getPosition(block, blockPeek.getLastFragmentOffset());
 
-  private void tryWrite() {
-    distributedLog.asyncAppend(bytesToAppend, commitPosition);
     blockPeek.markCompleted();
-    actor.done();
-    /*// TODO: Handle error codes
-    if (res >= 0) {
-      blockPeek.markCompleted();
-      actor.done();
-    } else {
-      // retry
-      LOG.debug("Append failed, retrying");
-      actor.yield();
-    }*/
+
+    if (appendsInFlight == 0 || batchLength >= maxAppendBlockSize) {
+      appendBatch();
+    } else if (batchDelayTimer == null) {
+      batchDelayTimer = actor.runDelayed(maxAppendBatchDelay, this::onBatchDelayElapsed);
+    }
+  }
+
+  private void onBatchDelayElapsed() {
+    batchDelayTimer = null;
+    appendBatch();
+  }
+
+  private void appendBatch() {
+    if (batchDelayTimer != null) {
+      batchDelayTimer.cancel();
+      batchDelayTimer = null;
+    }
+
+    if (batchLength == 0 || isFailed.get()) {
+      return;
+    }
+
+    final byte[] bytesToAppend = new byte[batchLength];
+    batchBuffer.getBytes(0, bytesToAppend);
+
+    final long startTime = batchStartTime;
+    final long commitPosition = batchCommitPosition;
+    appendsInFlight += 1;
+    metrics.onAppend(batchBlocks, batchLength, appendsInFlight);
+
+    final CompletableActorFuture<Long> appendFuture = new CompletableActorFuture<>();
+    distributedLog
+        .asyncAppend(bytesToAppend, commitPosition)
+        .whenComplete(
+            (result, error) -> {
+              if (error != null) {
+                appendFuture.completeExceptionally(error);
+              } else {
+                appendFuture.complete(result);
+              }
+            });
+
+    // the batch may be appended while the actor is closing, which then waits for the result
+    actor.runOnCompletionBlockingCurrentPhase(
+        appendFuture, (result, error) -> onAppended(startTime, commitPosition, result, error));
+
+    batchLength = 0;
+    batchBlocks = 0;
+  }
+
+  private void onAppended(long startTime, long commitPosition, Long result, Throwable error) {
+    appendsInFlight -= 1;
+    metrics.onAppended(ActorClock.currentTimeMillis() - startTime, appendsInFlight);
+
+    if (error != null || result < 0) {
+      onAppendFailed(commitPosition, result, error);
+      return;
+    }
+
+    // the blocks which were coalesced while the append was in flight
+    if (appendsInFlight == 0) {
+      appendBatch();
+    }
   }
 
-  /* Iterate over the events in buffer and find the position of the last event */
-  private long getLastEventPosition(byte[] buffer) {
-    int bufferOffset = 0;
-    final DirectBuffer directBuffer = new UnsafeBuffer(0, 0);
-
-    directBuffer.wrap(buffer);
-    long lastEventPosition = -1;
-
-    final LoggedEventImpl nextEvent = new LoggedEventImpl();
-    int remaining = buffer.length - bufferOffset;
-    while (remaining > 0) {
-      nextEvent.wrap(directBuffer, bufferOffset);
-      bufferOffset += nextEvent.getFragmentLength();
-      lastEventPosition = nextEvent.getPosition();
-      remaining = buffer.length - bufferOffset;
+  private void onAppendFailed(long commitPosition, Long result, Throwable error) {
+    if (isFailed.compareAndSet(false, true)) {
+      LOG.error(
+          "Failed to append the events up to position {} to the distributed log, stop appending."
+              + " Append result: {}",
+          commitPosition,
+          result,
+          error);
+
+      writeBufferConsumption.cancel();
+      batchLength = 0;
+      batchBlocks = 0;
     }
-    return lastEventPosition;
   }
 
   public ActorFuture<Void> close() {
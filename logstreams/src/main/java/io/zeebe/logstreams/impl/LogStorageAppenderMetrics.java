@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+/**
+ * The metrics API has no histograms, so the batch sizes and the append latency are recorded as sums
+ * which can be divided by the count of appends.
+ */
+public class LogStorageAppenderMetrics {
+
+  private final Metric appendsCount;
+  private final Metric appendedBlocksCount;
+  private final Metric appendedBytesCount;
+  private final Metric appendLatencySum;
+  private final Metric appendsInFlight;
+
+  public LogStorageAppenderMetrics(MetricsManager metricsManager, int partitionId) {
+    final String partition = String.valueOf(partitionId);
+
+    appendsCount =
+        metricsManager
+            .newMetric("logstream_appends_count")
+            .type("counter")
+            .label("partition", partition)
+            .create();
+    appendedBlocksCount =
+        metricsManager
+            .newMetric("logstream_appended_blocks_count")
+            .type("counter")
+            .label("partition", partition)
+            .create();
+    appendedBytesCount =
+        metricsManager
+            .newMetric("logstream_appended_bytes_count")
+            .type("counter")
+            .label("partition", partition)
+            .create();
+    appendLatencySum =
+        metricsManager
+            .newMetric("logstream_append_latency_ms_sum")
+            .type("counter")
+            .label("partition", partition)
+            .create();
+    appendsInFlight =
+        metricsManager
+            .newMetric("logstream_appends_in_flight")
+            .type("gauge")
+            .label("partition", partition)
+            .create();
+  }
+
+  public void close() {
+    appendsCount.close();
+    appendedBlocksCount.close();
+    appendedBytesCount.close();
+    appendLatencySum.close();
+    appendsInFlight.close();
+  }
+
+  public void onAppend(int blocks, int bytes, int inFlight) {
+    appendsCount.incrementOrdered();
+    appendedBlocksCount.getAndAddOrdered(blocks);
+    appendedBytesCount.getAndAddOrdered(bytes);
+    appendsInFlight.setOrdered(inFlight);
+  }
+
+  public void onAppended(long latencyMs, int inFlight) {
+    appendLatencySum.getAndAddOrdered(latencyMs);
+    appendsInFlight.setOrdered(inFlight);
+  }
+}
@@ -57,9 +57,11 @@ public class LogStreamBuilder {
   protected boolean deleteOnClose;
 
   protected int maxAppendBlockSize = 1024 * 1024;
+  protected Duration maxAppendBatchDelay = Duration.ofMillis(1);
   protected int writeBufferSize = 1024 * 1024 * 8;
   protected int logSegmentSize = 1024 * 1024 * 128;
   protected int indexBlockSize = 1024 * 1024 * 4;
+  protected int maxMappedSegments = 0;
   protected float deviation = LogBlockIndexWriter.DEFAULT_DEVIATION;
   protected int readBlockSize = 1024;
   protected int maxSnapshots = 1;
@@ -106,6 +108,16 @@ public class LogStreamBuilder {
     return this;
   }
 
+  /**
+   * While an append is in flight, the appender coalesces the following blocks into one append of up
+   * to {@link #maxAppendBlockSize(int)} bytes. A block waits at most the given delay before it is
+   * appended.
+   */
+  public LogStreamBuilder maxAppendBatchDelay(final Duration maxAppendBatchDelay) {
+    this.maxAppendBatchDelay = maxAppendBatchDelay;
+    return this;
+  }
+
   public LogStreamBuilder initialLogSegmentId(final int logFragmentId) {
     this.initialLogSegmentId = logFragmentId;
     return this;
@@ -126,6 +138,15 @@ public class LogStreamBuilder {
     return this;
   }
 
+  /**
+   * @param maxMappedSegments the number of filled log segments which are mapped into memory to be
+   *     read without a system call, or 0 to read all segments from their file channel
+   */
+  public LogStreamBuilder maxMappedSegments(final int maxMappedSegments) {
+    this.maxMappedSegments = maxMappedSegments;
+    return this;
+  }
+
   public LogStreamBuilder deviation(final float deviation) {
     this.deviation = deviation;
     return this;
@@ -176,6 +197,10 @@ public class LogStreamBuilder {
     return maxAppendBlockSize;
   }
 
+  public Duration getMaxAppendBatchDelay() {
+    return maxAppendBatchDelay;
+  }
+
   public int getIndexBlockSize() {
     return indexBlockSize;
   }
@@ -239,7 +264,11 @@ public class LogStreamBuilder {
 
     final FsLogStorageConfiguration storageConfig =
         new FsLogStorageConfiguration(
-            logSegmentSize, getLogDirectory(), initialLogSegmentId, deleteOnClose);
+            logSegmentSize,
+            getLogDirectory(),
+            initialLogSegmentId,
+            deleteOnClose,
+            maxMappedSegments);
 
     final FsLogStorageService logStorageService =
         new FsLogStorageService(storageConfig, partitionId, logStorageStubber);
@@ -271,6 +300,7 @@ public class LogStreamBuilder {
   private void validate() {
     Objects.requireNonNull(logName, "logName");
     ensureGreaterThanOrEqual("partitionId", partitionId, 0);
+    ensureGreaterThanOrEqual("maxMappedSegments", maxMappedSegments, 0);
     ensureFalse("deviation", deviation <= 0f || deviation > 1f);
     Objects.requireNonNull(stateStorage, "indexStateStorage");
   }
@@ -58,6 +58,10 @@ public class FsLogSegment {
 
   private MappedByteBuffer mappedBuffer;
 
+  private final FsLogSegmentIndex index;
+
+  private final FsLogSegmentMappings mappings;
+
   private final Rater rater =
       new Rater(
           1024 * 1024 * 4,
@@ -70,7 +74,13 @@ public class FsLogSegment {
           });
 
   public FsLogSegment(String fileName) {
+    this(fileName, null);
+  }
+
+  public FsLogSegment(String fileName, FsLogSegmentMappings mappings) {
     this.fileName = fileName;
+    this.index = new FsLogSegmentIndex(fileName);
+    this.mappings = mappings;
   }
 
   public boolean openSegment(boolean create) {
@@ -80,6 +90,10 @@ public class FsLogSegment {
       try {
         mappedBuffer = fileChannel.map(MapMode.READ_WRITE, 0, METADATA_LENGTH);
         metadataSection = new UnsafeBuffer(mappedBuffer, 0, METADATA_LENGTH);
+
+        if (!create) {
+          index.open(fileChannel, getCapacity(), getSize());
+        }
       } catch (IOException e) {
         fileChannel = null;
         metadataSection = null;
@@ -95,6 +109,7 @@ public class FsLogSegment {
       try {
         this.metadataSection = null;
         IoUtil.unmap(mappedBuffer);
+        index.close();
         fileChannel.close();
       } catch (IOException e) {
         LOG.error("Failed to close segment", e);
@@ -105,6 +120,7 @@ public class FsLogSegment {
   public void delete() {
     final File file = new File(fileName);
     FileUtil.deleteFile(file);
+    index.delete();
   }
 
   public String getFileName() {
@@ -164,6 +180,7 @@ public class FsLogSegment {
         setSegmentId(segmentId);
         setCapacity(segmentSize);
         setSizeVolatile(METADATA_LENGTH);
+        index.open(fileChannel, segmentSize, METADATA_LENGTH);
 
         allocated = true;
       }
@@ -187,6 +204,7 @@ public class FsLogSegment {
       return INSUFFICIENT_CAPACITY;
     }
 
+    final int blockOffset = block.position();
     int newSize = currentSize;
 
     while (newSize - currentSize < blockLength) {
@@ -200,6 +218,8 @@ public class FsLogSegment {
     }
 
     setSizeOrdered(newSize);
+    // index the events after they are readable, since readers may look them up immediately
+    index.indexBlock(block, blockOffset, currentSize);
     rater.mark(blockLength);
 
     return currentSize;
@@ -208,6 +228,7 @@ public class FsLogSegment {
   public void flush() throws IOException {
     if (fileChannel.isOpen()) {
       fileChannel.force(false);
+      index.flush();
     }
   }
 
@@ -238,14 +259,7 @@ public class FsLogSegment {
 
       if (bytesToRead > 0) {
         readBuffer.limit(bufferOffset + bytesToRead);
-
-        try {
-          opResult = fileChannel.read(readBuffer, fileOffset);
-        } catch (IOException e) {
-          throw new RuntimeException(
-              "Failed to read from file " + fileName + " at offset: " + fileOffset, e);
-        }
-
+        opResult = readData(readBuffer, fileOffset, bytesToRead);
       } else if (available == 0) {
         opResult = isFilled() ? END_OF_SEGMENT : NO_DATA;
       } else if (bufferRemaining == 0) {
@@ -256,6 +270,49 @@ public class FsLogSegment {
     return opResult;
   }
 
+  /**
+   * Returns the offset of the closest indexed event whose position is lower than or equal to the
+   * given position.
+   *
+   * @param position the position to look up
+   * @return the offset of the event or {@link FsLogSegmentIndex#NOT_FOUND}
+   */
+  public int lookupOffset(long position) {
+    return index.lookupOffset(position);
+  }
+
+  /**
+   * @return the position of the first event in the segment, or {@link Long#MAX_VALUE} if the
+   *     segment has no events yet
+   */
+  public long getFirstPosition() {
+    return index.getFirstPosition();
+  }
+
+  private int readData(ByteBuffer readBuffer, int fileOffset, int length) {
+    if (mappings != null && isFilled()) {
+      final int bytesRead = mappings.read(this, readBuffer, fileOffset, length);
+      if (bytesRead >= 0) {
+        return bytesRead;
+      }
+    }
+
+    try {
+      return fileChannel.read(readBuffer, fileOffset);
+    } catch (IOException e) {
+      throw new RuntimeException(
+          "Failed to read from file " + fileName + " at offset: " + fileOffset, e);
+    }
+  }
+
+  /**
+   * Maps the committed bytes of the segment read-only. Should only be used for filled segments,
+   * since the mapping doesn't grow with the segment.
+   */
+  MappedByteBuffer mapReadOnly() throws IOException {
+    return fileChannel.map(MapMode.READ_ONLY, 0, getSize());
+  }
+
   public void setFilled() {
     // invoked by appender when segment is filled
     state = STATE_FILLED;
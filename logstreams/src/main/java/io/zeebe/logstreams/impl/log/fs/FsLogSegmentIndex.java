@@ -0,0 +1,287 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.fs;
+
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.HEADER_BLOCK_LENGTH;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.METADATA_LENGTH;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
+import io.zeebe.util.FileUtil;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import org.agrona.IoUtil;
+import org.agrona.LangUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Sparse index of a log segment, mapping the position of an event to its offset in the segment. An
+ * entry is added for the first event of the segment and then for the first event which starts at
+ * least {@link #INDEX_DENSITY} bytes after the previously indexed event. Since the entries are
+ * sorted by position, the offset of the closest indexed event before a position is found by a
+ * binary search.
+ *
+ * <p>The index is memory-mapped and kept in a file next to the segment. It is written by the
+ * appender only, while readers look up positions concurrently. When the segment is opened, entries
+ * after the committed size of the segment are dropped and the missing entries are added by scanning
+ * the events after the last indexed one.
+ *
+ * <p>Index layout
+ *
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                         Entry Count                           |
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                           [unused]                            |
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                          Position                             |
+ *  |                                                               |
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                           Offset                              |
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                            ...                                |
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * </pre>
+ */
+public class FsLogSegmentIndex {
+
+  public static final int INDEX_DENSITY = 4 * 1024;
+
+  public static final int NOT_FOUND = -1;
+
+  private static final String FILE_NAME_SUFFIX = ".idx";
+
+  private static final int ENTRY_COUNT_OFFSET = 0;
+  private static final int HEADER_LENGTH = 2 * SIZE_OF_INT;
+  private static final int ENTRY_POSITION_OFFSET = 0;
+  private static final int ENTRY_SEGMENT_OFFSET = SIZE_OF_LONG;
+  private static final int ENTRY_LENGTH = SIZE_OF_LONG + SIZE_OF_INT;
+
+  private final String fileName;
+  private final UnsafeBuffer blockBuffer = new UnsafeBuffer(0, 0);
+
+  private MappedByteBuffer mappedBuffer;
+  private UnsafeBuffer indexBuffer;
+  private int capacity;
+  private int lastIndexedOffset;
+
+  public FsLogSegmentIndex(String segmentFileName) {
+    this.fileName = segmentFileName + FILE_NAME_SUFFIX;
+  }
+
+  /**
+   * Maps the index file, creating it if it doesn't exist yet, and recovers it from the committed
+   * data of the segment.
+   *
+   * @param segmentChannel the channel of the segment
+   * @param segmentCapacity the capacity of the segment
+   * @param segmentSize the committed size of the segment
+   */
+  public void open(FileChannel segmentChannel, int segmentCapacity, int segmentSize) {
+    capacity = (segmentCapacity - METADATA_LENGTH) / INDEX_DENSITY + 1;
+
+    try (FileChannel fileChannel = FileUtil.openChannel(fileName, true)) {
+      mappedBuffer =
+          fileChannel.map(MapMode.READ_WRITE, 0, HEADER_LENGTH + capacity * ENTRY_LENGTH);
+      indexBuffer = new UnsafeBuffer(mappedBuffer);
+
+      recover(segmentChannel, segmentSize);
+    } catch (IOException e) {
+      LangUtil.rethrowUnchecked(e);
+    }
+  }
+
+  public void close() {
+    if (mappedBuffer != null) {
+      indexBuffer = null;
+      IoUtil.unmap(mappedBuffer);
+      mappedBuffer = null;
+    }
+  }
+
+  public void delete() {
+    FileUtil.deleteFile(new File(fileName));
+  }
+
+  public void flush() {
+    if (mappedBuffer != null) {
+      mappedBuffer.force();
+    }
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public int getEntryCount() {
+    return indexBuffer.getIntVolatile(ENTRY_COUNT_OFFSET);
+  }
+
+  /**
+   * @return the position of the first event of the segment, or {@link Long#MAX_VALUE} if the
+   *     segment has no events
+   */
+  public long getFirstPosition() {
+    return getEntryCount() > 0 ? getPosition(0) : Long.MAX_VALUE;
+  }
+
+  /**
+   * Returns the offset of the last indexed event whose position is lower than or equal to the given
+   * position.
+   *
+   * @param position the position to look up
+   * @return the offset of the indexed event, or {@link #NOT_FOUND} if the position is lower than
+   *     the position of the first event of the segment
+   */
+  public int lookupOffset(long position) {
+    int low = 0;
+    int high = getEntryCount() - 1;
+    int offset = NOT_FOUND;
+
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+
+      if (getPosition(mid) <= position) {
+        offset = getOffset(mid);
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+
+    return offset;
+  }
+
+  /**
+   * Adds the events of an appended block to the index.
+   *
+   * @param block the appended block, its bytes between the given offset and its limit
+   * @param blockOffset the offset of the block in the buffer
+   * @param segmentOffset the offset at which the block was appended to the segment
+   */
+  public void indexBlock(ByteBuffer block, int blockOffset, int segmentOffset) {
+    blockBuffer.wrap(block);
+    indexEvents(blockBuffer, blockOffset, block.limit(), segmentOffset - blockOffset);
+    blockBuffer.wrap(0, 0);
+  }
+
+  private void indexEvents(UnsafeBuffer buffer, int offset, int limit, int segmentDelta) {
+    while (limit - offset >= HEADER_BLOCK_LENGTH) {
+      final int fragmentLength = LogEntryDescriptor.getFragmentLength(buffer, offset);
+      if (fragmentLength < HEADER_BLOCK_LENGTH || fragmentLength > limit - offset) {
+        // not a complete event
+        return;
+      }
+
+      final int segmentOffset = offset + segmentDelta;
+      if (getEntryCount() == 0 || segmentOffset - lastIndexedOffset >= INDEX_DENSITY) {
+        addEntry(LogEntryDescriptor.getPosition(buffer, offset), segmentOffset);
+      }
+
+      offset += fragmentLength;
+    }
+  }
+
+  private void addEntry(long position, int segmentOffset) {
+    final int entryCount = getEntryCount();
+    if (entryCount < capacity) {
+      final int entryOffset = entryOffset(entryCount);
+      indexBuffer.putLong(entryOffset + ENTRY_POSITION_OFFSET, position);
+      indexBuffer.putInt(entryOffset + ENTRY_SEGMENT_OFFSET, segmentOffset);
+      indexBuffer.putIntOrdered(ENTRY_COUNT_OFFSET, entryCount + 1);
+
+      lastIndexedOffset = segmentOffset;
+    }
+  }
+
+  private void recover(FileChannel segmentChannel, int segmentSize) throws IOException {
+    int entryCount = Math.min(getEntryCount(), capacity);
+    while (entryCount > 0 && getOffset(entryCount - 1) >= segmentSize) {
+      entryCount -= 1;
+    }
+
+    if (entryCount > 0 && !isIndexedEvent(segmentChannel, entryCount - 1)) {
+      // the index was not written completely, rebuild it
+      entryCount = 0;
+    }
+    indexBuffer.putIntVolatile(ENTRY_COUNT_OFFSET, entryCount);
+
+    int offset = METADATA_LENGTH;
+    if (entryCount > 0) {
+      lastIndexedOffset = getOffset(entryCount - 1);
+      offset = lastIndexedOffset;
+    }
+
+    final ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_BLOCK_LENGTH);
+    final UnsafeBuffer header = new UnsafeBuffer(headerBuffer);
+
+    while (segmentSize - offset >= HEADER_BLOCK_LENGTH) {
+      if (!readHeader(segmentChannel, headerBuffer, offset)) {
+        return;
+      }
+
+      final int fragmentLength = LogEntryDescriptor.getFragmentLength(header, 0);
+      if (fragmentLength < HEADER_BLOCK_LENGTH || fragmentLength > segmentSize - offset) {
+        return;
+      }
+
+      if (getEntryCount() == 0 || offset - lastIndexedOffset >= INDEX_DENSITY) {
+        addEntry(LogEntryDescriptor.getPosition(header, 0), offset);
+      }
+
+      offset += fragmentLength;
+    }
+  }
+
+  private boolean isIndexedEvent(FileChannel segmentChannel, int entry) throws IOException {
+    final ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_BLOCK_LENGTH);
+    return readHeader(segmentChannel, headerBuffer, getOffset(entry))
+        && LogEntryDescriptor.getPosition(new UnsafeBuffer(headerBuffer), 0) == getPosition(entry);
+  }
+
+  private static boolean readHeader(FileChannel channel, ByteBuffer headerBuffer, int offset)
+      throws IOException {
+    headerBuffer.clear();
+
+    while (headerBuffer.hasRemaining()) {
+      final int bytesRead = channel.read(headerBuffer, offset + headerBuffer.position());
+      if (bytesRead < 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private long getPosition(int entry) {
+    return indexBuffer.getLong(entryOffset(entry) + ENTRY_POSITION_OFFSET);
+  }
+
+  private int getOffset(int entry) {
+    return indexBuffer.getInt(entryOffset(entry) + ENTRY_SEGMENT_OFFSET);
+  }
+
+  private static int entryOffset(int entry) {
+    return HEADER_LENGTH + entry * ENTRY_LENGTH;
+  }
+}
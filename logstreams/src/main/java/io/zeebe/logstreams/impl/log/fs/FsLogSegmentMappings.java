@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.fs;
+
+import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import org.agrona.IoUtil;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+
+/**
+ * Maps filled log segments read-only into memory, so that they are read by copying from the mapping
+ * instead of reading from the file channel. Filled segments don't change anymore, so a mapping
+ * stays valid until the segment is deleted.
+ *
+ * <p>At most the given number of segments are mapped, the least recently read mapping is released
+ * when another segment is mapped. A mapping is retained while a reader copies from it, and only
+ * released after the copy finished. If a segment can't be mapped, e.g. because the address space is
+ * exhausted, it is read from the file channel.
+ */
+public class FsLogSegmentMappings {
+  private static final Logger LOG = Loggers.LOGSTREAMS_LOGGER;
+
+  private final int maxMappedSegments;
+  private final Int2ObjectHashMap<Mapping> mappings = new Int2ObjectHashMap<>();
+
+  private long readCount;
+
+  private final Metric mappedSegmentsMetric;
+
+  public FsLogSegmentMappings(
+      int maxMappedSegments, MetricsManager metricsManager, int partitionId) {
+    this.maxMappedSegments = maxMappedSegments;
+
+    mappedSegmentsMetric =
+        metricsManager
+            .newMetric("storage_fs_mapped_segments")
+            .type("gauge")
+            .label("partition", String.valueOf(partitionId))
+            .create();
+  }
+
+  /**
+   * Copies the bytes of the filled segment into the read buffer, starting at its position.
+   *
+   * @param segment the filled segment to read from
+   * @param readBuffer the buffer to copy the bytes into, its position is advanced
+   * @param fileOffset the offset in the segment to read from
+   * @param length the number of bytes to read
+   * @return the number of bytes read, or -1 if the segment could not be mapped
+   */
+  public int read(FsLogSegment segment, ByteBuffer readBuffer, int fileOffset, int length) {
+    final Mapping mapping = acquire(segment);
+    if (mapping == null) {
+      return -1;
+    }
+
+    try {
+      final int bufferPosition = readBuffer.position();
+      mapping.buffer.getBytes(fileOffset, readBuffer, bufferPosition, length);
+      readBuffer.position(bufferPosition + length);
+
+      return length;
+    } finally {
+      release(mapping);
+    }
+  }
+
+  /** Releases the mapping of the segment, e.g. when the segment is deleted. */
+  public synchronized void unmapSegment(int segmentId) {
+    final Mapping mapping = mappings.remove(segmentId);
+    if (mapping != null) {
+      evict(mapping);
+      mappedSegmentsMetric.setOrdered(mappings.size());
+    }
+  }
+
+  public synchronized void close() {
+    mappings.values().forEach(this::evict);
+    mappings.clear();
+
+    mappedSegmentsMetric.close();
+  }
+
+  private synchronized Mapping acquire(FsLogSegment segment) {
+    final int segmentId = segment.getSegmentId();
+    Mapping mapping = mappings.get(segmentId);
+
+    if (mapping == null) {
+      evictUntil(maxMappedSegments - 1);
+
+      final MappedByteBuffer mappedBuffer = map(segment);
+      if (mappedBuffer == null) {
+        return null;
+      }
+
+      mapping = new Mapping(mappedBuffer);
+      mappings.put(segmentId, mapping);
+      mappedSegmentsMetric.setOrdered(mappings.size());
+    }
+
+    mapping.refCount += 1;
+    mapping.lastRead = ++readCount;
+    return mapping;
+  }
+
+  private MappedByteBuffer map(FsLogSegment segment) {
+    try {
+      return segment.mapReadOnly();
+    } catch (Exception e) {
+      LOG.debug(
+          "Failed to map segment {}, release other mappings and retry", segment.getFileName(), e);
+    }
+
+    evictUntil(0);
+    try {
+      return segment.mapReadOnly();
+    } catch (Exception e) {
+      LOG.warn("Failed to map segment {}, read it from the file instead", segment.getFileName(), e);
+      return null;
+    }
+  }
+
+  private synchronized void release(Mapping mapping) {
+    mapping.refCount -= 1;
+
+    if (mapping.refCount == 0 && mapping.isEvicted) {
+      unmap(mapping);
+    }
+  }
+
+  private void evictUntil(int mappingCount) {
+    while (mappings.size() > mappingCount) {
+      evict(mappings.remove(leastRecentlyReadSegment()));
+    }
+    mappedSegmentsMetric.setOrdered(mappings.size());
+  }
+
+  private int leastRecentlyReadSegment() {
+    final Int2ObjectHashMap<Mapping>.EntryIterator iterator = mappings.entrySet().iterator();
+
+    int segmentId = -1;
+    long lastRead = Long.MAX_VALUE;
+
+    while (iterator.hasNext()) {
+      iterator.next();
+      final Mapping mapping = iterator.getValue();
+      if (mapping.lastRead < lastRead) {
+        lastRead = mapping.lastRead;
+        segmentId = iterator.getIntKey();
+      }
+    }
+
+    return segmentId;
+  }
+
+  private void evict(Mapping mapping) {
+    mapping.isEvicted = true;
+
+    if (mapping.refCount == 0) {
+      unmap(mapping);
+    }
+  }
+
+  private static void unmap(Mapping mapping) {
+    mapping.buffer.wrap(0, 0);
+    IoUtil.unmap(mapping.mappedBuffer);
+  }
+
+  private static final class Mapping {
+    private final MappedByteBuffer mappedBuffer;
+    private final UnsafeBuffer buffer;
+
+    private int refCount;
+    private long lastRead;
+    private boolean isEvicted;
+
+    private Mapping(MappedByteBuffer mappedBuffer) {
+      this.mappedBuffer = mappedBuffer;
+      this.buffer = new UnsafeBuffer(mappedBuffer);
+    }
+  }
+}
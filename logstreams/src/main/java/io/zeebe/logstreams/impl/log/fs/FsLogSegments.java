@@ -39,15 +39,24 @@ public class FsLogSegments {
     this.segmentCount = newSegments.length; // volatile store
   }
 
-  public void removeSegmentsUntil(int segmentId) {
+  /**
+   * Removes the segments before the given segment id.
+   *
+   * @return the removed segments
+   */
+  public FsLogSegment[] removeSegmentsUntil(int segmentId) {
     final int segmentIdx = segmentId - initialSegmentId;
     final int newLength = segments.length - segmentIdx;
+    final FsLogSegment[] removedSegments = new FsLogSegment[segmentIdx];
     final FsLogSegment[] newSegments = new FsLogSegment[newLength];
 
+    System.arraycopy(segments, 0, removedSegments, 0, segmentIdx);
     System.arraycopy(segments, segmentIdx, newSegments, 0, newLength);
     this.segments = newSegments;
     initialSegmentId += segmentIdx;
     this.segmentCount = newSegments.length; // volatile store
+
+    return removedSegments;
   }
 
   public FsLogSegment getSegment(int segmentId) {
@@ -57,13 +66,41 @@ public class FsLogSegments {
 
     final int segmentIdx = segmentId - initialSegmentId;
 
-    if (0 <= segmentIdx && segmentIdx < segmentCount) {
+    // the segments may be removed concurrently
+    if (0 <= segmentIdx && segmentIdx < Math.min(segmentCount, segments.length)) {
       return segments[segmentIdx];
     } else {
       return null;
     }
   }
 
+  /**
+   * Returns the last segment whose first event has a position lower than or equal to the given
+   * position.
+   */
+  public FsLogSegment findSegment(long position) {
+    final int segmentCount = this.segmentCount; // volatile load
+
+    final FsLogSegment[] segments = this.segments;
+
+    int low = 0;
+    int high = Math.min(segmentCount, segments.length) - 1;
+    FsLogSegment segment = null;
+
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+
+      if (segments[mid].getFirstPosition() <= position) {
+        segment = segments[mid];
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+
+    return segment;
+  }
+
   public FsLogSegment getFirst() {
     if (segmentCount > 0) {
       return segments[0];
@@ -54,6 +54,14 @@ public class FsLogStorage implements LogStorage {
 
   private FsLogSegment currentSegment;
 
+  /**
+   * The segments which were removed on the last deletion. They are closed on the next deletion,
+   * since a reader may still read a segment which it looked up before it was removed.
+   */
+  private FsLogSegment[] removedSegments = new FsLogSegment[0];
+
+  private FsLogSegmentMappings mappings;
+
   private int dirtySegmentId = -1;
 
   protected volatile int state = STATE_CREATED;
@@ -116,7 +124,7 @@ public class FsLogStorage implements LogStorage {
 
     final int nextSegmentId = 1 + filledSegment.getSegmentId();
     final String nextSegmentName = config.fileName(nextSegmentId);
-    final FsLogSegment newSegment = new FsLogSegment(nextSegmentName);
+    final FsLogSegment newSegment = new FsLogSegment(nextSegmentName, mappings);
 
     if (newSegment.allocate(nextSegmentId, config.getSegmentSize())) {
       logSegments.addSegment(newSegment);
@@ -139,19 +147,30 @@ public class FsLogStorage implements LogStorage {
     if (segmentId > firstSegmentId && segmentId <= lastSegmentId) {
       // segment id has to be larger then initial id,
       // since we don't delete data within a segment
-      for (int i = logSegments.initialSegmentId; i < segmentId; i++) {
-        final FsLogSegment segmentToDelete = logSegments.getSegment(i);
-        if (segmentToDelete != null) {
-          segmentToDelete.closeSegment();
-          segmentToDelete.delete();
-        }
+      final FsLogSegment[] segmentsToDelete = logSegments.removeSegmentsUntil(segmentId);
+      for (FsLogSegment segmentToDelete : segmentsToDelete) {
+        segmentToDelete.delete();
       }
+
+      closeRemovedSegments();
+      removedSegments = segmentsToDelete;
+
       final int diff = segmentId - firstSegmentId;
       LOG.info("Deleted {} segments from log storage ({} to {}).", diff, firstSegmentId, segmentId);
-      logSegments.removeSegmentsUntil(segmentId);
     }
   }
 
+  private void closeRemovedSegments() {
+    for (FsLogSegment removedSegment : removedSegments) {
+      final int segmentId = removedSegment.getSegmentId();
+      removedSegment.closeSegment();
+      if (mappings != null) {
+        mappings.unmapSegment(segmentId);
+      }
+    }
+    removedSegments = new FsLogSegment[0];
+  }
+
   @Override
   public long read(final ByteBuffer readBuffer, final long addr) {
     return read(readBuffer, addr, defaultReadResultProcessor);
@@ -210,6 +229,11 @@ public class FsLogStorage implements LogStorage {
             .label("partition", String.valueOf(partitionId))
             .create();
 
+    if (config.getMaxMappedSegments() > 0) {
+      mappings =
+          new FsLogSegmentMappings(config.getMaxMappedSegments(), metricsManager, partitionId);
+    }
+
     final String path = config.getPath();
     final File logDir = new File(path);
     logDir.mkdirs();
@@ -229,7 +253,7 @@ public class FsLogStorage implements LogStorage {
 
     logFiles.forEach(
         (file) -> {
-          final FsLogSegment segment = new FsLogSegment(file.getAbsolutePath());
+          final FsLogSegment segment = new FsLogSegment(file.getAbsolutePath(), mappings);
           if (segment.openSegment(false)) {
             readableLogSegments.add(segment);
           } else {
@@ -257,7 +281,7 @@ public class FsLogStorage implements LogStorage {
       final String initialSegmentName = config.fileName(initialSegmentId);
       final int segmentSize = config.getSegmentSize();
 
-      final FsLogSegment initialSegment = new FsLogSegment(initialSegmentName);
+      final FsLogSegment initialSegment = new FsLogSegment(initialSegmentName, mappings);
 
       if (!initialSegment.allocate(initialSegmentId, segmentSize)) {
         throw new RuntimeException("Cannot allocate initial segment");
@@ -301,8 +325,14 @@ public class FsLogStorage implements LogStorage {
 
     ensureOpenedStorage();
 
+    closeRemovedSegments();
     logSegments.closeAll();
 
+    if (mappings != null) {
+      mappings.close();
+      mappings = null;
+    }
+
     if (config.isDeleteOnClose()) {
       final String logPath = config.getPath();
       try {
@@ -352,6 +382,21 @@ public class FsLogStorage implements LogStorage {
     }
   }
 
+  @Override
+  public long lookUpAddress(final long position) {
+    ensureOpenedStorage();
+
+    final FsLogSegment segment = logSegments.findSegment(position);
+    if (segment != null) {
+      final int offset = segment.lookupOffset(position);
+      if (offset != FsLogSegmentIndex.NOT_FOUND) {
+        return position(segment.getSegmentId(), offset);
+      }
+    }
+
+    return OP_RESULT_INVALID_ADDR;
+  }
+
   private void ensureOpenedStorage() {
     if (state == STATE_CREATED) {
       throw new IllegalStateException("log storage is not open");
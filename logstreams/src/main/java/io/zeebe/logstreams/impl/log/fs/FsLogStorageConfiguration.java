@@ -25,13 +25,24 @@ public class FsLogStorageConfiguration {
   private final String path;
   private final int initialSegmentId;
   private final boolean deleteOnClose;
+  private final int maxMappedSegments;
 
   public FsLogStorageConfiguration(
       int segmentSize, String path, int initialSegmentId, boolean deleteOnClose) {
+    this(segmentSize, path, initialSegmentId, deleteOnClose, 0);
+  }
+
+  public FsLogStorageConfiguration(
+      int segmentSize,
+      String path,
+      int initialSegmentId,
+      boolean deleteOnClose,
+      int maxMappedSegments) {
     this.segmentSize = segmentSize;
     this.path = path;
     this.initialSegmentId = initialSegmentId;
     this.deleteOnClose = deleteOnClose;
+    this.maxMappedSegments = maxMappedSegments;
   }
 
   int getSegmentSize() {
@@ -58,6 +69,11 @@ public class FsLogStorageConfiguration {
     return deleteOnClose;
   }
 
+  /** @return the number of filled segments which are read via a memory mapping, or 0 if disabled */
+  int getMaxMappedSegments() {
+    return maxMappedSegments;
+  }
+
   public int getInitialSegmentId() {
     return initialSegmentId;
   }
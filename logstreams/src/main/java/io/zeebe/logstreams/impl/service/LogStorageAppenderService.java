@@ -18,23 +18,30 @@ package io.zeebe.logstreams.impl.service;
 import io.zeebe.dispatcher.Subscription;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
 import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.impl.LogStorageAppenderMetrics;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.sched.SchedulingHints;
+import java.time.Duration;
 
 public class LogStorageAppenderService implements Service<LogStorageAppender> {
   private final Injector<Subscription> appenderSubscriptionInjector = new Injector<>();
   private final Injector<DistributedLogstreamPartition> distributedLogstreamInjector =
       new Injector<>();
 
+  private final int partitionId;
   private final int maxAppendBlockSize;
+  private final Duration maxAppendBatchDelay;
 
   private LogStorageAppender service;
 
-  public LogStorageAppenderService(int maxAppendBlockSize) {
+  public LogStorageAppenderService(
+      int partitionId, int maxAppendBlockSize, Duration maxAppendBatchDelay) {
+    this.partitionId = partitionId;
     this.maxAppendBlockSize = maxAppendBlockSize;
+    this.maxAppendBatchDelay = maxAppendBatchDelay;
   }
 
   @Override
@@ -46,7 +53,10 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
             startContext.getName(),
             distributedLogstreamInjector.getValue(),
             subscription,
-            maxAppendBlockSize);
+            maxAppendBlockSize,
+            maxAppendBatchDelay,
+            new LogStorageAppenderMetrics(
+                startContext.getScheduler().getMetricsManager(), partitionId));
 
     startContext.async(
         startContext.getScheduler().submitActor(service, true, SchedulingHints.ioBound()));
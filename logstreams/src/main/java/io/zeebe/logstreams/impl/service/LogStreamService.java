@@ -45,6 +45,7 @@ import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.channel.ActorConditions;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import org.agrona.concurrent.status.Position;
@@ -69,6 +70,7 @@ public class LogStreamService implements LogStream, Service<LogStream> {
 
   private final ByteValue writeBufferSize;
   private final int maxAppendBlockSize;
+  private final Duration maxAppendBatchDelay;
 
   private final Position commitPosition;
 
@@ -97,6 +99,7 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     this.restoring = new AtomicBoolean(false);
     this.writeBufferSize = ByteValue.ofBytes(builder.getWriteBufferSize());
     this.maxAppendBlockSize = builder.getMaxAppendBlockSize();
+    this.maxAppendBatchDelay = builder.getMaxAppendBatchDelay();
   }
 
   @Override
@@ -145,7 +148,7 @@ public class LogStreamService implements LogStream, Service<LogStream> {
         .install();
 
     final LogStorageAppenderService appenderService =
-        new LogStorageAppenderService(maxAppendBlockSize);
+        new LogStorageAppenderService(partitionId, maxAppendBlockSize, maxAppendBatchDelay);
     appenderFuture =
         installOperation
             .createService(logStorageAppenderServiceName, appenderService)
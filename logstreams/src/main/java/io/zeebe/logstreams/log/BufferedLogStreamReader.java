@@ -338,7 +338,11 @@ public class BufferedLogStreamReader implements LogStreamReader {
   }
 
   private long lookUpBlockAddressForPosition(final long position) {
-    long address = logBlockIndex.lookupBlockAddress(indexContext, position);
+    long address = logStorage.lookUpAddress(position);
+    if (address < 0) {
+      // the storage doesn't index the position, use the coarser log block index
+      address = logBlockIndex.lookupBlockAddress(indexContext, position);
+    }
     if (address < 0) {
       // position not found in index fallback to first block
       address = logStorage.getFirstBlockAddress();
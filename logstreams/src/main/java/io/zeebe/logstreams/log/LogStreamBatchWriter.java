@@ -33,6 +33,12 @@ public interface LogStreamBatchWriter extends LogStreamWriter {
     /** Set the log entry key. */
     LogEntryBuilder key(long key);
 
+    /**
+     * Set the source event of the log entry. Overrides the source event which is set for all log
+     * entries of the batch.
+     */
+    LogEntryBuilder sourceEventPosition(long position);
+
     /** Set the log entry metadata. */
     LogEntryBuilder metadata(DirectBuffer buffer, int offset, int length);
 
@@ -67,6 +73,12 @@ public interface LogStreamBatchWriter extends LogStreamWriter {
   /** Returns the builder to add a new log entry to the batch. */
   LogEntryBuilder event();
 
+  /**
+   * Returns the length of all log entries which are added to the batch so far, including their
+   * headers. The batch can only be written if it fits into a single frame of the log write buffer.
+   */
+  int getBatchLength();
+
   /** Discard all non-written batch data. */
   void reset();
 }
@@ -46,6 +46,7 @@ import org.agrona.MutableDirectBuffer;
 
 public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryBuilder {
   private static final int INITIAL_BUFFER_CAPACITY = 1024 * 32;
+  private static final long USE_BATCH_SOURCE_EVENT_POSITION = Long.MIN_VALUE;
 
   private final ClaimedFragmentBatch claimedBatch = new ClaimedFragmentBatch();
 
@@ -67,10 +68,13 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
   private int producerId;
 
   private long sourceEventPosition;
+  private long entrySourceEventPosition;
 
   private BufferWriter metadataWriter;
   private BufferWriter valueWriter;
 
+  public LogStreamBatchWriterImpl() {}
+
   public LogStreamBatchWriterImpl(final LogStream logStream) {
     wrap(logStream);
   }
@@ -113,6 +117,12 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
     return this;
   }
 
+  @Override
+  public LogEntryBuilder sourceEventPosition(final long position) {
+    this.entrySourceEventPosition = position;
+    return this;
+  }
+
   @Override
   public LogEntryBuilder metadata(final DirectBuffer buffer, final int offset, final int length) {
     metadataWriterInstance.wrap(buffer, offset, length);
@@ -168,6 +178,9 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
     eventBuffer.putLong(eventBufferOffset, key, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_LONG;
 
+    eventBuffer.putLong(eventBufferOffset, entrySourceEventPosition, Protocol.ENDIANNESS);
+    eventBufferOffset += SIZE_OF_LONG;
+
     eventBuffer.putInt(eventBufferOffset, metadataLength, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_INT;
 
@@ -213,8 +226,13 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
     return result;
   }
 
+  @Override
+  public int getBatchLength() {
+    return eventLength + (eventCount * HEADER_BLOCK_LENGTH);
+  }
+
   private long claimBatchForEvents() {
-    final int batchLength = eventLength + (eventCount * HEADER_BLOCK_LENGTH);
+    final int batchLength = getBatchLength();
 
     long claimedPosition = -1;
     do {
@@ -232,6 +250,10 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
       final long key = eventBuffer.getLong(eventBufferOffset, Protocol.ENDIANNESS);
       eventBufferOffset += SIZE_OF_LONG;
 
+      final long entrySourceEventPosition =
+          eventBuffer.getLong(eventBufferOffset, Protocol.ENDIANNESS);
+      eventBufferOffset += SIZE_OF_LONG;
+
       final int metadataLength = eventBuffer.getInt(eventBufferOffset, Protocol.ENDIANNESS);
       eventBufferOffset += SIZE_OF_INT;
 
@@ -249,7 +271,12 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
       // write log entry header
       setPosition(writeBuffer, bufferOffset, position);
       setProducerId(writeBuffer, bufferOffset, producerId);
-      setSourceEventPosition(writeBuffer, bufferOffset, sourceEventPosition);
+      setSourceEventPosition(
+          writeBuffer,
+          bufferOffset,
+          entrySourceEventPosition == USE_BATCH_SOURCE_EVENT_POSITION
+              ? sourceEventPosition
+              : entrySourceEventPosition);
       setKey(writeBuffer, bufferOffset, key);
       setTimestamp(writeBuffer, bufferOffset, ActorClock.currentTimeMillis());
       setMetadataLength(writeBuffer, bufferOffset, (short) metadataLength);
@@ -282,6 +309,7 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
 
   private void resetEvent() {
     key = LogEntryDescriptor.KEY_NULL_VALUE;
+    entrySourceEventPosition = USE_BATCH_SOURCE_EVENT_POSITION;
 
     metadataWriter = metadataWriterInstance;
     valueWriter = null;
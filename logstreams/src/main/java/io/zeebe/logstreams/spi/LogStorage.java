@@ -145,6 +145,21 @@ public interface LogStorage {
    */
   long getFirstBlockAddress();
 
+  /**
+   * Returns the address of an event whose position is lower than or equal to the given position and
+   * which is close to it, so that a reader can start at this address and scan only a few events to
+   * find the position. Storage implementations which don't index the positions of their events
+   * return {@link #OP_RESULT_INVALID_ADDR}, the reader uses the log block index then.
+   *
+   * <p>This method is invoked concurrently by consumer threads of the log.
+   *
+   * @param position the position of the event to look up
+   * @return the address of the event or {@link #OP_RESULT_INVALID_ADDR}
+   */
+  default long lookUpAddress(long position) {
+    return OP_RESULT_INVALID_ADDR;
+  }
+
   /**
    * Flushes all appended blocks to ensure that all blocks are written completely. Note that a
    * storage implementation may do nothing if {@link #append(ByteBuffer)} guarantees that all blocks
@@ -44,12 +44,21 @@ public interface SnapshotController extends AutoCloseable {
   /**
    * Replicates the latest valid snapshot. The given executor is called for each snapshot chunk in
    * the latest snapshot. The executor should execute/run the given Runnable in a specific
-   * environment (e.g. ActorThread).
+   * environment (e.g. ActorThread). The files which all receivers advertised to hold already are
+   * not replicated again.
    *
    * @param executor executor which executed the given Runnable
    */
   void replicateLatestSnapshot(Consumer<Runnable> executor);
 
+  /**
+   * Replicates the latest valid snapshot like {@link #replicateLatestSnapshot(Consumer)}, but with
+   * all its files, e.g. to a node which restores its state and holds no files.
+   *
+   * @param executor executor which executed the given Runnable
+   */
+  void replicateLatestSnapshotFully(Consumer<Runnable> executor);
+
   /** Registers to consumes replicated snapshots. */
   void consumeReplicatedSnapshots(Consumer<Long> dataDeleteCallback);
 
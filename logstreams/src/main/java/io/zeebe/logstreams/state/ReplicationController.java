@@ -15,26 +15,55 @@
  */
 package io.zeebe.logstreams.state;
 
+import static java.nio.file.StandardOpenOption.APPEND;
 import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
 
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.util.FileUtil;
+import io.zeebe.util.metrics.MetricsManager;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.zip.CRC32;
 import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Long2ObjectHashMap;
 import org.slf4j.Logger;
 
+/**
+ * Replicates the files of a snapshot in chunks of a bounded size, and assembles the replicated
+ * snapshots on the receiving nodes.
+ *
+ * <p>RocksDB never changes an SST file after it was written, and most of them are part of the next
+ * snapshot again. The receivers advertise the SST files of their latest snapshot with their
+ * checksums. On an incremental replication, a file which all receivers advertised is not replicated
+ * again but only referred to, and the receivers link it from their latest snapshot. A receiver
+ * which didn't advertise its files yet is assumed to hold none.
+ */
 public final class ReplicationController {
 
   private static final Logger LOG = Loggers.SNAPSHOT_LOGGER;
 
+  public static final int DEFAULT_CHUNK_SIZE = 512 * 1024;
+
+  private static final String IMMUTABLE_FILE_SUFFIX = ".sst";
+  private static final byte[] NO_CONTENT = new byte[0];
+
   private static final long START_VALUE = 0L;
   private static final long INVALID_SNAPSHOT = -1;
   private static final long MISSING_SNAPSHOT = Long.MIN_VALUE;
@@ -44,20 +73,52 @@ public final class ReplicationController {
   private final StateStorage storage;
   private final Runnable ensureMaxSnapshotCount;
   private final Supplier<Long> deletablePositionSupplier;
+  private final SnapshotReplicationMetrics metrics;
+  private final int chunkSize;
   private Consumer<Long> deleteDataCallback;
 
   private final List<SnapshotReplicationListener> replicationListeners =
       new CopyOnWriteArrayList<>();
 
+  // replicating side
+  private final Map<String, Long> replicatedFileChecksums = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Long>> advertisedFileChecksums = new ConcurrentHashMap<>();
+
+  // receiving side
+  private final Long2ObjectHashMap<ReceivingSnapshot> receivingSnapshots =
+      new Long2ObjectHashMap<>();
+  private final Map<String, HeldFile> heldFiles = new HashMap<>();
+
   public ReplicationController(
       SnapshotReplication replication,
       StateStorage storage,
       Runnable ensureMaxSnapshotCount,
       Supplier<Long> deletablePositionSupplier) {
+    this(
+        replication,
+        storage,
+        ensureMaxSnapshotCount,
+        deletablePositionSupplier,
+        new SnapshotReplicationMetrics(new MetricsManager(), 0),
+        DEFAULT_CHUNK_SIZE);
+  }
+
+  public ReplicationController(
+      SnapshotReplication replication,
+      StateStorage storage,
+      Runnable ensureMaxSnapshotCount,
+      Supplier<Long> deletablePositionSupplier,
+      SnapshotReplicationMetrics metrics,
+      int chunkSize) {
     this.replication = replication;
     this.storage = storage;
     this.ensureMaxSnapshotCount = ensureMaxSnapshotCount;
     this.deletablePositionSupplier = deletablePositionSupplier;
+    this.metrics = metrics;
+    this.chunkSize = chunkSize;
+
+    // the receivers advertise their files only when they change, so listen before replicating
+    replication.consumeAdvertisements(this::onAdvertisement);
   }
 
   private static long createChecksum(byte[] content) {
@@ -66,24 +127,163 @@ public final class ReplicationController {
     return crc32.getValue();
   }
 
-  public void replicate(long snapshotPosition, int totalCount, File snapshotChunkFile) {
-    try {
-      final byte[] content = Files.readAllBytes(snapshotChunkFile.toPath());
-      final long checksum = createChecksum(content);
+  private static boolean isImmutable(String fileName) {
+    return fileName.endsWith(IMMUTABLE_FILE_SUFFIX);
+  }
+
+  /**
+   * Replicates the given files of a snapshot. The given executor is called for each snapshot chunk.
+   *
+   * @param snapshotPosition the position of the snapshot
+   * @param snapshotFiles the files of the snapshot
+   * @param incremental if true, the files which all receivers advertised are only referred to
+   * @param executor executor which executed the given Runnable
+   */
+  public void replicate(
+      long snapshotPosition,
+      File[] snapshotFiles,
+      boolean incremental,
+      Consumer<Runnable> executor) {
+    final Map<String, Long> filesHeldByReceivers;
+    if (incremental) {
+      filesHeldByReceivers = getFilesHeldByAllReceivers();
+    } else {
+      filesHeldByReceivers = Collections.emptyMap();
+    }
+
+    final List<ReplicatedFile> replicatedFiles = new ArrayList<>(snapshotFiles.length);
+    int totalCount = 0;
+    for (File snapshotFile : snapshotFiles) {
+      final ReplicatedFile replicatedFile = new ReplicatedFile(snapshotFile, chunkSize);
+
+      final Long checksum = replicatedFileChecksums.get(snapshotFile.getName());
+      if (checksum != null && checksum.equals(filesHeldByReceivers.get(snapshotFile.getName()))) {
+        replicatedFile.referTo(checksum);
+      }
+
+      replicatedFiles.add(replicatedFile);
+      totalCount += replicatedFile.chunkCount;
+    }
+
+    final int snapshotChunkCount = totalCount;
+    final long startTime = System.currentTimeMillis();
+    for (ReplicatedFile replicatedFile : replicatedFiles) {
+      if (replicatedFile.isReference) {
+        executor.accept(
+            () -> replicateReference(snapshotPosition, snapshotChunkCount, replicatedFile));
+      } else {
+        for (int i = 0; i < replicatedFile.chunkCount; i++) {
+          final long fileOffset = (long) i * chunkSize;
+          executor.accept(
+              () ->
+                  replicateChunk(snapshotPosition, snapshotChunkCount, replicatedFile, fileOffset));
+        }
+      }
+    }
+    executor.accept(() -> metrics.setReplicationDuration(System.currentTimeMillis() - startTime));
+  }
+
+  private void onAdvertisement(SnapshotFiles snapshotFiles) {
+    LOG.debug(
+        "Member {} holds {} snapshot files",
+        snapshotFiles.getMemberId(),
+        snapshotFiles.getFileChecksums().size());
+    advertisedFileChecksums.put(
+        snapshotFiles.getMemberId(), new HashMap<>(snapshotFiles.getFileChecksums()));
+  }
+
+  private Map<String, Long> getFilesHeldByAllReceivers() {
+    final Collection<String> receivers = replication.getReceivers();
+    // forget the files of members which left
+    advertisedFileChecksums.keySet().retainAll(receivers);
+
+    Map<String, Long> filesHeldByAll = null;
+    for (String receiver : receivers) {
+      final Map<String, Long> fileChecksums = advertisedFileChecksums.get(receiver);
+      if (fileChecksums == null) {
+        return Collections.emptyMap();
+      }
+
+      if (filesHeldByAll == null) {
+        filesHeldByAll = new HashMap<>(fileChecksums);
+      } else {
+        filesHeldByAll
+            .entrySet()
+            .removeIf(file -> !file.getValue().equals(fileChecksums.get(file.getKey())));
+      }
+    }
+    return filesHeldByAll != null ? filesHeldByAll : Collections.emptyMap();
+  }
+
+  private void replicateReference(
+      long snapshotPosition, int totalCount, ReplicatedFile replicatedFile) {
+    replication.replicate(
+        new SnapshotChunkImpl(
+            snapshotPosition,
+            totalCount,
+            replicatedFile.file.getName(),
+            replicatedFile.referencedChecksum,
+            NO_CONTENT,
+            0,
+            replicatedFile.length,
+            true));
+    metrics.incrementSkippedBytes(replicatedFile.length);
+  }
+
+  private void replicateChunk(
+      long snapshotPosition, int totalCount, ReplicatedFile replicatedFile, long fileOffset) {
+    final File snapshotFile = replicatedFile.file;
+    final int length = (int) Math.min(chunkSize, replicatedFile.length - fileOffset);
+
+    try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), READ)) {
+      final byte[] content = readChunk(channel, fileOffset, length);
+
+      replicatedFile.checksum.update(content);
+      if (fileOffset + length == replicatedFile.length
+          && !replicatedFile.isFailed
+          && isImmutable(snapshotFile.getName())) {
+        replicatedFileChecksums.put(snapshotFile.getName(), replicatedFile.checksum.getValue());
+      }
 
       replication.replicate(
           new SnapshotChunkImpl(
-              snapshotPosition, totalCount, snapshotChunkFile.getName(), checksum, content));
+              snapshotPosition,
+              totalCount,
+              snapshotFile.getName(),
+              createChecksum(content),
+              content,
+              fileOffset,
+              replicatedFile.length,
+              false));
+      metrics.incrementReplicatedBytes(length);
     } catch (IOException ioe) {
-      LOG.error(
-          "Unexpected error on reading snapshot chunk from file '{}'.", snapshotChunkFile, ioe);
+      replicatedFile.isFailed = true;
+      LOG.error("Unexpected error on reading snapshot chunk from file '{}'.", snapshotFile, ioe);
+    }
+  }
+
+  private byte[] readChunk(FileChannel channel, long fileOffset, int length) throws IOException {
+    // the content is handed over to the replication, so read into it directly
+    final byte[] content = new byte[length];
+    final ByteBuffer readBuffer = ByteBuffer.wrap(content);
+    while (readBuffer.hasRemaining()) {
+      if (channel.read(readBuffer, fileOffset + readBuffer.position()) < 0) {
+        throw new EOFException(
+            String.format(
+                "Expected to read %d bytes at offset %d, but reached the end of the file",
+                length, fileOffset));
+      }
     }
+    return content;
   }
 
   /** Registering for consuming snapshot chunks. */
   public void consumeReplicatedSnapshots(Consumer<Long> dataDeleteCallback) {
     this.deleteDataCallback = dataDeleteCallback;
     replication.consume(this::consumeSnapshotChunk);
+
+    // the replicating node may assume files which are gone, e.g. after a restart
+    advertiseHeldFiles();
   }
 
   public void addListener(SnapshotReplicationListener listener) {
@@ -119,18 +319,20 @@ public final class ReplicationController {
       return;
     }
 
-    final long expectedChecksum = snapshotChunk.getChecksum();
-    final long actualChecksum = createChecksum(snapshotChunk.getContent());
-
-    if (expectedChecksum != actualChecksum) {
-      markSnapshotAsInvalid(snapshotChunk);
-      LOG.warn(
-          "Expected to have checksum {} for snapshot chunk file {} ({}), but calculated {}",
-          expectedChecksum,
-          chunkName,
-          snapshotName,
-          actualChecksum);
-      return;
+    if (!snapshotChunk.isFileReference()) {
+      final long expectedChecksum = snapshotChunk.getChecksum();
+      final long actualChecksum = createChecksum(snapshotChunk.getContent());
+
+      if (expectedChecksum != actualChecksum) {
+        markSnapshotAsInvalid(snapshotChunk);
+        LOG.warn(
+            "Expected to have checksum {} for snapshot chunk file {} ({}), but calculated {}",
+            expectedChecksum,
+            chunkName,
+            snapshotName,
+            actualChecksum);
+        return;
+      }
     }
 
     final File tmpSnapshotDirectory = storage.getTmpSnapshotDirectoryFor(snapshotName);
@@ -139,22 +341,53 @@ public final class ReplicationController {
     }
 
     final File snapshotFile = new File(tmpSnapshotDirectory, chunkName);
-    if (snapshotFile.exists()) {
-      LOG.debug("Received a snapshot file which already exist '{}'.", snapshotFile);
+    final long fileOffset = snapshotChunk.getFileOffset();
+    if (snapshotFile.exists() && (fileOffset == 0 || fileOffset < snapshotFile.length())) {
+      LOG.debug(
+          "Received a snapshot chunk which already exist '{}' at offset {}.",
+          snapshotFile,
+          fileOffset);
+      return;
+    }
+
+    if (fileOffset != snapshotFile.length()) {
+      markSnapshotAsInvalid(snapshotChunk);
+      LOG.warn(
+          "Expected to receive snapshot chunk file {} ({}) at offset {}, but got offset {}",
+          chunkName,
+          snapshotName,
+          snapshotFile.length(),
+          fileOffset);
       return;
     }
 
     LOG.debug("Consume snapshot chunk {}", chunkName);
-    writeReceivedSnapshotChunk(snapshotChunk, tmpSnapshotDirectory, snapshotFile);
+    if (snapshotChunk.isFileReference()) {
+      linkHeldFile(snapshotChunk, tmpSnapshotDirectory, snapshotFile);
+    } else {
+      writeReceivedSnapshotChunk(snapshotChunk, tmpSnapshotDirectory, snapshotFile);
+    }
   }
 
   private void writeReceivedSnapshotChunk(
       SnapshotChunk snapshotChunk, File tmpSnapshotDirectory, File snapshotFile) {
     try {
+      final byte[] content = snapshotChunk.getContent();
+      final long fileOffset = snapshotChunk.getFileOffset();
       Files.write(
-          snapshotFile.toPath(), snapshotChunk.getContent(), CREATE_NEW, StandardOpenOption.WRITE);
+          snapshotFile.toPath(),
+          content,
+          fileOffset == 0 ? CREATE_NEW : APPEND,
+          StandardOpenOption.WRITE);
       LOG.debug("Wrote replicated snapshot chunk to file {}", snapshotFile.toPath());
 
+      getReceivingSnapshot(snapshotChunk)
+          .onChunkWritten(
+              snapshotChunk.getChunkName(),
+              content,
+              fileOffset + content.length >= snapshotChunk.getFileLength());
+      metrics.incrementReceivedBytes(content.length);
+
       validateWhenReceivedAllChunks(snapshotChunk, tmpSnapshotDirectory);
     } catch (IOException ioe) {
       markSnapshotAsInvalid(snapshotChunk);
@@ -163,6 +396,87 @@ public final class ReplicationController {
     }
   }
 
+  private void linkHeldFile(
+      SnapshotChunk snapshotChunk, File tmpSnapshotDirectory, File snapshotFile) {
+    final String fileName = snapshotChunk.getChunkName();
+    final HeldFile heldFile = heldFiles.get(fileName);
+
+    if (heldFile == null
+        || heldFile.checksum != snapshotChunk.getChecksum()
+        || !heldFile.file.exists()) {
+      markSnapshotAsInvalid(snapshotChunk);
+      LOG.warn(
+          "Expected to hold snapshot file {} with checksum {} to link it into snapshot {}, but it is missing",
+          fileName,
+          snapshotChunk.getChecksum(),
+          snapshotChunk.getSnapshotPosition());
+
+      // the replicating node has outdated information about the held files
+      advertiseHeldFiles();
+      return;
+    }
+
+    try {
+      linkOrCopy(heldFile.file.toPath(), snapshotFile.toPath());
+      LOG.debug("Linked held snapshot file {} to {}", heldFile.file.toPath(), snapshotFile);
+
+      getReceivingSnapshot(snapshotChunk).onFileLinked(fileName, heldFile.checksum);
+      metrics.incrementLinkedBytes(snapshotChunk.getFileLength());
+
+      validateWhenReceivedAllChunks(snapshotChunk, tmpSnapshotDirectory);
+    } catch (IOException ioe) {
+      markSnapshotAsInvalid(snapshotChunk);
+      LOG.error(
+          "Unexpected error occurred on linking snapshot file '{}' to '{}'.",
+          heldFile.file,
+          snapshotFile,
+          ioe);
+    }
+  }
+
+  private static void linkOrCopy(Path source, Path target) throws IOException {
+    try {
+      Files.createLink(target, source);
+    } catch (UnsupportedOperationException | IOException e) {
+      // e.g. the directories are on different devices, or the file system has no hard links
+      LOG.debug("Failed to link snapshot file {} to {}, copy it instead", source, target, e);
+      Files.copy(source, target);
+    }
+  }
+
+  private ReceivingSnapshot getReceivingSnapshot(SnapshotChunk snapshotChunk) {
+    return receivingSnapshots.computeIfAbsent(
+        snapshotChunk.getSnapshotPosition(), position -> new ReceivingSnapshot());
+  }
+
+  private void advertiseHeldFiles() {
+    final Map<String, Long> fileChecksums = new HashMap<>();
+    heldFiles.forEach((fileName, heldFile) -> fileChecksums.put(fileName, heldFile.checksum));
+    replication.advertise(fileChecksums);
+  }
+
+  private void onSnapshotInstalled(long snapshotPosition, File validSnapshotDirectory) {
+    final ReceivingSnapshot snapshot = receivingSnapshots.remove(snapshotPosition);
+    if (snapshot == null) {
+      return;
+    }
+
+    // snapshots which were not completed before are not completed anymore
+    receivingSnapshots.keySet().removeIf(position -> position < snapshotPosition);
+
+    heldFiles.clear();
+    snapshot.fileChecksums.forEach(
+        (fileName, checksum) -> {
+          if (isImmutable(fileName)) {
+            heldFiles.put(
+                fileName, new HeldFile(new File(validSnapshotDirectory, fileName), checksum));
+          }
+        });
+    advertiseHeldFiles();
+
+    metrics.setReceiveDuration(System.currentTimeMillis() - snapshot.startTime);
+  }
+
   private void deleteTmpSnapshotDirectoryIfExists(long snapshotPosition) {
     final File tmpSnapshotDirectory =
         storage.getTmpSnapshotDirectoryFor(Long.toString(snapshotPosition));
@@ -181,6 +495,7 @@ public final class ReplicationController {
   private void markSnapshotAsInvalid(SnapshotChunk chunk) {
     final long snapshotPosition = chunk.getSnapshotPosition();
     receivedSnapshots.put(snapshotPosition, INVALID_SNAPSHOT);
+    receivingSnapshots.remove(snapshotPosition);
     replicationListeners.forEach(listener -> listener.onFailure(snapshotPosition));
   }
 
@@ -224,6 +539,7 @@ public final class ReplicationController {
       receivedSnapshots.remove(snapshotChunk.getSnapshotPosition());
 
       ensureMaxSnapshotCount.run();
+      onSnapshotInstalled(snapshotChunk.getSnapshotPosition(), validSnapshotDirectory);
     } catch (IOException ioe) {
       markSnapshotAsInvalid(snapshotChunk);
       LOG.error(
@@ -244,22 +560,88 @@ public final class ReplicationController {
     }
   }
 
-  private final class SnapshotChunkImpl implements SnapshotChunk {
+  private static final class ReplicatedFile {
+    private final File file;
+    private final long length;
+    private final CRC32 checksum = new CRC32();
+    private int chunkCount;
+    private boolean isReference;
+    private long referencedChecksum;
+    private boolean isFailed;
+
+    ReplicatedFile(File file, int chunkSize) {
+      this.file = file;
+      this.length = file.length();
+      this.chunkCount = (int) Math.max(1, (length + chunkSize - 1) / chunkSize);
+    }
+
+    void referTo(long checksum) {
+      isReference = true;
+      referencedChecksum = checksum;
+      chunkCount = 1;
+    }
+  }
+
+  private static final class ReceivingSnapshot {
+    private final long startTime = System.currentTimeMillis();
+    private final Map<String, CRC32> partialFileChecksums = new HashMap<>();
+    private final Map<String, Long> fileChecksums = new HashMap<>();
+
+    void onChunkWritten(String fileName, byte[] content, boolean isLastChunk) {
+      final CRC32 checksum = partialFileChecksums.computeIfAbsent(fileName, f -> new CRC32());
+      checksum.update(content);
+
+      if (isLastChunk) {
+        partialFileChecksums.remove(fileName);
+        fileChecksums.put(fileName, checksum.getValue());
+      }
+    }
+
+    void onFileLinked(String fileName, long checksum) {
+      fileChecksums.put(fileName, checksum);
+    }
+  }
+
+  private static final class HeldFile {
+    private final File file;
+    private final long checksum;
+
+    HeldFile(File file, long checksum) {
+      this.file = file;
+      this.checksum = checksum;
+    }
+  }
+
+  private static final class SnapshotChunkImpl implements SnapshotChunk {
     private final long snapshotPosition;
     private final int totalCount;
     private final String chunkName;
     private final byte[] content;
     private final long checksum;
+    private final long fileOffset;
+    private final long fileLength;
+    private final boolean isFileReference;
 
     SnapshotChunkImpl(
-        long snapshotPosition, int totalCount, String chunkName, long checksum, byte[] content) {
+        long snapshotPosition,
+        int totalCount,
+        String chunkName,
+        long checksum,
+        byte[] content,
+        long fileOffset,
+        long fileLength,
+        boolean isFileReference) {
       this.snapshotPosition = snapshotPosition;
       this.totalCount = totalCount;
       this.chunkName = chunkName;
       this.checksum = checksum;
       this.content = content;
+      this.fileOffset = fileOffset;
+      this.fileLength = fileLength;
+      this.isFileReference = isFileReference;
     }
 
+    @Override
     public long getSnapshotPosition() {
       return snapshotPosition;
     }
@@ -274,12 +656,29 @@ public final class ReplicationController {
       return totalCount;
     }
 
+    @Override
     public long getChecksum() {
       return checksum;
     }
 
+    @Override
     public byte[] getContent() {
       return content;
     }
+
+    @Override
+    public long getFileOffset() {
+      return fileOffset;
+    }
+
+    @Override
+    public long getFileLength() {
+      return fileLength;
+    }
+
+    @Override
+    public boolean isFileReference() {
+      return isFileReference;
+    }
   }
 }
@@ -31,4 +31,22 @@ public interface SnapshotChunk {
 
   /** @return the content of the current chunk */
   byte[] getContent();
+
+  /** @return the offset of the content in the file the chunk belongs to */
+  default long getFileOffset() {
+    return 0;
+  }
+
+  /** @return the length of the file the chunk belongs to */
+  default long getFileLength() {
+    return getContent().length;
+  }
+
+  /**
+   * @return true if the chunk has no content, but refers to a file which the receiver advertised to
+   *     hold already; the checksum is the checksum of the whole file
+   */
+  default boolean isFileReference() {
+    return false;
+  }
 }
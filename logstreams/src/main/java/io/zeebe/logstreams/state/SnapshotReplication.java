@@ -15,6 +15,9 @@
  */
 package io.zeebe.logstreams.state;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.function.Consumer;
 
 public interface SnapshotReplication {
@@ -33,6 +36,32 @@ public interface SnapshotReplication {
    */
   void consume(Consumer<SnapshotChunk> consumer);
 
+  /**
+   * Advertises the snapshot files which are held by this node, so that the replicating node can
+   * refer to them instead of replicating them again.
+   *
+   * @param fileChecksums the checksums of the held files by file name
+   */
+  default void advertise(Map<String, Long> fileChecksums) {}
+
+  /**
+   * Registers an consumer, which should be called when another node advertised the snapshot files
+   * it holds.
+   *
+   * @param consumer the consumer which should be called
+   */
+  default void consumeAdvertisements(Consumer<SnapshotFiles> consumer) {}
+
+  /**
+   * Returns the ids of the members which receive the replicated snapshot chunks. A file is only
+   * referred to instead of replicated if all of them advertised it.
+   *
+   * @return the ids of the receiving members
+   */
+  default Collection<String> getReceivers() {
+    return Collections.emptyList();
+  }
+
   /** Closes the snapshot replication. */
   void close();
 }
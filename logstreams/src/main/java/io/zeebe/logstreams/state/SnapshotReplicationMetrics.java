@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class SnapshotReplicationMetrics {
+
+  private final Metric replicatedBytes;
+  private final Metric skippedBytes;
+  private final Metric replicationDuration;
+  private final Metric receivedBytes;
+  private final Metric linkedBytes;
+  private final Metric receiveDuration;
+
+  public SnapshotReplicationMetrics(MetricsManager metricsManager, int partitionId) {
+    final String partition = String.valueOf(partitionId);
+
+    replicatedBytes = bytesCounter(metricsManager, partition, "replicated");
+    skippedBytes = bytesCounter(metricsManager, partition, "skipped");
+    receivedBytes = bytesCounter(metricsManager, partition, "received");
+    linkedBytes = bytesCounter(metricsManager, partition, "linked");
+
+    replicationDuration = durationGauge(metricsManager, partition, "replicate");
+    receiveDuration = durationGauge(metricsManager, partition, "receive");
+  }
+
+  private static Metric bytesCounter(
+      MetricsManager metricsManager, String partition, String action) {
+    return metricsManager
+        .newMetric("snapshot_replication_bytes_count")
+        .type("counter")
+        .label("partition", partition)
+        .label("action", action)
+        .create();
+  }
+
+  private static Metric durationGauge(
+      MetricsManager metricsManager, String partition, String action) {
+    return metricsManager
+        .newMetric("snapshot_replication_duration_ms")
+        .type("gauge")
+        .label("partition", partition)
+        .label("action", action)
+        .create();
+  }
+
+  public void close() {
+    replicatedBytes.close();
+    skippedBytes.close();
+    replicationDuration.close();
+    receivedBytes.close();
+    linkedBytes.close();
+    receiveDuration.close();
+  }
+
+  public void incrementReplicatedBytes(long bytes) {
+    replicatedBytes.getAndAddOrdered(bytes);
+  }
+
+  public void incrementSkippedBytes(long bytes) {
+    skippedBytes.getAndAddOrdered(bytes);
+  }
+
+  public void setReplicationDuration(long durationMs) {
+    replicationDuration.setOrdered(durationMs);
+  }
+
+  public void incrementReceivedBytes(long bytes) {
+    receivedBytes.getAndAddOrdered(bytes);
+  }
+
+  public void incrementLinkedBytes(long bytes) {
+    linkedBytes.getAndAddOrdered(bytes);
+  }
+
+  public void setReceiveDuration(long durationMs) {
+    receiveDuration.setOrdered(durationMs);
+  }
+}
@@ -20,6 +20,7 @@ import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.util.FileUtil;
+import io.zeebe.util.metrics.MetricsManager;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -46,6 +47,22 @@ public class StateSnapshotController implements SnapshotController {
       StateStorage storage,
       SnapshotReplication replication,
       int maxSnapshots) {
+    this(
+        zeebeDbFactory,
+        storage,
+        replication,
+        maxSnapshots,
+        new SnapshotReplicationMetrics(new MetricsManager(), 0),
+        ReplicationController.DEFAULT_CHUNK_SIZE);
+  }
+
+  public StateSnapshotController(
+      ZeebeDbFactory zeebeDbFactory,
+      StateStorage storage,
+      SnapshotReplication replication,
+      int maxSnapshots,
+      SnapshotReplicationMetrics replicationMetrics,
+      int replicationChunkSize) {
     this.storage = storage;
     this.zeebeDbFactory = zeebeDbFactory;
     replicationController =
@@ -59,7 +76,9 @@ public class StateSnapshotController implements SnapshotController {
                 LOG.error("Unexpected error occurred on ensuring max snapshot count.", ioe);
               }
             },
-            () -> getPositionToDelete(maxSnapshots));
+            () -> getPositionToDelete(maxSnapshots),
+            replicationMetrics,
+            replicationChunkSize);
   }
 
   @Override
@@ -110,7 +129,17 @@ public class StateSnapshotController implements SnapshotController {
     Files.move(previousLocation.toPath(), snapshotDir.toPath());
   }
 
+  @Override
   public void replicateLatestSnapshot(Consumer<Runnable> executor) {
+    replicateLatestSnapshot(executor, true);
+  }
+
+  @Override
+  public void replicateLatestSnapshotFully(Consumer<Runnable> executor) {
+    replicateLatestSnapshot(executor, false);
+  }
+
+  private void replicateLatestSnapshot(Consumer<Runnable> executor, boolean incremental) {
     final List<File> snapshots = storage.listByPositionDesc();
 
     if (snapshots != null && !snapshots.isEmpty()) {
@@ -119,13 +148,7 @@ public class StateSnapshotController implements SnapshotController {
       final long snapshotPosition = Long.parseLong(latestSnapshotDirectory.getName());
 
       final File[] files = latestSnapshotDirectory.listFiles();
-      for (File snapshotChunkFile : files) {
-        executor.accept(
-            () -> {
-              LOG.debug("Replicate snapshot chunk {}", snapshotChunkFile.toPath());
-              replicationController.replicate(snapshotPosition, files.length, snapshotChunkFile);
-            });
-      }
+      replicationController.replicate(snapshotPosition, files, incremental, executor);
     }
   }
 
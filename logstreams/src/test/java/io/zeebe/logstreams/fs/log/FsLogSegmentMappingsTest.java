@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.fs.log;
+
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.METADATA_LENGTH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
+import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.metrics.MetricsManager;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FsLogSegmentMappingsTest {
+  private static final int SEGMENT_SIZE = 64 * 1024;
+  private static final int BLOCK_SIZE = SEGMENT_SIZE - METADATA_LENGTH;
+  private static final int MAX_MAPPED_SEGMENTS = 2;
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final Random random = new Random();
+  private final MetricsManager metricsManager = new MetricsManager();
+
+  private final List<byte[]> blocks = new ArrayList<>();
+  private final List<Long> addresses = new ArrayList<>();
+
+  private FsLogStorage fsLogStorage;
+
+  @Before
+  public void init() {
+    final FsLogStorageConfiguration config =
+        new FsLogStorageConfiguration(
+            SEGMENT_SIZE, tempFolder.getRoot().getAbsolutePath(), 0, false, MAX_MAPPED_SEGMENTS);
+
+    fsLogStorage = new FsLogStorage(config, metricsManager, 0);
+    fsLogStorage.open();
+  }
+
+  @After
+  public void tearDown() {
+    fsLogStorage.close();
+  }
+
+  @Test
+  public void shouldReadFilledSegments() {
+    // given
+    appendSegments(4);
+
+    // when
+    for (int i = 0; i < blocks.size(); i++) {
+      final byte[] bytes = read(addresses.get(i), 100, BLOCK_SIZE - 100);
+
+      // then
+      final byte[] expected = new byte[BLOCK_SIZE - 100];
+      System.arraycopy(blocks.get(i), 100, expected, 0, expected.length);
+      assertThat(bytes).isEqualTo(expected);
+    }
+
+    assertThat(mappedSegments()).isEqualTo(MAX_MAPPED_SEGMENTS);
+  }
+
+  @Test
+  public void shouldNotMapActiveSegment() {
+    // given
+    appendSegments(1);
+
+    // when
+    final byte[] bytes = read(addresses.get(0), 0, BLOCK_SIZE);
+
+    // then
+    assertThat(bytes).isEqualTo(blocks.get(0));
+    assertThat(mappedSegments()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldUnmapDeletedSegmentsOnNextDeletion() {
+    // given
+    appendSegments(3);
+    read(addresses.get(0), 0, BLOCK_SIZE);
+    read(addresses.get(1), 0, BLOCK_SIZE);
+    fsLogStorage.delete(addresses.get(2));
+    assertThat(mappedSegments()).isEqualTo(2);
+
+    // when
+    appendSegments(1);
+    fsLogStorage.delete(addresses.get(3));
+
+    // then
+    assertThat(mappedSegments()).isEqualTo(0);
+    assertThat(read(addresses.get(3), 0, BLOCK_SIZE)).isEqualTo(blocks.get(3));
+  }
+
+  private void appendSegments(int count) {
+    for (int i = 0; i < count; i++) {
+      final byte[] block = new byte[BLOCK_SIZE];
+      random.nextBytes(block);
+
+      addresses.add(fsLogStorage.append(ByteBuffer.wrap(block)));
+      blocks.add(block);
+    }
+  }
+
+  private byte[] read(long address, int offset, int length) {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+
+    final long result = fsLogStorage.read(buffer, address + offset);
+    assertThat(partitionOffset(result)).isEqualTo(partitionOffset(address) + offset + length);
+
+    return buffer.array();
+  }
+
+  private long mappedSegments() {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final int length = metricsManager.dump(buffer, 0, 0);
+    final String dump = BufferUtil.bufferAsString(buffer, 0, length);
+
+    final Matcher matcher =
+        Pattern.compile("zb_storage_fs_mapped_segments\\{[^}]*\\} (\\d+)").matcher(dump);
+    assertThat(matcher.find()).isTrue();
+    return Long.parseLong(matcher.group(1));
+  }
+}
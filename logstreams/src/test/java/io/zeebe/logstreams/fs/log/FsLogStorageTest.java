@@ -15,16 +15,24 @@
  */
 package io.zeebe.logstreams.fs.log;
 
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionId;
 import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+import static io.zeebe.test.util.TestUtil.waitUntil;
 import static io.zeebe.util.StringUtil.getBytes;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
 import io.zeebe.dispatcher.impl.PositionUtil;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
 import io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
 import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.protocol.Protocol;
 import io.zeebe.util.FileUtil;
 import io.zeebe.util.metrics.MetricsManager;
 import java.io.File;
@@ -33,6 +41,10 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -44,6 +56,9 @@ public class FsLogStorageTest {
 
   private static final byte[] MSG = getBytes("test");
 
+  private static final int EVENT_LENGTH = 1024;
+  private static final int EVENTS_PER_INDEX_ENTRY = 4 * 1024 / EVENT_LENGTH;
+
   @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
 
   @Rule public ExpectedException thrown = ExpectedException.none();
@@ -117,7 +132,7 @@ public class FsLogStorageTest {
 
     fsLogStorage.open();
 
-    final File[] files = logDirectory.listFiles();
+    final File[] files = segmentFiles();
 
     assertThat(files).hasSize(1);
     assertThat(files[0].getAbsolutePath()).isEqualTo(initialSegmentFilePath);
@@ -161,7 +176,7 @@ public class FsLogStorageTest {
     fsLogStorage.open();
     fsLogStorage.append(ByteBuffer.wrap(MSG));
 
-    assertThat(logDirectory.listFiles().length).isEqualTo(1);
+    assertThat(segmentFiles().length).isEqualTo(1);
 
     final int remainingCapacity =
         SEGMENT_SIZE - FsLogSegmentDescriptor.METADATA_LENGTH - MSG.length;
@@ -171,7 +186,7 @@ public class FsLogStorageTest {
     final long address = fsLogStorage.append(ByteBuffer.wrap(largeBlock));
 
     assertThat(address).isGreaterThan(0);
-    assertThat(logDirectory.listFiles().length).isEqualTo(2);
+    assertThat(segmentFiles().length).isEqualTo(2);
 
     final byte[] writtenBytes =
         readLogFile(fsStorageConfig.fileName(1), partitionOffset(address), largeBlock.length);
@@ -474,7 +489,7 @@ public class FsLogStorageTest {
     fsLogStorage.delete(address);
 
     // then
-    assertThat(logDirectory.listFiles().length).isEqualTo(3);
+    assertThat(segmentFiles().length).isEqualTo(3);
     assertMessage(firstMessageAddress, MSG);
     assertMessage(secondMessageAddress, MSG);
 
@@ -499,7 +514,7 @@ public class FsLogStorageTest {
     fsLogStorage.delete(secondMessageAddress);
 
     // then
-    assertThat(logDirectory.listFiles().length).isEqualTo(1);
+    assertThat(segmentFiles().length).isEqualTo(1);
     assertMessage(firstMessageAddress, MSG);
     assertMessage(secondMessageAddress, MSG);
 
@@ -525,7 +540,7 @@ public class FsLogStorageTest {
     fsLogStorage.delete(secondMessageAddress);
 
     // then
-    assertThat(logDirectory.listFiles().length).isEqualTo(1);
+    assertThat(segmentFiles().length).isEqualTo(1);
     assertMessage(firstMessageAddress, MSG);
     assertMessage(secondMessageAddress, MSG);
 
@@ -551,13 +566,69 @@ public class FsLogStorageTest {
     fsLogStorage.delete(secondMessageAddress);
 
     // then
-    assertThat(logDirectory.listFiles().length).isEqualTo(1);
+    assertThat(segmentFiles().length).isEqualTo(1);
     assertMessage(firstMessageAddress, MSG);
     assertMessage(secondMessageAddress, MSG);
 
     fsLogStorage.close();
   }
 
+  @Test
+  public void shouldReadConcurrentlyToDelete() throws Exception {
+    // given
+    fsLogStorage.open();
+    final int blockLength = SEGMENT_SIZE - FsLogSegmentDescriptor.METADATA_LENGTH;
+    final int segmentCount = 32;
+    final long[] addresses = new long[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      final byte[] block = new byte[blockLength];
+      Arrays.fill(block, (byte) i);
+      addresses[i] = fsLogStorage.append(ByteBuffer.wrap(block));
+    }
+
+    final AtomicBoolean isReading = new AtomicBoolean(true);
+    final AtomicInteger readPasses = new AtomicInteger();
+    final AtomicReference<Throwable> readFailure = new AtomicReference<>();
+    final Thread reader =
+        new Thread(
+            () -> {
+              final ByteBuffer readBuffer = ByteBuffer.allocate(blockLength);
+              try {
+                while (isReading.get()) {
+                  for (int i = 0; i < segmentCount; i++) {
+                    readBuffer.clear();
+                    final long result = fsLogStorage.read(readBuffer, addresses[i]);
+                    if (result != LogStorage.OP_RESULT_INVALID_ADDR) {
+                      assertThat(result).isEqualTo(addresses[i] + blockLength);
+                      assertThat(readBuffer.get(blockLength - 1)).isEqualTo((byte) i);
+                    }
+                  }
+                  readPasses.incrementAndGet();
+                }
+              } catch (Throwable t) {
+                readFailure.set(t);
+              }
+            });
+    reader.start();
+
+    // when
+    for (int i = 1; i < segmentCount; i++) {
+      final int passes = readPasses.get();
+      waitUntil(() -> readPasses.get() > passes || readFailure.get() != null);
+      fsLogStorage.delete(addresses[i]);
+    }
+    isReading.set(false);
+    reader.join();
+
+    // then
+    assertThat(readFailure.get()).isNull();
+    assertThat(segmentFiles()).hasSize(1);
+    assertThat(fsLogStorage.read(ByteBuffer.allocate(blockLength), addresses[0]))
+        .isEqualTo(LogStorage.OP_RESULT_INVALID_ADDR);
+
+    fsLogStorage.close();
+  }
+
   @Test
   public void shouldAppendAfterDeleteSegments() {
     // given
@@ -577,7 +648,7 @@ public class FsLogStorageTest {
     fsLogStorage.delete(secondMessageAddress);
 
     // then
-    assertThat(logDirectory.listFiles().length).isEqualTo(1);
+    assertThat(segmentFiles().length).isEqualTo(1);
     assertMessage(firstMessageAddress, MSG);
     assertMessage(secondMessageAddress, MSG);
 
@@ -603,7 +674,7 @@ public class FsLogStorageTest {
     fsLogStorage.delete(address);
 
     // then
-    assertThat(logDirectory.listFiles().length).isEqualTo(3);
+    assertThat(segmentFiles().length).isEqualTo(3);
     assertMessage(firstMessageAddress, MSG);
     assertMessage(secondMessageAddress, MSG);
 
@@ -622,12 +693,98 @@ public class FsLogStorageTest {
     fsLogStorage.delete(addressMessage);
 
     // then
-    assertThat(logDirectory.listFiles().length).isEqualTo(1);
+    assertThat(segmentFiles().length).isEqualTo(1);
     assertMessage(addressMessage, MSG);
 
     fsLogStorage.close();
   }
 
+  @Test
+  public void shouldLookUpAddressOfIndexedEvent() {
+    // given
+    fsLogStorage.open();
+    appendEvents(1, 40);
+
+    // when
+    for (long position = 1; position <= 40; position++) {
+      final long address = fsLogStorage.lookUpAddress(position);
+
+      // then
+      final long indexedPosition = readPosition(address);
+      assertThat(indexedPosition).isBetween(position - EVENTS_PER_INDEX_ENTRY, position);
+    }
+
+    assertThat(fsLogStorage.lookUpAddress(0)).isEqualTo(LogStorage.OP_RESULT_INVALID_ADDR);
+    assertThat(fsLogStorage.lookUpAddress(Long.MAX_VALUE)).isGreaterThan(0);
+  }
+
+  @Test
+  public void shouldRecoverIndexOnOpen() {
+    // given
+    fsLogStorage.open();
+    appendEvents(1, 40);
+
+    final long[] addresses = new long[40];
+    for (int i = 0; i < addresses.length; i++) {
+      addresses[i] = fsLogStorage.lookUpAddress(i + 1);
+    }
+    fsLogStorage.close();
+
+    for (File indexFile : logDirectory.listFiles((dir, name) -> name.endsWith(".idx"))) {
+      FileUtil.deleteFile(indexFile);
+    }
+
+    // when
+    fsLogStorage.open();
+
+    // then
+    for (int i = 0; i < addresses.length; i++) {
+      assertThat(fsLogStorage.lookUpAddress(i + 1)).isEqualTo(addresses[i]);
+    }
+  }
+
+  @Test
+  public void shouldDeleteIndexWithSegment() {
+    // given
+    fsLogStorage.open();
+    appendEvents(1, 40);
+    final long address = fsLogStorage.lookUpAddress(40);
+
+    // when
+    fsLogStorage.delete(address);
+
+    // then
+    assertThat(logDirectory.listFiles((dir, name) -> name.endsWith(".idx")))
+        .hasSameSizeAs(segmentFiles());
+    assertThat(fsLogStorage.lookUpAddress(40)).isEqualTo(address);
+    assertThat(fsLogStorage.lookUpAddress(1)).isEqualTo(LogStorage.OP_RESULT_INVALID_ADDR);
+  }
+
+  private void appendEvents(final long fromPosition, final long toPosition) {
+    for (long position = fromPosition; position <= toPosition; position++) {
+      final int messageLength = EVENT_LENGTH - LogEntryDescriptor.HEADER_BLOCK_LENGTH;
+      final UnsafeBuffer event = new UnsafeBuffer(new byte[alignedFramedLength(messageLength)]);
+      event.putInt(lengthOffset(0), framedLength(messageLength), Protocol.ENDIANNESS);
+      LogEntryDescriptor.setPosition(event, messageOffset(0), position);
+
+      fsLogStorage.append(ByteBuffer.wrap(event.byteArray()));
+    }
+  }
+
+  private long readPosition(final long address) {
+    final byte[] header =
+        readLogFile(
+            fsStorageConfig.fileName(partitionId(address)),
+            partitionOffset(address),
+            LogEntryDescriptor.HEADER_BLOCK_LENGTH);
+
+    return LogEntryDescriptor.getPosition(new UnsafeBuffer(header), 0);
+  }
+
+  private File[] segmentFiles() {
+    return logDirectory.listFiles((dir, name) -> name.endsWith(".data"));
+  }
+
   private byte[] readLogFile(final String logFilePath, final long address, final int capacity) {
     final ByteBuffer buffer = ByteBuffer.allocate(capacity);
 
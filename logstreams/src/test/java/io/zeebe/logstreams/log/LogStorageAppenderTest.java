@@ -19,19 +19,23 @@ import static io.zeebe.test.util.TestUtil.waitUntil;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
 
-import io.zeebe.dispatcher.Subscription;
+import io.zeebe.distributedlog.impl.DefaultDistributedLogstreamService;
 import io.zeebe.logstreams.impl.LogStorageAppender;
-import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.logstreams.util.LogStreamReaderRule;
 import io.zeebe.logstreams.util.LogStreamRule;
 import io.zeebe.logstreams.util.LogStreamWriterRule;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.agrona.DirectBuffer;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.RuleChain;
@@ -46,7 +50,8 @@ public class LogStorageAppenderTest {
       new LogStreamRule(
           temporaryFolder,
           b -> {
-            b.logStorageStubber(logStorage -> spy(logStorage));
+            b.logStorageStubber(logStorage -> spy(logStorage))
+                .maxAppendBatchDelay(Duration.ofMinutes(1));
           });
 
   private final LogStreamWriterRule writer = new LogStreamWriterRule(logStreamRule);
@@ -57,12 +62,10 @@ public class LogStorageAppenderTest {
       RuleChain.outerRule(temporaryFolder).around(logStreamRule).around(reader).around(writer);
 
   private LogStream logStream;
-  private LogStorage logStorageSpy;
 
   @Before
   public void setup() {
     logStream = logStreamRule.getLogStream();
-    logStorageSpy = logStream.getLogStorage();
   }
 
   @Test
@@ -83,32 +86,134 @@ public class LogStorageAppenderTest {
   }
 
   @Test
-  @Ignore // TODO: handle failures in append
-  public void shouldDiscardEventsIfFailToAppend() {
-    final Subscription subscription = logStream.getWriteBuffer().openSubscription("test");
+  public void shouldCommitPositionOfLastEventOfBlock() {
+    // given
+    final LogStreamBatchWriter batchWriter = new LogStreamBatchWriterImpl(logStream);
+    batchWriter.event().keyNull().value(EVENT).done();
+    batchWriter.event().keyNull().value(EVENT).done();
+    batchWriter.event().keyNull().value(EVENT).done();
+
+    // when
+    long lastPosition;
+    do {
+      lastPosition = batchWriter.tryWrite();
+    } while (lastPosition < 0);
+    writer.waitForPositionToBeAppended(lastPosition);
 
-    final LogStorageAppender logStorageAppender = logStream.getLogStorageAppender();
-    final long positionBefore = logStorageAppender.getCurrentAppenderPosition();
+    // then
+    assertThat(logStream.getCommitPosition()).isEqualTo(lastPosition);
+  }
 
-    doReturn(-1L).when(logStorageSpy).append(any());
+  @Test
+  public void shouldCoalesceBlocksWhileAppendIsInFlight() {
+    // given
+    final CompletableFuture<Long> inFlightAppend = new CompletableFuture<>();
+    final List<byte[]> appendedBlocks = new CopyOnWriteArrayList<>();
+    final List<Long> commitPositions = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              appendedBlocks.add(invocation.getArgument(0));
+              commitPositions.add(invocation.getArgument(1));
+              return appendedBlocks.size() == 1
+                  ? inFlightAppend
+                  : CompletableFuture.completedFuture(1L);
+            })
+        .when(logStreamRule.getDistributedLog())
+        .asyncAppend(any(), anyLong());
 
-    // when log storage append fails
-    writer.writeEvent(EVENT);
+    final LogStorageAppender storageAppender = logStream.getLogStorageAppender();
+    final long firstPosition = writer.tryWrite(EVENT);
+    waitUntil(() -> appendedBlocks.size() == 1);
+
+    // when
+    writer.tryWrite(EVENT);
+    final long lastPosition = writer.tryWrite(EVENT);
+    waitUntil(() -> storageAppender.getCurrentAppenderPosition() > lastPosition);
+    assertThat(appendedBlocks).hasSize(1);
+
+    inFlightAppend.complete(1L);
 
     // then
-    waitUntil(() -> logStorageAppender.getCurrentAppenderPosition() > positionBefore);
+    waitUntil(() -> appendedBlocks.size() == 2);
+    assertThat(commitPositions).containsExactly(firstPosition, lastPosition);
+    assertThat(appendedBlocks.get(1).length).isEqualTo(2 * appendedBlocks.get(0).length);
+  }
 
-    assertThat(logStorageAppender.isFailed()).isTrue();
+  @Test
+  public void shouldSkipAppendedEventsOfCoalescedBlocks() {
+    // given
+    final List<byte[]> appendedBlocks = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              appendedBlocks.add(invocation.getArgument(0));
+              return CompletableFuture.completedFuture(1L);
+            })
+        .when(logStreamRule.getDistributedLog())
+        .asyncAppend(any(), anyLong());
+
+    final long firstPosition = writer.tryWrite(EVENT);
+    waitUntil(() -> appendedBlocks.size() == 1);
+    final long secondPosition = writer.tryWrite(EVENT);
+    waitUntil(() -> appendedBlocks.size() == 2);
+
+    final byte[] firstBlock = appendedBlocks.get(0);
+    final byte[] secondBlock = appendedBlocks.get(1);
+    final byte[] coalescedBlocks =
+        Arrays.copyOf(firstBlock, firstBlock.length + secondBlock.length);
+    System.arraycopy(secondBlock, 0, coalescedBlocks, firstBlock.length, secondBlock.length);
+
+    final DefaultDistributedLogstreamService distributedLog =
+        new DefaultDistributedLogstreamService(logStream, "0");
+    distributedLog.append(firstPosition, firstBlock);
+
+    // when
+    distributedLog.append(secondPosition, coalescedBlocks);
 
-    // verify that the segment is marked as failed
-    final AtomicBoolean fragmentIsFailed = new AtomicBoolean();
-    subscription.poll(
-        (buffer, offset, length, streamId, isMarkedFailed) -> {
-          fragmentIsFailed.set(isMarkedFailed);
-          return 0;
-        },
-        1);
+    // then
+    assertThat(reader.readEvents())
+        .extracting(LoggedEvent::getPosition)
+        .containsExactly(firstPosition, secondPosition);
+  }
 
-    assertThat(fragmentIsFailed).isTrue();
+  @Test
+  public void shouldFailIfLogStorageAppendFails() {
+    // given
+    final LogStorageAppender logStorageAppender = logStream.getLogStorageAppender();
+    doReturn(CompletableFuture.completedFuture(-1L))
+        .when(logStreamRule.getDistributedLog())
+        .asyncAppend(any(), anyLong());
+
+    // when
+    writer.tryWrite(EVENT);
+
+    // then
+    waitUntil(logStorageAppender::isFailed);
+    assertThat(reader.readEvents()).isEmpty();
+  }
+
+  @Test
+  public void shouldStopAppendingIfAppendFails() {
+    // given
+    final CompletableFuture<Long> failedAppend = new CompletableFuture<>();
+    failedAppend.completeExceptionally(new RuntimeException("expected"));
+
+    final List<Long> commitPositions = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              commitPositions.add(invocation.getArgument(1));
+              return failedAppend;
+            })
+        .when(logStreamRule.getDistributedLog())
+        .asyncAppend(any(), anyLong());
+
+    final LogStorageAppender logStorageAppender = logStream.getLogStorageAppender();
+    final long failedPosition = writer.tryWrite(EVENT);
+    waitUntil(logStorageAppender::isFailed);
+
+    // when
+    writer.tryWrite(EVENT);
+
+    // then
+    assertThat(commitPositions).containsExactly(failedPosition);
   }
 }
@@ -26,6 +26,9 @@ import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.logstreams.util.LogStreamReaderRule;
 import io.zeebe.logstreams.util.LogStreamRule;
 import io.zeebe.logstreams.util.LogStreamWriterRule;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -182,6 +185,29 @@ public class LogStreamReaderTest {
     assertThat(reader.hasNext()).isFalse();
   }
 
+  @Test
+  public void shouldSeekToEveryEvent() {
+    // given
+    final int eventCount = 2_000;
+    writer.writeEvents(eventCount, EVENT_VALUE);
+
+    final List<Long> positions = new ArrayList<>();
+    reader.seekToFirstEvent();
+    while (reader.hasNext()) {
+      positions.add(reader.next().getPosition());
+    }
+    assertThat(positions).hasSize(eventCount);
+
+    // when
+    Collections.shuffle(positions, random);
+
+    // then
+    for (long position : positions) {
+      assertThat(reader.seek(position)).isTrue();
+      assertThat(reader.next().getPosition()).isEqualTo(position);
+    }
+  }
+
   @Test
   public void shouldReturnLastEventAfterSeekToLastEvent() {
     // given
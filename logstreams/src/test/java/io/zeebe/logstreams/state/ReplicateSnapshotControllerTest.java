@@ -26,10 +26,14 @@ import io.zeebe.db.impl.DefaultColumnFamily;
 import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
 import io.zeebe.logstreams.util.RocksDBWrapper;
 import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.util.metrics.MetricsManager;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.zip.CRC32;
@@ -42,6 +46,7 @@ public class ReplicateSnapshotControllerTest {
 
   private static final int VALUE = 0xCAFE;
   private static final String KEY = "test";
+  private static final String RECEIVER = "receiver";
 
   @Rule public TemporaryFolder tempFolderRule = new TemporaryFolder();
   @Rule public AutoCloseableRule autoCloseableRule = new AutoCloseableRule();
@@ -241,6 +246,126 @@ public class ReplicateSnapshotControllerTest {
     assertThat(position).isEqualTo(1L);
   }
 
+  @Test
+  public void shouldReferToHeldFilesOnIncrementalReplication() throws Exception {
+    // given
+    receiverSnapshotController.consumeReplicatedSnapshots(pos -> {});
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+    replicator.replicatedChunks.clear();
+
+    // when
+    replicatorSnapshotController.takeSnapshot(2);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    assertThat(replicator.replicatedChunks)
+        .filteredOn(SnapshotChunk::isFileReference)
+        .isNotEmpty()
+        .allMatch(chunk -> chunk.getChunkName().endsWith(".sst"))
+        .allMatch(chunk -> chunk.getContent().length == 0);
+
+    final long recoveredSnapshot = receiverSnapshotController.recover();
+    assertThat(recoveredSnapshot).isEqualTo(2);
+
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper.wrap(receiverSnapshotController.openDb());
+    assertThat(wrapper.getInt(KEY)).isEqualTo(VALUE);
+  }
+
+  @Test
+  public void shouldNotReferToFilesIfAReceiverDidNotAdvertise() {
+    // given
+    replicator.receivers.add("other");
+    receiverSnapshotController.consumeReplicatedSnapshots(pos -> {});
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+    replicator.replicatedChunks.clear();
+
+    // when
+    replicatorSnapshotController.takeSnapshot(2);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    assertThat(replicator.replicatedChunks).isNotEmpty().noneMatch(SnapshotChunk::isFileReference);
+  }
+
+  @Test
+  public void shouldReferToFilesAfterNotAdvertisingReceiverLeft() {
+    // given
+    replicator.receivers.add("other");
+    receiverSnapshotController.consumeReplicatedSnapshots(pos -> {});
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+    replicator.replicatedChunks.clear();
+
+    // when
+    replicator.receivers.remove("other");
+    replicatorSnapshotController.takeSnapshot(2);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    assertThat(replicator.replicatedChunks).anyMatch(SnapshotChunk::isFileReference);
+  }
+
+  @Test
+  public void shouldReplicateSnapshotFullyOnDemand() {
+    // given
+    receiverSnapshotController.consumeReplicatedSnapshots(pos -> {});
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+    replicator.replicatedChunks.clear();
+
+    // when
+    replicatorSnapshotController.takeSnapshot(2);
+    replicatorSnapshotController.replicateLatestSnapshotFully(Runnable::run);
+
+    // then
+    assertThat(replicator.replicatedChunks).isNotEmpty().noneMatch(SnapshotChunk::isFileReference);
+  }
+
+  @Test
+  public void shouldSplitFilesIntoChunks() throws Exception {
+    // given
+    final StateStorage storage =
+        new StateStorage(
+            tempFolderRule.newFolder("runtime-chunked"),
+            tempFolderRule.newFolder("snapshots-chunked"));
+    final StateSnapshotController chunkingSnapshotController =
+        new StateSnapshotController(
+            ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class),
+            storage,
+            replicator,
+            2,
+            new SnapshotReplicationMetrics(new MetricsManager(), 0),
+            64);
+    autoCloseableRule.manage(chunkingSnapshotController);
+
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper.wrap(chunkingSnapshotController.openDb());
+    wrapper.putInt(KEY, VALUE);
+
+    receiverSnapshotController.consumeReplicatedSnapshots(pos -> {});
+    chunkingSnapshotController.takeSnapshot(1);
+
+    // when
+    chunkingSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    final List<SnapshotChunk> replicatedChunks = replicator.replicatedChunks;
+    assertThat(replicatedChunks).allMatch(chunk -> chunk.getContent().length <= 64);
+    assertThat(replicatedChunks)
+        .filteredOn(chunk -> chunk.getFileOffset() > 0)
+        .isNotEmpty()
+        .allMatch(chunk -> chunk.getFileOffset() % 64 == 0);
+
+    final long recoveredSnapshot = receiverSnapshotController.recover();
+    assertThat(recoveredSnapshot).isEqualTo(1);
+
+    wrapper.wrap(receiverSnapshotController.openDb());
+    assertThat(wrapper.getInt(KEY)).isEqualTo(VALUE);
+  }
+
   private void replicateXSnapshots(final int snapshotAmount) {
     for (int i = 1; i <= snapshotAmount; ++i) {
       replicatorSnapshotController.takeSnapshot(i);
@@ -251,6 +376,8 @@ public class ReplicateSnapshotControllerTest {
   protected static final class Replicator implements SnapshotReplication {
 
     final List<SnapshotChunk> replicatedChunks = new ArrayList<>();
+    final List<String> receivers = new ArrayList<>(Collections.singletonList(RECEIVER));
+    private final List<Consumer<SnapshotFiles>> advertisementConsumers = new ArrayList<>();
     private Consumer<SnapshotChunk> chunkConsumer;
 
     @Override
@@ -266,10 +393,44 @@ public class ReplicateSnapshotControllerTest {
       chunkConsumer = consumer;
     }
 
+    @Override
+    public void advertise(Map<String, Long> fileChecksums) {
+      advertisementConsumers.forEach(
+          consumer -> consumer.accept(new AdvertisedFiles(fileChecksums)));
+    }
+
+    @Override
+    public void consumeAdvertisements(Consumer<SnapshotFiles> consumer) {
+      advertisementConsumers.add(consumer);
+    }
+
+    @Override
+    public Collection<String> getReceivers() {
+      return receivers;
+    }
+
     @Override
     public void close() {}
   }
 
+  private static final class AdvertisedFiles implements SnapshotFiles {
+    private final Map<String, Long> fileChecksums;
+
+    private AdvertisedFiles(Map<String, Long> fileChecksums) {
+      this.fileChecksums = fileChecksums;
+    }
+
+    @Override
+    public String getMemberId() {
+      return RECEIVER;
+    }
+
+    @Override
+    public Map<String, Long> getFileChecksums() {
+      return fileChecksums;
+    }
+  }
+
   public class NoopConsumer {
     public void noop(long position) {}
   }
@@ -59,6 +59,7 @@ public class LogStreamRule extends ExternalResource {
   private ServiceContainer serviceContainer;
   private LogStream logStream;
   private DistributedLogstreamService distributedLogImpl;
+  private DistributedLogstreamPartition distributedLog;
 
   private final ControlledActorClock clock = new ControlledActorClock();
 
@@ -134,6 +135,7 @@ public class LogStreamRule extends ExternalResource {
 
   private void openDistributedLog() {
     final DistributedLogstreamPartition mockDistLog = mock(DistributedLogstreamPartition.class);
+    distributedLog = mockDistLog;
     distributedLogImpl =
         new DefaultDistributedLogstreamService(new DistributedLogstreamServiceConfig());
 
@@ -191,6 +193,7 @@ public class LogStreamRule extends ExternalResource {
     logStream = null;
     closeDistributedLog();
     distributedLogImpl = null;
+    distributedLog = null;
   }
 
   public void openLogStream() {
@@ -203,6 +206,10 @@ public class LogStreamRule extends ExternalResource {
     return logStream;
   }
 
+  public DistributedLogstreamPartition getDistributedLog() {
+    return distributedLog;
+  }
+
   public void setCommitPosition(final long position) {
     logStream.setCommitPosition(position);
   }
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads a log of 500k events in 16 MB segments, reading the segments from the file channel or from
+ * the memory mapping of the filled segments.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class LogReadBenchmark {
+
+  private static final int SCAN_EVENTS = 1_000;
+
+  @Benchmark
+  @Threads(1)
+  @OperationsPerInvocation(SCAN_EVENTS)
+  public long sequentialScan(final LogReadCtx ctx) {
+    final BufferedLogStreamReader reader = ctx.reader;
+    long position = 0;
+
+    for (int i = 0; i < SCAN_EVENTS; i++) {
+      if (!reader.hasNext()) {
+        reader.seekToFirstEvent();
+      }
+      position = reader.next().getPosition();
+    }
+
+    return position;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long randomRead(final LogReadCtx ctx) {
+    final BufferedLogStreamReader reader = ctx.reader;
+    reader.seek(ctx.nextPosition());
+    return reader.next().getPosition();
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
+import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
+import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
+import io.zeebe.logstreams.impl.log.index.LogBlockColumnFamilies;
+import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
+import io.zeebe.logstreams.impl.log.index.LogBlockIndexContext;
+import io.zeebe.logstreams.state.StateSnapshotController;
+import io.zeebe.logstreams.state.StateStorage;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.util.FileUtil;
+import io.zeebe.util.metrics.MetricsManager;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Random;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Thread)
+public class ReaderSeekCtx {
+
+  private static final int EVENT_COUNT = 500_000;
+  private static final int EVENTS_PER_BLOCK = 64;
+  private static final int VALUE_LENGTH = 64;
+  private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+  private static final int INDEX_BLOCK_SIZE = 4 * 1024 * 1024;
+
+  @Param({"true", "false"})
+  public boolean storageIndex;
+
+  final Random random = new Random();
+  final BufferedLogStreamReader reader = new BufferedLogStreamReader();
+
+  private File directory;
+  private FsLogStorage logStorage;
+  private LogBlockIndex logBlockIndex;
+
+  @Setup
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("reader-seek").toFile();
+
+    final FsLogStorageConfiguration config =
+        new FsLogStorageConfiguration(
+            SEGMENT_SIZE, new File(directory, "log").getAbsolutePath(), 0, true);
+
+    if (storageIndex) {
+      logStorage = new FsLogStorage(config, new MetricsManager(), 0);
+    } else {
+      // seek with the log block index only, like before the storage indexed the positions
+      logStorage =
+          new FsLogStorage(config, new MetricsManager(), 0) {
+            @Override
+            public long lookUpAddress(long position) {
+              return OP_RESULT_INVALID_ADDR;
+            }
+          };
+    }
+    logStorage.open();
+
+    final File indexDirectory = new File(directory, "index");
+    indexDirectory.mkdirs();
+    final StateStorage stateStorage = new StateStorage(indexDirectory.getPath());
+    logBlockIndex =
+        new LogBlockIndex(
+            new StateSnapshotController(
+                ZeebeRocksDbFactory.newFactory(LogBlockColumnFamilies.class), stateStorage));
+
+    writeEvents();
+
+    reader.wrap(logStorage, logBlockIndex);
+  }
+
+  private void writeEvents() {
+    final int messageLength = LogEntryDescriptor.headerLength(0) + VALUE_LENGTH;
+    final int fragmentLength = alignedFramedLength(messageLength);
+    final UnsafeBuffer block = new UnsafeBuffer(new byte[EVENTS_PER_BLOCK * fragmentLength]);
+    final LogBlockIndexContext indexContext = logBlockIndex.createLogBlockIndexContext();
+
+    int indexedBytes = INDEX_BLOCK_SIZE;
+    for (long position = 1; position <= EVENT_COUNT; position += EVENTS_PER_BLOCK) {
+      for (int i = 0; i < EVENTS_PER_BLOCK; i++) {
+        final int offset = i * fragmentLength;
+        block.putInt(lengthOffset(offset), framedLength(messageLength), Protocol.ENDIANNESS);
+        LogEntryDescriptor.setPosition(block, messageOffset(offset), position + i);
+      }
+
+      final long address = logStorage.append(ByteBuffer.wrap(block.byteArray()));
+
+      if (indexedBytes >= INDEX_BLOCK_SIZE) {
+        logBlockIndex.addBlock(indexContext, position, address);
+        indexedBytes = 0;
+      }
+      indexedBytes += block.capacity();
+    }
+  }
+
+  long nextPosition() {
+    return 1 + random.nextInt(EVENT_COUNT);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    reader.close();
+    logStorage.close();
+    logBlockIndex.closeDb();
+    FileUtil.deleteFolder(directory.getAbsolutePath());
+  }
+}
@@ -40,6 +40,12 @@ public class Protocol {
    */
   public static final int START_PARTITION_ID = 1;
 
+  /**
+   * Topic on which the brokers broadcast the types of jobs which became activatable, so that the
+   * gateways can complete long polling activate jobs requests.
+   */
+  public static final String JOBS_AVAILABLE_TOPIC = "jobsAvailable";
+
   public static final long encodePartitionId(int partitionId, long key) {
     return ((long) partitionId << KEY_BITS) + key;
   }
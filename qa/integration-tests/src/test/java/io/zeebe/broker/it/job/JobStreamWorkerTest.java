@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.broker.it.job;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.it.GrpcClientRule;
+import io.zeebe.broker.it.util.RecordingJobHandler;
+import io.zeebe.broker.test.EmbeddedBrokerRule;
+import io.zeebe.client.ZeebeClient;
+import io.zeebe.client.api.response.ActivatedJob;
+import java.time.Duration;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.Timeout;
+
+public class JobStreamWorkerTest {
+  // the job streams rely on the job notifications, which are only sent if long polling is enabled
+  public EmbeddedBrokerRule brokerRule =
+      new EmbeddedBrokerRule(cfg -> cfg.getGateway().getLongPolling().setEnabled(true));
+
+  public GrpcClientRule clientRule = new GrpcClientRule(brokerRule);
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(brokerRule).around(clientRule);
+
+  @Rule public Timeout timeout = Timeout.seconds(20);
+
+  private ZeebeClient client;
+
+  @Before
+  public void setUp() {
+    client = clientRule.getClient();
+  }
+
+  @Test
+  public void shouldStreamJobs() {
+    // given
+    final RecordingJobHandler jobHandler = new RecordingJobHandler();
+
+    client
+        .newWorker()
+        .jobType("foo")
+        .handler(jobHandler)
+        .timeout(Duration.ofMinutes(5))
+        .name("test")
+        .streamEnabled(true)
+        .open();
+
+    // when
+    final long jobKey = createJobOfType("foo");
+
+    // then
+    waitUntil(() -> !jobHandler.getHandledJobs().isEmpty());
+
+    final List<ActivatedJob> jobs = jobHandler.getHandledJobs();
+    assertThat(jobs).hasSize(1);
+    assertThat(jobs.get(0).getKey()).isEqualTo(jobKey);
+  }
+
+  @Test
+  public void shouldStreamMoreJobsThanMaxJobsActive() {
+    // given
+    final int maxJobsActive = 3;
+
+    for (int i = 0; i < maxJobsActive * 2; i++) {
+      createJobOfType("foo");
+    }
+    final RecordingJobHandler jobHandler =
+        new RecordingJobHandler((c, j) -> c.newCompleteCommand(j.getKey()).send().join());
+
+    // when
+    client
+        .newWorker()
+        .jobType("foo")
+        .handler(jobHandler)
+        .timeout(Duration.ofMinutes(5))
+        .name("test")
+        .maxJobsActive(maxJobsActive)
+        .streamEnabled(true)
+        .open();
+
+    // then
+    waitUntil(() -> jobHandler.getHandledJobs().size() == maxJobsActive * 2);
+  }
+
+  private long createJobOfType(final String type) {
+    return clientRule.createSingleJob(type);
+  }
+}
@@ -37,7 +37,6 @@ import io.zeebe.client.api.events.WorkflowInstanceEvent;
 import io.zeebe.client.api.response.ActivateJobsResponse;
 import io.zeebe.client.api.response.ActivatedJob;
 import io.zeebe.client.api.subscription.JobWorker;
-import io.zeebe.engine.processor.workflow.job.JobTimeoutTrigger;
 import io.zeebe.exporter.api.record.Record;
 import io.zeebe.exporter.api.record.value.IncidentRecordValue;
 import io.zeebe.model.bpmn.Bpmn;
@@ -742,12 +741,10 @@ public class BrokerReprocessingTest {
         clientRule.getClient().getConfiguration().getDefaultJobTimeout();
 
     final ControlledActorClock clock = brokerRule.getClock();
-    final Duration pollingInterval =
-        JobTimeoutTrigger.TIME_OUT_POLLING_INTERVAL
-            // this shouldn't be needed but is caused by the fact hat on reprocessing without
-            // a snapshot a new deadline is set for the job
-            // https://github.com/zeebe-io/zeebe/issues/1800
-            .plus(defaultJobTimeout);
+    // on reprocessing without a snapshot a new deadline is set for the job, so the clock is
+    // moved forward until the job is timed out
+    // https://github.com/zeebe-io/zeebe/issues/1800
+    final Duration pollingInterval = defaultJobTimeout.plusSeconds(1);
 
     TestUtil.waitUntil(
         () -> {
@@ -24,6 +24,7 @@ public class MockContext implements Context {
   private Logger logger;
   private Configuration configuration;
   private RecordFilter filter;
+  private boolean recordViewsEnabled;
 
   public MockContext() {}
 
@@ -58,4 +59,13 @@ public class MockContext implements Context {
   public RecordFilter getFilter() {
     return filter;
   }
+
+  @Override
+  public void setRecordViewsEnabled(boolean enabled) {
+    this.recordViewsEnabled = enabled;
+  }
+
+  public boolean isRecordViewsEnabled() {
+    return recordViewsEnabled;
+  }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db;
+
+/**
+ * Describes how the keys of a column family are accessed. The database implementation can use it to
+ * tune the storage of the column family, e.g. by creating bloom filters for point lookups.
+ */
+public enum AccessPattern {
+  /** The column family has no dominant access pattern. */
+  DEFAULT,
+
+  /** The keys are mostly accessed by their complete value, e.g. via get, exists or delete. */
+  POINT_LOOKUP,
+
+  /**
+   * The keys are mostly iterated by a common prefix of a fixed length, see {@link
+   * AccessPatternAware#getPrefixLength()}.
+   */
+  PREFIX_SCAN,
+
+  /**
+   * The keys start with a timestamp, are inserted in ascending order and are consumed from the
+   * beginning, like a queue.
+   */
+  TIME_ORDERED
+}
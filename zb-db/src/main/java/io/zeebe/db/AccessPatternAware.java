@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db;
+
+/**
+ * Can be implemented by the column family enum to declare the access pattern of each column family.
+ * Column families of an enum which doesn't implement this interface use {@link
+ * AccessPattern#DEFAULT}.
+ */
+public interface AccessPatternAware {
+
+  /** @return the dominant access pattern of the column family */
+  AccessPattern getAccessPattern();
+
+  /**
+   * Returns the length of the key prefix which is used to iterate over the column family. Only used
+   * if the access pattern is {@link AccessPattern#PREFIX_SCAN}. Every prefix which is used to
+   * iterate over the column family must have at least this length.
+   *
+   * @return the length of the key prefix in bytes
+   */
+  default int getPrefixLength() {
+    return 0;
+  }
+}
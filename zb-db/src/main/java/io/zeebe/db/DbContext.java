@@ -110,4 +110,13 @@ public interface DbContext {
    * @return the transaction object
    */
   ZeebeDbTransaction getCurrentTransaction();
+
+  /**
+   * Registers a listener which is notified when the transaction of this context is committed or
+   * rolled back, also if the transaction was created by {@link
+   * #runInTransaction(TransactionOperation)}.
+   *
+   * @param listener the listener to notify
+   */
+  void addTransactionListener(TransactionListener listener);
 }
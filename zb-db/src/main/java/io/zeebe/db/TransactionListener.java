@@ -0,0 +1,29 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db;
+
+/**
+ * Is notified when the transaction of a {@link DbContext} is committed or rolled back. It can be
+ * used to keep in-memory structures, like caches, in sync with the database.
+ */
+public interface TransactionListener {
+
+  /** Is called after the changes of the transaction are written into the database. */
+  void onCommit();
+
+  /** Is called after the changes of the transaction are discarded. */
+  void onRollback();
+}
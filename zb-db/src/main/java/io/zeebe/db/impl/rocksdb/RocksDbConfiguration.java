@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+/** The RocksDB profile which is used by the {@link ZeebeRocksDbFactory} to open databases. */
+public final class RocksDbConfiguration {
+
+  /** The shared block cache is disabled, each table uses the RocksDB default cache. */
+  public static final long DEFAULT_BLOCK_CACHE_SIZE = 0;
+
+  /** The memory of the memtables is not limited, each column family uses the RocksDB defaults. */
+  public static final long DEFAULT_MEMORY_LIMIT = 0;
+
+  public static final boolean DEFAULT_STATISTICS_ENABLED = false;
+
+  private long blockCacheSize = DEFAULT_BLOCK_CACHE_SIZE;
+  private long memoryLimit = DEFAULT_MEMORY_LIMIT;
+  private boolean statisticsEnabled = DEFAULT_STATISTICS_ENABLED;
+
+  public long getBlockCacheSize() {
+    return blockCacheSize;
+  }
+
+  /**
+   * @param blockCacheSize the size of the LRU block cache in bytes which is shared by all databases
+   *     of the factory, or zero to disable the shared cache
+   * @return this configuration
+   */
+  public RocksDbConfiguration setBlockCacheSize(final long blockCacheSize) {
+    this.blockCacheSize = blockCacheSize;
+    return this;
+  }
+
+  public long getMemoryLimit() {
+    return memoryLimit;
+  }
+
+  /**
+   * @param memoryLimit the maximum size in bytes of the memtables of all column families of one
+   *     database, or zero to use the RocksDB defaults
+   * @return this configuration
+   */
+  public RocksDbConfiguration setMemoryLimit(final long memoryLimit) {
+    this.memoryLimit = memoryLimit;
+    return this;
+  }
+
+  public boolean isStatisticsEnabled() {
+    return statisticsEnabled;
+  }
+
+  /**
+   * @param statisticsEnabled true, if the databases should collect statistics which can be exported
+   *     via {@link RocksDbMetrics}
+   * @return this configuration
+   */
+  public RocksDbConfiguration setStatisticsEnabled(final boolean statisticsEnabled) {
+    this.statisticsEnabled = statisticsEnabled;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "RocksDbConfiguration{"
+        + "blockCacheSize="
+        + blockCacheSize
+        + ", memoryLimit="
+        + memoryLimit
+        + ", statisticsEnabled="
+        + statisticsEnabled
+        + '}';
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+import io.zeebe.db.impl.rocksdb.transaction.ZeebeTransactionDb;
+import io.zeebe.util.EnsureUtil;
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+import java.util.EnumMap;
+import java.util.Map;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+
+/**
+ * Exports the tickers of the RocksDB statistics as metrics. The metrics are only updated on {@link
+ * #update()}, so it has to be called periodically.
+ */
+public class RocksDbMetrics {
+
+  private static final TickerType[] EXPORTED_TICKERS = {
+    TickerType.BLOCK_CACHE_HIT,
+    TickerType.BLOCK_CACHE_MISS,
+    TickerType.BLOOM_FILTER_USEFUL,
+    TickerType.BLOOM_FILTER_PREFIX_CHECKED,
+    TickerType.BLOOM_FILTER_PREFIX_USEFUL,
+    TickerType.MEMTABLE_HIT,
+    TickerType.MEMTABLE_MISS,
+    TickerType.BYTES_WRITTEN,
+    TickerType.BYTES_READ,
+    TickerType.COMPACT_READ_BYTES,
+    TickerType.COMPACT_WRITE_BYTES,
+    TickerType.FLUSH_WRITE_BYTES,
+    TickerType.STALL_MICROS
+  };
+
+  private final Statistics statistics;
+  private final Map<TickerType, Metric> tickerMetrics = new EnumMap<>(TickerType.class);
+
+  /**
+   * @param metricsManager the manager to create the metrics
+   * @param db the database which collects the statistics, see {@link
+   *     RocksDbConfiguration#isStatisticsEnabled()}
+   * @param partitionId the partition of the database
+   */
+  public RocksDbMetrics(
+      final MetricsManager metricsManager,
+      final ZeebeTransactionDb<?> db,
+      final String partitionId) {
+    this.statistics = db.getStatistics();
+    EnsureUtil.ensureNotNull("statistics", statistics);
+
+    for (TickerType ticker : EXPORTED_TICKERS) {
+      final Metric metric =
+          metricsManager
+              .newMetric("rocksdb_ticker_count")
+              .type("counter")
+              .label("ticker", ticker.name().toLowerCase())
+              .label("partition", partitionId)
+              .create();
+      tickerMetrics.put(ticker, metric);
+    }
+  }
+
+  public void update() {
+    tickerMetrics.forEach((ticker, metric) -> metric.setOrdered(statistics.getTickerCount(ticker)));
+  }
+
+  public void close() {
+    tickerMetrics.values().forEach(Metric::close);
+  }
+}
@@ -15,60 +15,99 @@
  */
 package io.zeebe.db.impl.rocksdb;
 
+import io.zeebe.db.AccessPattern;
+import io.zeebe.db.AccessPatternAware;
 import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.db.impl.rocksdb.transaction.ZeebeTransactionDb;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompactionPriority;
 import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
 
+/**
+ * Opens the databases with a profile which is tuned by the {@link RocksDbConfiguration} and the
+ * access patterns of the column families, if the column family enum implements {@link
+ * AccessPatternAware}.
+ *
+ * <p>The block cache is shared between all databases of the factory. It is released when the
+ * factory is closed, but databases which are still open keep their reference to it.
+ */
 public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamilyType>>
-    implements ZeebeDbFactory<ColumnFamilyType> {
+    implements ZeebeDbFactory<ColumnFamilyType>, AutoCloseable {
 
   static {
     RocksDB.loadLibrary();
   }
 
+  private static final int BLOOM_FILTER_BITS_PER_KEY = 10;
+  private static final double MEMTABLE_PREFIX_BLOOM_SIZE_RATIO = 0.1;
+  // a single memtable may use a quarter of the memory limit
+  private static final int MEMTABLES_PER_MEMORY_LIMIT = 4;
+
   private final Class<ColumnFamilyType> columnFamilyTypeClass;
+  private final RocksDbConfiguration configuration;
+  private final Cache blockCache;
 
-  private ZeebeRocksDbFactory(Class<ColumnFamilyType> columnFamilyTypeClass) {
+  private ZeebeRocksDbFactory(
+      Class<ColumnFamilyType> columnFamilyTypeClass, RocksDbConfiguration configuration) {
     this.columnFamilyTypeClass = columnFamilyTypeClass;
+    this.configuration = configuration;
+
+    if (configuration.getBlockCacheSize() > 0) {
+      blockCache = new LRUCache(configuration.getBlockCacheSize());
+    } else {
+      blockCache = null;
+    }
   }
 
   public static <ColumnFamilyType extends Enum<ColumnFamilyType>>
       ZeebeDbFactory<ColumnFamilyType> newFactory(Class<ColumnFamilyType> columnFamilyTypeClass) {
-    return new ZeebeRocksDbFactory(columnFamilyTypeClass);
+    return newFactory(columnFamilyTypeClass, new RocksDbConfiguration());
+  }
+
+  public static <ColumnFamilyType extends Enum<ColumnFamilyType>>
+      ZeebeRocksDbFactory<ColumnFamilyType> newFactory(
+          Class<ColumnFamilyType> columnFamilyTypeClass, RocksDbConfiguration configuration) {
+    return new ZeebeRocksDbFactory<>(columnFamilyTypeClass, configuration);
   }
 
   @Override
   public ZeebeTransactionDb<ColumnFamilyType> createDb(File pathName) {
-    return open(
-        pathName,
-        Arrays.stream(columnFamilyTypeClass.getEnumConstants())
-            .map(c -> c.name().toLowerCase().getBytes())
-            .collect(Collectors.toList()));
+    return open(pathName, columnFamilyTypeClass.getEnumConstants());
   }
 
   protected ZeebeTransactionDb<ColumnFamilyType> open(
-      final File dbDirectory, List<byte[]> columnFamilyNames) {
+      final File dbDirectory, ColumnFamilyType[] columnFamilies) {
 
     final ZeebeTransactionDb<ColumnFamilyType> db;
     try {
       final List<AutoCloseable> closeables = new ArrayList<>();
 
-      // column family options have to be closed as last
-      final ColumnFamilyOptions columnFamilyOptions = createColumnFamilyOptions();
-      closeables.add(columnFamilyOptions);
+      // column family options and the bloom filter have to be closed as last
+      final BloomFilter bloomFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false);
+      closeables.add(bloomFilter);
+
+      final List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
+      for (ColumnFamilyType columnFamily : columnFamilies) {
+        final ColumnFamilyOptions columnFamilyOptions =
+            createColumnFamilyOptions(columnFamily, bloomFilter);
+        closeables.add(columnFamilyOptions);
+
+        columnFamilyDescriptors.add(
+            new ColumnFamilyDescriptor(
+                columnFamily.name().toLowerCase().getBytes(), columnFamilyOptions));
+      }
 
-      final List<ColumnFamilyDescriptor> columnFamilyDescriptors =
-          createFamilyDescriptors(columnFamilyNames, columnFamilyOptions);
       final DBOptions dbOptions =
           new DBOptions()
               .setCreateMissingColumnFamilies(true)
@@ -77,13 +116,25 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
               .setParanoidChecks(true);
       closeables.add(dbOptions);
 
+      if (configuration.getMemoryLimit() > 0) {
+        dbOptions.setDbWriteBufferSize(configuration.getMemoryLimit());
+      }
+
+      Statistics statistics = null;
+      if (configuration.isStatisticsEnabled()) {
+        statistics = new Statistics();
+        closeables.add(statistics);
+        dbOptions.setStatistics(statistics);
+      }
+
       db =
           ZeebeTransactionDb.openTransactionalDb(
               dbOptions,
               dbDirectory.getAbsolutePath(),
               columnFamilyDescriptors,
               closeables,
-              columnFamilyTypeClass);
+              columnFamilyTypeClass,
+              statistics);
 
     } catch (final RocksDBException e) {
       throw new RuntimeException("Unexpected error occurred trying to open the database", e);
@@ -91,23 +142,62 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
     return db;
   }
 
-  private List<ColumnFamilyDescriptor> createFamilyDescriptors(
-      List<byte[]> columnFamilyNames, ColumnFamilyOptions columnFamilyOptions) {
-    final List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
+  private ColumnFamilyOptions createColumnFamilyOptions(
+      ColumnFamilyType columnFamily, BloomFilter bloomFilter) {
+    final ColumnFamilyOptions options = new ColumnFamilyOptions();
+    final BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
 
-    if (columnFamilyNames != null && columnFamilyNames.size() > 0) {
-      for (byte[] name : columnFamilyNames) {
-        final ColumnFamilyDescriptor columnFamilyDescriptor =
-            new ColumnFamilyDescriptor(name, columnFamilyOptions);
-        columnFamilyDescriptors.add(columnFamilyDescriptor);
-      }
+    if (blockCache != null) {
+      tableConfig.setBlockCache(blockCache);
+    }
+
+    if (configuration.getMemoryLimit() > 0) {
+      options.setWriteBufferSize(configuration.getMemoryLimit() / MEMTABLES_PER_MEMORY_LIMIT);
+    }
+
+    final AccessPattern accessPattern;
+    if (columnFamily instanceof AccessPatternAware) {
+      accessPattern = ((AccessPatternAware) columnFamily).getAccessPattern();
+    } else {
+      accessPattern = AccessPattern.DEFAULT;
+    }
+
+    switch (accessPattern) {
+      case POINT_LOOKUP:
+        // keys are updated in random order
+        options.setCompactionPriority(CompactionPriority.MinOverlappingRatio);
+        tableConfig.setFilterPolicy(bloomFilter);
+        break;
+
+      case PREFIX_SCAN:
+        // the prefix bloom filter is used to skip the files and memtables on seek, the whole key
+        // filter is still used for point lookups
+        options
+            .setCompactionPriority(CompactionPriority.MinOverlappingRatio)
+            .useFixedLengthPrefixExtractor(((AccessPatternAware) columnFamily).getPrefixLength())
+            .setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_SIZE_RATIO);
+        tableConfig.setFilterPolicy(bloomFilter);
+        break;
+
+      case TIME_ORDERED:
+        // keys are appended and deleted from the beginning - compacting the oldest files first
+        // removes the deleted keys early; a bloom filter doesn't help since the keys are only
+        // iterated from the beginning
+        options.setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst);
+        break;
+
+      default:
+        options.setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst);
+        break;
     }
-    return columnFamilyDescriptors;
+
+    return options.setTableFormatConfig(tableConfig);
   }
 
-  private static ColumnFamilyOptions createColumnFamilyOptions() {
-    // Options which are used on all column families
-    return new ColumnFamilyOptions()
-        .setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst);
+  @Override
+  public void close() {
+    if (blockCache != null) {
+      blockCache.close();
+    }
   }
 }
@@ -20,6 +20,7 @@ import static io.zeebe.db.impl.rocksdb.transaction.RocksDbInternal.RECOVERABLE_E
 import io.zeebe.db.DbContext;
 import io.zeebe.db.DbKey;
 import io.zeebe.db.DbValue;
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.ZeebeDbTransaction;
@@ -165,6 +166,11 @@ public class DefaultDbContext implements DbContext {
     return transaction;
   }
 
+  @Override
+  public void addTransactionListener(TransactionListener listener) {
+    transaction.addListener(listener);
+  }
+
   private void runInNewTransaction(TransactionOperation operations) throws Exception {
     try {
       transaction.resetTransaction();
@@ -17,9 +17,12 @@ package io.zeebe.db.impl.rocksdb.transaction;
 
 import static io.zeebe.db.impl.rocksdb.transaction.RocksDbInternal.isRocksDbExceptionRecoverable;
 
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.ZeebeDbTransaction;
+import java.util.ArrayList;
+import java.util.List;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
@@ -30,6 +33,7 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
   private final Transaction transaction;
   private final long nativeHandle;
+  private final List<TransactionListener> listeners = new ArrayList<>();
   private boolean inCurrentTransaction;
 
   public ZeebeTransaction(Transaction transaction) {
@@ -63,6 +67,10 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
     return transaction.getIterator(options, handle);
   }
 
+  void addListener(TransactionListener listener) {
+    listeners.add(listener);
+  }
+
   void resetTransaction() {
     inCurrentTransaction = true;
   }
@@ -87,6 +95,10 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
   void commitInternal() throws RocksDBException {
     inCurrentTransaction = false;
     transaction.commit();
+
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).onCommit();
+    }
   }
 
   @Override
@@ -105,6 +117,10 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
   void rollbackInternal() throws RocksDBException {
     inCurrentTransaction = false;
     transaction.rollback();
+
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).onRollback();
+    }
   }
 
   @Override
@@ -44,6 +44,7 @@ import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.RocksObject;
+import org.rocksdb.Statistics;
 import org.rocksdb.Transaction;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
@@ -61,7 +62,8 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
           final String path,
           final List<ColumnFamilyDescriptor> columnFamilyDescriptors,
           final List<AutoCloseable> closables,
-          Class<ColumnFamilyNames> columnFamilyTypeClass)
+          Class<ColumnFamilyNames> columnFamilyTypeClass,
+          Statistics statistics)
           throws RocksDBException {
     final EnumMap<ColumnFamilyNames, Long> columnFamilyMap = new EnumMap<>(columnFamilyTypeClass);
 
@@ -80,7 +82,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     }
 
     return new ZeebeTransactionDb<>(
-        optimisticTransactionDB, columnFamilyMap, handleToEnumMap, closables);
+        optimisticTransactionDB, columnFamilyMap, handleToEnumMap, closables, statistics);
   }
 
   private static long getNativeHandle(final RocksObject object) {
@@ -97,6 +99,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
 
   private final EnumMap<ColumnFamilyNames, Long> columnFamilyMap;
   private final Long2ObjectHashMap<ColumnFamilyHandle> handelToEnumMap;
+  private final Statistics statistics;
 
   private final ReadOptions prefixReadOptions;
   private final ReadOptions defaultReadOptions;
@@ -106,11 +109,13 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
       OptimisticTransactionDB optimisticTransactionDB,
       EnumMap<ColumnFamilyNames, Long> columnFamilyMap,
       Long2ObjectHashMap<ColumnFamilyHandle> handelToEnumMap,
-      List<AutoCloseable> closables) {
+      List<AutoCloseable> closables,
+      Statistics statistics) {
     this.optimisticTransactionDB = optimisticTransactionDB;
     this.columnFamilyMap = columnFamilyMap;
     this.handelToEnumMap = handelToEnumMap;
     this.closables = closables;
+    this.statistics = statistics;
 
     prefixReadOptions = new ReadOptions().setPrefixSameAsStart(true).setTotalOrderSeek(false);
     closables.add(prefixReadOptions);
@@ -120,6 +125,18 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     closables.add(defaultWriteOptions);
   }
 
+  /**
+   * @return the statistics which are collected by the database, or null if the statistics are not
+   *     enabled
+   */
+  public Statistics getStatistics() {
+    return statistics;
+  }
+
+  public boolean isStatisticsEnabled() {
+    return statistics != null;
+  }
+
   long getColumnFamilyHandle(ColumnFamilyNames columnFamily) {
     return columnFamilyMap.get(columnFamily);
   }
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.db.ZeebeDbTransaction;
@@ -471,4 +472,63 @@ public class DbTransactionTest {
     assertThat(twoColumnFamily.exists(twoKey)).isTrue();
     assertThat(threeColumnFamily.exists(threeKey)).isFalse();
   }
+
+  @Test
+  public void shouldNotifyListenerOnCommit() throws Exception {
+    // given
+    final RecordingTransactionListener listener = new RecordingTransactionListener();
+    dbContext.addTransactionListener(listener);
+
+    oneKey.wrapLong(1);
+    oneValue.wrapLong(2);
+
+    // when
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> oneColumnFamily.put(oneKey, oneValue));
+    transaction.commit();
+
+    // then
+    assertThat(listener.commits).isEqualTo(1);
+    assertThat(listener.rollbacks).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotifyListenerOnRollback() throws Exception {
+    // given
+    final RecordingTransactionListener listener = new RecordingTransactionListener();
+    dbContext.addTransactionListener(listener);
+
+    oneKey.wrapLong(1);
+    oneValue.wrapLong(2);
+
+    // when
+    try {
+      dbContext.runInTransaction(
+          () -> {
+            oneColumnFamily.put(oneKey, oneValue);
+            throw new RuntimeException();
+          });
+    } catch (Exception e) {
+      // ignore
+    }
+
+    // then
+    assertThat(listener.commits).isEqualTo(0);
+    assertThat(listener.rollbacks).isEqualTo(1);
+  }
+
+  private static final class RecordingTransactionListener implements TransactionListener {
+    private int commits;
+    private int rollbacks;
+
+    @Override
+    public void onCommit() {
+      commits += 1;
+    }
+
+    @Override
+    public void onRollback() {
+      rollbacks += 1;
+    }
+  }
 }
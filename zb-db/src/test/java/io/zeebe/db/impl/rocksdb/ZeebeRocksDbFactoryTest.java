@@ -17,10 +17,20 @@ package io.zeebe.db.impl.rocksdb;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.AccessPattern;
+import io.zeebe.db.AccessPatternAware;
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.DbCompositeKey;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DefaultColumnFamily;
+import io.zeebe.db.impl.rocksdb.transaction.ZeebeTransactionDb;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -66,4 +76,131 @@ public class ZeebeRocksDbFactoryTest {
     firstDb.close();
     secondDb.close();
   }
+
+  @Test
+  public void shouldCreateDbWithAccessPatterns() throws Exception {
+    // given
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration()
+            .setBlockCacheSize(8 * 1024 * 1024)
+            .setMemoryLimit(16 * 1024 * 1024)
+            .setStatisticsEnabled(true);
+
+    try (ZeebeRocksDbFactory<TunedColumnFamilies> dbFactory =
+        ZeebeRocksDbFactory.newFactory(TunedColumnFamilies.class, configuration)) {
+      final ZeebeTransactionDb<TunedColumnFamilies> db =
+          dbFactory.createDb(temporaryFolder.newFolder());
+
+      // when
+      putKeys(db);
+
+      // then
+      assertKeys(db);
+      assertThat(db.isStatisticsEnabled()).isTrue();
+
+      db.close();
+    }
+  }
+
+  @Test
+  public void shouldReadSnapshotWithAccessPatterns() throws Exception {
+    // given
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration().setBlockCacheSize(8 * 1024 * 1024);
+
+    try (ZeebeRocksDbFactory<TunedColumnFamilies> dbFactory =
+        ZeebeRocksDbFactory.newFactory(TunedColumnFamilies.class, configuration)) {
+      final ZeebeTransactionDb<TunedColumnFamilies> db =
+          dbFactory.createDb(temporaryFolder.newFolder());
+      putKeys(db);
+
+      // when - the snapshot flushes the keys to the table files
+      final File snapshotDir = new File(temporaryFolder.newFolder(), "snapshot");
+      db.createSnapshot(snapshotDir);
+      db.close();
+
+      final ZeebeTransactionDb<TunedColumnFamilies> snapshotDb = dbFactory.createDb(snapshotDir);
+
+      // then
+      assertKeys(snapshotDb);
+      assertThat(snapshotDb.isStatisticsEnabled()).isFalse();
+
+      snapshotDb.close();
+    }
+  }
+
+  private void putKeys(ZeebeDb<TunedColumnFamilies> db) {
+    final DbContext context = db.createContext();
+    final DbLong firstKey = new DbLong();
+    final DbLong secondKey = new DbLong();
+    final DbCompositeKey<DbLong, DbLong> compositeKey = new DbCompositeKey<>(firstKey, secondKey);
+
+    for (TunedColumnFamilies columnFamily : TunedColumnFamilies.values()) {
+      final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> keys =
+          db.createColumnFamily(columnFamily, context, compositeKey, DbNil.INSTANCE);
+
+      for (long first = 1; first <= 10; first++) {
+        for (long second = 1; second <= 10; second++) {
+          firstKey.wrapLong(first);
+          secondKey.wrapLong(second);
+          keys.put(compositeKey, DbNil.INSTANCE);
+        }
+      }
+    }
+  }
+
+  private void assertKeys(ZeebeDb<TunedColumnFamilies> db) {
+    final DbContext context = db.createContext();
+    final DbLong firstKey = new DbLong();
+    final DbLong secondKey = new DbLong();
+    final DbCompositeKey<DbLong, DbLong> compositeKey = new DbCompositeKey<>(firstKey, secondKey);
+
+    for (TunedColumnFamilies columnFamily : TunedColumnFamilies.values()) {
+      final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> keys =
+          db.createColumnFamily(columnFamily, context, compositeKey, DbNil.INSTANCE);
+
+      firstKey.wrapLong(5);
+      secondKey.wrapLong(7);
+      assertThat(keys.exists(compositeKey)).isTrue();
+
+      secondKey.wrapLong(11);
+      assertThat(keys.exists(compositeKey)).isFalse();
+
+      final List<Long> secondKeys = new ArrayList<>();
+      firstKey.wrapLong(3);
+      keys.whileEqualPrefix(
+          firstKey,
+          (key, value) -> {
+            secondKeys.add(key.getSecond().getValue());
+          });
+      assertThat(secondKeys).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+
+      final List<Long> firstKeys = new ArrayList<>();
+      keys.forEach((key, value) -> firstKeys.add(key.getFirst().getValue()));
+      assertThat(firstKeys).hasSize(100).isSorted();
+    }
+  }
+
+  private enum TunedColumnFamilies implements AccessPatternAware {
+    DEFAULT(AccessPattern.DEFAULT),
+    POINT_LOOKUP(AccessPattern.POINT_LOOKUP),
+    PREFIX_SCAN(AccessPattern.PREFIX_SCAN),
+    TIME_ORDERED(AccessPattern.TIME_ORDERED);
+
+    private final AccessPattern accessPattern;
+
+    TunedColumnFamilies(AccessPattern accessPattern) {
+      this.accessPattern = accessPattern;
+    }
+
+    @Override
+    public AccessPattern getAccessPattern() {
+      return accessPattern;
+    }
+
+    @Override
+    public int getPrefixLength() {
+      return Long.BYTES;
+    }
+  }
 }